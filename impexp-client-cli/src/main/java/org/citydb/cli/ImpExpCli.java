@@ -31,6 +31,7 @@ package org.citydb.cli;
 import org.citydb.cli.operation.deleter.DeleteCommand;
 import org.citydb.cli.operation.exporter.ExportCommand;
 import org.citydb.cli.operation.importer.ImportCommand;
+import org.citydb.cli.operation.server.ServeCommand;
 import org.citydb.cli.operation.validator.ValidateCommand;
 import org.citydb.cli.operation.visExporter.ExportVisCommand;
 import org.citydb.cli.option.CliOption;
@@ -61,16 +62,20 @@ import org.citydb.core.util.InternalProxySelector;
 import org.citydb.core.util.Util;
 import org.citydb.util.config.ConfigUtil;
 import org.citydb.util.log.Logger;
+import org.citydb.util.metrics.Metrics;
+import org.citydb.util.metrics.MetricsServer;
 import org.citygml4j.CityGMLContext;
-import org.citygml4j.builder.jaxb.CityGMLBuilderException;
 import org.citygml4j.model.citygml.ade.ADEException;
 import org.citygml4j.model.citygml.ade.binding.ADEContext;
 import picocli.CommandLine;
 
+import javax.management.JMException;
 import javax.xml.bind.JAXBException;
 import java.io.Console;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ProxySelector;
 import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
@@ -97,7 +102,8 @@ import java.util.stream.Stream;
                 ExportCommand.class,
                 ExportVisCommand.class,
                 DeleteCommand.class,
-                ValidateCommand.class
+                ValidateCommand.class,
+                ServeCommand.class
         }
 )
 public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvider {
@@ -117,6 +123,18 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
             description = "Create a file containing the current process ID.")
     private Path pidFile;
 
+    @CommandLine.Option(names = "--metrics", scope = CommandLine.ScopeType.INHERIT,
+            description = "Collect runtime metrics and expose them as JMX MBean.")
+    private boolean collectMetrics;
+
+    @CommandLine.Option(names = "--metrics-port", scope = CommandLine.ScopeType.INHERIT, paramLabel = "<port>",
+            description = "Serve runtime metrics in Prometheus text format on this port (implies --metrics).")
+    private Integer metricsPort;
+
+    @CommandLine.Option(names = "--metrics-host", scope = CommandLine.ScopeType.INHERIT, paramLabel = "<host>",
+            description = "Host name or IP address to serve runtime metrics on (default: loopback address).")
+    private String metricsHost;
+
     @CommandLine.Option(names = "--plugins", scope = CommandLine.ScopeType.INHERIT, paramLabel = "<folder>",
             description = "Load plugins from this folder.")
     private Path pluginsFolder;
@@ -137,6 +155,7 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
     private final Util.URLClassLoader classLoader = new Util.URLClassLoader(Thread.currentThread().getContextClassLoader());
 
     private StartupProgressListener progressListener;
+    private MetricsServer metricsServer;
     private String commandLineString;
     private String subCommandName;
     private int processStep;
@@ -267,22 +286,8 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
                     useDefaultLogLevel = false;
                 }
 
-                // preprocess options
-                Object command = commandLine.getCommand();
-                for (Field field : command.getClass().getDeclaredFields()) {
-                    if (CliOption.class.isAssignableFrom(field.getType())) {
-                        field.setAccessible(true);
-                        CliOption option = (CliOption) field.get(command);
-                        if (option != null) {
-                            option.preprocess(commandLine);
-                        }
-                    }
-                }
-
-                // preprocess command
-                if (command instanceof CliCommand) {
-                    ((CliCommand) command).preprocess(commandLine);
-                }
+                // preprocess options and command
+                preprocessCommand(commandLine);
 
                 // read password from keyboard
                 CommandLine.Model.OptionSpec passwordOption = subParseResult.matchedOption("-p");
@@ -312,6 +317,29 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
         } catch (CommandLine.ExecutionException e) {
             logError(e.getCause());
             return 1;
+        } finally {
+            if (metricsServer != null) {
+                metricsServer.stop();
+            }
+        }
+    }
+
+    public static void preprocessCommand(CommandLine commandLine) throws Exception {
+        // preprocess options
+        Object command = commandLine.getCommand();
+        for (Field field : command.getClass().getDeclaredFields()) {
+            if (CliOption.class.isAssignableFrom(field.getType())) {
+                field.setAccessible(true);
+                CliOption option = (CliOption) field.get(command);
+                if (option != null) {
+                    option.preprocess(commandLine);
+                }
+            }
+        }
+
+        // preprocess command
+        if (command instanceof CliCommand) {
+            ((CliCommand) command).preprocess(commandLine);
         }
     }
 
@@ -326,13 +354,23 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
             progressListener.setProcessSteps(loadConfig ? 6 : 5);
         }
 
+        // load database schema mapping in the background while plugins are loaded
+        FutureTask<Void> schemaMappingLoader = new FutureTask<>(() -> {
+            loadSchemaMapping();
+            return null;
+        });
+
+        Thread thread = new Thread(schemaMappingLoader, "schema-mapping-loader");
+        thread.setDaemon(true);
+        thread.start();
+
         // load plugins
         logProgress("Loading plugins");
         loadPlugins();
 
         // load database schema mapping
         logProgress("Loading database schema mapping");
-        loadSchemaMapping();
+        awaitSchemaMapping(schemaMappingLoader);
 
         // load ADE extensions
         logProgress("Loading ADE extensions");
@@ -353,6 +391,7 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
         initializeEnvironment(config);
         initializeLogging(config);
         createPidFile();
+        initializeMetrics();
 
         log.info("Executing '" + subCommandName + "' command");
         return 0;
@@ -388,6 +427,21 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
         }
     }
 
+    private void awaitSchemaMapping(FutureTask<Void> schemaMappingLoader) throws ImpExpException {
+        try {
+            schemaMappingLoader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ImpExpException) {
+                throw (ImpExpException) e.getCause();
+            } else {
+                throw new ImpExpException("Failed to process 3DCityDB schema mapping file.", e.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImpExpException("Interrupted while loading the 3DCityDB schema mapping file.", e);
+        }
+    }
+
     private void loadADEExtensions() throws ImpExpException {
         try {
             adeExtensionsFolder = adeExtensionsFolder != null ?
@@ -418,8 +472,9 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
                 context.registerADEContext(adeContext);
             }
 
-            ObjectRegistry.getInstance().setCityGMLBuilder(context.createCityGMLBuilder(classLoader));
-        } catch (CityGMLBuilderException | ADEException e) {
+            // commands such as delete never need the CityGML JAXB context, so it is created lazily
+            ObjectRegistry.getInstance().setCityGMLBuilder(() -> context.createCityGMLBuilder(classLoader));
+        } catch (ADEException e) {
             throw new ImpExpException("Failed to initialize CityGML and ADE contexts.", e);
         }
     }
@@ -514,7 +569,8 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
                     CoreConstants.IMPEXP_DATA_DIR.resolve(CliConstants.LOG_DIR).resolve(log.getDefaultLogFileName());
 
             log.setFileLogLevel(logging.getFile().getLogLevel());
-            if (log.appendLogFile(file, logging.getFile().getLogFileMode())) {
+            if (log.appendLogFile(file, logging.getFile().getLogFileMode(),
+                    logging.getFile().getQueueSize(), logging.getFile().getOverflowPolicy())) {
                 log.printToFile("*** Command line: " + commandLineString);
             } else {
                 logging.getFile().setActive(false);
@@ -524,6 +580,35 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
         }
     }
 
+    private void initializeMetrics() throws ImpExpException {
+        if (collectMetrics || metricsPort != null) {
+            Metrics metrics = Metrics.getInstance();
+            metrics.setEnabled(true);
+
+            try {
+                metrics.registerMBean();
+            } catch (JMException e) {
+                throw new ImpExpException("Failed to register metrics MBean.", e);
+            }
+
+            if (metricsPort != null) {
+                try {
+                    // only serve metrics on other interfaces if explicitly requested
+                    InetSocketAddress address = metricsHost != null ?
+                            new InetSocketAddress(metricsHost, metricsPort) :
+                            new InetSocketAddress(InetAddress.getLoopbackAddress(), metricsPort);
+
+                    metricsServer = new MetricsServer(address);
+                    metricsServer.start();
+                    log.info("Serving runtime metrics at http://" + address.getHostString() + ":" +
+                            metricsServer.getAddress().getPort() + "/metrics.");
+                } catch (IOException e) {
+                    throw new ImpExpException("Failed to start metrics server on port " + metricsPort + ".", e);
+                }
+            }
+        }
+    }
+
     private void createPidFile() throws ImpExpException {
         if (pidFile != null) {
             try {
@@ -52,6 +52,11 @@ public class BoundingBoxOption implements CliOption {
             description = "Tile the bounding box into a rows x columns grid.")
     private String tiling;
 
+    @CommandLine.Option(names = "--bbox-tiling-max-features", paramLabel = "<count>",
+            description = "Adaptively split tiles into quadrants until each tile holds at most this number of " +
+                    "top-level features.")
+    private Long maxFeaturesPerTile;
+
     private AbstractSpatialOperator spatialOperator;
     private Tiling tilingOperator;
 
@@ -71,6 +76,16 @@ public class BoundingBoxOption implements CliOption {
     public void preprocess(CommandLine commandLine) throws Exception {
         BoundingBox envelope = CliOptionBuilder.boundingBox(bbox, commandLine);
         if (envelope != null) {
+            if (maxFeaturesPerTile != null && maxFeaturesPerTile <= 0) {
+                throw new CommandLine.ParameterException(commandLine,
+                        "Error: The maximum number of features per tile must be a positive integer but was '" +
+                                maxFeaturesPerTile + "'");
+            }
+
+            if (tiling == null && maxFeaturesPerTile != null) {
+                tiling = "1,1";
+            }
+
             if (tiling != null) {
                 String[] numbers = tiling.split(",");
                 if (numbers.length != 2) {
@@ -90,6 +105,7 @@ public class BoundingBoxOption implements CliOption {
                     tilingOperator.setExtent(envelope);
                     tilingOperator.setRows(rows);
                     tilingOperator.setColumns(columns);
+                    tilingOperator.setMaxFeaturesPerTile(maxFeaturesPerTile);
                 } catch (NumberFormatException e) {
                     throw new CommandLine.ParameterException(commandLine,
                             "Error: The number of rows and columns for tiling must be positive integers but were '" +
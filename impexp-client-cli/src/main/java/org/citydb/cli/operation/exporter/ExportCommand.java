@@ -32,6 +32,7 @@ import org.citydb.cli.option.DatabaseOption;
 import org.citydb.cli.option.ThreadPoolOption;
 import org.citydb.config.Config;
 import org.citydb.config.project.database.DatabaseConnection;
+import org.citydb.config.project.exporter.ExportCheckpoint;
 import org.citydb.config.project.exporter.ExportConfig;
 import org.citydb.config.project.exporter.OutputFormat;
 import org.citydb.core.database.DatabaseController;
@@ -71,10 +72,35 @@ public class ExportCommand extends CliCommand {
             description = "Prefix to use when replacing object identifiers (default: ${DEFAULT-VALUE}).")
     private String idPrefix;
 
+    @CommandLine.Option(names = "--compression-level", paramLabel = "<0..9>",
+            description = "Compression level to use for compressed output files (default: zlib default).")
+    private Integer compressionLevel;
+
+    @CommandLine.Option(names = "--parallel-gzip", negatable = true,
+            description = "Compress gzip output files in parallel (default: true).")
+    private Boolean parallelGZip;
+
+    @CommandLine.Option(names = "--transform-on-client",
+            description = "Transform coordinates to the target SRS on the client instead of the database.")
+    private Boolean transformOnClient;
+
     @CommandLine.Option(names = "--fail-fast", negatable = true,
             description = "Fail fast on errors (default: true).")
     private Boolean failFast;
 
+    @CommandLine.Option(names = "--checkpoint", paramLabel = "<file>",
+            description = "Write checkpoints to this file and split the output into parts so that the export " +
+                    "can be resumed (default: <output>.checkpoint).", arity = "0..1", fallbackValue = "")
+    private String checkpointFile;
+
+    @CommandLine.Option(names = "--checkpoint-part-size", paramLabel = "<number>",
+            description = "Number of top-level features per output part when using checkpoints (default: 100000).")
+    private Integer featuresPerPart;
+
+    @CommandLine.Option(names = "--resume",
+            description = "Resume a previously interrupted export from its checkpoint file.")
+    private boolean resume;
+
     @CommandLine.ArgGroup
     private ThreadPoolOption threadPoolOption;
 
@@ -142,6 +168,28 @@ public class ExportCommand extends CliCommand {
             exportConfig.getGeneralOptions().setFailFastOnErrors(failFast);
         }
 
+        if (compressionLevel != null) {
+            exportConfig.getGeneralOptions().getCompression().setCompressionLevel(compressionLevel);
+        }
+
+        if (parallelGZip != null) {
+            exportConfig.getGeneralOptions().getCompression().setParallelGZip(parallelGZip);
+        }
+
+        if (transformOnClient != null) {
+            exportConfig.getGeneralOptions().setTransformCoordinatesOnClient(transformOnClient);
+        }
+
+        if (checkpointFile != null) {
+            ExportCheckpoint checkpoint = exportConfig.getGeneralOptions().getCheckpoint();
+            checkpoint.setUseCheckpoints(true);
+            checkpoint.setCheckpointFile(!checkpointFile.isEmpty() ? checkpointFile : null);
+            checkpoint.setResume(resume);
+            if (featuresPerPart != null) {
+                checkpoint.setFeaturesPerPart(featuresPerPart);
+            }
+        }
+
         if (queryOption != null) {
             exportConfig.getAppearances().setExportAppearances(queryOption.isExportAppearances());
         }
@@ -150,4 +198,22 @@ public class ExportCommand extends CliCommand {
             exportConfig.getResources().setThreadPool(threadPoolOption.toThreadPool());
         }
     }
+
+    @Override
+    public void preprocess(CommandLine commandLine) throws Exception {
+        if (checkpointFile == null && (resume || featuresPerPart != null)) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --resume and --checkpoint-part-size require --checkpoint");
+        }
+
+        if (compressionLevel != null && (compressionLevel < 0 || compressionLevel > 9)) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The compression level must be between 0 and 9 but was '" + compressionLevel + "'");
+        }
+
+        if (featuresPerPart != null && featuresPerPart <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The checkpoint part size must be a positive integer but was '" + featuresPerPart + "'");
+        }
+    }
 }
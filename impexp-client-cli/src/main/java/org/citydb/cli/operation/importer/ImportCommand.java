@@ -75,6 +75,16 @@ public class ImportCommand extends CliCommand {
             description = "Record imported top-level features to this file.")
     private Path importLogFile;
 
+    @CommandLine.Option(names = "--id-index", paramLabel = "<dir>",
+            description = "Maintain a persistent gml:id index of imported top-level features in this directory. " +
+                    "The index is used to resolve XLinks to features of previous imports.")
+    private Path idIndexDir;
+
+    @CommandLine.Option(names = "--skip-indexed",
+            description = "Skip top-level features already recorded in the gml:id index, e.g. to resume an " +
+                    "interrupted import.")
+    private boolean skipIndexed;
+
     @CommandLine.Option(names = "--duplicate-log", paramLabel = "<file>",
             description = "Record top-level features from the input file(s) that already exist in the database " +
                     "to this file.")
@@ -173,6 +183,14 @@ public class ImportCommand extends CliCommand {
         return 0;
     }
 
+    @Override
+    public void preprocess(CommandLine commandLine) throws Exception {
+        if (skipIndexed && idIndexDir == null) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --skip-indexed can only be used together with --id-index");
+        }
+    }
+
     private void setImportOptions(ImportConfig importConfig) {
         importConfig.getGeneralOptions().setFileEncoding(encoding);
 
@@ -198,6 +216,12 @@ public class ImportCommand extends CliCommand {
             importConfig.getImportLog().setLogFileMode(ImportLogFileMode.TRUNCATE);
         }
 
+        if (idIndexDir != null) {
+            importConfig.getIdIndex().setIndexPath(idIndexDir.toAbsolutePath().toString());
+            importConfig.getIdIndex().setUseIdIndex(true);
+            importConfig.getIdIndex().setSkipIndexedFeatures(skipIndexed);
+        }
+
         if (duplicateLogFile != null) {
             importConfig.getDuplicateLog().setLogFile(duplicateLogFile.toAbsolutePath().toString());
             importConfig.getDuplicateLog().setLogDuplicates(true);
@@ -48,6 +48,10 @@ public class ImportListOption implements CliOption {
             description = "Import list mode: import, skip (default: ${DEFAULT-VALUE}).")
     private String modeOption;
 
+    @CommandLine.Option(names = "--import-list-memory", paramLabel = "<mb>",
+            description = "Memory budget in MB for holding the import list in memory (default: 256).")
+    private Integer memoryBudget;
+
     @CommandLine.Option(names = {"-w", "--import-list-preview"},
             description = "Print a preview of the import list and exit. If more than one CSV file is specified, " +
                     "the preview is only generated for the first one.")
@@ -70,6 +74,7 @@ public class ImportListOption implements CliOption {
         ImportList importList = resourceIdListOption.toIdList(ImportList::new);
         importList.setFiles(Arrays.stream(files).map(Path::toString).collect(Collectors.toList()));
         importList.setMode(mode);
+        importList.setMemoryBudget(memoryBudget);
         return importList;
     }
 
@@ -79,6 +84,11 @@ public class ImportListOption implements CliOption {
             resourceIdListOption.preprocess(commandLine);
         }
 
+        if (memoryBudget != null && memoryBudget <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The import list memory budget must be a positive integer but was '" + memoryBudget + "'");
+        }
+
         if (modeOption != null) {
             switch (modeOption.toLowerCase(Locale.ROOT)) {
                 case "import":
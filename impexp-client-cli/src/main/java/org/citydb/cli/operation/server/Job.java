@@ -0,0 +1,189 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.cli.operation.server;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+public class Job {
+    private static final String MASK = "*****";
+
+    private final long id;
+    private final String command;
+    private final List<String> args;
+    private final Instant submitted;
+
+    private JobState state = JobState.QUEUED;
+    private Instant started;
+    private Instant finished;
+    private Integer exitCode;
+    private String error;
+    private boolean cancelRequested;
+    private Future<?> future;
+
+    private long objectCount;
+    private String title;
+    private String message;
+    private int progress;
+    private int progressMax;
+
+    Job(long id, String command, List<String> args, Collection<String> secrets) {
+        this.id = id;
+        this.command = command;
+        this.args = maskSecrets(args, secrets);
+        submitted = Instant.now();
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public synchronized JobState getState() {
+        return state;
+    }
+
+    public synchronized boolean isDone() {
+        return state != JobState.QUEUED && state != JobState.RUNNING;
+    }
+
+    synchronized void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    synchronized boolean start() {
+        if (state != JobState.QUEUED) {
+            return false;
+        }
+
+        state = JobState.RUNNING;
+        started = Instant.now();
+        return true;
+    }
+
+    synchronized void finish(int exitCode, String error) {
+        this.exitCode = exitCode;
+        this.error = error;
+        finished = Instant.now();
+
+        if (cancelRequested) {
+            state = JobState.CANCELLED;
+        } else {
+            state = exitCode == 0 ? JobState.SUCCEEDED : JobState.FAILED;
+        }
+    }
+
+    synchronized boolean cancel() {
+        if (state == JobState.QUEUED) {
+            state = JobState.CANCELLED;
+            finished = Instant.now();
+            if (future != null) {
+                future.cancel(false);
+            }
+        } else if (state == JobState.RUNNING && !cancelRequested) {
+            cancelRequested = true;
+            return true;
+        }
+
+        return false;
+    }
+
+    synchronized void addObjects(long count) {
+        objectCount += count;
+    }
+
+    synchronized void setTitle(String title) {
+        this.title = title;
+    }
+
+    synchronized void setMessage(String message) {
+        this.message = message;
+    }
+
+    synchronized void initProgress(int progressMax) {
+        this.progressMax = progressMax;
+        progress = 0;
+    }
+
+    synchronized void updateProgress(int delta) {
+        progress += delta;
+    }
+
+    public synchronized Map<String, Object> toStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("id", id);
+        status.put("command", command);
+        status.put("args", args);
+        status.put("state", state.name().toLowerCase());
+        status.put("submitted", submitted.toString());
+        status.put("started", started != null ? started.toString() : null);
+        status.put("finished", finished != null ? finished.toString() : null);
+        status.put("exitCode", exitCode);
+        status.put("error", error);
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("objects", objectCount);
+        details.put("title", title);
+        details.put("message", message);
+        details.put("current", progress);
+        details.put("max", progressMax);
+        status.put("progress", details);
+
+        return status;
+    }
+
+    private List<String> maskSecrets(List<String> args, Collection<String> secrets) {
+        List<String> masked = new ArrayList<>(args.size());
+        for (String arg : args) {
+            if (secrets.contains(arg)) {
+                arg = MASK;
+            } else if (arg.startsWith("-")) {
+                // secrets may be attached to the option name, as in --option=value or -pvalue
+                for (String secret : secrets) {
+                    if (!secret.isEmpty() && arg.endsWith(secret)) {
+                        arg = arg.substring(0, arg.length() - secret.length()) + MASK;
+                        break;
+                    }
+                }
+            }
+
+            masked.add(arg);
+        }
+
+        return masked;
+    }
+}
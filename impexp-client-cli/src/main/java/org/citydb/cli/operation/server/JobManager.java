@@ -0,0 +1,274 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.cli.operation.server;
+
+import org.citydb.cli.ImpExpCli;
+import org.citydb.config.Config;
+import org.citydb.config.ProjectConfig;
+import org.citydb.config.project.database.DatabaseConnection;
+import org.citydb.config.project.global.LogLevel;
+import org.citydb.core.plugin.CliCommand;
+import org.citydb.core.plugin.PluginException;
+import org.citydb.core.plugin.PluginManager;
+import org.citydb.core.plugin.extension.config.ConfigExtension;
+import org.citydb.core.registry.ObjectRegistry;
+import org.citydb.util.config.ConfigUtil;
+import org.citydb.util.event.Event;
+import org.citydb.util.event.EventDispatcher;
+import org.citydb.util.event.EventHandler;
+import org.citydb.util.event.global.*;
+import org.citydb.util.log.Logger;
+import picocli.CommandLine;
+
+import javax.xml.bind.JAXBException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class JobManager implements EventHandler {
+    private static final String PASSWORD_OPTION = "--db-password";
+
+    private final Logger log = Logger.getInstance();
+    private final PluginManager pluginManager = PluginManager.getInstance();
+    private final EventDispatcher eventDispatcher = ObjectRegistry.getInstance().getEventDispatcher();
+    private final ConcurrentSkipListMap<Long, Job> jobs = new ConcurrentSkipListMap<>();
+    private final AtomicLong jobIds = new AtomicLong();
+    private final ExecutorService executor;
+
+    private final Map<String, CommandLine> commands;
+    private final DatabaseConnection defaultConnection;
+    private final int maxQueuedJobs;
+    private final int maxFinishedJobs;
+    private final byte[] projectConfig;
+
+    private Job currentJob;
+
+    JobManager(Map<String, CommandLine> commands, DatabaseConnection defaultConnection, int maxQueuedJobs, int maxFinishedJobs) throws JobException {
+        this.commands = commands;
+        this.defaultConnection = defaultConnection;
+        this.maxQueuedJobs = maxQueuedJobs;
+        this.maxFinishedJobs = maxFinishedJobs;
+
+        // project settings are changed by every command, so each job starts from a copy of the initial settings
+        try {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            ConfigUtil.getInstance().marshal(ObjectRegistry.getInstance().getConfig().getProjectConfig(), stream);
+            projectConfig = stream.toByteArray();
+        } catch (JAXBException e) {
+            throw new JobException("Failed to copy the project settings.", e);
+        }
+
+        // jobs share the global configuration, database connection and event dispatcher,
+        // and are therefore executed one after another
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-runner");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        eventDispatcher.addEventHandler(EventType.OBJECT_COUNTER, this);
+        eventDispatcher.addEventHandler(EventType.STATUS_DIALOG_PROGRESS_BAR, this);
+        eventDispatcher.addEventHandler(EventType.STATUS_DIALOG_MESSAGE, this);
+        eventDispatcher.addEventHandler(EventType.STATUS_DIALOG_TITLE, this);
+    }
+
+    public Job submit(String command, List<String> args) throws JobException {
+        CommandLine template = commands.get(command);
+        if (template == null) {
+            throw new JobException("Unsupported command '" + command + "'.");
+        }
+
+        if (getQueuedJobs() >= maxQueuedJobs) {
+            throw new RejectedExecutionException("The job queue is full.");
+        }
+
+        // parse and validate the arguments when the job is submitted
+        CommandLine commandLine;
+        try {
+            commandLine = new CommandLine(template.getCommand().getClass())
+                    .setCaseInsensitiveEnumValuesAllowed(true)
+                    .setAbbreviatedOptionsAllowed(true);
+            commandLine.parseArgs(args.toArray(new String[0]));
+            ImpExpCli.preprocessCommand(commandLine);
+        } catch (CommandLine.ParameterException e) {
+            throw new JobException(e.getMessage());
+        } catch (Exception e) {
+            throw new JobException("Failed to create '" + command + "' job: " + e.getMessage(), e);
+        }
+
+        Job job = new Job(jobIds.incrementAndGet(), command, args, getSecrets(commandLine.getParseResult()));
+        jobs.put(job.getId(), job);
+        job.setFuture(executor.submit(() -> run(job, (CliCommand) commandLine.getCommand())));
+        log.info("Queued job " + job.getId() + " ('" + command + "' command).");
+
+        purgeFinishedJobs();
+        return job;
+    }
+
+    public Job getJob(long id) {
+        return jobs.get(id);
+    }
+
+    public List<Job> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    public Job cancel(long id) {
+        Job job = jobs.get(id);
+        if (job != null) {
+            synchronized (this) {
+                if (job.cancel() && job == currentJob) {
+                    // interrupt synchronously so that the event cannot reach the next job
+                    eventDispatcher.triggerSyncEvent(new InterruptEvent("Job " + id + " cancelled by client.",
+                            LogLevel.WARN, Event.GLOBAL_CHANNEL));
+                }
+            }
+        }
+
+        return job;
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        for (Job job : jobs.values()) {
+            cancel(job.getId());
+        }
+
+        try {
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                log.warn("Timed out waiting for the running job to terminate.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            eventDispatcher.removeEventHandler(this);
+        }
+    }
+
+    private void run(Job job, CliCommand command) {
+        synchronized (this) {
+            if (!job.start()) {
+                return;
+            }
+
+            currentJob = job;
+        }
+
+        log.info("Executing job " + job.getId() + " ('" + job.getCommand() + "' command).");
+        try {
+            resetProjectConfig();
+            Integer exitCode = command.call();
+            job.finish(exitCode != null ? exitCode : 0, null);
+        } catch (Throwable e) {
+            log.error("Failed to execute job " + job.getId() + ".", e);
+            job.finish(1, e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+        } finally {
+            synchronized (this) {
+                currentJob = null;
+            }
+
+            log.info("Job " + job.getId() + " finished with state " + job.getState() + ".");
+        }
+    }
+
+    private void resetProjectConfig() throws JAXBException, IOException, PluginException {
+        Object object = ConfigUtil.getInstance().unmarshal(new ByteArrayInputStream(projectConfig));
+        if (!(object instanceof ProjectConfig)) {
+            throw new JAXBException("Failed to restore project settings.");
+        }
+
+        Config config = ObjectRegistry.getInstance().getConfig();
+        config.setProjectConfig((ProjectConfig) object);
+        if (defaultConnection != null) {
+            config.getDatabaseConfig().setActiveConnection(defaultConnection);
+        }
+
+        for (ConfigExtension<?> plugin : pluginManager.getExternalPlugins(ConfigExtension.class)) {
+            pluginManager.propagatePluginConfig(plugin, config);
+        }
+    }
+
+    private List<String> getSecrets(CommandLine.ParseResult parseResult) {
+        // take the password values from the parsed option so that abbreviated
+        // and attached forms of the option are masked as well
+        CommandLine.Model.OptionSpec option = parseResult.commandSpec().findOption(PASSWORD_OPTION);
+        return option != null ? option.originalStringValues() : Collections.emptyList();
+    }
+
+    private int getQueuedJobs() {
+        return (int) jobs.values().stream().filter(job -> job.getState() == JobState.QUEUED).count();
+    }
+
+    private void purgeFinishedJobs() {
+        long finished = jobs.values().stream().filter(Job::isDone).count();
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (finished > maxFinishedJobs && iterator.hasNext()) {
+            if (iterator.next().isDone()) {
+                iterator.remove();
+                finished--;
+            }
+        }
+    }
+
+    @Override
+    public void handleEvent(Event event) throws Exception {
+        Job job;
+        synchronized (this) {
+            job = currentJob;
+        }
+
+        if (job == null) {
+            return;
+        }
+
+        if (event.getEventType() == EventType.OBJECT_COUNTER) {
+            for (Long count : ((ObjectCounterEvent) event).getCounter().values()) {
+                job.addObjects(count);
+            }
+        } else if (event.getEventType() == EventType.STATUS_DIALOG_PROGRESS_BAR) {
+            StatusDialogProgressBar progressBar = (StatusDialogProgressBar) event;
+            if (progressBar.getType() == ProgressBarEventType.INIT) {
+                job.initProgress(progressBar.isSetIntermediate() ? 0 : progressBar.getValue());
+            } else {
+                job.updateProgress(progressBar.getValue());
+            }
+        } else if (event.getEventType() == EventType.STATUS_DIALOG_MESSAGE) {
+            job.setMessage(((StatusDialogMessage) event).getMessage());
+        } else if (event.getEventType() == EventType.STATUS_DIALOG_TITLE) {
+            job.setTitle(((StatusDialogTitle) event).getTitle());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.cli.operation.server;
+
+import com.google.gson.*;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Local HTTP endpoint for submitting and monitoring jobs. Jobs are submitted as JSON objects
+ * of the form {@code {"command": "import", "args": ["--db-host", "localhost", ..., "file.gml"]}}
+ * to {@code POST /jobs}. Their status is available from {@code GET /jobs} and {@code GET /jobs/<id>},
+ * and {@code DELETE /jobs/<id>} cancels a job.
+ * <p>
+ * Requests must carry the access token generated at startup as bearer token. Requests from
+ * browsers (with an {@code Origin} header) or for non-loopback host names are rejected.
+ */
+public class JobServer {
+    private final HttpServer server;
+    private final JobManager jobManager;
+    private final byte[] authorization;
+    private final Gson gson = new GsonBuilder().serializeNulls().create();
+
+    public JobServer(InetSocketAddress address, JobManager jobManager, String token) throws IOException {
+        this.jobManager = jobManager;
+        authorization = ("Bearer " + token).getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(address, 0);
+        server.createContext("/jobs", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Headers headers = exchange.getRequestHeaders();
+            if (headers.containsKey("Origin")) {
+                sendError(exchange, 403, "Cross-origin requests are not allowed.");
+                return;
+            } else if (!isLoopbackHost(headers.getFirst("Host"))) {
+                sendError(exchange, 403, "The host must be a loopback address.");
+                return;
+            } else if (!isAuthorized(headers.getFirst("Authorization"))) {
+                exchange.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+                sendError(exchange, 401, "Missing or invalid access token.");
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath().replaceAll("/+$", "");
+            String method = exchange.getRequestMethod();
+
+            if (path.equals("/jobs")) {
+                if ("GET".equals(method)) {
+                    send(exchange, 200, jobManager.getJobs().stream()
+                            .map(Job::toStatus)
+                            .collect(Collectors.toList()));
+                } else if ("POST".equals(method)) {
+                    submit(exchange);
+                } else {
+                    sendError(exchange, 405, "Unsupported method " + method + ".");
+                }
+            } else {
+                Job job = getJob(path);
+                if (job == null) {
+                    sendError(exchange, 404, "Unknown job.");
+                } else if ("GET".equals(method)) {
+                    send(exchange, 200, job.toStatus());
+                } else if ("DELETE".equals(method)) {
+                    jobManager.cancel(job.getId());
+                    send(exchange, 200, job.toStatus());
+                } else {
+                    sendError(exchange, 405, "Unsupported method " + method + ".");
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void submit(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType == null || !contentType.split(";", 2)[0].trim().equalsIgnoreCase("application/json")) {
+            sendError(exchange, 415, "Job requests must be sent as application/json.");
+            return;
+        }
+
+        String command;
+        List<String> args = new ArrayList<>();
+
+        try (InputStream stream = exchange.getRequestBody()) {
+            JsonObject request = JsonParser.parseString(new String(stream.readAllBytes(), StandardCharsets.UTF_8))
+                    .getAsJsonObject();
+
+            command = request.has("command") ? request.get("command").getAsString() : null;
+            if (request.has("args")) {
+                for (JsonElement arg : request.getAsJsonArray("args")) {
+                    args.add(arg.getAsString());
+                }
+            }
+        } catch (JsonParseException | IllegalStateException | UnsupportedOperationException | ClassCastException e) {
+            sendError(exchange, 400, "Invalid job request: " + e.getMessage());
+            return;
+        }
+
+        if (command == null) {
+            sendError(exchange, 400, "The job request lacks a command.");
+            return;
+        }
+
+        try {
+            send(exchange, 201, jobManager.submit(command, args).toStatus());
+        } catch (JobException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RejectedExecutionException e) {
+            sendError(exchange, 503, "The job queue is full.");
+        }
+    }
+
+    private boolean isLoopbackHost(String host) {
+        if (host == null) {
+            return false;
+        }
+
+        // do not resolve the host name to prevent DNS rebinding
+        String name = host.startsWith("[") ?
+                host.substring(1, Math.max(host.indexOf(']'), 1)) :
+                host.replaceFirst(":\\d*$", "");
+
+        return name.equalsIgnoreCase("localhost")
+                || name.equals("::1")
+                || name.matches("127(\\.\\d{1,3}){3}");
+    }
+
+    private boolean isAuthorized(String header) {
+        return header != null && MessageDigest.isEqual(authorization, header.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Job getJob(String path) {
+        if (path.startsWith("/jobs/")) {
+            try {
+                return jobManager.getJob(Long.parseLong(path.substring(6)));
+            } catch (NumberFormatException e) {
+                //
+            }
+        }
+
+        return null;
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, Collections.singletonMap("error", message));
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] response = gson.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(response);
+        }
+    }
+}
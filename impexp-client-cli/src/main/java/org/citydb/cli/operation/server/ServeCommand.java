@@ -0,0 +1,225 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.citydb.cli.operation.server;
+
+import org.citydb.cli.ImpExpException;
+import org.citydb.cli.option.DatabaseOption;
+import org.citydb.config.Config;
+import org.citydb.config.project.database.DatabaseConnection;
+import org.citydb.core.database.DatabaseController;
+import org.citydb.core.plugin.CliCommand;
+import org.citydb.core.registry.ObjectRegistry;
+import org.citydb.core.util.CoreConstants;
+import org.citydb.util.log.Logger;
+import picocli.CommandLine;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+@CommandLine.Command(
+        name = "serve",
+        description = "Runs as daemon and executes import, export, delete and other jobs submitted " +
+                "as JSON to a local HTTP endpoint."
+)
+public class ServeCommand extends CliCommand {
+    @CommandLine.Option(names = "--host", defaultValue = "localhost",
+            description = "Loopback host name or IP address to listen on (default: ${DEFAULT-VALUE}).")
+    private String host;
+
+    @CommandLine.Option(names = "--port", defaultValue = "9095",
+            description = "Port to listen on (default: ${DEFAULT-VALUE}).")
+    private int port;
+
+    @CommandLine.Option(names = "--token-file", paramLabel = "<file>",
+            description = "File to write the access token for the job API to. The file is only readable " +
+                    "by the current user (default: job-server.token in the importer-exporter data directory).")
+    private Path tokenFile;
+
+    @CommandLine.Option(names = "--max-queued-jobs", defaultValue = "100",
+            description = "Maximum number of jobs waiting for execution (default: ${DEFAULT-VALUE}).")
+    private int maxQueuedJobs;
+
+    @CommandLine.Option(names = "--max-finished-jobs", defaultValue = "1000",
+            description = "Maximum number of finished jobs to keep the status of (default: ${DEFAULT-VALUE}).")
+    private int maxFinishedJobs;
+
+    @CommandLine.ArgGroup(exclusive = false, heading = "Database connection options:%n")
+    private final DatabaseOption databaseOption = new DatabaseOption();
+
+    @CommandLine.Spec
+    private CommandLine.Model.CommandSpec spec;
+
+    private final Logger log = Logger.getInstance();
+    private InetAddress address;
+
+    @Override
+    public Integer call() throws Exception {
+        Config config = ObjectRegistry.getInstance().getConfig();
+        DatabaseController database = ObjectRegistry.getInstance().getDatabaseController();
+
+        // jobs may run any other command of this CLI
+        Map<String, CommandLine> commands = new LinkedHashMap<>();
+        for (Map.Entry<String, CommandLine> entry : spec.parent().subcommands().entrySet()) {
+            Object command = entry.getValue().getCommand();
+            if (command instanceof CliCommand && !(command instanceof ServeCommand)) {
+                commands.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        DatabaseConnection defaultConnection = databaseOption.hasUserInput() ?
+                databaseOption.toDatabaseConnection() :
+                null;
+
+        JobManager jobManager;
+        try {
+            jobManager = new JobManager(commands, defaultConnection, maxQueuedJobs, maxFinishedJobs);
+        } catch (JobException e) {
+            throw new ImpExpException(e.getMessage(), e.getCause());
+        }
+
+        // keep the connection pool open across jobs
+        database.setHoldConnection(true);
+        DatabaseConnection connection = defaultConnection != null ?
+                defaultConnection :
+                config.getDatabaseConfig().getActiveConnection();
+
+        if (connection != null) {
+            if (!database.connect(connection)) {
+                log.warn("Failed to start job server.");
+                database.setHoldConnection(false);
+                return 1;
+            }
+        } else {
+            log.info("No default database connection provided. Jobs must define their own connection.");
+        }
+
+        JobServer server;
+        try {
+            server = new JobServer(new InetSocketAddress(address, port), jobManager, createToken());
+            server.start();
+        } catch (IOException e) {
+            database.setHoldConnection(false);
+            database.disconnect();
+            throw new ImpExpException("Failed to start job server on " + host + ":" + port + ".", e);
+        }
+
+        log.info("Accepting jobs at http://" + host + ":" + server.getAddress().getPort() + "/jobs.");
+        log.info("The access token for submitting jobs has been written to " + tokenFile + ".");
+
+        CountDownLatch shutdown = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            log.info("Shutting down job server.");
+            server.stop();
+            jobManager.shutdown();
+            database.setHoldConnection(false);
+            database.disconnect();
+
+            try {
+                Files.deleteIfExists(tokenFile);
+            } catch (IOException e) {
+                log.warn("Failed to delete the access token file " + tokenFile + ".");
+            }
+
+            shutdown.countDown();
+        }));
+
+        shutdown.await();
+        return 0;
+    }
+
+    private String createToken() throws IOException {
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        // the token file must only be readable by the current user
+        Files.createDirectories(tokenFile.toAbsolutePath().getParent());
+        Files.deleteIfExists(tokenFile);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            File file = Files.createFile(tokenFile).toFile();
+            if (!file.setReadable(false, false) || !file.setReadable(true, true)
+                    || !file.setWritable(false, false) || !file.setWritable(true, true)) {
+                throw new IOException("Failed to restrict access to the token file " + tokenFile + ".");
+            }
+        }
+
+        Files.write(tokenFile, token.getBytes(StandardCharsets.UTF_8));
+        return token;
+    }
+
+    @Override
+    public void preprocess(CommandLine commandLine) throws Exception {
+        if (port < 0 || port > 65535) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The port must be between 0 and 65535 but was '" + port + "'");
+        }
+
+        // the job API must not be reachable from other hosts
+        try {
+            address = InetAddress.getByName(host);
+        } catch (UnknownHostException e) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: Unknown host '" + host + "'");
+        }
+
+        if (!address.isLoopbackAddress()) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The host must be a loopback address but was '" + host + "'");
+        }
+
+        tokenFile = tokenFile != null ?
+                CoreConstants.WORKING_DIR.resolve(tokenFile) :
+                CoreConstants.IMPEXP_DATA_DIR.resolve("job-server.token");
+
+        if (maxQueuedJobs <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The maximum number of queued jobs must be a positive integer but was '" + maxQueuedJobs + "'");
+        }
+
+        if (maxFinishedJobs < 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The maximum number of finished jobs must be a non-negative integer but was '" + maxFinishedJobs + "'");
+        }
+    }
+}
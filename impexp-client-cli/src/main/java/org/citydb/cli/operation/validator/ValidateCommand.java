@@ -33,6 +33,7 @@ import org.citydb.cli.option.CliOptionBuilder;
 import org.citydb.core.operation.validator.ValidationException;
 import org.citydb.core.operation.validator.controller.Validator;
 import org.citydb.core.plugin.CliCommand;
+import org.citydb.core.registry.ObjectRegistry;
 import org.citydb.core.util.CoreConstants;
 import org.citydb.util.log.Logger;
 import picocli.CommandLine;
@@ -50,6 +51,10 @@ public class ValidateCommand extends CliCommand {
             description = "Files or directories to validate (glob patterns allowed).")
     private String[] files;
 
+    @CommandLine.Option(names = "--threads",
+            description = "Number of files to validate in parallel (default: number of available processors).")
+    private Integer threads;
+
     private final Logger log = Logger.getInstance();
 
     @Override
@@ -68,6 +73,11 @@ public class ValidateCommand extends CliCommand {
             throw new ImpExpException("Failed to parse input file parameters.", e);
         }
 
+        if (threads != null) {
+            ObjectRegistry.getInstance().getConfig().getImportConfig().getCityGMLOptions().getXMLValidation()
+                    .setNumberOfThreads(threads);
+        }
+
         try {
             Validator validator = new Validator();
             validator.doValidate(inputFiles);
@@ -79,4 +89,12 @@ public class ValidateCommand extends CliCommand {
             return 1;
         }
     }
+
+    @Override
+    public void preprocess(CommandLine commandLine) throws Exception {
+        if (threads != null && threads <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The number of threads must be a positive integer but was '" + threads + "'");
+        }
+    }
 }
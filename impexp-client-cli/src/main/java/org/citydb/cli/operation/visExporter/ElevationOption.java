@@ -32,8 +32,11 @@ import org.citydb.cli.option.CliOption;
 import org.citydb.config.project.visExporter.AltitudeMode;
 import org.citydb.config.project.visExporter.AltitudeOffsetMode;
 import org.citydb.config.project.visExporter.Elevation;
+import org.citydb.config.project.visExporter.ElevationSource;
 import picocli.CommandLine;
 
+import java.nio.file.Path;
+
 public class ElevationOption implements CliOption {
     @CommandLine.Option(names = {"-A", "--altitude-mode"}, paramLabel = "<mode>", defaultValue = "absolute",
             description = "Altitude mode: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}).")
@@ -49,6 +52,16 @@ public class ElevationOption implements CliOption {
                     "Requires an API key.")
     private String googleApiKey;
 
+    @CommandLine.Option(names = "--dem", paramLabel = "<file|folder>",
+            description = "Sample a local DEM in GeoTIFF or ESRI ASCII grid format when no GE_LoDn_zOffset " +
+                    "attribute is available. Provide a single raster file or a folder of rasters.")
+    private Path demPath;
+
+    @CommandLine.Option(names = "--dem-tile-cache", paramLabel = "<tiles>",
+            description = "Number of DEM tiles with 256x256 cells to keep in memory (default: " +
+                    Elevation.DEFAULT_DEM_TILE_CACHE_SIZE + ").")
+    private Integer demTileCacheSize;
+
     @CommandLine.Option(names = "--transform-height",
             description = "Transform height to WGS84 ellipsoid height.")
     private boolean transformHeight;
@@ -62,7 +75,14 @@ public class ElevationOption implements CliOption {
         elevation.setUseOriginalZCoords(!transformHeight);
         elevation.setAltitudeOffsetMode(offsetMode);
         elevation.setAltitudeOffsetValue(offset);
-        elevation.setCallGElevationService(offsetMode == AltitudeOffsetMode.GENERIC_ATTRIBUTE && googleApiKey != null);
+        elevation.setCallGElevationService(offsetMode == AltitudeOffsetMode.GENERIC_ATTRIBUTE
+                && (googleApiKey != null || demPath != null));
+
+        if (demPath != null) {
+            elevation.setElevationSource(ElevationSource.LOCAL_DEM);
+            elevation.setDemPath(demPath.toAbsolutePath().toString());
+            elevation.setDemTileCacheSize(demTileCacheSize);
+        }
 
         return elevation;
     }
@@ -106,5 +126,23 @@ public class ElevationOption implements CliOption {
             throw new CommandLine.ParameterException(commandLine, "Error: --google-elevation-service requires " +
                     "--altitude-offset to be set to 'generic'.");
         }
+
+        if (demPath != null) {
+            if (offsetMode != AltitudeOffsetMode.GENERIC_ATTRIBUTE) {
+                throw new CommandLine.ParameterException(commandLine, "Error: --dem requires " +
+                        "--altitude-offset to be set to 'generic'.");
+            } else if (googleApiKey != null) {
+                throw new CommandLine.ParameterException(commandLine, "Error: --dem and --google-elevation-api " +
+                        "are mutually exclusive (specify only one)");
+            }
+        }
+
+        if (demTileCacheSize != null) {
+            if (demPath == null) {
+                throw new CommandLine.ParameterException(commandLine, "Error: --dem-tile-cache requires --dem.");
+            } else if (demTileCacheSize <= 0) {
+                throw new CommandLine.ParameterException(commandLine, "Error: The number of DEM tiles must be a positive integer but was '" + demTileCacheSize + "'");
+            }
+        }
     }
 }
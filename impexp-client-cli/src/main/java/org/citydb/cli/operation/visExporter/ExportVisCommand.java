@@ -33,6 +33,7 @@ import org.citydb.cli.option.ThreadPoolOption;
 import org.citydb.config.Config;
 import org.citydb.config.project.database.DatabaseConnection;
 import org.citydb.config.project.visExporter.VisExportConfig;
+import org.citydb.config.project.visExporter.VisExportResources;
 import org.citydb.core.database.DatabaseController;
 import org.citydb.core.plugin.CliCommand;
 import org.citydb.core.registry.ObjectRegistry;
@@ -60,6 +61,19 @@ public class ExportVisCommand extends CliCommand {
             description = "Write JSON metadata file.")
     private boolean json;
 
+    @CommandLine.Option(names = "--aggregate-on-client",
+            description = "Union footprint and extruded geometries on the client instead of the database.")
+    private boolean aggregateOnClient;
+
+    @CommandLine.Option(names = "--fetch-size", paramLabel = "<rows>",
+            description = "Number of rows fetched per database round trip (default: " + VisExportResources.DEFAULT_FETCH_SIZE + ").")
+    private Integer fetchSize;
+
+    @CommandLine.Option(names = "--texture-cache", paramLabel = "<mb>",
+            description = "Memory for caching decoded textures and texture atlases shared between objects " +
+                    "(default: " + VisExportResources.DEFAULT_TEXTURE_CACHE_SIZE + " MB).")
+    private Integer textureCacheSize;
+
     @CommandLine.ArgGroup
     private ThreadPoolOption threadPoolOption;
 
@@ -143,9 +157,21 @@ public class ExportVisCommand extends CliCommand {
             visExportConfig.setWriteJSONFile(json);
         }
 
+        if (aggregateOnClient) {
+            visExportConfig.setAggregateGeometriesOnClient(aggregateOnClient);
+        }
+
         if (threadPoolOption != null) {
             visExportConfig.getResources().setThreadPool(threadPoolOption.toThreadPool());
         }
+
+        if (fetchSize != null) {
+            visExportConfig.getResources().setFetchSize(fetchSize);
+        }
+
+        if (textureCacheSize != null) {
+            visExportConfig.getResources().setTextureCacheSize(textureCacheSize);
+        }
     }
 
     private void setDisplayOptions(VisExportConfig visExportConfig) {
@@ -174,5 +200,15 @@ public class ExportVisCommand extends CliCommand {
             throw new CommandLine.ParameterException(commandLine,
                     "Error: --gltf requires the data to be exported as COLLADA");
         }
+
+        if (fetchSize != null && fetchSize <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The fetch size must be a positive integer but was '" + fetchSize + "'");
+        }
+
+        if (textureCacheSize != null && textureCacheSize <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The texture cache size must be a positive integer but was '" + textureCacheSize + "'");
+        }
     }
 }
@@ -30,6 +30,7 @@ package org.citydb.gui.operation.database.operations;
 import org.citydb.config.i18n.Language;
 import org.citydb.config.project.database.DatabaseOperationType;
 import org.citydb.core.database.connection.DatabaseConnectionPool;
+import org.citydb.core.registry.ObjectRegistry;
 import org.citydb.gui.components.dialog.StatusDialog;
 import org.citydb.gui.plugin.view.ViewController;
 import org.citydb.gui.util.GuiUtil;
@@ -52,6 +53,8 @@ public class ReportOperation extends DatabaseOperationView {
 
     private JPanel component;
     private JButton reportButton;
+    private JButton statisticsButton;
+    private JButton refreshStatisticsButton;
 
     public ReportOperation(DatabaseOperationsPanel parent) {
         viewController = parent.getViewController();
@@ -65,7 +68,11 @@ public class ReportOperation extends DatabaseOperationView {
         component.setLayout(new GridBagLayout());
 
         reportButton = new JButton();
+        statisticsButton = new JButton();
+        refreshStatisticsButton = new JButton();
         component.add(reportButton, GuiUtil.setConstraints(0, 0, 0, 0, GridBagConstraints.NONE, 15, 0, 10, 0));
+        component.add(statisticsButton, GuiUtil.setConstraints(1, 0, 0, 0, GridBagConstraints.NONE, 15, 5, 10, 0));
+        component.add(refreshStatisticsButton, GuiUtil.setConstraints(2, 0, 0, 0, GridBagConstraints.NONE, 15, 5, 10, 0));
 
         reportButton.addActionListener(e -> new SwingWorker<Void, Void>() {
             protected Void doInBackground() {
@@ -73,6 +80,20 @@ public class ReportOperation extends DatabaseOperationView {
                 return null;
             }
         }.execute());
+
+        statisticsButton.addActionListener(e -> new SwingWorker<Void, Void>() {
+            protected Void doInBackground() {
+                doFeatureStatistics(false);
+                return null;
+            }
+        }.execute());
+
+        refreshStatisticsButton.addActionListener(e -> new SwingWorker<Void, Void>() {
+            protected Void doInBackground() {
+                doFeatureStatistics(true);
+                return null;
+            }
+        }.execute());
     }
 
     @Override
@@ -103,11 +124,15 @@ public class ReportOperation extends DatabaseOperationView {
     @Override
     public void switchLocale(Locale locale) {
         reportButton.setText(Language.I18N.getString("db.button.report"));
+        statisticsButton.setText(Language.I18N.getString("db.button.report.statistics"));
+        refreshStatisticsButton.setText(Language.I18N.getString("db.button.report.refreshStatistics"));
     }
 
     @Override
     public void setEnabled(boolean enable) {
         reportButton.setEnabled(enable);
+        statisticsButton.setEnabled(enable);
+        refreshStatisticsButton.setEnabled(enable);
     }
 
     @Override
@@ -147,25 +172,8 @@ public class ReportOperation extends DatabaseOperationView {
 
             try {
                 String[] report = dbConnectionPool.getActiveDatabaseAdapter().getUtil().createDatabaseReport();
-                Pattern pattern = Pattern.compile("^(#[^\\s\\\\]+)[^\\d]+(\\d+).*$");
-                Matcher matcher = pattern.matcher("");
-
                 if (report != null) {
-                    for (String line : report) {
-                        if (line != null) {
-                            matcher.reset(line);
-                            if (matcher.matches()) {
-                                StringBuilder formatted = new StringBuilder(matcher.group(1));
-                                while (formatted.length() < 30)
-                                    formatted.append(' ');
-
-                                line = formatted.append("  ").append(matcher.group(2)).toString();
-                            }
-
-                            log.print(line);
-                        }
-                    }
-
+                    printReport(report);
                     log.info("Database report successfully generated.");
                 } else
                     log.warn("Generation of database report aborted.");
@@ -187,4 +195,85 @@ public class ReportOperation extends DatabaseOperationView {
         }
     }
 
+    private void doFeatureStatistics(boolean refresh) {
+        final ReentrantLock lock = this.mainLock;
+        lock.lock();
+
+        try {
+            viewController.clearConsole();
+            StatusDialog statisticsDialog = null;
+
+            if (refresh) {
+                viewController.setStatusText(Language.I18N.getString("db.dialog.report.statistics.title"));
+                log.info("Refreshing feature statistics...");
+
+                statisticsDialog = new StatusDialog(viewController.getTopFrame(),
+                        Language.I18N.getString("db.dialog.report.statistics.window"),
+                        Language.I18N.getString("db.dialog.report.statistics.title"),
+                        null,
+                        Language.I18N.getString("db.dialog.report.statistics.details"),
+                        true);
+
+                statisticsDialog.getButton().addActionListener(e -> SwingUtilities.invokeLater(() ->
+                        dbConnectionPool.getActiveDatabaseAdapter().getUtil().interruptDatabaseOperation()));
+
+                final StatusDialog dialog = statisticsDialog;
+                SwingUtilities.invokeLater(() -> {
+                    dialog.setLocationRelativeTo(viewController.getTopFrame());
+                    dialog.setVisible(true);
+                });
+            }
+
+            try {
+                if (refresh && dbConnectionPool.getActiveDatabaseAdapter().getUtil()
+                        .refreshFeatureStatistics(ObjectRegistry.getInstance().getSchemaMapping()) == null) {
+                    log.warn("Refreshing feature statistics aborted.");
+                    return;
+                }
+
+                String[] report = dbConnectionPool.getActiveDatabaseAdapter().getUtil()
+                        .createFeatureStatisticsReport(ObjectRegistry.getInstance().getSchemaMapping());
+                if (report != null) {
+                    printReport(report);
+                    log.info("Feature statistics successfully " + (refresh ? "refreshed." : "loaded."));
+                } else {
+                    log.warn("The database does not provide feature statistics. Refresh them to create them.");
+                }
+            } catch (SQLException e) {
+                viewController.errorMessage(Language.I18N.getString("common.dialog.error.db.title"),
+                        MessageFormat.format(Language.I18N.getString("db.dialog.error.report.statistics"), e.getMessage().trim()));
+
+                log.error("Failed to " + (refresh ? "refresh" : "load") + " the feature statistics.", e);
+            } finally {
+                if (statisticsDialog != null) {
+                    SwingUtilities.invokeLater(statisticsDialog::dispose);
+                }
+
+                viewController.setStatusText(Language.I18N.getString("main.status.ready.label"));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void printReport(String[] report) {
+        Pattern pattern = Pattern.compile("^(#[^\\s\\\\]+)[^\\d]+(\\d+).*$");
+        Matcher matcher = pattern.matcher("");
+
+        for (String line : report) {
+            if (line != null) {
+                matcher.reset(line);
+                if (matcher.matches()) {
+                    StringBuilder formatted = new StringBuilder(matcher.group(1));
+                    while (formatted.length() < 30)
+                        formatted.append(' ');
+
+                    line = formatted.append("  ").append(matcher.group(2)).toString();
+                }
+
+                log.print(line);
+            }
+        }
+    }
+
 }
@@ -48,6 +48,7 @@ public class CachePanel extends InternalPreferencesComponent {
     private JRadioButton useLocalCache;
     private JTextField localCachePath;
     private JButton browseButton;
+    private JCheckBox useSpillFiles;
 
     public CachePanel(Config config) {
         super(config);
@@ -61,6 +62,7 @@ public class CachePanel extends InternalPreferencesComponent {
         if (useDatabase.isSelected() != cache.isUseDatabase()) return true;
         if (useLocalCache.isSelected() != cache.isUseLocal()) return true;
         if (!localCachePath.getText().equals(cache.getLocalCachePath())) return true;
+        if (useSpillFiles.isSelected() != cache.isUseSpillFiles()) return true;
         return false;
     }
 
@@ -73,6 +75,7 @@ public class CachePanel extends InternalPreferencesComponent {
 
         localCachePath = new JTextField();
         browseButton = new JButton();
+        useSpillFiles = new JCheckBox();
 
         PopupMenuDecorator.getInstance().decorate(localCachePath);
 
@@ -85,6 +88,7 @@ public class CachePanel extends InternalPreferencesComponent {
                 content.add(useLocalCache, GuiUtil.setConstraints(0, 1, 0, 0, GridBagConstraints.BOTH, 0, 0, 0, 5));
                 content.add(localCachePath, GuiUtil.setConstraints(1, 1, 1, 0, GridBagConstraints.BOTH, 0, 5, 0, 5));
                 content.add(browseButton, GuiUtil.setConstraints(2, 1, 0, 0, GridBagConstraints.BOTH, 0, 5, 0, 0));
+                content.add(useSpillFiles, GuiUtil.setConstraints(0, 2, 3, 1, 1, 0, GridBagConstraints.BOTH, 5, 0, 0, 0));
             }
 
             cachePanel = new TitledPanel().build(content);
@@ -106,6 +110,7 @@ public class CachePanel extends InternalPreferencesComponent {
     private void setEnabledLocalCachePath() {
         localCachePath.setEnabled(useLocalCache.isSelected());
         browseButton.setEnabled(useLocalCache.isSelected());
+        useSpillFiles.setEnabled(useLocalCache.isSelected());
     }
 
     @Override
@@ -114,6 +119,7 @@ public class CachePanel extends InternalPreferencesComponent {
         useDatabase.setText(Language.I18N.getString("pref.general.cache.label.useDatabase"));
         useLocalCache.setText(Language.I18N.getString("pref.general.cache.label.useLocal"));
         browseButton.setText(Language.I18N.getString("common.button.browse"));
+        useSpillFiles.setText(Language.I18N.getString("pref.general.cache.label.useSpillFiles"));
     }
 
     @Override
@@ -124,6 +130,8 @@ public class CachePanel extends InternalPreferencesComponent {
         else
             useLocalCache.setSelected(true);
 
+        useSpillFiles.setSelected(cache.isUseSpillFiles());
+
         if (cache.isSetLocalCachePath()) {
             localCachePath.setText(cache.getLocalCachePath());
         } else {
@@ -138,7 +146,10 @@ public class CachePanel extends InternalPreferencesComponent {
     @Override
     public void setSettings() {
         Cache cache = config.getGlobalConfig().getCache();
-        cache.setCacheMode(useDatabase.isSelected() ? CacheMode.DATABASE : CacheMode.LOCAL);
+        if (useDatabase.isSelected())
+            cache.setCacheMode(CacheMode.DATABASE);
+        else
+            cache.setCacheMode(useSpillFiles.isSelected() ? CacheMode.SPILL : CacheMode.LOCAL);
 
         if (!localCachePath.getText().isEmpty()) {
             cache.setLocalCachePath(localCachePath.getText());
@@ -776,6 +776,7 @@ public class VisExportPanel extends DefaultViewComponent implements EventHandler
             // check API key when using the elevation API
             if (config.getVisExportConfig().getElevation().getAltitudeOffsetMode() == AltitudeOffsetMode.GENERIC_ATTRIBUTE
                     && config.getVisExportConfig().getElevation().isCallGElevationService()
+                    && config.getVisExportConfig().getElevation().getElevationSource() == ElevationSource.GOOGLE_ELEVATION_API
                     && !config.getGlobalConfig().getApiKeys().isSetGoogleElevation()) {
                 log.error("The Google Elevation API cannot be used due to a missing API key.");
                 log.error("Please enter an API key or change the export preferences.");
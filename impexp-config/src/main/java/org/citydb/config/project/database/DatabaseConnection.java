@@ -110,6 +110,8 @@ public class DatabaseConnection implements Comparable<DatabaseConnection> {
     private Boolean useEquals;
     @XmlAttribute
     private Integer suspectTimeout;
+    @XmlAttribute
+    private Integer statementCacheSize;
 
     public DatabaseConnection() {
         id = "UUID_" + UUID.randomUUID().toString();
@@ -424,6 +426,14 @@ public class DatabaseConnection implements Comparable<DatabaseConnection> {
         this.suspectTimeout = suspectTimeout;
     }
 
+    public Integer getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public void setStatementCacheSize(Integer statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
     @Override
     public String toString() {
         return description != null ? getDescription() : toConnectString();
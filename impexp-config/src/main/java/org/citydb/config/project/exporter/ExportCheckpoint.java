@@ -0,0 +1,81 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.exporter;
+
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "ExportCheckpointType", propOrder = {
+        "useCheckpoints",
+        "checkpointFile",
+        "featuresPerPart",
+        "resume"
+})
+public class ExportCheckpoint {
+    public static final int DEFAULT_FEATURES_PER_PART = 100000;
+
+    private Boolean useCheckpoints;
+    private String checkpointFile;
+    private Integer featuresPerPart;
+    private Boolean resume;
+
+    public boolean isUseCheckpoints() {
+        return useCheckpoints != null ? useCheckpoints : false;
+    }
+
+    public void setUseCheckpoints(boolean useCheckpoints) {
+        this.useCheckpoints = useCheckpoints;
+    }
+
+    public boolean isSetCheckpointFile() {
+        return checkpointFile != null;
+    }
+
+    public String getCheckpointFile() {
+        return checkpointFile;
+    }
+
+    public void setCheckpointFile(String checkpointFile) {
+        this.checkpointFile = checkpointFile;
+    }
+
+    public int getFeaturesPerPart() {
+        return featuresPerPart != null && featuresPerPart > 0 ? featuresPerPart : DEFAULT_FEATURES_PER_PART;
+    }
+
+    public void setFeaturesPerPart(Integer featuresPerPart) {
+        this.featuresPerPart = featuresPerPart;
+    }
+
+    public boolean isResume() {
+        return resume != null ? resume : false;
+    }
+
+    public void setResume(boolean resume) {
+        this.resume = resume;
+    }
+}
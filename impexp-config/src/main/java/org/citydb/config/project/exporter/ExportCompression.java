@@ -0,0 +1,70 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.exporter;
+
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "ExportCompressionType", propOrder = {
+        "compressionLevel",
+        "parallelGZip",
+        "blockSize"
+})
+public class ExportCompression {
+    public static final int DEFAULT_COMPRESSION = -1;
+    public static final int DEFAULT_BLOCK_SIZE = 128;
+
+    private Integer compressionLevel;
+    private Boolean parallelGZip;
+    private Integer blockSize;
+
+    public int getCompressionLevel() {
+        return compressionLevel != null && compressionLevel >= 0 && compressionLevel <= 9 ?
+                compressionLevel :
+                DEFAULT_COMPRESSION;
+    }
+
+    public void setCompressionLevel(Integer compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public boolean isParallelGZip() {
+        return parallelGZip != null ? parallelGZip : true;
+    }
+
+    public void setParallelGZip(boolean parallelGZip) {
+        this.parallelGZip = parallelGZip;
+    }
+
+    public int getBlockSize() {
+        return blockSize != null && blockSize >= 32 ? blockSize : DEFAULT_BLOCK_SIZE;
+    }
+
+    public void setBlockSize(Integer blockSize) {
+        this.blockSize = blockSize;
+    }
+}
@@ -42,12 +42,17 @@ public class GeneralOptions {
     private TileTokenValue datasetName;
     private TileTokenValue datasetDescription;
     private ExportEnvelope envelope;
+    private ExportCompression compression;
+    private ExportCheckpoint checkpoint;
+    private Boolean transformCoordinatesOnClient;
 
     public GeneralOptions() {
         computeNumberMatched = new ComputeNumberMatched();
         datasetName = new TileTokenValue();
         datasetDescription = new TileTokenValue();
         envelope = new ExportEnvelope();
+        compression = new ExportCompression();
+        checkpoint = new ExportCheckpoint();
     }
 
     public boolean isFailFastOnErrors() {
@@ -117,4 +122,32 @@ public class GeneralOptions {
             this.envelope = envelope;
         }
     }
+
+    public ExportCompression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(ExportCompression compression) {
+        if (compression != null) {
+            this.compression = compression;
+        }
+    }
+
+    public ExportCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(ExportCheckpoint checkpoint) {
+        if (checkpoint != null) {
+            this.checkpoint = checkpoint;
+        }
+    }
+
+    public boolean isTransformCoordinatesOnClient() {
+        return transformCoordinatesOnClient != null ? transformCoordinatesOnClient : false;
+    }
+
+    public void setTransformCoordinatesOnClient(boolean transformCoordinatesOnClient) {
+        this.transformCoordinatesOnClient = transformCoordinatesOnClient;
+    }
 }
@@ -53,7 +53,11 @@ public class Cache {
     }
 
     public boolean isUseLocal() {
-        return mode == CacheMode.LOCAL;
+        return mode == CacheMode.LOCAL || mode == CacheMode.SPILL;
+    }
+
+    public boolean isUseSpillFiles() {
+        return mode == CacheMode.SPILL;
     }
 
     public CacheMode getCacheMode() {
@@ -34,7 +34,9 @@ import javax.xml.bind.annotation.XmlType;
         "logLevel",
         "logFileMode",
         "useAlternativeLogFile",
-        "alternativeLogFile"
+        "alternativeLogFile",
+        "queueSize",
+        "overflowPolicy"
 })
 public class LogFile {
     @XmlAttribute
@@ -43,6 +45,8 @@ public class LogFile {
     private LogFileMode logFileMode;
     private Boolean useAlternativeLogFile = false;
     private String alternativeLogFile;
+    private Integer queueSize;
+    private LogFileOverflowPolicy overflowPolicy;
 
     public boolean isActive() {
         return active;
@@ -83,4 +87,20 @@ public class LogFile {
     public void setAlternativeLogFile(String alternativeLogFile) {
         this.alternativeLogFile = alternativeLogFile;
     }
+
+    public int getQueueSize() {
+        return queueSize != null && queueSize > 0 ? queueSize : 8192;
+    }
+
+    public void setQueueSize(Integer queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public LogFileOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy != null ? overflowPolicy : LogFileOverflowPolicy.BLOCK;
+    }
+
+    public void setOverflowPolicy(LogFileOverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
 }
@@ -48,6 +48,7 @@ import javax.xml.bind.annotation.XmlType;
         "cityJSONOptions",
         "indexes",
         "importLog",
+        "idIndex",
         "duplicateLog",
         "resources"
 })
@@ -65,6 +66,7 @@ public class ImportConfig {
     private CityJSONOptions cityJSONOptions;
     private Index indexes;
     private ImportLog importLog;
+    private ImportIdIndex idIndex;
     private DuplicateLog duplicateLog;
     private ImportResources resources;
 
@@ -80,6 +82,7 @@ public class ImportConfig {
         cityJSONOptions = new CityJSONOptions();
         indexes = new Index();
         importLog = new ImportLog();
+        idIndex = new ImportIdIndex();
         duplicateLog = new DuplicateLog();
         resources = new ImportResources();
     }
@@ -202,6 +205,16 @@ public class ImportConfig {
         }
     }
 
+    public ImportIdIndex getIdIndex() {
+        return idIndex;
+    }
+
+    public void setIdIndex(ImportIdIndex idIndex) {
+        if (idIndex != null) {
+            this.idIndex = idIndex;
+        }
+    }
+
     public DuplicateLog getDuplicateLog() {
         return duplicateLog;
     }
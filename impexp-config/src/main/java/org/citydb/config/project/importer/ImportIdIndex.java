@@ -0,0 +1,79 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.importer;
+
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "ImportIdIndexType", propOrder = {
+        "useIdIndex",
+        "indexPath",
+        "resolveXlinks",
+        "skipIndexedFeatures"
+})
+public class ImportIdIndex {
+    private Boolean useIdIndex;
+    private String indexPath;
+    private Boolean resolveXlinks;
+    private Boolean skipIndexedFeatures;
+
+    public boolean isUseIdIndex() {
+        return useIdIndex != null ? useIdIndex : false;
+    }
+
+    public void setUseIdIndex(boolean useIdIndex) {
+        this.useIdIndex = useIdIndex;
+    }
+
+    public boolean isSetIndexPath() {
+        return indexPath != null && !indexPath.isEmpty();
+    }
+
+    public String getIndexPath() {
+        return indexPath;
+    }
+
+    public void setIndexPath(String indexPath) {
+        this.indexPath = indexPath;
+    }
+
+    public boolean isResolveXlinks() {
+        return resolveXlinks != null ? resolveXlinks : true;
+    }
+
+    public void setResolveXlinks(boolean resolveXlinks) {
+        this.resolveXlinks = resolveXlinks;
+    }
+
+    public boolean isSkipIndexedFeatures() {
+        return skipIndexedFeatures != null ? skipIndexedFeatures : false;
+    }
+
+    public void setSkipIndexedFeatures(boolean skipIndexedFeatures) {
+        this.skipIndexedFeatures = skipIndexedFeatures;
+    }
+}
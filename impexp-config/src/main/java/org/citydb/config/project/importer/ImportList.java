@@ -31,11 +31,18 @@ package org.citydb.config.project.importer;
 import org.citydb.config.project.common.IdColumnType;
 import org.citydb.config.project.common.IdList;
 
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
 import javax.xml.bind.annotation.XmlType;
 
 @XmlType(name = "ImportListType")
 public class ImportList extends IdList {
+    public static final int DEFAULT_MEMORY_BUDGET = 256;
+
     private ImportListMode mode = ImportListMode.IMPORT;
+    @XmlElement(defaultValue = "256")
+    @XmlSchemaType(name = "positiveInteger")
+    private Integer memoryBudget;
 
     @Override
     public ImportList withDefaultCommentCharacter(Character commentCharacter) {
@@ -50,6 +57,14 @@ public class ImportList extends IdList {
         this.mode = mode;
     }
 
+    public int getMemoryBudget() {
+        return memoryBudget != null && memoryBudget > 0 ? memoryBudget : DEFAULT_MEMORY_BUDGET;
+    }
+
+    public void setMemoryBudget(Integer memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
     @Override
     public IdColumnType getIdColumnType() {
         return IdColumnType.RESOURCE_ID;
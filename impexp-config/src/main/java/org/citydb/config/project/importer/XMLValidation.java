@@ -28,17 +28,21 @@
 package org.citydb.config.project.importer;
 
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
 import javax.xml.bind.annotation.XmlType;
 
 @XmlType(name = "XMLValidationType", propOrder = {
         "useXMLValidation",
-        "reportOneErrorPerFeature"
+        "reportOneErrorPerFeature",
+        "numberOfThreads"
 })
 public class XMLValidation {
     @XmlElement(required = true, defaultValue = "false")
     private Boolean useXMLValidation = false;
     @XmlElement(defaultValue = "false")
     private Boolean reportOneErrorPerFeature = false;
+    @XmlSchemaType(name = "positiveInteger")
+    private Integer numberOfThreads;
 
     public XMLValidation() {
     }
@@ -67,4 +71,14 @@ public class XMLValidation {
         this.reportOneErrorPerFeature = reportOneErrorPerFeature;
     }
 
+    public int getNumberOfThreads() {
+        return numberOfThreads != null && numberOfThreads > 0 ?
+                numberOfThreads :
+                Runtime.getRuntime().availableProcessors();
+    }
+
+    public void setNumberOfThreads(Integer numberOfThreads) {
+        this.numberOfThreads = numberOfThreads;
+    }
+
 }
@@ -35,15 +35,29 @@ import javax.xml.bind.annotation.XmlElements;
 import javax.xml.bind.annotation.XmlType;
 
 @XmlType(name = "TilingType", propOrder = {
+        "maxFeaturesPerTile",
         "tilingOptions"
 })
 public class Tiling extends AbstractTiling {
+    private Long maxFeaturesPerTile;
     @XmlElements({
             @XmlElement(name = "tilingOptions", type = SimpleTilingOptions.class),
             @XmlElement(name = "visTilingOptions", type = VisTilingOptions.class)
     })
     private AbstractTilingOptions tilingOptions;
 
+    public boolean isSetMaxFeaturesPerTile() {
+        return maxFeaturesPerTile != null && maxFeaturesPerTile > 0;
+    }
+
+    public Long getMaxFeaturesPerTile() {
+        return maxFeaturesPerTile;
+    }
+
+    public void setMaxFeaturesPerTile(Long maxFeaturesPerTile) {
+        this.maxFeaturesPerTile = maxFeaturesPerTile;
+    }
+
     @Override
     public AbstractTilingOptions getTilingOptions() {
         return tilingOptions;
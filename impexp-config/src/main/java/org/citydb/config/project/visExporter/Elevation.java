@@ -27,6 +27,7 @@
  */
 package org.citydb.config.project.visExporter;
 
+import javax.xml.bind.annotation.XmlSchemaType;
 import javax.xml.bind.annotation.XmlType;
 
 @XmlType(name = "ElevationType", propOrder = {
@@ -34,13 +35,22 @@ import javax.xml.bind.annotation.XmlType;
         "altitudeOffsetMode",
         "altitudeOffsetValue",
         "callGElevationService",
+        "elevationSource",
+        "demPath",
+        "demTileCacheSize",
         "useOriginalZCoords",
 })
 public class Elevation {
+    public static final int DEFAULT_DEM_TILE_CACHE_SIZE = 256;
+
     private AltitudeMode altitudeMode;
     private AltitudeOffsetMode altitudeOffsetMode;
     private Double altitudeOffsetValue;
     private Boolean callGElevationService;
+    private ElevationSource elevationSource;
+    private String demPath;
+    @XmlSchemaType(name = "positiveInteger")
+    private Integer demTileCacheSize;
     private Boolean useOriginalZCoords;
 
     public Elevation() {
@@ -85,6 +95,34 @@ public class Elevation {
         this.callGElevationService = callGElevationService;
     }
 
+    public ElevationSource getElevationSource() {
+        return elevationSource != null ? elevationSource : ElevationSource.GOOGLE_ELEVATION_API;
+    }
+
+    public void setElevationSource(ElevationSource elevationSource) {
+        this.elevationSource = elevationSource;
+    }
+
+    public String getDemPath() {
+        return demPath;
+    }
+
+    public boolean isSetDemPath() {
+        return demPath != null && !demPath.trim().isEmpty();
+    }
+
+    public void setDemPath(String demPath) {
+        this.demPath = demPath;
+    }
+
+    public int getDemTileCacheSize() {
+        return demTileCacheSize != null && demTileCacheSize > 0 ? demTileCacheSize : DEFAULT_DEM_TILE_CACHE_SIZE;
+    }
+
+    public void setDemTileCacheSize(Integer demTileCacheSize) {
+        this.demTileCacheSize = demTileCacheSize;
+    }
+
     public boolean isUseOriginalZCoords() {
         return useOriginalZCoords != null ? useOriginalZCoords : true;
     }
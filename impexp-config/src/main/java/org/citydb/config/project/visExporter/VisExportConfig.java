@@ -28,7 +28,6 @@
 package org.citydb.config.project.visExporter;
 
 import org.citydb.config.project.common.Path;
-import org.citydb.config.project.resources.Resources;
 
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
@@ -73,6 +72,7 @@ import java.util.Map;
         "tunnelStyles",
         "tunnelBalloon",
         "lod0FootprintMode",
+        "aggregateGeometriesOnClient",
         "exportAsKmz",
         "showBoundingBox",
         "showTileBorders",
@@ -135,6 +135,7 @@ public class VisExportConfig {
     private Styles tunnelStyles;
     private Balloon tunnelBalloon;
     private Lod0FootprintMode lod0FootprintMode;
+    private boolean aggregateGeometriesOnClient;
     private boolean showBoundingBox;
     private boolean showTileBorders;
     private boolean exportEmptyTiles;
@@ -148,7 +149,7 @@ public class VisExportConfig {
     private IdPrefixes idPrefixes;
     @XmlJavaTypeAdapter(ADEPreferencesAdapter.class)
     private Map<String, ADEPreferences> adePreferences;
-    private Resources resources;
+    private VisExportResources resources;
 
     public static final String THEME_NONE = "none";
     public static final String THEME_NULL = "<unknown>";
@@ -190,6 +191,7 @@ public class VisExportConfig {
         tunnelBalloon = new Balloon();
 
         lod0FootprintMode = Lod0FootprintMode.FOOTPRINT;
+        aggregateGeometriesOnClient = false;
         exportAsKmz = false;
         showBoundingBox = false;
         showTileBorders = false;
@@ -203,7 +205,7 @@ public class VisExportConfig {
         appearanceTheme = THEME_NONE;
         idPrefixes = new IdPrefixes();
         adePreferences = new HashMap<>();
-        resources = new Resources();
+        resources = new VisExportResources();
     }
 
     public SimpleVisQuery getQuery() {
@@ -330,6 +332,14 @@ public class VisExportConfig {
         this.lod0FootprintMode = lod0FootprintMode;
     }
 
+    public boolean isAggregateGeometriesOnClient() {
+        return aggregateGeometriesOnClient;
+    }
+
+    public void setAggregateGeometriesOnClient(boolean aggregateGeometriesOnClient) {
+        this.aggregateGeometriesOnClient = aggregateGeometriesOnClient;
+    }
+
     public void setExportAsKmz(boolean exportAsKmz) {
         this.exportAsKmz = exportAsKmz;
     }
@@ -598,11 +608,11 @@ public class VisExportConfig {
         this.adePreferences = adePreferences;
     }
 
-    public Resources getResources() {
+    public VisExportResources getResources() {
         return resources;
     }
 
-    public void setResources(Resources resources) {
+    public void setResources(VisExportResources resources) {
         if (resources != null)
             this.resources = resources;
     }
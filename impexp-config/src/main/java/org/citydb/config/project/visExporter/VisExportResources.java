@@ -0,0 +1,63 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.visExporter;
+
+import org.citydb.config.project.resources.Resources;
+
+import javax.xml.bind.annotation.XmlSchemaType;
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "VisExportResourcesType", propOrder = {
+        "fetchSize",
+        "textureCacheSize"
+})
+public class VisExportResources extends Resources {
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+    public static final int DEFAULT_TEXTURE_CACHE_SIZE = 256;
+
+    @XmlSchemaType(name = "positiveInteger")
+    private Integer fetchSize;
+    @XmlSchemaType(name = "positiveInteger")
+    private Integer textureCacheSize;
+
+    public int getFetchSize() {
+        return fetchSize != null && fetchSize > 0 ? fetchSize : DEFAULT_FETCH_SIZE;
+    }
+
+    public void setFetchSize(Integer fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public int getTextureCacheSize() {
+        return textureCacheSize != null && textureCacheSize > 0 ? textureCacheSize : DEFAULT_TEXTURE_CACHE_SIZE;
+    }
+
+    public void setTextureCacheSize(Integer textureCacheSize) {
+        this.textureCacheSize = textureCacheSize;
+    }
+}
@@ -43,6 +43,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 public class DatabaseController implements ConnectionManager {
     private final Logger log = Logger.getInstance();
@@ -50,6 +51,8 @@ public class DatabaseController implements ConnectionManager {
     private final DatabaseConnectionPool connectionPool;
 
     private ConnectionViewHandler viewHandler;
+    private volatile boolean holdConnection;
+    private String password;
 
     public DatabaseController() {
         config = ObjectRegistry.getInstance().getConfig();
@@ -60,6 +63,16 @@ public class DatabaseController implements ConnectionManager {
         this.viewHandler = viewHandler;
     }
 
+    public boolean isHoldConnection() {
+        return holdConnection;
+    }
+
+    public void setHoldConnection(boolean holdConnection) {
+        // a held connection survives calls to disconnect() and is only replaced
+        // when a different database is requested
+        this.holdConnection = holdConnection;
+    }
+
     public synchronized boolean connect() {
         return connect(false);
     }
@@ -80,6 +93,14 @@ public class DatabaseController implements ConnectionManager {
     }
 
     public synchronized boolean connect(DatabaseConnection connection, boolean suppressDialog) {
+        if (holdConnection
+                && connection != null
+                && connectionPool.isConnected()
+                && !isSameConnection(connection, connectionPool.getActiveDatabaseAdapter().getConnectionDetails())) {
+            log.info("Switching database connection to '" + connection + "'.");
+            closeConnection(true);
+        }
+
         if (!connectionPool.isConnected()) {
             if (connection == null) {
                 log.error("Connection to database could not be established.");
@@ -105,6 +126,9 @@ public class DatabaseController implements ConnectionManager {
                     }
                 }
 
+                // remember the credentials to check them before reusing a held connection
+                password = connection.getPassword();
+
                 log.info("Database connection established.");
                 connectionPool.getActiveDatabaseAdapter().getConnectionMetaData().printToConsole();
 
@@ -137,9 +161,16 @@ public class DatabaseController implements ConnectionManager {
     }
 
     public void disconnect(boolean suppressLogMessages) {
+        if (!holdConnection) {
+            closeConnection(suppressLogMessages);
+        }
+    }
+
+    private void closeConnection(boolean suppressLogMessages) {
         if (connectionPool.isConnected()) {
             showConnectionStatus(ConnectionState.INIT_DISCONNECT);
             connectionPool.disconnect();
+            password = null;
             showConnectionStatus(ConnectionState.FINISH_DISCONNECT);
 
             if (!suppressLogMessages) {
@@ -177,6 +208,15 @@ public class DatabaseController implements ConnectionManager {
         return connectionPool.getDatabaseVersionChecker();
     }
 
+    private boolean isSameConnection(DatabaseConnection connection, DatabaseConnectionDetails details) {
+        return connection.getDatabaseType() == details.getDatabaseType()
+                && connection.toConnectString().equals(details.toConnectString())
+                && Objects.equals(connection.getPassword(), password)
+                && (connection.getSchema() == null || connection.getSchema().equals(details.getSchema()))
+                && (!connection.isSetWorkspace() || (details.isSetWorkspace()
+                && Objects.equals(connection.getWorkspace().getName(), details.getWorkspace().getName())));
+    }
+
     private void showConnectionStatus(ConnectionState state) {
         if (viewHandler != null) {
             viewHandler.showConnectionStatus(state);
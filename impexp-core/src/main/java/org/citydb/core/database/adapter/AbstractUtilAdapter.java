@@ -31,10 +31,12 @@ import org.citydb.config.geometry.BoundingBox;
 import org.citydb.config.geometry.GeometryObject;
 import org.citydb.config.geometry.Position;
 import org.citydb.config.project.database.DatabaseSrs;
+import org.citydb.config.project.database.Workspace;
 import org.citydb.config.project.visExporter.VisExportConfig;
 import org.citydb.core.database.adapter.IndexStatusInfo.IndexType;
 import org.citydb.core.database.connection.ADEMetadata;
 import org.citydb.core.database.connection.DatabaseMetaData;
+import org.citydb.core.database.schema.mapping.FeatureType;
 import org.citydb.core.database.schema.mapping.MappingConstants;
 import org.citydb.core.database.schema.mapping.SchemaMapping;
 import org.citydb.core.database.schema.mapping.SchemaMappingException;
@@ -52,9 +54,13 @@ import org.geotools.referencing.CRS;
 
 import javax.xml.bind.JAXBException;
 import java.sql.*;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 public abstract class AbstractUtilAdapter {
     protected final AbstractDatabaseAdapter databaseAdapter;
@@ -97,6 +103,14 @@ public abstract class AbstractUtilAdapter {
 
     public abstract DatabaseSrs getWGS843D();
 
+    protected abstract boolean existsFeatureStatistics(String schema, Connection connection) throws SQLException;
+
+    protected abstract void createFeatureStatisticsTable(String schema, Connection connection) throws SQLException;
+
+    protected abstract String getFeatureStatisticsQuery(String schema, String objectClassIds);
+
+    protected abstract String getFeatureStatisticsUpsert(String schema);
+
     public DatabaseMetaData getDatabaseInfo(String schema) throws SQLException {
         try (Connection conn = databaseAdapter.connectionPool.getConnection()) {
             // get vendor specific meta data
@@ -187,6 +201,30 @@ public abstract class AbstractUtilAdapter {
         int srid = databaseAdapter.getConnectionMetaData().getReferenceSystem().getSrid();
         BoundingBox bbox = null;
 
+        // use the feature statistics if the query only filters by feature type
+        Set<Integer> objectClassIds = FeatureStatistics.getObjectClassIds(query, schemaMapping);
+        FeatureStatistics statistics = objectClassIds != null ? getFeatureStatistics() : null;
+        if (statistics != null) {
+            BoundingBox extent = statistics.getExtent(objectClassIds);
+            if (extent != null) {
+                GeometryObject envelope = GeometryObject.createEnvelope(new double[]{
+                        extent.getLowerCorner().getX(), extent.getLowerCorner().getY(),
+                        extent.getUpperCorner().getX(), extent.getUpperCorner().getY()}, 2, srid);
+
+                envelope = transformExtent(envelope, query.getTargetSrs());
+                srid = envelope.getSrid();
+                double[] coordinates = envelope.getCoordinates(0);
+                lowerCorner.setX(coordinates[0]);
+                lowerCorner.setY(coordinates[1]);
+                upperCorner.setX(coordinates[2]);
+                upperCorner.setY(coordinates[3]);
+            }
+
+            bbox = new BoundingBox(lowerCorner, upperCorner);
+            bbox.setSrs(srid);
+            return bbox;
+        }
+
         try (Connection conn = databaseAdapter.connectionPool.getConnection()) {
             SQLQueryBuilder builder = new SQLQueryBuilder(
                     schemaMapping,
@@ -203,18 +241,9 @@ public abstract class AbstractUtilAdapter {
                     if (rs.next()) {
                         Object extentObj = rs.getObject(1);
                         if (!rs.wasNull()) {
-                            GeometryObject extent = databaseAdapter.getGeometryConverter().getEnvelope(extentObj);
-
-                            DatabaseSrs targetSrs = query.getTargetSrs();
-                            if (targetSrs != null
-                                    && targetSrs.isSupported()
-                                    && extent.getSrid() != targetSrs.getSrid()) {
-                                try {
-                                    extent = transform(extent, targetSrs).toEnvelope();
-                                } catch (SQLException e) {
-                                    //
-                                }
-                            }
+                            GeometryObject extent = transformExtent(
+                                    databaseAdapter.getGeometryConverter().getEnvelope(extentObj),
+                                    query.getTargetSrs());
 
                             srid = extent.getSrid();
                             double[] coordinates = extent.getCoordinates(0);
@@ -246,6 +275,186 @@ public abstract class AbstractUtilAdapter {
         return bbox;
     }
 
+    private GeometryObject transformExtent(GeometryObject extent, DatabaseSrs targetSrs) {
+        if (targetSrs != null
+                && targetSrs.isSupported()
+                && extent.getSrid() != targetSrs.getSrid()) {
+            try {
+                extent = transform(extent, targetSrs).toEnvelope();
+            } catch (SQLException e) {
+                //
+            }
+        }
+
+        return extent;
+    }
+
+    public boolean hasFeatureStatistics() throws SQLException {
+        if (!isFeatureStatisticsSupported()) {
+            return false;
+        }
+
+        try (Connection conn = databaseAdapter.connectionPool.getConnection()) {
+            return existsFeatureStatistics(databaseAdapter.getConnectionDetails().getSchema(), conn);
+        }
+    }
+
+    public FeatureStatistics getFeatureStatistics() throws SQLException {
+        if (!isFeatureStatisticsSupported()) {
+            return null;
+        }
+
+        String schema = databaseAdapter.getConnectionDetails().getSchema();
+        try (Connection conn = databaseAdapter.connectionPool.getConnection()) {
+            return existsFeatureStatistics(schema, conn) ? getFeatureStatistics(schema, conn) : null;
+        }
+    }
+
+    public FeatureStatistics refreshFeatureStatistics(SchemaMapping schemaMapping) throws SQLException {
+        if (!isFeatureStatisticsSupported()) {
+            throw new SQLException("Feature statistics are only available for the default workspace.");
+        }
+
+        String schema = databaseAdapter.getConnectionDetails().getSchema();
+        String objectClassIds = schemaMapping.listTopLevelFeatureTypes(true).stream()
+                .map(featureType -> String.valueOf(featureType.getObjectClassId()))
+                .collect(Collectors.joining(", "));
+
+        try (Connection conn = databaseAdapter.connectionPool.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try {
+                if (!existsFeatureStatistics(schema, conn)) {
+                    createFeatureStatisticsTable(schema, conn);
+                }
+
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("delete from " + schema + "." + FeatureStatistics.TABLE_NAME);
+                }
+
+                interruptiblePreparedStatement = conn.prepareStatement("insert into " + schema + "." + FeatureStatistics.TABLE_NAME +
+                        " (objectclass_id, object_count, min_x, min_y, min_z, max_x, max_y, max_z, last_update) " +
+                        getFeatureStatisticsQuery(schema, objectClassIds));
+                interruptiblePreparedStatement.executeUpdate();
+
+                if (isInterrupted) {
+                    conn.rollback();
+                    return null;
+                }
+
+                conn.commit();
+                return getFeatureStatistics(schema, conn);
+            } catch (SQLException e) {
+                conn.rollback();
+                if (!isInterrupted)
+                    throw e;
+            } finally {
+                if (interruptiblePreparedStatement != null) {
+                    interruptiblePreparedStatement.close();
+                    interruptiblePreparedStatement = null;
+                }
+
+                isInterrupted = false;
+            }
+        }
+
+        return null;
+    }
+
+    public void dropFeatureStatistics() throws SQLException {
+        String schema = databaseAdapter.getConnectionDetails().getSchema();
+        try (Connection conn = databaseAdapter.connectionPool.getConnection()) {
+            if (existsFeatureStatistics(schema, conn)) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.executeUpdate("drop table " + schema + "." + FeatureStatistics.TABLE_NAME);
+                }
+            }
+        }
+    }
+
+    public void updateFeatureStatistics(FeatureStatistics statistics, Connection connection) throws SQLException {
+        if (statistics.isEmpty()) {
+            return;
+        }
+
+        // rows are updated in ascending order of their object class ids to avoid
+        // deadlocks between concurrent import transactions
+        String schema = databaseAdapter.getConnectionDetails().getSchema();
+        try (PreparedStatement ps = connection.prepareStatement(getFeatureStatisticsUpsert(schema))) {
+            for (int objectClassId : statistics.getObjectClassIds()) {
+                FeatureStatistics.Entry entry = statistics.getEntry(objectClassId);
+                ps.setInt(1, objectClassId);
+                ps.setLong(2, entry.getCount());
+                if (entry.hasExtent()) {
+                    ps.setDouble(3, entry.getMinX());
+                    ps.setDouble(4, entry.getMinY());
+                    ps.setDouble(5, entry.getMinZ());
+                    ps.setDouble(6, entry.getMaxX());
+                    ps.setDouble(7, entry.getMaxY());
+                    ps.setDouble(8, entry.getMaxZ());
+                } else {
+                    for (int i = 3; i < 9; i++) {
+                        ps.setNull(i, Types.DOUBLE);
+                    }
+                }
+
+                ps.addBatch();
+            }
+
+            ps.executeBatch();
+        }
+    }
+
+    public String[] createFeatureStatisticsReport(SchemaMapping schemaMapping) throws SQLException {
+        FeatureStatistics statistics = getFeatureStatistics();
+        if (statistics == null) {
+            return null;
+        }
+
+        List<String> report = new ArrayList<>();
+        report.add("Feature statistics of schema " + databaseAdapter.getConnectionDetails().getSchema() +
+                (statistics.getLastUpdate() != null ?
+                        " (last update: " + statistics.getLastUpdate().format(DateTimeFormatter.ISO_OFFSET_DATE_TIME) + ")" :
+                        ""));
+
+        for (int objectClassId : statistics.getObjectClassIds()) {
+            FeatureType featureType = schemaMapping.getFeatureType(objectClassId);
+            report.add("#" + (featureType != null ? featureType.toString() : String.valueOf(objectClassId)) +
+                    " " + statistics.getEntry(objectClassId).getCount());
+        }
+
+        return report.toArray(new String[0]);
+    }
+
+    private FeatureStatistics getFeatureStatistics(String schema, Connection connection) throws SQLException {
+        FeatureStatistics statistics = new FeatureStatistics();
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("select objectclass_id, object_count, min_x, min_y, min_z, max_x, max_y, max_z, last_update from " +
+                     schema + "." + FeatureStatistics.TABLE_NAME)) {
+            while (rs.next()) {
+                double minX = rs.getDouble(3);
+                if (rs.wasNull()) {
+                    statistics.put(rs.getInt(1), rs.getLong(2), Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE,
+                            -Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE);
+                } else {
+                    statistics.put(rs.getInt(1), rs.getLong(2), minX, rs.getDouble(4), rs.getDouble(5),
+                            rs.getDouble(6), rs.getDouble(7), rs.getDouble(8));
+                }
+
+                statistics.setLastUpdate(rs.getObject(9, OffsetDateTime.class));
+            }
+        }
+
+        return statistics;
+    }
+
+    private boolean isFeatureStatisticsSupported() {
+        Workspace workspace = databaseAdapter.getConnectionDetails().getWorkspace();
+        return !databaseAdapter.hasVersioningSupport()
+                || !databaseAdapter.getConnectionDetails().isSetWorkspace()
+                || databaseAdapter.getWorkspaceManager().equalsDefaultWorkspaceName(workspace.getName());
+    }
+
     public BoundingBox createBoundingBox(String schema, long objectId, boolean onlyIfNull) throws SQLException {
         try (Connection connection = databaseAdapter.connectionPool.getConnection()) {
             return createBoundingBox(schema, objectId, onlyIfNull, connection);
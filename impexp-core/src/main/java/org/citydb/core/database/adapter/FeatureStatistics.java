@@ -0,0 +1,223 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.database.adapter;
+
+import org.citydb.config.geometry.BoundingBox;
+import org.citydb.config.geometry.Position;
+import org.citydb.core.database.schema.mapping.FeatureType;
+import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citydb.core.query.Query;
+import org.citydb.core.query.filter.FilterException;
+import org.citydb.core.query.filter.lod.LodFilter;
+import org.citydb.core.query.filter.lod.LodFilterMode;
+import org.citydb.core.query.filter.type.FeatureTypeFilter;
+import org.citygml4j.model.module.citygml.CityGMLVersion;
+import org.citygml4j.model.module.citygml.CoreModule;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Number of top-level features and their spatial extent per feature type. The statistics
+ * are stored in the {@value #TABLE_NAME} table, kept up to date by the importer and
+ * recomputed from the CITYOBJECT table on explicit refresh. The extent is given in the
+ * reference system of the database.
+ */
+public class FeatureStatistics {
+    public static final String TABLE_NAME = "impexp_feature_stats";
+
+    private final TreeMap<Integer, Entry> entries = new TreeMap<>();
+    private OffsetDateTime lastUpdate;
+
+    public static class Entry {
+        private long count;
+        private double minX = Double.MAX_VALUE;
+        private double minY = Double.MAX_VALUE;
+        private double minZ = Double.MAX_VALUE;
+        private double maxX = -Double.MAX_VALUE;
+        private double maxY = -Double.MAX_VALUE;
+        private double maxZ = -Double.MAX_VALUE;
+
+        public long getCount() {
+            return count;
+        }
+
+        public boolean hasExtent() {
+            return minX <= maxX;
+        }
+
+        public double getMinX() {
+            return minX;
+        }
+
+        public double getMinY() {
+            return minY;
+        }
+
+        public double getMinZ() {
+            return minZ;
+        }
+
+        public double getMaxX() {
+            return maxX;
+        }
+
+        public double getMaxY() {
+            return maxY;
+        }
+
+        public double getMaxZ() {
+            return maxZ;
+        }
+
+        void update(long count, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+            this.count += count;
+            this.minX = Math.min(this.minX, minX);
+            this.minY = Math.min(this.minY, minY);
+            this.minZ = Math.min(this.minZ, minZ);
+            this.maxX = Math.max(this.maxX, maxX);
+            this.maxY = Math.max(this.maxY, maxY);
+            this.maxZ = Math.max(this.maxZ, maxZ);
+        }
+    }
+
+    public void update(int objectClassId, List<Double> envelope) {
+        Entry entry = entries.computeIfAbsent(objectClassId, v -> new Entry());
+        if (envelope != null && envelope.size() == 6) {
+            entry.update(1, envelope.get(0), envelope.get(1), envelope.get(2),
+                    envelope.get(3), envelope.get(4), envelope.get(5));
+        } else {
+            entry.count++;
+        }
+    }
+
+    void put(int objectClassId, long count, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        entries.computeIfAbsent(objectClassId, v -> new Entry())
+                .update(count, minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    public Entry getEntry(int objectClassId) {
+        return entries.get(objectClassId);
+    }
+
+    public Set<Integer> getObjectClassIds() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    public long getCount(Collection<Integer> objectClassIds) {
+        long count = 0;
+        for (int objectClassId : objectClassIds) {
+            Entry entry = entries.get(objectClassId);
+            if (entry != null) {
+                count += entry.count;
+            }
+        }
+
+        return count;
+    }
+
+    public BoundingBox getExtent(Collection<Integer> objectClassIds) {
+        Entry extent = new Entry();
+        for (int objectClassId : objectClassIds) {
+            Entry entry = entries.get(objectClassId);
+            if (entry != null && entry.hasExtent()) {
+                extent.update(0, entry.minX, entry.minY, entry.minZ, entry.maxX, entry.maxY, entry.maxZ);
+            }
+        }
+
+        return extent.hasExtent() ?
+                new BoundingBox(new Position(extent.minX, extent.minY, extent.minZ),
+                        new Position(extent.maxX, extent.maxY, extent.maxZ)) :
+                null;
+    }
+
+    public OffsetDateTime getLastUpdate() {
+        return lastUpdate;
+    }
+
+    void setLastUpdate(OffsetDateTime lastUpdate) {
+        if (this.lastUpdate == null || (lastUpdate != null && lastUpdate.isAfter(this.lastUpdate))) {
+            this.lastUpdate = lastUpdate;
+        }
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public void clear() {
+        entries.clear();
+        lastUpdate = null;
+    }
+
+    /**
+     * Returns the object class ids of the features matched by the query if the query
+     * can be answered from the statistics, or null if it restricts the features by
+     * anything else than their type.
+     */
+    public static Set<Integer> getObjectClassIds(Query query, SchemaMapping schemaMapping) {
+        if (query.isSetSelection() || query.isSetCounterFilter() || query.isSetTiling()) {
+            return null;
+        }
+
+        if (query.isSetLodFilter()) {
+            LodFilter lodFilter = query.getLodFilter();
+            if (lodFilter.getFilterMode() == LodFilterMode.AND || !lodFilter.areAllEnabled()) {
+                return null;
+            }
+        }
+
+        FeatureTypeFilter typeFilter = query.getFeatureTypeFilter();
+        if (typeFilter == null || typeFilter.isEmpty()) {
+            try {
+                typeFilter = new FeatureTypeFilter(schemaMapping.getFeatureType("_CityObject", CoreModule.v2_0_0.getNamespaceURI()));
+            } catch (FilterException e) {
+                return null;
+            }
+        }
+
+        List<FeatureType> featureTypes = typeFilter.getFeatureTypes(query.isSetTargetVersion() ?
+                query.getTargetVersion() :
+                CityGMLVersion.DEFAULT);
+        if (featureTypes.isEmpty()) {
+            return null;
+        }
+
+        Set<Integer> objectClassIds = new TreeSet<>();
+        for (FeatureType featureType : featureTypes) {
+            objectClassIds.add(featureType.getObjectClassId());
+        }
+
+        return objectClassIds;
+    }
+}
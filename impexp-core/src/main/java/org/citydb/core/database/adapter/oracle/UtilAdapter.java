@@ -36,6 +36,7 @@ import org.citydb.config.project.database.DatabaseSrs;
 import org.citydb.config.project.database.DatabaseSrsType;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.adapter.AbstractUtilAdapter;
+import org.citydb.core.database.adapter.FeatureStatistics;
 import org.citydb.core.database.adapter.IndexStatusInfo;
 import org.citydb.core.database.adapter.IndexStatusInfo.IndexType;
 import org.citydb.core.database.connection.DatabaseMetaData;
@@ -361,6 +362,56 @@ public class UtilAdapter extends AbstractUtilAdapter {
         return 0;
     }
 
+    @Override
+    protected boolean existsFeatureStatistics(String schema, Connection connection) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("select count(*) from all_tables " +
+                "where owner = upper(?) and table_name = upper(?)")) {
+            stmt.setString(1, schema);
+            stmt.setString(2, FeatureStatistics.TABLE_NAME);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
+    }
+
+    @Override
+    protected void createFeatureStatisticsTable(String schema, Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("create table " + schema + "." + FeatureStatistics.TABLE_NAME + " (" +
+                    "objectclass_id number(10) primary key, object_count number(19) not null, " +
+                    "min_x binary_double, min_y binary_double, min_z binary_double, " +
+                    "max_x binary_double, max_y binary_double, max_z binary_double, " +
+                    "last_update timestamp with time zone)");
+        }
+    }
+
+    @Override
+    protected String getFeatureStatisticsQuery(String schema, String objectClassIds) {
+        return "select objectclass_id, count(*), " +
+                "min(sdo_geom.sdo_min_mbr_ordinate(envelope, 1)), min(sdo_geom.sdo_min_mbr_ordinate(envelope, 2)), " +
+                "min(sdo_geom.sdo_min_mbr_ordinate(envelope, 3)), max(sdo_geom.sdo_max_mbr_ordinate(envelope, 1)), " +
+                "max(sdo_geom.sdo_max_mbr_ordinate(envelope, 2)), max(sdo_geom.sdo_max_mbr_ordinate(envelope, 3)), " +
+                "systimestamp from " + schema + ".cityobject where objectclass_id in (" + objectClassIds + ") " +
+                "group by objectclass_id";
+    }
+
+    @Override
+    protected String getFeatureStatisticsUpsert(String schema) {
+        return "merge into " + schema + "." + FeatureStatistics.TABLE_NAME + " t " +
+                "using (select ? objectclass_id, ? object_count, ? min_x, ? min_y, ? min_z, ? max_x, ? max_y, ? max_z from dual) s " +
+                "on (t.objectclass_id = s.objectclass_id) " +
+                "when matched then update set t.object_count = t.object_count + s.object_count, " +
+                "t.min_x = least(nvl(t.min_x, s.min_x), nvl(s.min_x, t.min_x)), " +
+                "t.min_y = least(nvl(t.min_y, s.min_y), nvl(s.min_y, t.min_y)), " +
+                "t.min_z = least(nvl(t.min_z, s.min_z), nvl(s.min_z, t.min_z)), " +
+                "t.max_x = greatest(nvl(t.max_x, s.max_x), nvl(s.max_x, t.max_x)), " +
+                "t.max_y = greatest(nvl(t.max_y, s.max_y), nvl(s.max_y, t.max_y)), " +
+                "t.max_z = greatest(nvl(t.max_z, s.max_z), nvl(s.max_z, t.max_z)), " +
+                "t.last_update = systimestamp " +
+                "when not matched then insert (objectclass_id, object_count, min_x, min_y, min_z, max_x, max_y, max_z, last_update) " +
+                "values (s.objectclass_id, s.object_count, s.min_x, s.min_y, s.min_z, s.max_x, s.max_y, s.max_z, systimestamp)";
+    }
+
     private DatabaseSrsType getSrsType(String srsType) {
         if ("PROJECTED".equals(srsType))
             return DatabaseSrsType.PROJECTED;
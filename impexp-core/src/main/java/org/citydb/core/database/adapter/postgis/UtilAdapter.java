@@ -36,6 +36,7 @@ import org.citydb.config.project.database.DatabaseSrs;
 import org.citydb.config.project.database.DatabaseSrsType;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.adapter.AbstractUtilAdapter;
+import org.citydb.core.database.adapter.FeatureStatistics;
 import org.citydb.core.database.adapter.IndexStatusInfo;
 import org.citydb.core.database.adapter.IndexStatusInfo.IndexType;
 import org.citydb.core.database.connection.DatabaseMetaData;
@@ -302,6 +303,50 @@ public class UtilAdapter extends AbstractUtilAdapter {
         return WGS843D_SRS;
     }
 
+    @Override
+    protected boolean existsFeatureStatistics(String schema, Connection connection) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("select exists(select 1 from information_schema.tables " +
+                "where table_schema = ? and table_name = ?)")) {
+            stmt.setString(1, schema);
+            stmt.setString(2, FeatureStatistics.TABLE_NAME);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    @Override
+    protected void createFeatureStatisticsTable(String schema, Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("create table if not exists " + schema + "." + FeatureStatistics.TABLE_NAME + " (" +
+                    "objectclass_id integer primary key, object_count bigint not null, " +
+                    "min_x double precision, min_y double precision, min_z double precision, " +
+                    "max_x double precision, max_y double precision, max_z double precision, " +
+                    "last_update timestamp with time zone)");
+        }
+    }
+
+    @Override
+    protected String getFeatureStatisticsQuery(String schema, String objectClassIds) {
+        return "select objectclass_id, count(*), " +
+                "min(ST_XMin(envelope)), min(ST_YMin(envelope)), min(ST_ZMin(envelope)), " +
+                "max(ST_XMax(envelope)), max(ST_YMax(envelope)), max(ST_ZMax(envelope)), now() " +
+                "from " + schema + ".cityobject where objectclass_id in (" + objectClassIds + ") " +
+                "group by objectclass_id";
+    }
+
+    @Override
+    protected String getFeatureStatisticsUpsert(String schema) {
+        return "insert into " + schema + "." + FeatureStatistics.TABLE_NAME + " as t " +
+                "(objectclass_id, object_count, min_x, min_y, min_z, max_x, max_y, max_z, last_update) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, now()) on conflict (objectclass_id) do update set " +
+                "object_count = t.object_count + excluded.object_count, " +
+                "min_x = least(t.min_x, excluded.min_x), min_y = least(t.min_y, excluded.min_y), " +
+                "min_z = least(t.min_z, excluded.min_z), max_x = greatest(t.max_x, excluded.max_x), " +
+                "max_y = greatest(t.max_y, excluded.max_y), max_z = greatest(t.max_z, excluded.max_z), " +
+                "last_update = excluded.last_update";
+    }
+
     @Override
     protected boolean containsGlobalAppearances(Connection connection) throws SQLException {
         try (Statement stmt = connection.createStatement();
@@ -25,17 +25,71 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.citydb.core.database.connection;
 
-import org.apache.tomcat.jdbc.pool.interceptor.StatementFinalizer;
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.PooledConnection;
+import org.apache.tomcat.jdbc.pool.interceptor.AbstractCreateStatementInterceptor;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closes all statements that are still open when a pooled connection is returned to the pool.
+ * Unlike the default {@code StatementFinalizer}, statements are tracked in a lock-free queue so
+ * that threads sharing a connection never block each other when creating statements.
+ */
+public class ConcurrentStatementFinalizer extends AbstractCreateStatementInterceptor {
+    private static final int PURGE_INTERVAL = 256;
 
-public class ConcurrentStatementFinalizer extends StatementFinalizer {
+    private final Queue<WeakReference<Statement>> statements = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger counter = new AtomicInteger();
 
     @Override
-    public synchronized Object createStatement(Object proxy, Method method, Object[] args, Object statement, long time) {
-        return super.createStatement(proxy, method, args, statement, time);
+    public Object createStatement(Object proxy, Method method, Object[] args, Object statement, long time) {
+        if (statement instanceof Statement) {
+            statements.add(new WeakReference<>((Statement) statement));
+
+            // forget statements that have been closed or garbage collected in the meantime
+            if (counter.incrementAndGet() % PURGE_INTERVAL == 0) {
+                statements.removeIf(reference -> isClosed(reference.get()));
+            }
+        }
+
+        return statement;
+    }
+
+    @Override
+    public void closeInvoked() {
+        WeakReference<Statement> reference;
+        while ((reference = statements.poll()) != null) {
+            Statement statement = reference.get();
+            if (!isClosed(statement)) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    //
+                }
+            }
+        }
+    }
+
+    @Override
+    public void reset(ConnectionPool parent, PooledConnection con) {
+        statements.clear();
+        super.reset(parent, con);
+    }
+
+    private boolean isClosed(Statement statement) {
+        try {
+            return statement == null || statement.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
     }
 }
@@ -45,6 +45,9 @@ import org.citydb.core.registry.ObjectRegistry;
 import org.citydb.core.util.Util;
 import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.event.global.DatabaseConnectionStateEvent;
+import org.citydb.util.metrics.ConnectionBorrowEvent;
+import org.citydb.util.metrics.Metrics;
+import org.citydb.util.metrics.Timer;
 import org.citygml4j.util.gmlid.DefaultGMLIdManager;
 
 import java.sql.Connection;
@@ -62,6 +65,7 @@ public class DatabaseConnectionPool implements ConnectionManager {
     private final Config config;
     private final EventDispatcher eventDispatcher;
     private final ADEExtensionManager adeManager;
+    private final Timer borrowTimer = Metrics.getInstance().timer("citydb_connection_pool_borrow_wait");
     private AbstractDatabaseAdapter databaseAdapter;
     private DataSource dataSource;
     private DatabaseVersionChecker versionChecker;
@@ -140,7 +144,13 @@ public class DatabaseConnectionPool implements ConnectionManager {
         if (connection.getSuspectTimeout() != null) properties.setSuspectTimeout(connection.getSuspectTimeout());
 
         // pool maintenance
-        properties.setJdbcInterceptors("org.citydb.core.database.connection.ConcurrentStatementFinalizer");
+        String interceptors = ConcurrentStatementFinalizer.class.getName();
+        if (connection.getStatementCacheSize() != null && connection.getStatementCacheSize() > 0) {
+            interceptors += ";" + PreparedStatementCache.class.getName()
+                    + "(" + PreparedStatementCache.MAX_PROPERTY + "=" + connection.getStatementCacheSize() + ")";
+        }
+
+        properties.setJdbcInterceptors(interceptors);
 
         // create new data source
         dataSource = new DataSource(properties);
@@ -233,7 +243,21 @@ public class DatabaseConnectionPool implements ConnectionManager {
             throw new SQLException("Database is not connected.");
         }
 
+        ConnectionBorrowEvent event = new ConnectionBorrowEvent();
+        event.begin();
+        long start = Metrics.getInstance().isEnabled() ? System.nanoTime() : 0;
+
         Connection connection = dataSource.getConnection();
+
+        if (start != 0) {
+            borrowTimer.recordSince(start);
+        }
+
+        if (event.shouldCommit()) {
+            event.active = dataSource.getActive();
+            event.commit();
+        }
+
         connection.setAutoCommit(true);
 
         // change workspace if required
@@ -0,0 +1,325 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.database.connection;
+
+import org.apache.tomcat.jdbc.pool.ConnectionPool;
+import org.apache.tomcat.jdbc.pool.JdbcInterceptor;
+import org.apache.tomcat.jdbc.pool.PoolProperties.InterceptorProperty;
+import org.apache.tomcat.jdbc.pool.PooledConnection;
+import org.citydb.util.metrics.Counter;
+import org.citydb.util.metrics.Metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps closed prepared statements of a pooled connection open for reuse. Statements are
+ * cached per physical connection and keyed by their SQL text and creation arguments. A
+ * cached statement is handed out to one caller at a time; calling {@code close()} returns
+ * it to the cache, and the least recently used statements are closed once more than
+ * {@code max} idle statements are cached for a connection.
+ */
+public class PreparedStatementCache extends JdbcInterceptor {
+    public static final String MAX_PROPERTY = "max";
+    private static final String CACHE_ATTRIBUTE = PreparedStatementCache.class.getName();
+    private static final String PREPARE_STATEMENT = "prepareStatement";
+    private static final Counter HITS = Metrics.getInstance().counter("citydb_statement_cache_hits");
+    private static final Counter MISSES = Metrics.getInstance().counter("citydb_statement_cache_misses");
+    private static final Counter EVICTIONS = Metrics.getInstance().counter("citydb_statement_cache_evictions");
+
+    private int max;
+    private StatementCache cache;
+
+    @Override
+    public void setProperties(Map<String, InterceptorProperty> properties) {
+        super.setProperties(properties);
+        InterceptorProperty property = properties.get(MAX_PROPERTY);
+        if (property != null) {
+            max = property.getValueAsInt(0);
+        }
+    }
+
+    @Override
+    public void reset(ConnectionPool parent, PooledConnection con) {
+        cache = con != null && max > 0 ?
+                (StatementCache) con.getAttributes().computeIfAbsent(CACHE_ATTRIBUTE, k -> new StatementCache(max)) :
+                null;
+    }
+
+    @Override
+    public void disconnected(ConnectionPool parent, PooledConnection con, boolean finalizing) {
+        Object cache = con.getAttributes().remove(CACHE_ATTRIBUTE);
+        if (cache instanceof StatementCache) {
+            ((StatementCache) cache).clear();
+        }
+
+        super.disconnected(parent, con, finalizing);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        StatementCache cache = this.cache;
+        if (cache == null
+                || !compare(PREPARE_STATEMENT, method)
+                || args == null
+                || args.length == 0
+                || !(args[0] instanceof String)) {
+            return super.invoke(proxy, method, args);
+        }
+
+        CacheKey key = new CacheKey(args);
+        PreparedStatement statement = cache.checkOut(key);
+        if (statement != null) {
+            count(HITS);
+        } else {
+            count(MISSES);
+            statement = (PreparedStatement) super.invoke(proxy, method, args);
+        }
+
+        return Proxy.newProxyInstance(PreparedStatementCache.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                new CachedStatement(proxy, statement, key, cache));
+    }
+
+    private static void count(Counter counter) {
+        if (Metrics.getInstance().isEnabled()) {
+            counter.increment();
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            //
+        }
+    }
+
+    private static class StatementCache {
+        private final int max;
+        private final LinkedHashMap<CacheKey, PreparedStatement> idle = new LinkedHashMap<>(16, 0.75f, true);
+
+        StatementCache(int max) {
+            this.max = max;
+        }
+
+        synchronized PreparedStatement checkOut(CacheKey key) {
+            return idle.remove(key);
+        }
+
+        void checkIn(CacheKey key, PreparedStatement statement) {
+            PreparedStatement evicted = null;
+            boolean cached = false;
+
+            synchronized (this) {
+                if (!idle.containsKey(key)) {
+                    idle.put(key, statement);
+                    cached = true;
+                    if (idle.size() > max) {
+                        Iterator<PreparedStatement> iterator = idle.values().iterator();
+                        evicted = iterator.next();
+                        iterator.remove();
+                    }
+                }
+            }
+
+            if (!cached) {
+                closeQuietly(statement);
+            } else if (evicted != null) {
+                count(EVICTIONS);
+                closeQuietly(evicted);
+            }
+        }
+
+        void clear() {
+            PreparedStatement[] statements;
+            synchronized (this) {
+                statements = idle.values().toArray(new PreparedStatement[0]);
+                idle.clear();
+            }
+
+            for (PreparedStatement statement : statements) {
+                closeQuietly(statement);
+            }
+        }
+    }
+
+    private static class CacheKey {
+        private final Object[] args;
+        private final int hashCode;
+
+        CacheKey(Object[] args) {
+            this.args = args.clone();
+            hashCode = Arrays.deepHashCode(this.args);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CacheKey && Arrays.deepEquals(args, ((CacheKey) o).args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static class CachedStatement implements InvocationHandler {
+        private final Object connection;
+        private final PreparedStatement statement;
+        private final CacheKey key;
+        private final StatementCache cache;
+        private final int fetchSize;
+        private final int maxRows;
+        private final int queryTimeout;
+        private ResultSet resultSet;
+        private volatile boolean closed;
+
+        CachedStatement(Object connection, PreparedStatement statement, CacheKey key, StatementCache cache) throws SQLException {
+            this.connection = connection;
+            this.statement = statement;
+            this.key = key;
+            this.cache = cache;
+            fetchSize = statement.getFetchSize();
+            maxRows = statement.getMaxRows();
+            queryTimeout = statement.getQueryTimeout();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached" + statement;
+            }
+
+            if (closed) {
+                throw new SQLException("The statement has been closed.");
+            }
+
+            Object result;
+            try {
+                result = method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (result instanceof ResultSet) {
+                // callers must only see the proxy, otherwise closing the result set's statement
+                // would close the cached statement
+                resultSet = (ResultSet) result;
+                result = Proxy.newProxyInstance(PreparedStatementCache.class.getClassLoader(),
+                        new Class<?>[]{ResultSet.class},
+                        new CachedResultSet(proxy, resultSet));
+            }
+
+            return result;
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            try {
+                if (resultSet != null) {
+                    resultSet.close();
+                    resultSet = null;
+                }
+
+                // reset the state a caller may have changed before handing out the statement again
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.clearWarnings();
+                if (statement.getFetchSize() != fetchSize) {
+                    statement.setFetchSize(fetchSize);
+                }
+
+                if (statement.getMaxRows() != maxRows) {
+                    statement.setMaxRows(maxRows);
+                }
+
+                if (statement.getQueryTimeout() != queryTimeout) {
+                    statement.setQueryTimeout(queryTimeout);
+                }
+
+                cache.checkIn(key, statement);
+            } catch (SQLException e) {
+                closeQuietly(statement);
+            }
+        }
+    }
+
+    private static class CachedResultSet implements InvocationHandler {
+        private final Object statement;
+        private final ResultSet resultSet;
+
+        CachedResultSet(Object statement, ResultSet resultSet) {
+            this.statement = statement;
+            this.resultSet = resultSet;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getStatement":
+                    return statement;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+            }
+
+            try {
+                return method.invoke(resultSet, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
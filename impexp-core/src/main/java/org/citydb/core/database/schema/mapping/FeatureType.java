@@ -72,7 +72,7 @@ public class FeatureType extends AbstractObjectType<FeatureType> {
 
     @Override
     public List<FeatureType> listSubTypes(boolean skipAbstractTypes) {
-        return listSubTypes(schemaMapping.featureTypes, skipAbstractTypes);
+        return schemaMapping.listSubTypes(this, skipAbstractTypes);
     }
 
     public boolean isTopLevel() {
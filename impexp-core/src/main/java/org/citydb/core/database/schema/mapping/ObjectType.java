@@ -61,7 +61,7 @@ public class ObjectType extends AbstractObjectType<ObjectType> {
 
     @Override
     public List<ObjectType> listSubTypes(boolean skipAbstractTypes) {
-        return listSubTypes(schemaMapping.objectTypes, skipAbstractTypes);
+        return schemaMapping.listSubTypes(this, skipAbstractTypes);
     }
 
     @Override
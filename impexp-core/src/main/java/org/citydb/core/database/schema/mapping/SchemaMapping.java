@@ -68,6 +68,8 @@ public class SchemaMapping {
     protected HashMap<String, AppSchema> uriToSchemaMap;
     @XmlTransient
     protected boolean isMerged;
+    @XmlTransient
+    private volatile Index index;
 
     public SchemaMapping() {
         uriToSchemaMap = new HashMap<>();
@@ -117,6 +119,7 @@ public class SchemaMapping {
     }
 
     public void addSchema(AppSchema schema) throws SchemaMappingException {
+        index = null;
         if (schema != null && !schemas.contains(schema)) {
             schema.validate(this, this);
             schemas.add(schema);
@@ -144,6 +147,7 @@ public class SchemaMapping {
     }
 
     public void addComplexAttributeType(ComplexAttributeType attributeType) throws SchemaMappingException {
+        index = null;
         if (attributeType != null && !attributeTypes.contains(attributeType)) {
             attributeType.validate(this, this);
             attributeTypes.add(attributeType);
@@ -185,6 +189,7 @@ public class SchemaMapping {
     }
 
     public void addComplexType(ComplexType complexType) throws SchemaMappingException {
+        index = null;
         if (complexType != null && !complexTypes.contains(complexType)) {
             complexType.validate(this, this);
             complexTypes.add(complexType);
@@ -211,15 +216,9 @@ public class SchemaMapping {
     }
 
     public ObjectType getObjectType(String name, String namespaceURI) {
-        AppSchema schema = getSchema(namespaceURI);
-        if (schema != null) {
-            for (ObjectType objectType : schema.objectTypes) {
-                if (objectType.getPath().equals(name))
-                    return objectType;
-            }
-        }
-
-        return null;
+        return name != null && namespaceURI != null ?
+                getIndex().objectTypesByName.get(new QName(namespaceURI, name)) :
+                null;
     }
 
     public ObjectType getObjectType(QName name) {
@@ -227,12 +226,7 @@ public class SchemaMapping {
     }
 
     public ObjectType getObjectType(int objectClassId) {
-        for (ObjectType objectType : objectTypes) {
-            if (objectType.getObjectClassId() == objectClassId)
-                return objectType;
-        }
-
-        return null;
+        return getIndex().objectTypesById.get(objectClassId);
     }
 
     protected ObjectType getObjectTypeById(String id) {
@@ -249,6 +243,7 @@ public class SchemaMapping {
     }
 
     public void addObjectType(ObjectType objectType) throws SchemaMappingException {
+        index = null;
         if (objectType != null && !objectTypes.contains(objectType)) {
             objectType.validate(this, this);
 
@@ -310,15 +305,9 @@ public class SchemaMapping {
     }
 
     public FeatureType getFeatureType(String name, String namespaceURI) {
-        AppSchema schema = getSchema(namespaceURI);
-        if (schema != null) {
-            for (FeatureType featureType : schema.featureTypes) {
-                if (featureType.getPath().equals(name))
-                    return featureType;
-            }
-        }
-
-        return null;
+        return name != null && namespaceURI != null ?
+                getIndex().featureTypesByName.get(new QName(namespaceURI, name)) :
+                null;
     }
 
     public FeatureType getFeatureType(QName name) {
@@ -326,12 +315,7 @@ public class SchemaMapping {
     }
 
     public FeatureType getFeatureType(int objectClassId) {
-        for (FeatureType featureType : featureTypes) {
-            if (featureType.getObjectClassId() == objectClassId)
-                return featureType;
-        }
-
-        return null;
+        return getIndex().featureTypesById.get(objectClassId);
     }
 
     protected FeatureType getFeatureTypeById(String id) {
@@ -364,6 +348,7 @@ public class SchemaMapping {
     }
 
     public void addFeatureType(FeatureType featureType) throws SchemaMappingException {
+        index = null;
         if (featureType != null && !featureTypes.contains(featureType)) {
             featureType.validate(this, this);
 
@@ -389,9 +374,10 @@ public class SchemaMapping {
     }
 
     public AbstractObjectType<?> getAbstractObjectType(int objectClassId) {
-        AbstractObjectType<?> type = getFeatureType(objectClassId);
+        Index index = getIndex();
+        AbstractObjectType<?> type = index.featureTypesById.get(objectClassId);
         if (type == null)
-            type = getObjectType(objectClassId);
+            type = index.objectTypesById.get(objectClassId);
 
         return type;
     }
@@ -428,6 +414,7 @@ public class SchemaMapping {
     }
 
     public void addPropertyInjection(PropertyInjection propertyInjection) throws SchemaMappingException {
+        index = null;
         if (propertyInjection != null && !propertyInjections.contains(propertyInjection)) {
             propertyInjection.validate(this, this);
             propertyInjections.add(propertyInjection);
@@ -453,6 +440,25 @@ public class SchemaMapping {
         return getNamespaceContext(CityGMLVersion.v2_0_0);
     }
 
+    @SuppressWarnings("unchecked")
+    <T extends AbstractObjectType<T>> List<T> listSubTypes(T type, boolean skipAbstractTypes) {
+        List<AbstractObjectType<?>> subTypes = skipAbstractTypes ?
+                getIndex().concreteSubTypes.get(type) :
+                getIndex().subTypes.get(type);
+
+        return subTypes != null ? new ArrayList<>((List<T>) (List<?>) subTypes) : new ArrayList<>();
+    }
+
+    private Index getIndex() {
+        Index index = this.index;
+        if (index == null) {
+            index = new Index();
+            this.index = index;
+        }
+
+        return index;
+    }
+
     private AbstractObjectType<?> checkUniqueObjectClassId(AbstractObjectType<?> type) {
         if (type.objectClassId == null)
             return null;
@@ -551,6 +557,7 @@ public class SchemaMapping {
 
     public void merge(SchemaMapping other) throws SchemaMappingException {
         isMerged = true;
+        index = null;
 
         // remove metadata
         metadata = null;
@@ -575,6 +582,7 @@ public class SchemaMapping {
     }
 
     public void validate() throws SchemaMappingException {
+        index = null;
         if (isSetMetadata())
             metadata.validate(this, this);
 
@@ -602,4 +610,73 @@ public class SchemaMapping {
             propertyInjection.validate(this, this);
     }
 
+    // immutable lookup structures that are rebuilt lazily whenever the mapping changes
+    private class Index {
+        private final TypeTable<FeatureType> featureTypesById = new TypeTable<>(featureTypes);
+        private final TypeTable<ObjectType> objectTypesById = new TypeTable<>(objectTypes);
+        private final Map<QName, FeatureType> featureTypesByName = new HashMap<>();
+        private final Map<QName, ObjectType> objectTypesByName = new HashMap<>();
+        private final Map<AbstractObjectType<?>, List<AbstractObjectType<?>>> subTypes = new IdentityHashMap<>();
+        private final Map<AbstractObjectType<?>, List<AbstractObjectType<?>>> concreteSubTypes = new IdentityHashMap<>();
+
+        Index() {
+            for (Map.Entry<String, AppSchema> entry : uriToSchemaMap.entrySet()) {
+                for (FeatureType featureType : entry.getValue().featureTypes)
+                    featureTypesByName.putIfAbsent(new QName(entry.getKey(), featureType.getPath()), featureType);
+
+                for (ObjectType objectType : entry.getValue().objectTypes)
+                    objectTypesByName.putIfAbsent(new QName(entry.getKey(), objectType.getPath()), objectType);
+            }
+
+            addSubTypes(featureTypes);
+            addSubTypes(objectTypes);
+        }
+
+        private void addSubTypes(List<? extends AbstractObjectType<?>> candidates) {
+            for (AbstractObjectType<?> candidate : candidates) {
+                AbstractType<?> parent = candidate.isSetExtension() ? candidate.getExtension().getBase() : null;
+                while (parent != null) {
+                    subTypes.computeIfAbsent((AbstractObjectType<?>) parent, k -> new ArrayList<>()).add(candidate);
+                    if (!candidate.isAbstract())
+                        concreteSubTypes.computeIfAbsent((AbstractObjectType<?>) parent, k -> new ArrayList<>()).add(candidate);
+
+                    parent = parent.isSetExtension() ? parent.getExtension().getBase() : null;
+                }
+            }
+        }
+    }
+
+    private static class TypeTable<T extends AbstractObjectType<T>> {
+        private static final int MAX_DENSE_OBJECT_CLASS_ID = 1 << 16;
+
+        private final Object[] dense;
+        private final Map<Integer, T> sparse = new HashMap<>();
+
+        TypeTable(List<T> types) {
+            int maxId = -1;
+            for (T type : types) {
+                int objectClassId = type.getObjectClassId();
+                if (objectClassId > maxId && objectClassId < MAX_DENSE_OBJECT_CLASS_ID)
+                    maxId = objectClassId;
+            }
+
+            // the first type wins to preserve the semantics of a linear scan
+            dense = new Object[maxId + 1];
+            for (T type : types) {
+                int objectClassId = type.getObjectClassId();
+                if (objectClassId >= 0 && objectClassId < dense.length) {
+                    if (dense[objectClassId] == null)
+                        dense[objectClassId] = type;
+                } else
+                    sparse.putIfAbsent(objectClassId, type);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        T get(int objectClassId) {
+            return objectClassId >= 0 && objectClassId < dense.length ?
+                    (T) dense[objectClassId] :
+                    sparse.get(objectClassId);
+        }
+    }
 }
@@ -47,6 +47,7 @@ import java.nio.file.Files;
 public class SchemaMappingUtil {
     private static SchemaMappingUtil instance;
     private final JAXBContext context;
+    private volatile Schema schema;
 
     private SchemaMappingUtil() throws JAXBException {
         context = JAXBContext.newInstance(SchemaMapping.class);
@@ -185,13 +186,22 @@ public class SchemaMappingUtil {
     }
 
     private Schema readSchema() throws JAXBException {
-        try {
-            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-            schemaFactory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-            return schemaFactory.newSchema(SchemaMappingUtil.class.getResource("/org/citydb/core/database/schema/3dcitydb-schema.xsd"));
-        } catch (SAXException e) {
-            throw new JAXBException("Failed to parse the schema mapping XSD schema. " +
-                    "Could not find '/org/citydb/core/database/schema/3dcitydb-schema.xsd' on the classpath.", e);
+        // compiled schemas are immutable and thread-safe, so the XSD is only parsed once
+        if (schema == null) {
+            synchronized (this) {
+                if (schema == null) {
+                    try {
+                        SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+                        schemaFactory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+                        schema = schemaFactory.newSchema(SchemaMappingUtil.class.getResource("/org/citydb/core/database/schema/3dcitydb-schema.xsd"));
+                    } catch (SAXException e) {
+                        throw new JAXBException("Failed to parse the schema mapping XSD schema. " +
+                                "Could not find '/org/citydb/core/database/schema/3dcitydb-schema.xsd' on the classpath.", e);
+                    }
+                }
+            }
         }
+
+        return schema;
     }
 }
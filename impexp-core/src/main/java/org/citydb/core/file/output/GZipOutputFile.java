@@ -28,20 +28,42 @@
 
 package org.citydb.core.file.output;
 
+import org.citydb.config.project.exporter.ExportCompression;
+
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
 import java.util.zip.GZIPOutputStream;
 
 public class GZipOutputFile extends AbstractRegularOutputFile {
+    private final ExportCompression compression;
+    private final ExecutorService service;
+    private final int threads;
 
-    GZipOutputFile(Path file) {
+    GZipOutputFile(Path file, ExportCompression compression, ExecutorService service, int threads) {
         super(file, true);
+        this.compression = compression;
+        this.service = service;
+        this.threads = threads;
     }
 
     @Override
     public OutputStream openStream() throws IOException {
-        return new GZIPOutputStream(Files.newOutputStream(file));
+        OutputStream stream = Files.newOutputStream(file);
+        if (service != null) {
+            return new ParallelGZipOutputStream(stream,
+                    compression.getCompressionLevel(),
+                    compression.getBlockSize() * 1024,
+                    service,
+                    threads);
+        } else {
+            return new GZIPOutputStream(stream, 65536) {
+                {
+                    def.setLevel(compression.getCompressionLevel());
+                }
+            };
+        }
     }
 }
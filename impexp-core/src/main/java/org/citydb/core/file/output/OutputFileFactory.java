@@ -29,6 +29,7 @@
 package org.citydb.core.file.output;
 
 import org.citydb.config.Config;
+import org.citydb.config.project.exporter.ExportCompression;
 import org.citydb.config.project.exporter.OutputFormat;
 import org.citydb.core.file.FileType;
 import org.citydb.core.file.OutputFile;
@@ -38,11 +39,15 @@ import org.citydb.util.event.EventDispatcher;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class OutputFileFactory {
     private final Config config;
     private final EventDispatcher eventDispatcher;
     private final Object eventChannel;
+    private ExecutorService gzipService;
 
     public OutputFileFactory(Config config, EventDispatcher eventDispatcher, Object eventChannel) {
         this.config = config;
@@ -60,23 +65,50 @@ public class OutputFileFactory {
             file = file.resolveSibling(file.getFileName() + ".gml");
         }
 
+        ExportCompression compression = config.getExportConfig().getGeneralOptions().getCompression();
+        int threads = config.getExportConfig().getResources().getThreadPool().getMaxThreads();
+
         switch (extension) {
             case "zip":
                 extension = outputFormat == OutputFormat.CITYJSON ? ".json" : ".gml";
                 return new ZipOutputFile(Util.stripFileExtension(file.getFileName().toString()) + extension,
                         file,
                         file.getParent(),
-                        config.getExportConfig().getResources().getThreadPool().getMaxThreads(),
+                        threads,
+                        compression.getCompressionLevel(),
                         eventDispatcher,
                         eventChannel);
             case "gzip":
             case "gz":
-                return new GZipOutputFile(file);
+                return new GZipOutputFile(file, compression,
+                        compression.isParallelGZip() && threads > 1 ? getGZipService(threads) : null,
+                        threads);
             default:
                 return new RegularOutputFile(file);
         }
     }
 
+    public synchronized void close() {
+        if (gzipService != null) {
+            gzipService.shutdownNow();
+            gzipService = null;
+        }
+    }
+
+    private synchronized ExecutorService getGZipService(int threads) {
+        if (gzipService == null) {
+            // one compression pool is shared by all gzip output files of an export
+            AtomicInteger counter = new AtomicInteger();
+            gzipService = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "gzip_pool-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return gzipService;
+    }
+
     public static FileType getFileType(Path file) {
         switch (Util.getFileExtension(file)) {
             case "zip":
@@ -0,0 +1,216 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.file.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Block-parallel gzip writer producing a single-member gzip stream in the same
+ * way as pigz. The uncompressed data is split into blocks that are deflated
+ * concurrently. Each block is primed with the last 32 KB of its predecessor and
+ * terminated with a sync flush so that the compressed blocks can simply be
+ * concatenated into one deflate stream. The executor service is provided by the
+ * caller so that all output files of an export share the same compression threads.
+ */
+public class ParallelGZipOutputStream extends OutputStream {
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final byte[] HEADER = new byte[]{0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private final OutputStream out;
+    private final ExecutorService service;
+    private final int compressionLevel;
+    private final int maxPendingBlocks;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+    private final CRC32 crc = new CRC32();
+
+    private byte[] block;
+    private byte[] dictionary;
+    private int position;
+    private long size;
+    private boolean closed;
+
+    ParallelGZipOutputStream(OutputStream out, int compressionLevel, int blockSize, ExecutorService service, int threads) throws IOException {
+        this.out = out;
+        this.compressionLevel = compressionLevel;
+        this.service = service;
+
+        maxPendingBlocks = Math.max(1, threads) * 2;
+        block = new byte[Math.max(blockSize, DICTIONARY_SIZE)];
+
+        out.write(HEADER);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        block[position++] = (byte) b;
+        if (position == block.length) {
+            submitBlock(false);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            int length = Math.min(len, block.length - position);
+            System.arraycopy(b, off, block, position, length);
+            position += length;
+            off += length;
+            len -= length;
+
+            if (position == block.length) {
+                submitBlock(false);
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        // we cannot flush partial blocks without hurting the compression ratio,
+        // so only blocks that have already been compressed are written
+        while (!pendingBlocks.isEmpty() && pendingBlocks.peekFirst().isDone()) {
+            writeBlock(pendingBlocks.removeFirst());
+        }
+
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        try {
+            submitBlock(true);
+            while (!pendingBlocks.isEmpty()) {
+                writeBlock(pendingBlocks.removeFirst());
+            }
+
+            writeInt((int) crc.getValue());
+            writeInt((int) size);
+        } finally {
+            closed = true;
+            for (Future<byte[]> pendingBlock : pendingBlocks) {
+                pendingBlock.cancel(true);
+            }
+
+            pendingBlocks.clear();
+            out.close();
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        byte[] data = block;
+        byte[] dict = dictionary;
+        int length = position;
+
+        crc.update(data, 0, length);
+        size += length;
+
+        pendingBlocks.addLast(service.submit(() -> deflate(data, length, dict, last)));
+        if (!last) {
+            dictionary = length >= DICTIONARY_SIZE ?
+                    Arrays.copyOfRange(data, length - DICTIONARY_SIZE, length) :
+                    null;
+
+            block = new byte[block.length];
+            position = 0;
+
+            // limit the number of blocks kept in memory
+            if (pendingBlocks.size() >= maxPendingBlocks) {
+                writeBlock(pendingBlocks.removeFirst());
+            }
+        }
+    }
+
+    private byte[] deflate(byte[] data, int length, byte[] dictionary, boolean last) {
+        Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+
+            deflater.setInput(data, 0, length);
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(length / 2 + 64);
+            byte[] chunk = new byte[16 * 1024];
+
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int count = deflater.deflate(chunk);
+                    buffer.write(chunk, 0, count);
+                }
+            } else {
+                int count;
+                do {
+                    count = deflater.deflate(chunk, 0, chunk.length, Deflater.SYNC_FLUSH);
+                    buffer.write(chunk, 0, count);
+                } while (count == chunk.length);
+            }
+
+            return buffer.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeBlock(Future<byte[]> future) throws IOException {
+        try {
+            out.write(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for compressed data.");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to compress data block.", e.getCause());
+        }
+    }
+
+    private void writeInt(int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed.");
+        }
+    }
+}
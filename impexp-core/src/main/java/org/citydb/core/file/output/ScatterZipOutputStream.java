@@ -39,17 +39,16 @@ import org.apache.commons.io.input.BoundedInputStream;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.Set;
-import java.util.zip.Deflater;
 
 public class ScatterZipOutputStream implements Closeable {
     private final ScatterGatherBackingStore backingStore;
     private final ScatterGatherBackingStore entryStore;
     private final StreamCompressor streamCompressor;
 
-    ScatterZipOutputStream(ScatterGatherBackingStoreSupplier supplier) throws IOException {
+    ScatterZipOutputStream(ScatterGatherBackingStoreSupplier supplier, int compressionLevel) throws IOException {
         backingStore = supplier.get();
         entryStore = supplier.get();
-        streamCompressor = StreamCompressor.create(Deflater.DEFAULT_COMPRESSION, backingStore);
+        streamCompressor = StreamCompressor.create(compressionLevel, backingStore);
     }
 
     void addArchiveEntry(ZipArchiveEntry zipArchiveEntry, InputStreamSupplier source) throws IOException {
@@ -60,7 +60,7 @@ public class ZipOutputFile extends AbstractArchiveOutputFile {
 
     private volatile boolean shouldRun = true;
 
-    ZipOutputFile(String contentFile, Path zipFile, Path tempDir, int threads, EventDispatcher eventDispatcher, Object eventChannel) throws IOException {
+    ZipOutputFile(String contentFile, Path zipFile, Path tempDir, int threads, int compressionLevel, EventDispatcher eventDispatcher, Object eventChannel) throws IOException {
         super(contentFile, zipFile);
 
         out = new ZipArchiveOutputStream(zipFile.toFile());
@@ -73,7 +73,7 @@ public class ZipOutputFile extends AbstractArchiveOutputFile {
         scatterZipPool = new WorkerPool<>("scatter_zip_pool", minThreads, maxThreads, PoolSizeAdaptationStrategy.AGGRESSIVE,
                 () -> {
                     try {
-                        return new ScatterZipWorker(supplier, eventDispatcher);
+                        return new ScatterZipWorker(supplier, compressionLevel, eventDispatcher);
                     } catch (IOException e) {
                         log.error("Failed to create scatter zip writer.", e);
                         return null;
@@ -147,9 +147,9 @@ public class ZipOutputFile extends AbstractArchiveOutputFile {
         private final ScatterZipOutputStream scatterStream;
         private final EventDispatcher eventDispatcher;
 
-        private ScatterZipWorker(ScatterGatherBackingStoreSupplier supplier, EventDispatcher eventDispatcher) throws IOException {
+        private ScatterZipWorker(ScatterGatherBackingStoreSupplier supplier, int compressionLevel, EventDispatcher eventDispatcher) throws IOException {
             this.eventDispatcher = eventDispatcher;
-            scatterStream = new ScatterZipOutputStream(supplier);
+            scatterStream = new ScatterZipOutputStream(supplier, compressionLevel);
             scatterStreams.add(scatterStream);
         }
 
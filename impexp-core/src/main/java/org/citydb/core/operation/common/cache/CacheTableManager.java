@@ -53,14 +53,21 @@ import java.util.stream.Stream;
 public class CacheTableManager {
     private final String cacheDir;
     private final Cache primaryCache;
+    private final boolean useSpillFiles;
 
     private final Map<CacheMode, Cache> caches = new ConcurrentHashMap<>();
     private final Map<CacheTableModel, CacheTable> cacheTables = new ConcurrentHashMap<>();
     private final Map<CacheTableModel, BranchCacheTable> branchCacheTables = new ConcurrentHashMap<>();
+    private final Map<CacheTableModel, SpillFile> spillFiles = new ConcurrentHashMap<>();
 
     public CacheTableManager(org.citydb.config.project.global.Cache cacheConfig) throws SQLException, IOException {
         cacheDir = cacheConfig.getLocalCachePath();
         primaryCache = getOrCreateCache(cacheConfig.getCacheMode());
+        useSpillFiles = cacheConfig.isUseSpillFiles();
+    }
+
+    public boolean isUseSpillFiles() {
+        return useSpillFiles;
     }
 
     public AbstractDatabaseAdapter getCacheAdapter() {
@@ -115,6 +122,32 @@ public class CacheTableManager {
         return branchCacheTables.containsKey(model);
     }
 
+    public synchronized SpillFile createSpillFile(CacheTableModel model, String... columns) throws SQLException {
+        SpillFile spillFile = spillFiles.get(model);
+        if (spillFile == null) {
+            if (primaryCache.cacheDir == null) {
+                throw new SQLException("Spill files require a local cache directory.");
+            }
+
+            try {
+                spillFile = new SpillFile(primaryCache.cacheDir.resolve(model.value() + ".spill"), columns);
+                spillFiles.put(model, spillFile);
+            } catch (IOException e) {
+                throw new SQLException("Failed to create spill file for '" + model + "'.", e);
+            }
+        }
+
+        return spillFile;
+    }
+
+    public SpillFile getSpillFile(CacheTableModel model) {
+        return spillFiles.get(model);
+    }
+
+    public boolean existsSpillFile(CacheTableModel model) {
+        return spillFiles.containsKey(model);
+    }
+
     public synchronized void drop(AbstractCacheTable cacheTable) throws SQLException {
         cacheTable.drop();
 
@@ -160,8 +193,17 @@ public class CacheTableManager {
             }
         }
 
+        for (SpillFile spillFile : spillFiles.values()) {
+            try {
+                spillFile.close();
+            } catch (IOException e) {
+                //
+            }
+        }
+
         cacheTables.clear();
         branchCacheTables.clear();
+        spillFiles.clear();
     }
 
     public synchronized void close() throws SQLException {
@@ -211,7 +253,7 @@ public class CacheTableManager {
             Connection connection;
             Path cacheDir = null;
 
-            if (mode == CacheMode.LOCAL) {
+            if (mode == CacheMode.LOCAL || mode == CacheMode.SPILL) {
                 try {
                     adapter = new H2Adapter();
                     Class.forName(adapter.getConnectionFactoryClassName());
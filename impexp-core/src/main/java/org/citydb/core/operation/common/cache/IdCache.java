@@ -28,6 +28,10 @@
 package org.citydb.core.operation.common.cache;
 
 import org.citydb.util.log.Logger;
+import org.citydb.util.metrics.Counter;
+import org.citydb.util.metrics.IdCacheDrainEvent;
+import org.citydb.util.metrics.Metrics;
+import org.citydb.util.metrics.Timer;
 
 import java.sql.SQLException;
 import java.util.concurrent.ConcurrentHashMap;
@@ -38,11 +42,15 @@ import java.util.concurrent.locks.ReentrantLock;
 
 public class IdCache {
     private final Logger log = Logger.getInstance();
+    private final Metrics metrics = Metrics.getInstance();
 
     private final ConcurrentHashMap<String, IdCacheEntry> map;
     private final IdCachingModel cacheModel;
     private final int capacity;
     private final float drainFactor;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer drainTimer;
 
     private final ReentrantLock mainLock = new ReentrantLock();
     private final Condition drainingDone = mainLock.newCondition();
@@ -60,6 +68,10 @@ public class IdCache {
         this.capacity = capacity;
         this.drainFactor = drainFactor;
 
+        hits = metrics.counter("citydb_id_cache_hits", "cache", cacheModel.getType());
+        misses = metrics.counter("citydb_id_cache_misses", "cache", cacheModel.getType());
+        drainTimer = metrics.timer("citydb_id_cache_drain", "cache", cacheModel.getType());
+
         map = new ConcurrentHashMap<>(capacity, .75f, concurrencyLevel);
     }
 
@@ -90,6 +102,7 @@ public class IdCache {
                 lookup = true;
         }
 
+        countLookup(lookup);
         return lookup;
     }
 
@@ -102,6 +115,7 @@ public class IdCache {
         if (entry == null && backUp)
             entry = lookupDB(key);
 
+        countLookup(entry != null);
         return entry;
     }
 
@@ -129,7 +143,17 @@ public class IdCache {
         return entry;
     }
 
+    private void countLookup(boolean hit) {
+        if (metrics.isEnabled()) {
+            (hit ? hits : misses).increment();
+        }
+    }
+
     private void drainToDB() {
+        IdCacheDrainEvent event = new IdCacheDrainEvent();
+        event.begin();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+
         try {
             log.debug("Writing entries to " + cacheModel.getType() + " cache.");
             backUp = true;
@@ -139,6 +163,16 @@ public class IdCache {
                 cacheModel.drainToDB(map, drain);
                 entries.set(map.size());
 
+                if (start != 0) {
+                    drainTimer.recordSince(start);
+                }
+
+                if (event.shouldCommit()) {
+                    event.cacheType = cacheModel.getType();
+                    event.entries = drain;
+                    event.commit();
+                }
+
                 log.debug("Entries written to " + cacheModel.getType() + " cache.");
 
             } catch (SQLException e) {
@@ -33,6 +33,7 @@ import java.util.Map;
 
 public class IdCacheManager {
     private final Map<IdCacheType, IdCache> cacheMap;
+    private PersistentIdIndex persistentIdIndex;
 
     public IdCacheManager() {
         cacheMap = new HashMap<>();
@@ -57,6 +58,14 @@ public class IdCacheManager {
         return cacheMap.get(cacheType);
     }
 
+    public PersistentIdIndex getPersistentIdIndex() {
+        return persistentIdIndex;
+    }
+
+    public void setPersistentIdIndex(PersistentIdIndex persistentIdIndex) {
+        this.persistentIdIndex = persistentIdIndex;
+    }
+
     public void shutdownAll() throws SQLException {
         for (IdCache server : cacheMap.values())
             server.shutdown();
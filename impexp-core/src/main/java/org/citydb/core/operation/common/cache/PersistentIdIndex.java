@@ -0,0 +1,455 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.common.cache;
+
+import org.citydb.util.log.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Persistent gml:id index of imported top-level features that survives the end of an import run.
+ * <p>
+ * Entries are appended to a log file. A hash table mapping gml:ids to log offsets is kept in memory
+ * and written as snapshot file when closing the index. When opening the index, the snapshot is
+ * loaded and the log records written after the snapshot are replayed, so that an interrupted
+ * import loses at most the records of its last uncompleted write. Records that existed when opening
+ * the index are read from a memory-mapped view of the log.
+ * <p>
+ * The log header records the database and schema the index was created for, and an index cannot be
+ * opened for a different database. The log file is locked while the index is open.
+ */
+public class PersistentIdIndex {
+    private static final String LOG_FILE = "gmlid-index.log";
+    private static final String SNAPSHOT_FILE = "gmlid-index.idx";
+    private static final long LOG_MAGIC = 0x4344424944584c32L;
+    private static final long SNAPSHOT_MAGIC = 0x4344424944585331L;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final Logger log = Logger.getInstance();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Path directory;
+    private final String database;
+    private final FileChannel channel;
+    private final MappedByteBuffer mappedLog;
+    private final long headerSize;
+
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+    private long writtenLength;
+    private int[] fingerprints;
+    private long[] offsets;
+    private int size;
+    private boolean closed;
+
+    private PersistentIdIndex(Path directory, String database) throws IOException {
+        this.directory = directory;
+        this.database = database;
+        Files.createDirectories(directory);
+
+        channel = FileChannel.open(directory.resolve(LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            // the lock is released when closing the channel
+            if (!tryLock()) {
+                throw new IOException("The gml:id index " + directory + " is used by another import.");
+            }
+
+            headerSize = channel.size() == 0 ? writeHeader() : readHeader();
+
+            writtenLength = channel.size();
+            long replayFrom = loadSnapshot();
+            replay(replayFrom);
+
+            mappedLog = writtenLength <= Integer.MAX_VALUE ?
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, writtenLength) :
+                    null;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static PersistentIdIndex open(Path directory, String database) throws IOException {
+        return new PersistentIdIndex(directory, database);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public String getDatabase() {
+        return database;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(String gmlId) {
+        return get(gmlId) != null;
+    }
+
+    public IdCacheEntry get(String gmlId) {
+        if (gmlId == null) {
+            return null;
+        }
+
+        byte[] key = gmlId.getBytes(StandardCharsets.UTF_8);
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(gmlId.hashCode(), key);
+            if (offsets[slot] == 0) {
+                return null;
+            }
+
+            // offsets are stored incremented by one so that zero marks an empty slot
+            long offset = offsets[slot] - 1;
+            ByteBuffer value = read(offset + 4 + key.length, 12);
+            return new IdCacheEntry(value.getLong(0), 0, false, gmlId, value.getInt(8));
+        } catch (IOException e) {
+            log.error("Failed to read from the gml:id index.", e);
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(String gmlId, long id, int objectClassId) throws IOException {
+        if (gmlId == null || gmlId.isEmpty()) {
+            return;
+        }
+
+        byte[] key = gmlId.getBytes(StandardCharsets.UTF_8);
+        int length = 4 + key.length + 12;
+
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            if (writeBuffer.remaining() < length) {
+                sync();
+                if (writeBuffer.capacity() < length) {
+                    writeBuffer = ByteBuffer.allocate(length);
+                }
+            }
+
+            long offset = writtenLength + writeBuffer.position();
+            writeBuffer.putInt(key.length).put(key).putLong(id).putInt(objectClassId);
+            insert(gmlId.hashCode(), key, offset);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void sync() throws IOException {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            if (writeBuffer.position() > 0) {
+                writeBuffer.flip();
+                while (writeBuffer.hasRemaining()) {
+                    writtenLength += channel.write(writeBuffer, writtenLength);
+                }
+
+                writeBuffer.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (!closed) {
+                try {
+                    sync();
+                    channel.force(false);
+                    writeSnapshot();
+                } finally {
+                    closed = true;
+                    channel.close();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean tryLock() throws IOException {
+        try {
+            FileLock fileLock = channel.tryLock();
+            return fileLock != null;
+        } catch (OverlappingFileLockException e) {
+            return false;
+        }
+    }
+
+    private long writeHeader() throws IOException {
+        byte[] value = database.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer header = ByteBuffer.allocate(12 + value.length)
+                .putLong(LOG_MAGIC)
+                .putInt(value.length)
+                .put(value);
+
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+
+        return header.limit();
+    }
+
+    private long readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(12);
+        if (channel.read(header, 0) != header.limit() || header.getLong(0) != LOG_MAGIC) {
+            throw new IOException("The file " + directory.resolve(LOG_FILE) + " is not a gml:id index.");
+        }
+
+        int length = header.getInt(8);
+        if (length < 0 || 12L + length > channel.size()) {
+            throw new IOException("The gml:id index " + directory + " has an invalid header.");
+        }
+
+        ByteBuffer value = ByteBuffer.allocate(length);
+        while (value.hasRemaining()) {
+            if (channel.read(value, 12 + value.position()) < 0) {
+                throw new EOFException("Unexpected end of gml:id index header.");
+            }
+        }
+
+        String indexDatabase = new String(value.array(), StandardCharsets.UTF_8);
+        if (!indexDatabase.equals(database)) {
+            throw new IOException("The gml:id index " + directory + " was created for the database " +
+                    indexDatabase + " and cannot be used with " + database + ".");
+        }
+
+        return 12L + length;
+    }
+
+    private int findSlot(int hash, byte[] key) throws IOException {
+        int mask = offsets.length - 1;
+        int slot = mix(hash) & mask;
+        while (offsets[slot] != 0) {
+            if (fingerprints[slot] == hash && matches(offsets[slot] - 1, key)) {
+                break;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void insert(int hash, byte[] key, long offset) throws IOException {
+        int slot = findSlot(hash, key);
+        if (offsets[slot] == 0) {
+            fingerprints[slot] = hash;
+            if (++size > offsets.length * 0.6) {
+                offsets[slot] = offset + 1;
+                resize(offsets.length << 1);
+                return;
+            }
+        }
+
+        // later records for the same gml:id replace earlier ones
+        offsets[slot] = offset + 1;
+    }
+
+    private void resize(int capacity) {
+        int[] oldFingerprints = fingerprints;
+        long[] oldOffsets = offsets;
+        fingerprints = new int[capacity];
+        offsets = new long[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldOffsets.length; i++) {
+            if (oldOffsets[i] != 0) {
+                int slot = mix(oldFingerprints[i]) & mask;
+                while (offsets[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+
+                fingerprints[slot] = oldFingerprints[i];
+                offsets[slot] = oldOffsets[i];
+            }
+        }
+    }
+
+    private boolean matches(long offset, byte[] key) throws IOException {
+        ByteBuffer buffer = read(offset, 4 + key.length);
+        if (buffer.getInt(0) != key.length) {
+            return false;
+        }
+
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(4 + i) != key[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private ByteBuffer read(long offset, int length) throws IOException {
+        if (offset >= writtenLength) {
+            // record is still in the write buffer
+            ByteBuffer buffer = writeBuffer.duplicate();
+            buffer.limit((int) (offset - writtenLength) + length).position((int) (offset - writtenLength));
+            return buffer.slice();
+        } else if (mappedLog != null && offset + length <= mappedLog.limit()) {
+            ByteBuffer buffer = mappedLog.duplicate();
+            buffer.limit((int) offset + length).position((int) offset);
+            return buffer.slice();
+        } else {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException("Unexpected end of gml:id index.");
+                }
+            }
+
+            return buffer.flip();
+        }
+    }
+
+    private long loadSnapshot() throws IOException {
+        fingerprints = new int[INITIAL_CAPACITY];
+        offsets = new long[INITIAL_CAPACITY];
+
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            try (FileChannel snapshotChannel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = snapshotChannel.map(FileChannel.MapMode.READ_ONLY, 0, snapshotChannel.size());
+                if (buffer.limit() >= 24 && buffer.getLong(0) == SNAPSHOT_MAGIC) {
+                    long coveredLength = buffer.getLong(8);
+                    int capacity = buffer.getInt(16);
+                    int entries = buffer.getInt(20);
+
+                    if (coveredLength >= headerSize
+                            && coveredLength <= writtenLength
+                            && Integer.bitCount(capacity) == 1
+                            && buffer.limit() == 24 + (long) capacity * 12) {
+                        fingerprints = new int[capacity];
+                        offsets = new long[capacity];
+                        buffer.position(24);
+                        buffer.asIntBuffer().get(fingerprints);
+                        buffer.position(24 + capacity * 4);
+                        buffer.asLongBuffer().get(offsets);
+                        size = entries;
+                        return coveredLength;
+                    }
+                }
+            }
+
+            log.warn("Ignoring invalid gml:id index snapshot " + snapshot + ". The index is rebuilt from its log.");
+        }
+
+        return headerSize;
+    }
+
+    private void replay(long position) throws IOException {
+        long offset = position;
+        channel.position(position);
+        DataInputStream stream = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 65536));
+
+        try {
+            while (offset < writtenLength) {
+                int length = stream.readInt();
+                if (length < 0 || offset + 4 + length + 12 > writtenLength) {
+                    break;
+                }
+
+                byte[] key = new byte[length];
+                stream.readFully(key);
+                stream.skipBytes(12);
+
+                insert(new String(key, StandardCharsets.UTF_8).hashCode(), key, offset);
+                offset += 4 + length + 12;
+            }
+        } catch (EOFException e) {
+            //
+        }
+
+        // drop an incomplete record left by an interrupted write
+        if (offset < writtenLength) {
+            log.warn("Truncating incomplete record at the end of the gml:id index.");
+            channel.truncate(offset);
+            writtenLength = offset;
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+
+        try (FileChannel snapshotChannel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int capacity = offsets.length;
+            MappedByteBuffer buffer = snapshotChannel.map(FileChannel.MapMode.READ_WRITE, 0, 24 + (long) capacity * 12);
+            buffer.putLong(SNAPSHOT_MAGIC).putLong(writtenLength).putInt(capacity).putInt(size);
+            buffer.asIntBuffer().put(fingerprints);
+            buffer.position(24 + capacity * 4);
+            buffer.asLongBuffer().put(offsets);
+            buffer.force();
+        }
+
+        Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("The gml:id index has been closed.");
+        }
+    }
+
+    private int mix(int hash) {
+        int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,567 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.common.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only binary store for cache records that are written once and read back
+ * sequentially, such as deferred XLinks of an import.
+ * <p>
+ * Records are stored as length-prefixed blocks of typed fields. Every writer buffers
+ * its records and appends complete blocks to the file channel, so several writers
+ * can share one spill file. Records can be read back in insertion order or sorted by
+ * one of their columns using an external merge sort.
+ */
+public class SpillFile {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long DEFAULT_SORT_MEMORY = 32L * 1024 * 1024;
+
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte INT = 2;
+    private static final byte STRING = 3;
+
+    private static final Comparator<String> KEY_ORDER = Comparator.nullsFirst(String::compareTo);
+
+    private final Path file;
+    private final String[] columns;
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    private final FileChannel channel;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicLong size = new AtomicLong();
+    private final List<Path> runFiles = new ArrayList<>();
+
+    SpillFile(Path file, String... columns) throws IOException {
+        this.file = file;
+        this.columns = columns;
+        for (int i = 0; i < columns.length; i++) {
+            columnIndex.put(columns[i], i);
+        }
+
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public String[] getColumns() {
+        return columns;
+    }
+
+    public long size() {
+        return size.get();
+    }
+
+    public Writer newWriter() {
+        return new Writer();
+    }
+
+    public Reader newReader() throws IOException {
+        return new FileReader(file);
+    }
+
+    public Reader newSortedReader(String column) throws IOException {
+        return newSortedReader(column, DEFAULT_SORT_MEMORY);
+    }
+
+    public Reader newSortedReader(String column, long memoryLimit) throws IOException {
+        int keyIndex = getColumnIndex(column);
+        List<Path> runs = new ArrayList<>();
+        List<SortEntry> records = new ArrayList<>();
+        long memory = 0;
+
+        // split the file into sorted runs that fit into memory, sort keys are decoded only once per record
+        try (Reader reader = newReader()) {
+            while (reader.next()) {
+                byte[] record = Arrays.copyOf(reader.record, reader.length);
+                String key = getKey(record, record.length, keyIndex);
+                records.add(new SortEntry(key, record));
+                memory += record.length + (key != null ? 2L * key.length() : 0) + 64;
+
+                if (memory >= memoryLimit) {
+                    runs.add(writeRun(records));
+                    records.clear();
+                    memory = 0;
+                }
+            }
+        }
+
+        if (runs.isEmpty()) {
+            records.sort(SortEntry.ORDER);
+            return new MemoryReader(records);
+        }
+
+        if (!records.isEmpty()) {
+            runs.add(writeRun(records));
+        }
+
+        List<Reader> readers = new ArrayList<>(runs.size());
+        try {
+            for (Path run : runs) {
+                readers.add(new FileReader(run));
+            }
+        } catch (IOException e) {
+            for (Reader reader : readers) {
+                reader.close();
+            }
+
+            throw e;
+        }
+
+        return new MergeReader(readers, keyIndex);
+    }
+
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(file);
+            for (Path run : runFiles) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    private int getColumnIndex(String column) {
+        Integer index = columnIndex.get(column);
+        if (index == null) {
+            throw new IllegalArgumentException("The spill file '" + file.getFileName() + "' has no column '" + column + "'.");
+        }
+
+        return index;
+    }
+
+    private Path writeRun(List<SortEntry> records) throws IOException {
+        records.sort(SortEntry.ORDER);
+
+        Path run;
+        synchronized (runFiles) {
+            run = file.resolveSibling(file.getFileName() + ".run" + runFiles.size());
+            runFiles.add(run);
+        }
+
+        try (FileChannel runChannel = FileChannel.open(run, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            for (SortEntry entry : records) {
+                byte[] record = entry.record;
+                if (buffer.remaining() < 4 + record.length) {
+                    buffer.flip();
+                    writeFully(runChannel, buffer);
+                    buffer.clear();
+                }
+
+                if (buffer.remaining() < 4 + record.length) {
+                    ByteBuffer large = ByteBuffer.allocate(4 + record.length);
+                    large.putInt(record.length).put(record).flip();
+                    writeFully(runChannel, large);
+                } else {
+                    buffer.putInt(record.length).put(record);
+                }
+            }
+
+            buffer.flip();
+            writeFully(runChannel, buffer);
+        }
+
+        return run;
+    }
+
+    private String getKey(byte[] record, int length, int keyIndex) {
+        Object value = decode(record, length)[keyIndex];
+        return value != null ? value.toString() : null;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private Object[] decode(byte[] record, int length) {
+        Object[] values = new Object[columns.length];
+        ByteBuffer buffer = ByteBuffer.wrap(record, 0, length);
+
+        for (int i = 0; i < values.length && buffer.hasRemaining(); i++) {
+            switch (buffer.get()) {
+                case LONG:
+                    values[i] = buffer.getLong();
+                    break;
+                case INT:
+                    values[i] = buffer.getInt();
+                    break;
+                case STRING:
+                    int stringLength = buffer.getInt();
+                    values[i] = new String(record, buffer.position(), stringLength, StandardCharsets.UTF_8);
+                    buffer.position(buffer.position() + stringLength);
+                    break;
+                default:
+                    values[i] = null;
+            }
+        }
+
+        return values;
+    }
+
+    public class Writer implements AutoCloseable {
+        private byte[] buffer = new byte[BUFFER_SIZE];
+        private int count;
+        private int recordStart = -1;
+        private int records;
+
+        private Writer() {
+        }
+
+        public Writer writeLong(long value) {
+            startRecord();
+            ensureCapacity(9);
+            buffer[count++] = LONG;
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[count++] = (byte) (value >>> shift);
+            }
+
+            return this;
+        }
+
+        public Writer writeInt(int value) {
+            startRecord();
+            ensureCapacity(5);
+            buffer[count++] = INT;
+            writeRawInt(value);
+            return this;
+        }
+
+        public Writer writeString(String value) {
+            startRecord();
+            if (value == null) {
+                ensureCapacity(1);
+                buffer[count++] = NULL;
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                ensureCapacity(5 + bytes.length);
+                buffer[count++] = STRING;
+                writeRawInt(bytes.length);
+                System.arraycopy(bytes, 0, buffer, count, bytes.length);
+                count += bytes.length;
+            }
+
+            return this;
+        }
+
+        public void endRecord() throws IOException {
+            startRecord();
+            int length = count - recordStart - 4;
+            buffer[recordStart] = (byte) (length >>> 24);
+            buffer[recordStart + 1] = (byte) (length >>> 16);
+            buffer[recordStart + 2] = (byte) (length >>> 8);
+            buffer[recordStart + 3] = (byte) length;
+            recordStart = -1;
+            records++;
+
+            if (count >= BUFFER_SIZE) {
+                flush();
+            }
+        }
+
+        public void flush() throws IOException {
+            if (recordStart != -1) {
+                throw new IllegalStateException("Failed to flush an incomplete spill record.");
+            }
+
+            if (count > 0) {
+                final ReentrantLock lock = writeLock;
+                lock.lock();
+                try {
+                    writeFully(channel, ByteBuffer.wrap(buffer, 0, count));
+                    size.addAndGet(records);
+                } finally {
+                    lock.unlock();
+                }
+
+                count = 0;
+                records = 0;
+                if (buffer.length > BUFFER_SIZE) {
+                    buffer = new byte[BUFFER_SIZE];
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        private void startRecord() {
+            if (recordStart == -1) {
+                ensureCapacity(4);
+                recordStart = count;
+                count += 4;
+            }
+        }
+
+        private void writeRawInt(int value) {
+            buffer[count++] = (byte) (value >>> 24);
+            buffer[count++] = (byte) (value >>> 16);
+            buffer[count++] = (byte) (value >>> 8);
+            buffer[count++] = (byte) value;
+        }
+
+        private void ensureCapacity(int length) {
+            if (count + length > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + length));
+            }
+        }
+    }
+
+    public abstract class Reader implements AutoCloseable {
+        byte[] record = new byte[256];
+        int length;
+        private Object[] values;
+
+        public boolean next() throws IOException {
+            values = null;
+            return advance();
+        }
+
+        public long getLong(String column) {
+            Object value = getValue(column);
+            return value instanceof Number ? ((Number) value).longValue() : 0;
+        }
+
+        public int getInt(String column) {
+            Object value = getValue(column);
+            return value instanceof Number ? ((Number) value).intValue() : 0;
+        }
+
+        public String getString(String column) {
+            Object value = getValue(column);
+            return value != null ? value.toString() : null;
+        }
+
+        private Object getValue(String column) {
+            if (values == null) {
+                values = decode(record, length);
+            }
+
+            return values[getColumnIndex(column)];
+        }
+
+        abstract boolean advance() throws IOException;
+
+        @Override
+        public abstract void close() throws IOException;
+    }
+
+    private class FileReader extends Reader {
+        private final FileChannel readChannel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        FileReader(Path file) throws IOException {
+            readChannel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer.flip();
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            if (!fill(4)) {
+                return false;
+            }
+
+            length = buffer.getInt();
+            if (record.length < length) {
+                record = new byte[Math.max(length, record.length * 2)];
+            }
+
+            int offset = 0;
+            while (offset < length) {
+                if (!buffer.hasRemaining() && !fill(1)) {
+                    throw new IOException("Unexpected end of spill file '" + file.getFileName() + "'.");
+                }
+
+                int chunk = Math.min(buffer.remaining(), length - offset);
+                buffer.get(record, offset, chunk);
+                offset += chunk;
+            }
+
+            return true;
+        }
+
+        private boolean fill(int required) throws IOException {
+            while (buffer.remaining() < required) {
+                buffer.compact();
+                int read = readChannel.read(buffer);
+                buffer.flip();
+
+                if (read == -1) {
+                    if (buffer.hasRemaining()) {
+                        throw new IOException("Unexpected end of spill file '" + file.getFileName() + "'.");
+                    }
+
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            readChannel.close();
+        }
+    }
+
+    private class MemoryReader extends Reader {
+        private final List<SortEntry> records;
+        private int index;
+
+        MemoryReader(List<SortEntry> records) {
+            this.records = records;
+        }
+
+        @Override
+        boolean advance() {
+            if (index == records.size()) {
+                return false;
+            }
+
+            record = records.get(index).record;
+            records.set(index++, null);
+            length = record.length;
+            return true;
+        }
+
+        @Override
+        public void close() {
+            records.clear();
+        }
+    }
+
+    private class MergeReader extends Reader {
+        private final List<Reader> readers;
+        private final PriorityQueue<Run> queue;
+
+        MergeReader(List<Reader> readers, int keyIndex) throws IOException {
+            this.readers = readers;
+            queue = new PriorityQueue<>(readers.size(),
+                    Comparator.comparing((Run run) -> run.key, KEY_ORDER));
+
+            for (Reader reader : readers) {
+                Run run = new Run(reader, keyIndex);
+                if (run.advance()) {
+                    queue.add(run);
+                }
+            }
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            Run run = queue.poll();
+            if (run == null) {
+                return false;
+            }
+
+            if (record.length < run.reader.length) {
+                record = new byte[Math.max(run.reader.length, record.length * 2)];
+            }
+
+            System.arraycopy(run.reader.record, 0, record, 0, run.reader.length);
+            length = run.reader.length;
+
+            if (run.advance()) {
+                queue.add(run);
+            }
+
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException exception = null;
+            for (Reader reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    exception = e;
+                }
+            }
+
+            if (exception != null) {
+                throw exception;
+            }
+        }
+    }
+
+    private static class SortEntry {
+        private static final Comparator<SortEntry> ORDER = Comparator.comparing((SortEntry entry) -> entry.key, KEY_ORDER);
+        private final String key;
+        private final byte[] record;
+
+        SortEntry(String key, byte[] record) {
+            this.key = key;
+            this.record = record;
+        }
+    }
+
+    private class Run {
+        private final Reader reader;
+        private final int keyIndex;
+        private String key;
+
+        Run(Reader reader, int keyIndex) {
+            this.reader = reader;
+            this.keyIndex = keyIndex;
+        }
+
+        boolean advance() throws IOException {
+            if (reader.next()) {
+                key = getKey(reader.record, reader.length, keyIndex);
+                return true;
+            }
+
+            return false;
+        }
+    }
+}
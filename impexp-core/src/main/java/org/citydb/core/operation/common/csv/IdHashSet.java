@@ -0,0 +1,155 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.common.csv;
+
+import java.nio.charset.StandardCharsets;
+
+public class IdHashSet {
+    private static final int BYTES_PER_SLOT = Long.BYTES;
+    private static final double LOAD_FACTOR = 0.5;
+
+    private final long maxSlots;
+    private long[] slots;
+    private int size;
+    private boolean containsZero;
+    private boolean exceeded;
+
+    public IdHashSet(int memoryBudget) {
+        // the memory budget is given in MB
+        maxSlots = Math.min((long) memoryBudget * 1024 * 1024 / BYTES_PER_SLOT, 1 << 30);
+        slots = new long[(int) Math.min(1024, maxSlots)];
+    }
+
+    public boolean add(String id) {
+        if (exceeded) {
+            return false;
+        }
+
+        long hash = hash(id);
+        if (hash == 0) {
+            if (!containsZero) {
+                containsZero = true;
+                size++;
+            }
+
+            return true;
+        }
+
+        if (size + 1 > slots.length * LOAD_FACTOR && !resize()) {
+            exceeded = true;
+            slots = null;
+            return false;
+        }
+
+        int mask = slots.length - 1;
+        int index = (int) mix(hash) & mask;
+        while (slots[index] != 0) {
+            if (slots[index] == hash) {
+                return true;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        slots[index] = hash;
+        size++;
+        return true;
+    }
+
+    public boolean mightContain(String id) {
+        if (exceeded) {
+            return true;
+        }
+
+        long hash = hash(id);
+        if (hash == 0) {
+            return containsZero;
+        }
+
+        int mask = slots.length - 1;
+        int index = (int) mix(hash) & mask;
+        while (slots[index] != 0) {
+            if (slots[index] == hash) {
+                return true;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        return false;
+    }
+
+    public boolean isExceeded() {
+        return exceeded;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private boolean resize() {
+        if (slots.length * 2L > maxSlots) {
+            return false;
+        }
+
+        long[] oldSlots = slots;
+        slots = new long[oldSlots.length * 2];
+        int mask = slots.length - 1;
+
+        for (long hash : oldSlots) {
+            if (hash != 0) {
+                int index = (int) mix(hash) & mask;
+                while (slots[index] != 0) {
+                    index = (index + 1) & mask;
+                }
+
+                slots[index] = hash;
+            }
+        }
+
+        return true;
+    }
+
+    private static long hash(String id) {
+        // 64-bit FNV-1a hash of the UTF-8 bytes
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : id.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+
+        return hash;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
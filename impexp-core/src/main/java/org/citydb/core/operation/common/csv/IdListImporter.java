@@ -39,6 +39,7 @@ public class IdListImporter {
     private final CacheTable cacheTable;
     private final int maxBatchSize;
 
+    private IdHashSet hashSet;
     private int batchCounter;
 
     public IdListImporter(CacheTable cacheTable, int maxBatchSize) {
@@ -46,6 +47,11 @@ public class IdListImporter {
         this.maxBatchSize = maxBatchSize;
     }
 
+    public IdListImporter withHashSet(IdHashSet hashSet) {
+        this.hashSet = hashSet;
+        return this;
+    }
+
     public void doImport(IdListParser parser) throws IdListException, SQLException {
         IdColumnType idColumnType = parser.getIdList().getIdColumnType();
         String sql = "insert into " + cacheTable.getTableName() + " " +
@@ -68,6 +74,9 @@ public class IdListImporter {
                         }
                     } else {
                         ps.setString(1, id);
+                        if (hashSet != null) {
+                            hashSet.add(id);
+                        }
                     }
 
                     ps.addBatch();
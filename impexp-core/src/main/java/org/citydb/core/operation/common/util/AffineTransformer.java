@@ -38,6 +38,7 @@ public class AffineTransformer {
     private final Matrix matrix3x4;
     private final Matrix inverse4x4;
     private final Matrix inverse2x2;
+    private final double[] transformation = new double[12];
 
     public AffineTransformer(AffineTransformation affineTransformation) throws Exception {
         matrix4x4 = toMatrix4x4(affineTransformation.getTransformationMatrix());
@@ -45,6 +46,12 @@ public class AffineTransformer {
         inverse4x4 = matrix4x4.inverse();
         inverse2x2 = inverse4x4.getMatrix(2, 2);
 
+        // row-major copy of the 3x4 matrix to transform coordinates without allocations
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 4; j++)
+                transformation[i * 4 + j] = matrix3x4.get(i, j);
+        }
+
         // remove translation from matrix4x4 since it is used only
         // in the context of implicit geometries for which translation
         // is denoted by their reference point
@@ -66,14 +73,19 @@ public class AffineTransformer {
     }
 
     public void transformCoordinates(double[] points) {
-        for (int i = 0; i < points.length; i += 3) {
-            double[] vals = new double[]{points[i], points[i + 1], points[i + 2], 1};
-            Matrix v = new Matrix(vals, 4);
+        transformCoordinates(points, points.length);
+    }
 
-            v = matrix3x4.times(v);
-            points[i] = v.get(0, 0);
-            points[i + 1] = v.get(1, 0);
-            points[i + 2] = v.get(2, 0);
+    public void transformCoordinates(double[] points, int length) {
+        double[] m = transformation;
+        for (int i = 0; i < length; i += 3) {
+            double x = points[i];
+            double y = points[i + 1];
+            double z = points[i + 2];
+
+            points[i] = m[0] * x + m[1] * y + m[2] * z + m[3];
+            points[i + 1] = m[4] * x + m[5] * y + m[6] * z + m[7];
+            points[i + 2] = m[8] * x + m[9] * y + m[10] * z + m[11];
         }
     }
 
@@ -0,0 +1,187 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.common.util;
+
+import org.citydb.config.geometry.GeometryObject;
+import org.citydb.config.geometry.GeometryType;
+import org.citydb.config.project.database.DatabaseSrs;
+import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.operation.MathTransform;
+import org.geotools.api.referencing.operation.TransformException;
+import org.geotools.referencing.CRS;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CoordinateTransformer {
+    private static final ConcurrentHashMap<Long, MathTransform> transforms = new ConcurrentHashMap<>();
+
+    private final MathTransform transform;
+    private final int sourceSrid;
+    private final int targetSrid;
+    private final int transformDimension;
+    private final boolean swapSourceAxes;
+    private final boolean swapTargetAxes;
+
+    public CoordinateTransformer(DatabaseSrs sourceSrs, DatabaseSrs targetSrs, AbstractDatabaseAdapter databaseAdapter) throws FactoryException {
+        CoordinateReferenceSystem sourceCrs = databaseAdapter.getUtil().decodeDatabaseSrs(sourceSrs);
+        CoordinateReferenceSystem targetCrs = databaseAdapter.getUtil().decodeDatabaseSrs(targetSrs);
+
+        sourceSrid = sourceSrs.getSrid();
+        targetSrid = targetSrs.getSrid();
+        transform = getMathTransform(sourceCrs, targetCrs);
+
+        if (transform.getSourceDimensions() != transform.getTargetDimensions()
+                || transform.getSourceDimensions() < 2
+                || transform.getSourceDimensions() > 3) {
+            throw new FactoryException("Unsupported coordinate transformation from SRID " + sourceSrid +
+                    " to SRID " + targetSrid + ".");
+        }
+
+        transformDimension = transform.getSourceDimensions();
+
+        // the database always stores coordinates in x/y (easting/northing) order,
+        // so we have to swap axes for reference systems having a north/east axis order
+        swapSourceAxes = CRS.getAxisOrder(sourceCrs) == CRS.AxisOrder.NORTH_EAST;
+        swapTargetAxes = CRS.getAxisOrder(targetCrs) == CRS.AxisOrder.NORTH_EAST;
+    }
+
+    public int getSourceSrid() {
+        return sourceSrid;
+    }
+
+    public int getTargetSrid() {
+        return targetSrid;
+    }
+
+    public boolean transform(GeometryObject geometry) {
+        if (geometry == null) {
+            return false;
+        } else if (geometry.getSrid() == targetSrid) {
+            // nothing to do for geometries that are already in the target reference system
+            return true;
+        } else if (geometry.getSrid() != sourceSrid) {
+            // geometries in any other reference system cannot be transformed
+            return false;
+        }
+
+        try {
+            int dimension = geometry.getDimension();
+            if (geometry.getGeometryType() == GeometryType.ENVELOPE) {
+                transformEnvelope(geometry.getCoordinates(0), dimension);
+            } else {
+                for (double[] coordinates : geometry.getCoordinates()) {
+                    transformCoordinates(coordinates, dimension);
+                }
+            }
+
+            geometry.setSrid(targetSrid);
+            return true;
+        } catch (TransformException e) {
+            return false;
+        }
+    }
+
+    public void transformCoordinates(double[] coordinates, int dimension) throws TransformException {
+        int numPoints = coordinates.length / dimension;
+        if (numPoints == 0) {
+            return;
+        }
+
+        if (dimension == transformDimension && !swapSourceAxes && !swapTargetAxes) {
+            transform.transform(coordinates, 0, coordinates, 0, numPoints);
+            return;
+        }
+
+        // copy coordinates into a buffer matching the dimension and axis order
+        // of the transformation. z values are kept for 2D transformations
+        double[] buffer = new double[numPoints * transformDimension];
+        for (int i = 0, j = 0; i < numPoints * dimension; i += dimension, j += transformDimension) {
+            buffer[j] = swapSourceAxes ? coordinates[i + 1] : coordinates[i];
+            buffer[j + 1] = swapSourceAxes ? coordinates[i] : coordinates[i + 1];
+            if (transformDimension == 3) {
+                buffer[j + 2] = dimension == 3 ? coordinates[i + 2] : 0;
+            }
+        }
+
+        transform.transform(buffer, 0, buffer, 0, numPoints);
+
+        for (int i = 0, j = 0; i < numPoints * dimension; i += dimension, j += transformDimension) {
+            coordinates[i] = swapTargetAxes ? buffer[j + 1] : buffer[j];
+            coordinates[i + 1] = swapTargetAxes ? buffer[j] : buffer[j + 1];
+            if (transformDimension == 3 && dimension == 3) {
+                coordinates[i + 2] = buffer[j + 2];
+            }
+        }
+    }
+
+    private void transformEnvelope(double[] envelope, int dimension) throws TransformException {
+        // transform all corners of the envelope to account for rotations
+        double[] corners;
+        if (dimension == 3) {
+            corners = new double[]{
+                    envelope[0], envelope[1], envelope[2], envelope[3], envelope[1], envelope[2],
+                    envelope[3], envelope[4], envelope[2], envelope[0], envelope[4], envelope[2],
+                    envelope[0], envelope[1], envelope[5], envelope[3], envelope[1], envelope[5],
+                    envelope[3], envelope[4], envelope[5], envelope[0], envelope[4], envelope[5]};
+        } else {
+            corners = new double[]{
+                    envelope[0], envelope[1], envelope[2], envelope[1],
+                    envelope[2], envelope[3], envelope[0], envelope[3]};
+        }
+
+        transformCoordinates(corners, dimension);
+
+        for (int i = 0; i < dimension; i++) {
+            envelope[i] = Double.MAX_VALUE;
+            envelope[dimension + i] = -Double.MAX_VALUE;
+        }
+
+        for (int i = 0; i < corners.length; i += dimension) {
+            for (int j = 0; j < dimension; j++) {
+                envelope[j] = Math.min(envelope[j], corners[i + j]);
+                envelope[dimension + j] = Math.max(envelope[dimension + j], corners[i + j]);
+            }
+        }
+    }
+
+    private MathTransform getMathTransform(CoordinateReferenceSystem sourceCrs, CoordinateReferenceSystem targetCrs) throws FactoryException {
+        long key = ((long) sourceSrid << 32) | (targetSrid & 0xffffffffL);
+        MathTransform transform = transforms.get(key);
+        if (transform == null) {
+            transform = CRS.findMathTransform(sourceCrs, targetCrs, true);
+            MathTransform existing = transforms.putIfAbsent(key, transform);
+            if (existing != null) {
+                transform = existing;
+            }
+        }
+
+        return transform;
+    }
+}
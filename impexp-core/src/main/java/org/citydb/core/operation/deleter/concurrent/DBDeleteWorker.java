@@ -175,12 +175,12 @@ public class DBDeleteWorker extends Worker<DBSplittingResult> implements EventHa
             }
 
             if (deletedObjectId == objectId) {
-                log.debug(work.getObjectType() + " (ID = " + objectId + ") " + (mode == DeleteMode.TERMINATE ? "terminated." : "deleted."));
+                log.debug(() -> work.getObjectType() + " (ID = " + objectId + ") " + (mode == DeleteMode.TERMINATE ? "terminated." : "deleted."));
                 if (deleteLogger != null) {
                     deleteLogger.write(work.getObjectType().getPath(), objectId, work.getGmlId());
                 }
             } else {
-                log.debug(work.getObjectType() + " (ID = " + objectId + ") is already deleted.");
+                log.debug(() -> work.getObjectType() + " (ID = " + objectId + ") is already deleted.");
             }
 
             Map<Integer, Long> objectCounter = Collections.singletonMap(work.getObjectType().getObjectClassId(), 1L);
@@ -332,6 +332,19 @@ public class Deleter implements EventHandler {
                 //
             }
 
+            // deleted features invalidate the feature statistics
+            if (!preview && mode == DeleteMode.DELETE && !objectCounter.isEmpty()) {
+                try {
+                    if (databaseAdapter.getUtil().hasFeatureStatistics()) {
+                        databaseAdapter.getUtil().dropFeatureStatistics();
+                        log.info("Dropped feature statistics. They must be refreshed to be used again.");
+                    }
+                } catch (SQLException e) {
+                    setException("Failed to drop the feature statistics.", e);
+                    shouldRun = false;
+                }
+            }
+
             if (cacheTableManager != null) {
                 try {
                     log.info("Cleaning temporary cache.");
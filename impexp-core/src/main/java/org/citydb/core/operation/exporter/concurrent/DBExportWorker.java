@@ -29,7 +29,6 @@ package org.citydb.core.operation.exporter.concurrent;
 
 import org.citydb.config.Config;
 import org.citydb.config.geometry.GeometryObject;
-import org.citydb.config.geometry.Point;
 import org.citydb.config.project.database.DatabaseSrs;
 import org.citydb.config.project.exporter.FeatureEnvelopeMode;
 import org.citydb.config.project.global.LogLevel;
@@ -64,6 +63,8 @@ import org.citygml4j.util.bbox.BoundingBoxOptions;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class DBExportWorker extends Worker<DBSplittingResult> implements EventHandler {
@@ -80,6 +81,7 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
     private final boolean useTiling;
     private final boolean calculateExtent;
     private final BoundingBoxOptions bboxOptions;
+    private final int featureBatchSize;
 
     private Tile activeTile;
     private DatabaseSrs targetSrs;
@@ -131,6 +133,7 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
                 internalConfig,
                 config);
 
+        featureBatchSize = config.getDatabaseConfig().getExportBatching().getFeatureBatchSize();
         eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
     }
 
@@ -147,12 +150,25 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
                 firstWork = null;
             }
 
+            List<DBSplittingResult> works = new ArrayList<>(featureBatchSize);
             while (shouldRun) {
                 try {
+                    // take further work items that are already queued so that
+                    // their hierarchies can be exported in batches
                     DBSplittingResult work = workQueue.take();
-                    doWork(work);
+                    do {
+                        works.add(work);
+                    } while (works.size() < featureBatchSize && (work = workQueue.poll()) != null);
+
+                    if (works.size() > 1)
+                        prefetch(works);
+
+                    for (DBSplittingResult item : works)
+                        doWork(item);
                 } catch (InterruptedException ie) {
                     // re-check state
+                } finally {
+                    works.clear();
                 }
             }
 
@@ -178,6 +194,30 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
         }
     }
 
+    private void prefetch(List<DBSplittingResult> works) {
+        final ReentrantLock runLock = this.runLock;
+        runLock.lock();
+
+        try {
+            if (!shouldWork)
+                return;
+
+            List<DBSplittingResult> candidates = new ArrayList<>(works.size());
+            for (DBSplittingResult work : works) {
+                if (work.getObjectType().getObjectClassId() != MappingConstants.APPEARANCE_OBJECTCLASS_ID
+                        && (!useTiling || isOnTile(work.getEnvelope())))
+                    candidates.add(work);
+            }
+
+            exporter.prefetchObjects(candidates);
+        } catch (Throwable e) {
+            eventDispatcher.triggerSyncEvent(new InterruptEvent("A fatal error occurred during batched export of " +
+                    "top-level features.", LogLevel.ERROR, e, eventChannel));
+        } finally {
+            runLock.unlock();
+        }
+    }
+
     private void doWork(DBSplittingResult work) {
         final ReentrantLock runLock = this.runLock;
         runLock.lock();
@@ -260,13 +300,7 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
         // check whether feature is on active tile
         if (envelope != null) {
             GeometryObject geometryObject = exporter.getDatabaseAdapter().getGeometryConverter().getEnvelope(envelope);
-            double[] coordinates = geometryObject.getCoordinates(0);
-
-            return activeTile.isOnTile(new Point(
-                            (coordinates[0] + coordinates[3]) / 2.0,
-                            (coordinates[1] + coordinates[4]) / 2.0,
-                            targetSrs),
-                    exporter.getDatabaseAdapter());
+            return activeTile.isOnTile(geometryObject, targetSrs, exporter.getDatabaseAdapter());
         } else
             return false;
     }
@@ -31,12 +31,14 @@ import org.citydb.config.Config;
 import org.citydb.config.i18n.Language;
 import org.citydb.config.project.database.DatabaseSrs;
 import org.citydb.config.project.database.Workspace;
+import org.citydb.config.project.exporter.ExportCheckpoint;
 import org.citydb.config.project.exporter.OutputFormat;
 import org.citydb.config.project.exporter.SimpleTilingOptions;
 import org.citydb.config.project.exporter.XLink;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.adapter.IndexStatusInfo.IndexType;
 import org.citydb.core.database.connection.DatabaseConnectionPool;
+import org.citydb.core.database.schema.mapping.MappingConstants;
 import org.citydb.core.database.schema.mapping.SchemaMapping;
 import org.citydb.core.file.FileType;
 import org.citydb.core.file.OutputFile;
@@ -45,6 +47,7 @@ import org.citydb.core.operation.common.cache.CacheTableManager;
 import org.citydb.core.operation.common.cache.IdCacheManager;
 import org.citydb.core.operation.common.cache.IdCacheType;
 import org.citydb.core.operation.common.util.AffineTransformer;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 import org.citydb.core.operation.common.xlink.DBXlink;
 import org.citydb.core.operation.exporter.CityGMLExportException;
 import org.citydb.core.operation.exporter.CityGMLExportException.ErrorCode;
@@ -54,6 +57,7 @@ import org.citydb.core.operation.exporter.concurrent.DBExportWorkerFactory;
 import org.citydb.core.operation.exporter.concurrent.DBExportXlinkWorkerFactory;
 import org.citydb.core.operation.exporter.database.content.DBSplitter;
 import org.citydb.core.operation.exporter.database.content.DBSplittingResult;
+import org.citydb.core.operation.exporter.util.CheckpointFile;
 import org.citydb.core.operation.exporter.util.InternalConfig;
 import org.citydb.core.operation.exporter.writer.FeatureWriteException;
 import org.citydb.core.operation.exporter.writer.FeatureWriter;
@@ -67,14 +71,20 @@ import org.citydb.core.plugin.extension.exporter.MetadataProvider;
 import org.citydb.core.query.Query;
 import org.citydb.core.query.builder.QueryBuildException;
 import org.citydb.core.query.builder.config.ConfigQueryBuilder;
+import org.citydb.core.query.builder.sql.BuildProperties;
+import org.citydb.core.query.builder.sql.SQLQueryBuilder;
 import org.citydb.core.query.filter.FilterException;
+import org.citydb.core.query.filter.counter.CounterFilter;
 import org.citydb.core.query.filter.selection.Predicate;
 import org.citydb.core.query.filter.selection.SelectionFilter;
+import org.citydb.core.query.filter.selection.operator.comparison.ComparisonOperatorName;
 import org.citydb.core.query.filter.selection.operator.logical.LogicalOperationFactory;
 import org.citydb.core.query.filter.tiling.Tile;
 import org.citydb.core.query.filter.tiling.Tiling;
 import org.citydb.core.registry.ObjectRegistry;
 import org.citydb.core.util.Util;
+import org.citydb.sqlbuilder.schema.Column;
+import org.citydb.sqlbuilder.select.Select;
 import org.citydb.util.concurrent.PoolSizeAdaptationStrategy;
 import org.citydb.util.concurrent.WorkerPool;
 import org.citydb.util.event.Event;
@@ -82,10 +92,12 @@ import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.event.EventHandler;
 import org.citydb.util.event.global.*;
 import org.citydb.util.log.Logger;
+import org.citydb.util.metrics.Metrics;
 import org.citygml4j.builder.jaxb.CityGMLBuilder;
 import org.citygml4j.model.citygml.cityobjectgroup.CityObjectGroup;
 import org.citygml4j.model.gml.GMLClass;
 import org.citygml4j.model.module.citygml.CityGMLModuleType;
+import org.geotools.api.referencing.FactoryException;
 
 import java.io.File;
 import java.io.IOException;
@@ -93,7 +105,11 @@ import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
@@ -103,6 +119,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Exporter implements EventHandler {
     private final Logger log = Logger.getInstance();
+    private final Metrics metrics = Metrics.getInstance();
     private final CityGMLBuilder cityGMLBuilder;
     private final AbstractDatabaseAdapter databaseAdapter;
     private final SchemaMapping schemaMapping;
@@ -126,6 +143,7 @@ public class Exporter implements EventHandler {
     private boolean logTotalProcessingTime = true;
     private CityGMLExportException exception;
     private CacheTableManager cacheTableManager;
+    private OutputFileFactory fileFactory;
 
     public Exporter() {
         cityGMLBuilder = ObjectRegistry.getInstance().getCityGMLBuilder();
@@ -170,6 +188,11 @@ public class Exporter implements EventHandler {
                 plugin.afterExport(success ? ExportStatus.SUCCESS : ExportStatus.ABORTED);
             }
 
+            if (fileFactory != null) {
+                fileFactory.close();
+                fileFactory = null;
+            }
+
             if (cacheTableManager != null) {
                 try {
                     log.debug("Closing temporary cache.");
@@ -260,6 +283,17 @@ public class Exporter implements EventHandler {
             if (targetSrs.is3D() != databaseAdapter.getConnectionMetaData().getReferenceSystem().is3D()) {
                 throw new CityGMLExportException("Dimensionality of reference system for geometry transformation does not match.");
             }
+
+            if (config.getExportConfig().getGeneralOptions().isTransformCoordinatesOnClient()) {
+                try {
+                    log.info("Transforming coordinates on the client side.");
+                    internalConfig.setCoordinateTransformer(new CoordinateTransformer(
+                            databaseAdapter.getConnectionMetaData().getReferenceSystem(), targetSrs, databaseAdapter));
+                } catch (FactoryException e) {
+                    throw new CityGMLExportException("Failed to create coordinate transformer for reference system '" +
+                            targetSrs.getDescription() + "'.", e);
+                }
+            }
         }
 
         // affine transformation
@@ -315,6 +349,21 @@ public class Exporter implements EventHandler {
             } catch (FilterException e) {
                 throw new CityGMLExportException("Failed to transform tiling extent.", e);
             }
+
+            // split tiles until each tile holds at most the maximum number of features
+            if (tiling.isAdaptive()) {
+                log.info("Splitting tiles to hold at most " + tiling.getMaxFeaturesPerTile() + " top-level features each.");
+                Predicate tilePredicate = predicate;
+
+                try {
+                    tiling.splitTiles(tile -> shouldRun ? countTileFeatures(tile, tilePredicate, query) : 0);
+                    rows = tiling.getRows();
+                    columns = tiling.getColumns();
+                    log.info("Created " + tiling.getNumberOfTiles() + " adaptive tiles on a " + rows + "x" + columns + " grid.");
+                } catch (FilterException e) {
+                    throw new CityGMLExportException("Failed to split tiles adaptively.", e);
+                }
+            }
         } else if (outputFormat == OutputFormat.CITYJSON) {
             // log warning if CityJSON is used without tiling
             log.warn("To avoid memory issues, a tiled export should be used for CityJSON.");
@@ -328,7 +377,7 @@ public class Exporter implements EventHandler {
         }
 
         // create output file factory
-        OutputFileFactory fileFactory = new OutputFileFactory(config, eventDispatcher, eventChannel);
+        fileFactory = new OutputFileFactory(config, eventDispatcher, eventChannel);
 
         // process export folder for texture files
         String textureFolder = null;
@@ -369,49 +418,121 @@ public class Exporter implements EventHandler {
             }
         }
 
-        int remainingTiles = rows * columns;
+        // tiles are exported in the order of their rows and columns. an adaptive tiling
+        // only yields its adaptive tiles instead of every cell of the underlying grid
+        List<Tile> tiles;
+        try {
+            tiles = useTiling ? tiling.getTiles() : Collections.singletonList(null);
+        } catch (FilterException e) {
+            throw new CityGMLExportException("Failed to create tiles.", e);
+        }
 
-        for (int row = 0; shouldRun && row < rows; row++) {
-            for (int column = 0; shouldRun && column < columns; column++) {
-                String fileName = outputFile.getFileName().toString();
-                Path folder = outputFile.getParent();
-                if (folder == null)
-                    folder = Paths.get("").toAbsolutePath().normalize();
+        Tile lastTile = tiles.get(tiles.size() - 1);
 
-                if (useTiling && tilingOptions != null) {
-                    Tile tile;
-                    try {
-                        tile = tiling.getTileAt(row, column);
-                        tiling.setActiveTile(tile);
-
-                        Predicate bboxFilter = tile.getFilterPredicate(databaseAdapter);
-                        query.setSelection(predicate != null ?
-                                new SelectionFilter(LogicalOperationFactory.AND(predicate, bboxFilter)) :
-                                new SelectionFilter(bboxFilter));
-                    } catch (FilterException e) {
-                        throw new CityGMLExportException("Failed to get tile at [" + row + "," + column + "].", e);
-                    }
+        // checkpoints for resumable exports
+        CheckpointFile checkpoint = null;
+        int featuresPerPart = 0;
+        ExportCheckpoint checkpointConfig = config.getExportConfig().getGeneralOptions().getCheckpoint();
+        if (checkpointConfig.isUseCheckpoints()) {
+            if (query.isSetSorting() || query.isSetCounterFilter()) {
+                throw new CityGMLExportException("Checkpoints cannot be used together with sorting or counter filters.");
+            }
 
-                    // adapt output folder for tile
-                    if (tilingOptions.isUseSubDir()) {
-                        String tilePath = tilingOptions.getSubDir().formatAndResolveTokens(row, column, tile.getExtent());
-                        folder = folder.resolve(tilePath);
-                    }
+            Path checkpointFile = checkpointConfig.isSetCheckpointFile() ?
+                    Paths.get(checkpointConfig.getCheckpointFile()).toAbsolutePath().normalize() :
+                    outputFile.resolveSibling(outputFile.getFileName() + ".checkpoint").toAbsolutePath().normalize();
+            String outputFileName = outputFile.toAbsolutePath().normalize().toString();
+            featuresPerPart = checkpointConfig.getFeaturesPerPart();
 
-                    // adapt filename for tile
-                    if (tilingOptions.isUseFilenameSuffix()) {
-                        String suffix = tilingOptions.getFilenameSuffix().formatAndResolveTokens(row, column, tile.getExtent());
-                        String extension = Util.getFileExtension(fileName);
+            if (checkpointConfig.isResume() && Files.exists(checkpointFile)) {
+                try {
+                    checkpoint = CheckpointFile.load(checkpointFile);
+                } catch (IOException e) {
+                    throw new CityGMLExportException("Failed to read checkpoint file '" + checkpointFile + "'.", e);
+                }
 
-                        fileName = tilingOptions.isUseSuffixAsFilename() ?
-                                suffix :
-                                Util.stripFileExtension(fileName) + suffix;
+                if (!checkpoint.isCompatible(outputFileName, rows, columns)) {
+                    throw new CityGMLExportException("The checkpoint file '" + checkpointFile + "' does not match " +
+                            "the output file and tiling settings of this export.");
+                } else if (checkpoint.isCompleted(lastTile != null ? lastTile.getRow() : 0,
+                        lastTile != null ? lastTile.getColumn() : 0)) {
+                    log.info("The export has already been completed according to the checkpoint file '" + checkpointFile + "'.");
+                    return true;
+                }
 
-                        if (!extension.isEmpty()) {
-                            fileName += "." + extension;
-                        }
+                log.info("Resuming export from checkpoint file '" + checkpointFile + "'.");
+            } else {
+                checkpoint = CheckpointFile.newInstance(checkpointFile, outputFileName, rows, columns);
+                log.info("Writing checkpoints to '" + checkpointFile + "' after every " + featuresPerPart + " top-level features.");
+            }
+        }
+
+        int remainingTiles = tiles.size();
+
+        for (int i = 0; shouldRun && i < tiles.size(); i++) {
+            Tile tile = tiles.get(i);
+            int row = tile != null ? tile.getRow() : 0;
+            int column = tile != null ? tile.getColumn() : 0;
+
+            // skip tiles that have been completely exported before
+            if (checkpoint != null && checkpoint.isTileCompleted(row, column)) {
+                remainingTiles--;
+                continue;
+            }
+
+            String fileName = outputFile.getFileName().toString();
+            Path folder = outputFile.getParent();
+            if (folder == null)
+                folder = Paths.get("").toAbsolutePath().normalize();
+
+            if (useTiling && tilingOptions != null) {
+                try {
+                    tiling.setActiveTile(tile);
+
+                    Predicate bboxFilter = tile.getFilterPredicate(databaseAdapter);
+                    query.setSelection(predicate != null ?
+                            new SelectionFilter(LogicalOperationFactory.AND(predicate, bboxFilter)) :
+                            new SelectionFilter(bboxFilter));
+                } catch (FilterException e) {
+                    throw new CityGMLExportException("Failed to get tile at [" + row + "," + column + "].", e);
+                }
+
+                // adapt output folder for tile
+                if (tilingOptions.isUseSubDir()) {
+                    String tilePath = tilingOptions.getSubDir().formatAndResolveTokens(row, column, tile.getExtent());
+                    folder = folder.resolve(tilePath);
+                }
+
+                // adapt filename for tile
+                if (tilingOptions.isUseFilenameSuffix()) {
+                    String suffix = tilingOptions.getFilenameSuffix().formatAndResolveTokens(row, column, tile.getExtent());
+                    String extension = Util.getFileExtension(fileName);
+
+                    fileName = tilingOptions.isUseSuffixAsFilename() ?
+                            suffix :
+                            Util.stripFileExtension(fileName) + suffix;
+
+                    if (!extension.isEmpty()) {
+                        fileName += "." + extension;
                     }
                 }
+            }
+
+            remainingTiles--;
+            int part = checkpoint != null ? checkpoint.getNextPart(row, column) : 1;
+            long lastId = checkpoint != null ? checkpoint.getLastId(row, column) : 0;
+            boolean hasMoreParts;
+
+            do {
+                // export the tile in parts of a fixed number of top-level features when using checkpoints
+                String partFileName = fileName;
+                if (checkpoint != null) {
+                    partFileName = CheckpointFile.getPartFileName(fileName, part);
+                    CounterFilter counterFilter = new CounterFilter();
+                    counterFilter.setCount(featuresPerPart);
+                    counterFilter.setStartId(lastId, ComparisonOperatorName.GREATER_THAN);
+                    query.setCounterFilter(counterFilter);
+                }
 
                 IdCacheManager idCacheManager = null;
                 FeatureWriter writer = null;
@@ -419,14 +540,14 @@ public class Exporter implements EventHandler {
 
                 try {
                     eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("export.dialog.cityObj.msg")));
-                    eventDispatcher.triggerEvent(new StatusDialogTitle(fileName));
-                    eventDispatcher.triggerEvent(new CounterEvent(CounterType.REMAINING_TILES, --remainingTiles));
+                    eventDispatcher.triggerEvent(new StatusDialogTitle(partFileName));
+                    eventDispatcher.triggerEvent(new CounterEvent(CounterType.REMAINING_TILES, remainingTiles));
 
                     try {
-                        file = fileFactory.createOutputFile(folder.resolve(fileName), outputFormat);
+                        file = fileFactory.createOutputFile(folder.resolve(partFileName), outputFormat);
                         internalConfig.setOutputFile(file);
                     } catch (IOException e) {
-                        throw new CityGMLExportException("Failed to create output file '" + folder.resolve(fileName) + "'.", e);
+                        throw new CityGMLExportException("Failed to create output file '" + folder.resolve(partFileName) + "'.", e);
                     }
 
                     // create relative folder for texture files
@@ -534,6 +655,10 @@ public class Exporter implements EventHandler {
 
                         if (shouldRun) {
                             dbSplitter.setMetadataProviders(metadataProviders);
+                            if (checkpoint != null) {
+                                dbSplitter.setCalculateNumberMatched(false);
+                            }
+
                             dbSplitter.startQuery();
                         }
                     } catch (SQLException | QueryBuildException | FilterException e) {
@@ -620,7 +745,19 @@ public class Exporter implements EventHandler {
 
                 objectCounter.clear();
                 geometryCounter.clear();
-            }
+
+                hasMoreParts = false;
+                if (checkpoint != null && shouldRun && exception == null) {
+                    lastId = Math.max(lastId, dbSplitter.getLastId());
+                    hasMoreParts = dbSplitter.getNumberOfRows() == featuresPerPart;
+
+                    try {
+                        checkpoint.update(row, column, part++, lastId, !hasMoreParts);
+                    } catch (IOException e) {
+                        throw new CityGMLExportException("Failed to write checkpoint file '" + checkpoint.getFile() + "'.", e);
+                    }
+                }
+            } while (shouldRun && hasMoreParts);
         }
 
         // show totally exported features
@@ -643,6 +780,47 @@ public class Exporter implements EventHandler {
         return shouldRun;
     }
 
+    private long countTileFeatures(Tile tile, Predicate predicate, Query query) throws FilterException {
+        Query countQuery = new Query(query);
+        countQuery.unsetTiling();
+        countQuery.unsetCounterFilter();
+        countQuery.unsetSorting();
+
+        Predicate bboxFilter = tile.getFilterPredicate(databaseAdapter);
+        countQuery.setSelection(predicate != null ?
+                new SelectionFilter(LogicalOperationFactory.AND(predicate, bboxFilter)) :
+                new SelectionFilter(bboxFilter));
+
+        // the bbox filter also matches features overlapping the tile, so count only those features
+        // whose envelope center is on the tile as done by the export workers
+        try (Connection connection = DatabaseConnectionPool.getInstance().getConnection()) {
+            SQLQueryBuilder builder = new SQLQueryBuilder(schemaMapping, databaseAdapter,
+                    BuildProperties.defaults().addProjectionColumn(MappingConstants.ENVELOPE));
+
+            Select select = new Select(builder.buildQuery(countQuery))
+                    .unsetOrderBy()
+                    .removeProjectionIf(t -> !(t instanceof Column)
+                            || !(((Column) t).getName().equals(MappingConstants.ID)
+                            || ((Column) t).getName().equals(MappingConstants.ENVELOPE)));
+
+            long count = 0;
+            try (PreparedStatement stmt = databaseAdapter.getSQLAdapter().prepareStatement(select, connection);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Object envelope = rs.getObject(MappingConstants.ENVELOPE);
+                    if (envelope != null && tile.isOnTile(databaseAdapter.getGeometryConverter().getEnvelope(envelope),
+                            query.getTargetSrs(), databaseAdapter)) {
+                        count++;
+                    }
+                }
+            }
+
+            return count;
+        } catch (SQLException | QueryBuildException e) {
+            throw new FilterException("Failed to count the top-level features of a tile.", e);
+        }
+    }
+
     private void setOutputFormatOptions(OutputFormat outputFormat, InternalConfig internalConfig) {
         internalConfig.setOutputFormat(outputFormat);
 
@@ -669,6 +847,9 @@ public class Exporter implements EventHandler {
             for (Entry<Integer, Long> entry : counter.entrySet()) {
                 Long tmp = objectCounter.get(entry.getKey());
                 objectCounter.put(entry.getKey(), tmp == null ? entry.getValue() : tmp + entry.getValue());
+                if (metrics.isEnabled()) {
+                    metrics.counter("citydb_objects_total", "stage", "export").add(entry.getValue());
+                }
                 if (useTiling) {
                     tmp = totalObjectCounter.get(entry.getKey());
                     totalObjectCounter.put(entry.getKey(), tmp == null ? entry.getValue() : tmp + entry.getValue());
@@ -43,6 +43,7 @@ import org.citygml4j.model.gml.feature.AbstractFeature;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 
@@ -64,6 +65,36 @@ public abstract class AbstractFeatureExporter<T extends AbstractFeature> extends
         return !doExport(id, object, featureType, getOrCreateStatement("id")).isEmpty();
     }
 
+    protected Map<Long, T> doExport(Map<Long, T> roots, Map<Long, FeatureType> rootTypes) throws CityGMLExportException, SQLException {
+        Map<Long, T> result = new HashMap<>();
+        for (Map.Entry<Long, T> entry : roots.entrySet()) {
+            if (doExport(entry.getValue(), entry.getKey(), rootTypes.get(entry.getKey())))
+                result.put(entry.getKey(), entry.getValue());
+        }
+
+        return result;
+    }
+
+    protected Map<Long, T> doExport(ResultSet rs, Map<Long, T> roots, Map<Long, FeatureType> rootTypes) throws CityGMLExportException, SQLException {
+        throw new CityGMLExportException("Batched export is not supported for " + featureClass.getSimpleName() + " objects.");
+    }
+
+    protected Map<Long, T> doBulkExport(String columnName, List<Long> ids, Map<Long, T> roots, Map<Long, FeatureType> rootTypes) throws CityGMLExportException, SQLException {
+        Map<Long, T> result = new HashMap<>();
+        int batchSize = exporter.getFeatureBatchSize();
+        PreparedStatement ps = getOrCreateBulkStatement(columnName, batchSize);
+
+        for (int i = 0; i < ids.size(); i += batchSize) {
+            Long[] batch = ids.subList(i, Math.min(i + batchSize, ids.size())).toArray(new Long[0]);
+            prepareBulkStatement(ps, batch, batchSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                result.putAll(doExport(rs, roots, rootTypes));
+            }
+        }
+
+        return result;
+    }
+
     protected Collection<T> doExport(FeatureProperty featureProperty, long parentId) throws CityGMLExportException, SQLException {
         String key = Integer.toHexString(featureProperty.hashCode());
         PreparedStatement ps = statements.get(key);
@@ -74,7 +105,7 @@ public abstract class AbstractFeatureExporter<T extends AbstractFeature> extends
             if (featureProperty.getType() != exporter.getAbstractObjectType(featureClass))
                 select.addSelection(getFeatureTypeFilter(featureProperty.getType()));
 
-            ps = connection.prepareStatement(select.toString());
+            ps = connection.prepareStatement(exporter.getStatement(getClass(), key, select::toString));
             statements.put(key, ps);
         }
 
@@ -91,7 +122,7 @@ public abstract class AbstractFeatureExporter<T extends AbstractFeature> extends
         if (ps == null) {
             String placeHolders = String.join(",", Collections.nCopies(batchSize, "?"));
             Select select = new Select(this.select).addSelection(ComparisonFactory.in(table.getColumn(columnName), new LiteralSelectExpression(placeHolders)));
-            ps = connection.prepareStatement(select.toString());
+            ps = connection.prepareStatement(exporter.getStatement(getClass(), key + batchSize, select::toString));
             statements.put(key, ps);
         }
 
@@ -107,7 +138,7 @@ public abstract class AbstractFeatureExporter<T extends AbstractFeature> extends
         PreparedStatement ps = statements.get(columnName);
         if (ps == null) {
             Select select = new Select(this.select).addSelection(ComparisonFactory.equalTo(table.getColumn(columnName), new PlaceHolder<>()));
-            ps = connection.prepareStatement(select.toString());
+            ps = connection.prepareStatement(exporter.getStatement(getClass(), columnName, select::toString));
             statements.put(columnName, ps);
         }
 
@@ -43,6 +43,7 @@ import org.citydb.core.database.schema.mapping.*;
 import org.citydb.core.operation.common.cache.*;
 import org.citydb.core.operation.common.cache.model.CacheTableModel;
 import org.citydb.core.operation.common.util.AffineTransformer;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 import org.citydb.core.operation.common.xlink.DBXlink;
 import org.citydb.core.operation.exporter.CityGMLExportException;
 import org.citydb.core.operation.exporter.util.*;
@@ -104,6 +105,7 @@ import java.io.Reader;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.function.Supplier;
 
 public class CityGMLExportManager implements CityGMLExportHelper {
     private final Logger log = Logger.getInstance();
@@ -125,13 +127,16 @@ public class CityGMLExportManager implements CityGMLExportHelper {
     private final Config config;
 
     private final boolean failOnError;
-    private final Set<String> localGeometryCache;
+    private final Map<Long, Set<String>> localGeometryCache;
+    private final Map<Long, AbstractGML> prefetchedObjects;
     private final AttributeValueSplitter attributeValueSplitter;
     private final ExportCounter exportCounter;
     private final JAXBUnmarshaller jaxbUnmarshaller;
     private final boolean hasADESupport;
+    private long localGeometryScope;
 
     private GMLConverter gmlConverter;
+    private GMLConverter relativeGeometryConverter;
     private LodGeometryChecker lodGeometryChecker;
     private AppearanceRemover appearanceRemover;
     private AffineTransformer affineTransformer;
@@ -167,7 +172,8 @@ public class CityGMLExportManager implements CityGMLExportHelper {
         plugins = PluginManager.getInstance().getEnabledExternalPlugins(FeatureExportExtension.class);
 
         failOnError = config.getExportConfig().getGeneralOptions().isFailFastOnErrors();
-        localGeometryCache = new HashSet<>();
+        localGeometryCache = new HashMap<>();
+        prefetchedObjects = new HashMap<>();
         attributeValueSplitter = new AttributeValueSplitter();
         exportCounter = new ExportCounter(schemaMapping);
 
@@ -195,58 +201,108 @@ public class CityGMLExportManager implements CityGMLExportHelper {
     }
 
     public AbstractGML exportObject(long objectId, AbstractObjectType<?> objectType) throws CityGMLExportException, SQLException {
-        AbstractGML object = exportObject(objectId, objectType, false);
-        return object != null ? processObject(object) : null;
-    }
+        // local geometry xlinks are resolved per top-level feature
+        localGeometryScope = objectId;
 
-    private AbstractGML processObject(AbstractGML object) throws CityGMLExportException, SQLException {
         try {
-            // execute batch export
-            executeBatch();
+            AbstractGML object = prefetchedObjects.containsKey(objectId) ?
+                    prefetchedObjects.remove(objectId) :
+                    exportObject(objectId, objectType, false);
+            return object != null ? processObject(object) : null;
+        } finally {
+            // clear local geometry cache
+            localGeometryCache.remove(objectId);
+        }
+    }
 
-            // remove empty city objects in case we filter LoDs
-            if (lodGeometryChecker != null)
-                lodGeometryChecker.cleanupCityObjects(object);
+    public void prefetchObjects(List<DBSplittingResult> works) throws CityGMLExportException, SQLException {
+        prefetchedObjects.clear();
+        localGeometryCache.clear();
 
-            // remove local appearances in case we filter LoDs
-            if (appearanceRemover != null)
-                appearanceRemover.cleanupAppearances(object);
+        // building, bridge and tunnel hierarchies are fetched for a batch
+        // of top-level features using a single query
+        Map<Long, AbstractBuilding> buildings = new HashMap<>();
+        Map<Long, AbstractBridge> bridges = new HashMap<>();
+        Map<Long, AbstractTunnel> tunnels = new HashMap<>();
+        Map<Long, FeatureType> featureTypes = new HashMap<>();
 
-            // cache geometry ids in case we export global appearances
-            if (internalConfig.getGlobalAppearanceMode() == InternalConfig.GlobalAppearanceMode.EXPORT)
-                getExporter(DBGlobalAppearance.class).cacheGeometryIds(object);
+        for (DBSplittingResult work : works) {
+            if (!(work.getObjectType() instanceof FeatureType))
+                continue;
 
-            if (object instanceof AbstractFeature) {
-                AbstractFeature feature = (AbstractFeature) object;
-
-                // invoke export plugins
-                if (!plugins.isEmpty()) {
-                    for (FeatureExportExtension plugin : plugins) {
-                        try {
-                            feature = plugin.postprocess(feature);
-                            if (feature == null)
-                                return null;
-                        } catch (PluginException e) {
-                            throw new CityGMLExportException("Export plugin " + plugin.getClass().getName() + " threw an exception.", e);
-                        }
-                    }
-                }
+            AbstractGML object = Util.createObject(work.getObjectType().getObjectClassId(), query.getTargetVersion());
+            if (object instanceof ADEModelObject)
+                continue;
 
-                // trigger export of textures if required
-                if (isLazyTextureExport() && config.getExportConfig().getAppearances().isSetExportAppearance())
-                    getExporter(DBLocalAppearance.class).triggerLazyTextureExport(feature);
+            if (object instanceof AbstractBuilding)
+                buildings.put(work.getId(), (AbstractBuilding) object);
+            else if (object instanceof AbstractBridge)
+                bridges.put(work.getId(), (AbstractBridge) object);
+            else if (object instanceof AbstractTunnel)
+                tunnels.put(work.getId(), (AbstractTunnel) object);
+            else
+                continue;
+
+            featureTypes.put(work.getId(), (FeatureType) work.getObjectType());
+        }
+
+        if (!buildings.isEmpty())
+            putPrefetchedObjects(buildings, getExporter(DBBuilding.class).doExport(buildings, featureTypes));
+        if (!bridges.isEmpty())
+            putPrefetchedObjects(bridges, getExporter(DBBridge.class).doExport(bridges, featureTypes));
+        if (!tunnels.isEmpty())
+            putPrefetchedObjects(tunnels, getExporter(DBTunnel.class).doExport(tunnels, featureTypes));
+    }
 
-                // replace object identifiers
-                if (idReplacer != null) {
-                    feature.accept(idReplacer);
+    private void putPrefetchedObjects(Map<Long, ? extends AbstractGML> roots, Map<Long, ? extends AbstractGML> objects) {
+        // a null value marks top-level features that could not be exported
+        for (Long id : roots.keySet())
+            prefetchedObjects.put(id, objects.get(id));
+    }
+
+    private AbstractGML processObject(AbstractGML object) throws CityGMLExportException, SQLException {
+        // execute batch export
+        executeBatch();
+
+        // remove empty city objects in case we filter LoDs
+        if (lodGeometryChecker != null)
+            lodGeometryChecker.cleanupCityObjects(object);
+
+        // remove local appearances in case we filter LoDs
+        if (appearanceRemover != null)
+            appearanceRemover.cleanupAppearances(object);
+
+        // cache geometry ids in case we export global appearances
+        if (internalConfig.getGlobalAppearanceMode() == InternalConfig.GlobalAppearanceMode.EXPORT)
+            getExporter(DBGlobalAppearance.class).cacheGeometryIds(object);
+
+        if (object instanceof AbstractFeature) {
+            AbstractFeature feature = (AbstractFeature) object;
+
+            // invoke export plugins
+            if (!plugins.isEmpty()) {
+                for (FeatureExportExtension plugin : plugins) {
+                    try {
+                        feature = plugin.postprocess(feature);
+                        if (feature == null)
+                            return null;
+                    } catch (PluginException e) {
+                        throw new CityGMLExportException("Export plugin " + plugin.getClass().getName() + " threw an exception.", e);
+                    }
                 }
             }
 
-            return object;
-        } finally {
-            // clear local geometry cache
-            localGeometryCache.clear();
+            // trigger export of textures if required
+            if (isLazyTextureExport() && config.getExportConfig().getAppearances().isSetExportAppearance())
+                getExporter(DBLocalAppearance.class).triggerLazyTextureExport(feature);
+
+            // replace object identifiers
+            if (idReplacer != null) {
+                feature.accept(idReplacer);
+            }
         }
+
+        return object;
     }
 
     @Override
@@ -560,15 +616,28 @@ public class CityGMLExportManager implements CityGMLExportHelper {
     @Override
     public GMLConverter getGMLConverter() {
         if (gmlConverter == null) {
-            gmlConverter = new GMLConverter(query.isSetTargetSrs() ?
-                    query.getTargetSrs().getGMLSrsName() :
-                    databaseAdapter.getConnectionMetaData().getReferenceSystem().getGMLSrsName(),
-                    affineTransformer, config);
+            gmlConverter = new GMLConverter(getGMLSrsName(), affineTransformer, internalConfig.getCoordinateTransformer(), config);
         }
 
         return gmlConverter;
     }
 
+    public GMLConverter getRelativeGeometryConverter() {
+        if (relativeGeometryConverter == null) {
+            relativeGeometryConverter = internalConfig.isTransformCoordinatesOnClient() ?
+                    new GMLConverter(getGMLSrsName(), affineTransformer, null, config) :
+                    getGMLConverter();
+        }
+
+        return relativeGeometryConverter;
+    }
+
+    private String getGMLSrsName() {
+        return query.isSetTargetSrs() ?
+                query.getTargetSrs().getGMLSrsName() :
+                databaseAdapter.getConnectionMetaData().getReferenceSystem().getGMLSrsName();
+    }
+
     @Override
     public AbstractDatabaseAdapter getDatabaseAdapter() {
         return databaseAdapter;
@@ -586,10 +655,11 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 
     @Override
     public CombinedProjectionFilter getCombinedProjectionFilter(String tableName) {
-        List<ProjectionFilter> filters = new ArrayList<>();
-        schemaMapping.listAbstractObjectTypesByTable(tableName, true).forEach(type -> filters.add(query.getProjectionFilter(type)));
+        return query.getCombinedProjectionFilter(tableName, schemaMapping);
+    }
 
-        return new CombinedProjectionFilter(filters);
+    public String getStatement(Class<? extends DBExporter> type, String key, Supplier<String> sql) {
+        return query.getStatement(type.getName() + ':' + key, sql);
     }
 
     @Override
@@ -616,6 +686,10 @@ public class CityGMLExportManager implements CityGMLExportHelper {
         return affineTransformer;
     }
 
+    public CoordinateTransformer getCoordinateTransformer() {
+        return internalConfig.getCoordinateTransformer();
+    }
+
     public IdReplacer getIdReplacer() {
         return idReplacer;
     }
@@ -631,7 +705,7 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 
     @Override
     public ProjectionToken getGeometryColumn(Column column) {
-        return (!internalConfig.isTransformCoordinates()) ?
+        return !isTransformCoordinatesInDatabase() ?
                 column :
                 new Function(databaseAdapter.getSQLAdapter().resolveDatabaseOperationName("citydb_srs.transform_or_null"),
                         column.getName(), column, new IntegerLiteral(query.getTargetSrs().getSrid()));
@@ -639,7 +713,7 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 
     @Override
     public ProjectionToken getGeometryColumn(Column column, String asName) {
-        return (!internalConfig.isTransformCoordinates()) ?
+        return !isTransformCoordinatesInDatabase() ?
                 new Column(column.getTable(), column.getName(), asName) :
                 new Function(databaseAdapter.getSQLAdapter().resolveDatabaseOperationName("citydb_srs.transform_or_null"),
                         asName, column, new IntegerLiteral(query.getTargetSrs().getSrid()));
@@ -647,7 +721,7 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 
     @Override
     public String getGeometryColumn(String columnName) {
-        return (!internalConfig.isTransformCoordinates()) ?
+        return !isTransformCoordinatesInDatabase() ?
                 columnName :
                 databaseAdapter.getSQLAdapter().resolveDatabaseOperationName("citydb_srs.transform_or_null") +
                         "(" + columnName + ", " + query.getTargetSrs().getSrid() + ") as " + columnName.replaceFirst(".*?\\.", "");
@@ -655,12 +729,16 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 
     @Override
     public String getGeometryColumn(String columnName, String asName) {
-        return (!internalConfig.isTransformCoordinates()) ?
+        return !isTransformCoordinatesInDatabase() ?
                 columnName + " as " + asName :
                 databaseAdapter.getSQLAdapter().resolveDatabaseOperationName("citydb_srs.transform_or_null") +
                         "(" + columnName + ", " + query.getTargetSrs().getSrid() + ") as " + asName;
     }
 
+    private boolean isTransformCoordinatesInDatabase() {
+        return internalConfig.isTransformCoordinates() && !internalConfig.isTransformCoordinatesOnClient();
+    }
+
     @Override
     public void logOrThrowErrorMessage(String message) throws CityGMLExportException {
         logOrThrowErrorMessage(message, null);
@@ -788,8 +866,16 @@ public class CityGMLExportManager implements CityGMLExportHelper {
             cache.put(gmlId, id, -1, false, null, objectClassId);
     }
 
+    protected long getLocalGeometryScope() {
+        return localGeometryScope;
+    }
+
+    protected void setLocalGeometryScope(long localGeometryScope) {
+        this.localGeometryScope = localGeometryScope;
+    }
+
     public boolean lookupAndPutGeometryId(String gmlId, long id, boolean useLocalScope) {
-        boolean isCached = !localGeometryCache.add(gmlId);
+        boolean isCached = !localGeometryCache.computeIfAbsent(localGeometryScope, v -> new HashSet<>()).add(gmlId);
 
         if (!useLocalScope) {
             IdCache cache = idCacheManager.getCache(IdCacheType.GEOMETRY);
@@ -806,7 +892,8 @@ public class CityGMLExportManager implements CityGMLExportHelper {
     }
 
     public boolean lookupGeometryId(String gmlId) {
-        boolean isCached = localGeometryCache.contains(gmlId);
+        Set<String> localGeometries = localGeometryCache.get(localGeometryScope);
+        boolean isCached = localGeometries != null && localGeometries.contains(gmlId);
         if (!isCached) {
             IdCache cache = idCacheManager.getCache(IdCacheType.GEOMETRY);
             isCached = cache != null && cache.get(gmlId) != null;
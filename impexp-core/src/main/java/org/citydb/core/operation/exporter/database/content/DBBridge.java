@@ -105,7 +105,8 @@ public class DBBridge extends AbstractFeatureExporter<AbstractBridge> {
         String schema = exporter.getDatabaseAdapter().getConnectionDetails().getSchema();
 
         table = new Table(TableEnum.BRIDGE.getName(), schema);
-        select = new Select().addProjection(table.getColumn("id"), table.getColumn("bridge_parent_id"));
+        select = new Select().addProjection(table.getColumn("id"), table.getColumn("bridge_parent_id"),
+                table.getColumn("bridge_root_id"));
         if (hasObjectClassIdColumn) select.addProjection(table.getColumn("objectclass_id"));
         if (projectionFilter.containsProperty("class", bridgeModule))
             select.addProjection(table.getColumn("class"), table.getColumn("class_codespace"));
@@ -227,382 +228,415 @@ public class DBBridge extends AbstractFeatureExporter<AbstractBridge> {
         return !doExport(id, object, featureType, getOrCreateStatement(column)).isEmpty();
     }
 
+    @Override
+    protected Map<Long, AbstractBridge> doExport(Map<Long, AbstractBridge> roots, Map<Long, FeatureType> rootTypes) throws CityGMLExportException, SQLException {
+        Map<String, List<Long>> ids = new HashMap<>();
+        for (Long id : roots.keySet()) {
+            ProjectionFilter projectionFilter = exporter.getProjectionFilter(rootTypes.get(id));
+            String column = projectionFilter.containsProperty("consistsOfBridgePart", bridgeModule) ? "bridge_root_id" : "id";
+            ids.computeIfAbsent(column, v -> new ArrayList<>()).add(id);
+        }
+
+        Map<Long, AbstractBridge> result = new HashMap<>();
+        for (Map.Entry<String, List<Long>> entry : ids.entrySet())
+            result.putAll(doBulkExport(entry.getKey(), entry.getValue(), roots, rootTypes));
+
+        return result;
+    }
+
     @Override
     protected Collection<AbstractBridge> doExport(long id, AbstractBridge root, FeatureType rootType, PreparedStatement ps) throws CityGMLExportException, SQLException {
         ps.setLong(1, id);
 
         try (ResultSet rs = ps.executeQuery()) {
-            long currentBridgeId = 0;
-            AbstractBridge bridge = null;
-            ProjectionFilter projectionFilter = null;
-            Map<Long, AbstractBridge> bridges = new HashMap<>();
-            Map<Long, GeometrySetterHandler> geometries = new LinkedHashMap<>();
-            Map<Long, List<String>> adeHookTables = bridgeADEHookTables != null ? new HashMap<>() : null;
-
-            long currentBoundarySurfaceId = 0;
-            AbstractBoundarySurface boundarySurface = null;
-            ProjectionFilter boundarySurfaceProjectionFilter = null;
-            Map<Long, AbstractBoundarySurface> boundarySurfaces = new HashMap<>();
-
-            long currentOpeningId = 0;
-            OpeningProperty openingProperty = null;
-            ProjectionFilter openingProjectionFilter = null;
-            Map<String, OpeningProperty> openingProperties = new HashMap<>();
-
-            Set<Long> installations = new HashSet<>();
-            Set<Long> elements = new HashSet<>();
-            Set<Long> bridgeRooms = new HashSet<>();
-            Set<Long> bridgeAddresses = new HashSet<>();
-            Set<String> openingAddresses = new HashSet<>();
-
-            while (rs.next()) {
-                long bridgeId = rs.getLong("id");
-
-                if (bridgeId != currentBridgeId || bridge == null) {
-                    currentBridgeId = bridgeId;
-
-                    bridge = bridges.get(bridgeId);
-                    if (bridge == null) {
-                        FeatureType featureType;
-                        if (bridgeId == id & root != null) {
-                            bridge = root;
-                            featureType = rootType;
-                        } else {
-                            if (hasObjectClassIdColumn) {
-                                // create bridge object
-                                int objectClassId = rs.getInt("objectclass_id");
-                                bridge = exporter.createObject(objectClassId, AbstractBridge.class);
-                                if (bridge == null) {
-                                    exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, bridgeId) + " as bridge object.");
-                                    continue;
-                                }
+            return root != null ?
+                    doExport(rs, Collections.singletonMap(id, root), Collections.singletonMap(id, rootType)).values() :
+                    doExport(rs, Collections.emptyMap(), Collections.emptyMap()).values();
+        }
+    }
 
-                                featureType = exporter.getFeatureType(objectClassId);
-                            } else {
-                                bridge = new BridgePart();
-                                featureType = exporter.getFeatureType(bridge);
+    @Override
+    protected Map<Long, AbstractBridge> doExport(ResultSet rs, Map<Long, AbstractBridge> roots, Map<Long, FeatureType> rootTypes) throws CityGMLExportException, SQLException {
+        long localGeometryScope = exporter.getLocalGeometryScope();
+        long currentBridgeId = 0;
+        AbstractBridge bridge = null;
+        ProjectionFilter projectionFilter = null;
+        Map<Long, AbstractBridge> bridges = new HashMap<>();
+        Map<Long, Map<Long, GeometrySetterHandler>> geometries = new LinkedHashMap<>();
+        Map<Long, List<String>> adeHookTables = bridgeADEHookTables != null ? new HashMap<>() : null;
+
+        long currentBoundarySurfaceId = 0;
+        AbstractBoundarySurface boundarySurface = null;
+        ProjectionFilter boundarySurfaceProjectionFilter = null;
+        Map<Long, AbstractBoundarySurface> boundarySurfaces = new HashMap<>();
+
+        long currentOpeningId = 0;
+        OpeningProperty openingProperty = null;
+        ProjectionFilter openingProjectionFilter = null;
+        Map<String, OpeningProperty> openingProperties = new HashMap<>();
+
+        Map<Long, Set<Long>> installations = new LinkedHashMap<>();
+        Map<Long, Set<Long>> elements = new LinkedHashMap<>();
+        Map<Long, Set<Long>> bridgeRooms = new LinkedHashMap<>();
+        Set<String> bridgeAddresses = new HashSet<>();
+        Set<String> openingAddresses = new HashSet<>();
+
+        while (rs.next()) {
+            long bridgeId = rs.getLong("id");
+
+            if (bridgeId != currentBridgeId || bridge == null) {
+                currentBridgeId = bridgeId;
+
+                // resolve local geometry xlinks per top-level feature
+                if (!roots.isEmpty())
+                    exporter.setLocalGeometryScope(rs.getLong("bridge_root_id"));
+
+                bridge = bridges.get(bridgeId);
+                if (bridge == null) {
+                    FeatureType featureType;
+                    bridge = roots.get(bridgeId);
+                    if (bridge != null) {
+                        featureType = rootTypes.get(bridgeId);
+                    } else {
+                        if (hasObjectClassIdColumn) {
+                            // create bridge object
+                            int objectClassId = rs.getInt("objectclass_id");
+                            bridge = exporter.createObject(objectClassId, AbstractBridge.class);
+                            if (bridge == null) {
+                                exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, bridgeId) + " as bridge object.");
+                                continue;
                             }
+
+                            featureType = exporter.getFeatureType(objectClassId);
+                        } else {
+                            bridge = new BridgePart();
+                            featureType = exporter.getFeatureType(bridge);
                         }
+                    }
 
-                        // get projection filter
-                        projectionFilter = exporter.getProjectionFilter(featureType);
+                    // get projection filter
+                    projectionFilter = exporter.getProjectionFilter(featureType);
 
-                        // export city object information
-                        cityObjectExporter.addBatch(bridge, bridgeId, featureType, projectionFilter);
+                    // export city object information
+                    cityObjectExporter.addBatch(bridge, bridgeId, featureType, projectionFilter);
+                    Map<Long, GeometrySetterHandler> bridgeGeometries = geometries.computeIfAbsent(exporter.getLocalGeometryScope(), v -> new LinkedHashMap<>());
 
-                        if (projectionFilter.containsProperty("class", bridgeModule)) {
-                            String clazz = rs.getString("class");
-                            if (!rs.wasNull()) {
-                                Code code = new Code(clazz);
-                                code.setCodeSpace(rs.getString("class_codespace"));
-                                bridge.setClazz(code);
-                            }
+                    if (projectionFilter.containsProperty("class", bridgeModule)) {
+                        String clazz = rs.getString("class");
+                        if (!rs.wasNull()) {
+                            Code code = new Code(clazz);
+                            code.setCodeSpace(rs.getString("class_codespace"));
+                            bridge.setClazz(code);
                         }
+                    }
 
-                        if (projectionFilter.containsProperty("function", bridgeModule)) {
-                            for (SplitValue splitValue : valueSplitter.split(rs.getString("function"), rs.getString("function_codespace"))) {
-                                Code function = new Code(splitValue.result(0));
-                                function.setCodeSpace(splitValue.result(1));
-                                bridge.addFunction(function);
-                            }
+                    if (projectionFilter.containsProperty("function", bridgeModule)) {
+                        for (SplitValue splitValue : valueSplitter.split(rs.getString("function"), rs.getString("function_codespace"))) {
+                            Code function = new Code(splitValue.result(0));
+                            function.setCodeSpace(splitValue.result(1));
+                            bridge.addFunction(function);
                         }
+                    }
 
-                        if (projectionFilter.containsProperty("usage", bridgeModule)) {
-                            for (SplitValue splitValue : valueSplitter.split(rs.getString("usage"), rs.getString("usage_codespace"))) {
-                                Code usage = new Code(splitValue.result(0));
-                                usage.setCodeSpace(splitValue.result(1));
-                                bridge.addUsage(usage);
-                            }
+                    if (projectionFilter.containsProperty("usage", bridgeModule)) {
+                        for (SplitValue splitValue : valueSplitter.split(rs.getString("usage"), rs.getString("usage_codespace"))) {
+                            Code usage = new Code(splitValue.result(0));
+                            usage.setCodeSpace(splitValue.result(1));
+                            bridge.addUsage(usage);
                         }
+                    }
 
-                        if (projectionFilter.containsProperty("yearOfConstruction", bridgeModule))
-                            bridge.setYearOfConstruction(rs.getObject("year_of_construction", LocalDate.class));
+                    if (projectionFilter.containsProperty("yearOfConstruction", bridgeModule))
+                        bridge.setYearOfConstruction(rs.getObject("year_of_construction", LocalDate.class));
 
-                        if (projectionFilter.containsProperty("yearOfDemolition", bridgeModule))
-                            bridge.setYearOfDemolition(rs.getObject("year_of_demolition", LocalDate.class));
+                    if (projectionFilter.containsProperty("yearOfDemolition", bridgeModule))
+                        bridge.setYearOfDemolition(rs.getObject("year_of_demolition", LocalDate.class));
 
-                        if (projectionFilter.containsProperty("isMovable", bridgeModule)) {
-                            boolean isMovable = rs.getBoolean("is_movable");
-                            if (!rs.wasNull())
-                                bridge.setIsMovable(isMovable);
-                        }
+                    if (projectionFilter.containsProperty("isMovable", bridgeModule)) {
+                        boolean isMovable = rs.getBoolean("is_movable");
+                        if (!rs.wasNull())
+                            bridge.setIsMovable(isMovable);
+                    }
 
-                        // brid:lodXTerrainIntersectionCurve
-                        LodIterator lodIterator = lodFilter.iterator(1, 4);
-                        while (lodIterator.hasNext()) {
-                            int lod = lodIterator.next();
+                    // brid:lodXTerrainIntersectionCurve
+                    LodIterator lodIterator = lodFilter.iterator(1, 4);
+                    while (lodIterator.hasNext()) {
+                        int lod = lodIterator.next();
 
-                            if (!projectionFilter.containsProperty("lod" + lod + "TerrainIntersection", bridgeModule))
-                                continue;
+                        if (!projectionFilter.containsProperty("lod" + lod + "TerrainIntersection", bridgeModule))
+                            continue;
 
-                            Object terrainIntersectionObj = rs.getObject("lod" + lod + "_terrain_intersection");
-                            if (rs.wasNull())
-                                continue;
+                        Object terrainIntersectionObj = rs.getObject("lod" + lod + "_terrain_intersection");
+                        if (rs.wasNull())
+                            continue;
 
-                            GeometryObject terrainIntersection = exporter.getDatabaseAdapter().getGeometryConverter().getMultiCurve(terrainIntersectionObj);
-                            if (terrainIntersection != null) {
-                                MultiCurveProperty multiCurveProperty = gmlConverter.getMultiCurveProperty(terrainIntersection, false);
-                                if (multiCurveProperty != null) {
-                                    switch (lod) {
-                                        case 1:
-                                            bridge.setLod1TerrainIntersection(multiCurveProperty);
-                                            break;
-                                        case 2:
-                                            bridge.setLod2TerrainIntersection(multiCurveProperty);
-                                            break;
-                                        case 3:
-                                            bridge.setLod3TerrainIntersection(multiCurveProperty);
-                                            break;
-                                        case 4:
-                                            bridge.setLod4TerrainIntersection(multiCurveProperty);
-                                            break;
-                                    }
+                        GeometryObject terrainIntersection = exporter.getDatabaseAdapter().getGeometryConverter().getMultiCurve(terrainIntersectionObj);
+                        if (terrainIntersection != null) {
+                            MultiCurveProperty multiCurveProperty = gmlConverter.getMultiCurveProperty(terrainIntersection, false);
+                            if (multiCurveProperty != null) {
+                                switch (lod) {
+                                    case 1:
+                                        bridge.setLod1TerrainIntersection(multiCurveProperty);
+                                        break;
+                                    case 2:
+                                        bridge.setLod2TerrainIntersection(multiCurveProperty);
+                                        break;
+                                    case 3:
+                                        bridge.setLod3TerrainIntersection(multiCurveProperty);
+                                        break;
+                                    case 4:
+                                        bridge.setLod4TerrainIntersection(multiCurveProperty);
+                                        break;
                                 }
                             }
                         }
+                    }
 
-                        // brid:lodXMultiCurve
-                        lodIterator = lodFilter.iterator(2, 4);
-                        while (lodIterator.hasNext()) {
-                            int lod = lodIterator.next();
+                    // brid:lodXMultiCurve
+                    lodIterator = lodFilter.iterator(2, 4);
+                    while (lodIterator.hasNext()) {
+                        int lod = lodIterator.next();
 
-                            if (!projectionFilter.containsProperty("lod" + lod + "MultiCurve", bridgeModule))
-                                continue;
+                        if (!projectionFilter.containsProperty("lod" + lod + "MultiCurve", bridgeModule))
+                            continue;
 
-                            Object multiCurveObj = rs.getObject("lod" + lod + "_multi_curve");
-                            if (rs.wasNull())
-                                continue;
+                        Object multiCurveObj = rs.getObject("lod" + lod + "_multi_curve");
+                        if (rs.wasNull())
+                            continue;
 
-                            GeometryObject multiCurve = exporter.getDatabaseAdapter().getGeometryConverter().getMultiCurve(multiCurveObj);
-                            if (multiCurve != null) {
-                                MultiCurveProperty multiCurveProperty = gmlConverter.getMultiCurveProperty(multiCurve, false);
-                                if (multiCurveProperty != null) {
-                                    switch (lod) {
-                                        case 2:
-                                            bridge.setLod2MultiCurve(multiCurveProperty);
-                                            break;
-                                        case 3:
-                                            bridge.setLod3MultiCurve(multiCurveProperty);
-                                            break;
-                                        case 4:
-                                            bridge.setLod4MultiCurve(multiCurveProperty);
-                                            break;
-                                    }
+                        GeometryObject multiCurve = exporter.getDatabaseAdapter().getGeometryConverter().getMultiCurve(multiCurveObj);
+                        if (multiCurve != null) {
+                            MultiCurveProperty multiCurveProperty = gmlConverter.getMultiCurveProperty(multiCurve, false);
+                            if (multiCurveProperty != null) {
+                                switch (lod) {
+                                    case 2:
+                                        bridge.setLod2MultiCurve(multiCurveProperty);
+                                        break;
+                                    case 3:
+                                        bridge.setLod3MultiCurve(multiCurveProperty);
+                                        break;
+                                    case 4:
+                                        bridge.setLod4MultiCurve(multiCurveProperty);
+                                        break;
                                 }
                             }
                         }
+                    }
 
-                        // brid:lodXSolid
-                        lodIterator = lodFilter.iterator(1, 4);
-                        while (lodIterator.hasNext()) {
-                            int lod = lodIterator.next();
+                    // brid:lodXSolid
+                    lodIterator = lodFilter.iterator(1, 4);
+                    while (lodIterator.hasNext()) {
+                        int lod = lodIterator.next();
 
-                            if (!projectionFilter.containsProperty("lod" + lod + "Solid", bridgeModule))
-                                continue;
+                        if (!projectionFilter.containsProperty("lod" + lod + "Solid", bridgeModule))
+                            continue;
 
-                            long geometryId = rs.getLong("lod" + lod + "_solid_id");
-                            if (rs.wasNull())
-                                continue;
+                        long geometryId = rs.getLong("lod" + lod + "_solid_id");
+                        if (rs.wasNull())
+                            continue;
 
-                            switch (lod) {
-                                case 1:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod1Solid));
-                                    break;
-                                case 2:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod2Solid));
-                                    break;
-                                case 3:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod3Solid));
-                                    break;
-                                case 4:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod4Solid));
-                                    break;
-                            }
+                        switch (lod) {
+                            case 1:
+                                bridgeGeometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod1Solid));
+                                break;
+                            case 2:
+                                bridgeGeometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod2Solid));
+                                break;
+                            case 3:
+                                bridgeGeometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod3Solid));
+                                break;
+                            case 4:
+                                bridgeGeometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod4Solid));
+                                break;
                         }
+                    }
 
-                        // brid:lodXMultiSurface
-                        lodIterator.reset();
-                        while (lodIterator.hasNext()) {
-                            int lod = lodIterator.next();
+                    // brid:lodXMultiSurface
+                    lodIterator.reset();
+                    while (lodIterator.hasNext()) {
+                        int lod = lodIterator.next();
 
-                            if (!projectionFilter.containsProperty("lod" + lod + "MultiSurface", bridgeModule))
-                                continue;
+                        if (!projectionFilter.containsProperty("lod" + lod + "MultiSurface", bridgeModule))
+                            continue;
 
-                            long geometryId = rs.getLong("lod" + lod + "_multi_surface_id");
-                            if (rs.wasNull())
-                                continue;
+                        long geometryId = rs.getLong("lod" + lod + "_multi_surface_id");
+                        if (rs.wasNull())
+                            continue;
 
-                            switch (lod) {
-                                case 1:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod1MultiSurface));
-                                    break;
-                                case 2:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod2MultiSurface));
-                                    break;
-                                case 3:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod3MultiSurface));
-                                    break;
-                                case 4:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod4MultiSurface));
-                                    break;
-                            }
+                        switch (lod) {
+                            case 1:
+                                bridgeGeometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod1MultiSurface));
+                                break;
+                            case 2:
+                                bridgeGeometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod2MultiSurface));
+                                break;
+                            case 3:
+                                bridgeGeometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod3MultiSurface));
+                                break;
+                            case 4:
+                                bridgeGeometries.put(geometryId, new DefaultGeometrySetterHandler(bridge::setLod4MultiSurface));
+                                break;
                         }
+                    }
 
-                        // brid:outerBridgeInstallation and bldg:interiorBridgeInstallation
-                        if (lodFilter.containsLodGreaterThanOrEuqalTo(2)
-                                && (projectionFilter.containsProperty("outerBridgeInstallation", bridgeModule)
-                                || projectionFilter.containsProperty("interiorBridgeInstallation", bridgeModule))) {
-                            if (rs.getLong("inid") != 0) {
-                                installations.add(bridgeId);
-                            }
+                    // brid:outerBridgeInstallation and bldg:interiorBridgeInstallation
+                    if (lodFilter.containsLodGreaterThanOrEuqalTo(2)
+                            && (projectionFilter.containsProperty("outerBridgeInstallation", bridgeModule)
+                            || projectionFilter.containsProperty("interiorBridgeInstallation", bridgeModule))) {
+                        if (rs.getLong("inid") != 0) {
+                            installations.computeIfAbsent(exporter.getLocalGeometryScope(), v -> new HashSet<>()).add(bridgeId);
                         }
+                    }
 
-                        // brid:outerBridgeConstruction
-                        if (lodFilter.containsLodGreaterThanOrEuqalTo(1) &&
-                                projectionFilter.containsProperty("outerBridgeConstruction", bridgeModule)) {
-                            if (rs.getLong("ceid") != 0) {
-                                elements.add(bridgeId);
-                            }
+                    // brid:outerBridgeConstruction
+                    if (lodFilter.containsLodGreaterThanOrEuqalTo(1) &&
+                            projectionFilter.containsProperty("outerBridgeConstruction", bridgeModule)) {
+                        if (rs.getLong("ceid") != 0) {
+                            elements.computeIfAbsent(exporter.getLocalGeometryScope(), v -> new HashSet<>()).add(bridgeId);
                         }
+                    }
 
-                        // brid:interiorBridgeRoom
-                        if (lodFilter.isEnabled(4) &&
-                                projectionFilter.containsProperty("interiorBridgeRoom", bridgeModule)) {
-                            if (rs.getLong("roid") != 0) {
-                                bridgeRooms.add(bridgeId);
-                            }
+                    // brid:interiorBridgeRoom
+                    if (lodFilter.isEnabled(4) &&
+                            projectionFilter.containsProperty("interiorBridgeRoom", bridgeModule)) {
+                        if (rs.getLong("roid") != 0) {
+                            bridgeRooms.computeIfAbsent(exporter.getLocalGeometryScope(), v -> new HashSet<>()).add(bridgeId);
                         }
+                    }
 
-                        // get tables of ADE hook properties
-                        if (bridgeADEHookTables != null) {
-                            List<String> tables = retrieveADEHookTables(bridgeADEHookTables, rs);
-                            if (tables != null) {
-                                adeHookTables.put(bridgeId, tables);
-                                bridge.setLocalProperty("type", featureType);
-                            }
+                    // get tables of ADE hook properties
+                    if (bridgeADEHookTables != null) {
+                        List<String> tables = retrieveADEHookTables(bridgeADEHookTables, rs);
+                        if (tables != null) {
+                            adeHookTables.put(bridgeId, tables);
+                            bridge.setLocalProperty("type", featureType);
                         }
-
-                        bridge.setLocalProperty("parent", rs.getLong("bridge_parent_id"));
-                        bridge.setLocalProperty("projection", projectionFilter);
-                        bridges.put(bridgeId, bridge);
-                    } else
-                        projectionFilter = (ProjectionFilter) bridge.getLocalProperty("projection");
-                }
-
-                // brid:address
-                if (projectionFilter.containsProperty("address", bridgeModule)) {
-                    long addressId = rs.getLong("baid");
-                    if (!rs.wasNull() && bridgeAddresses.add(addressId)) {
-                        AddressProperty addressProperty = addressExporter.doExport(addressId, "ba", addressADEHookTables, rs);
-                        if (addressProperty != null)
-                            bridge.addAddress(addressProperty);
                     }
-                }
-
-                if (!lodFilter.containsLodGreaterThanOrEuqalTo(2)
-                        || !projectionFilter.containsProperty("boundedBy", bridgeModule))
-                    continue;
 
-                // brid:boundedBy
-                long boundarySurfaceId = rs.getLong("tsid");
-                if (rs.wasNull())
-                    continue;
+                    bridge.setLocalProperty("parent", rs.getLong("bridge_parent_id"));
+                    bridge.setLocalProperty("scope", exporter.getLocalGeometryScope());
+                    bridge.setLocalProperty("projection", projectionFilter);
+                    bridges.put(bridgeId, bridge);
+                } else
+                    projectionFilter = (ProjectionFilter) bridge.getLocalProperty("projection");
+            }
 
-                if (boundarySurfaceId != currentBoundarySurfaceId || boundarySurface == null) {
-                    currentBoundarySurfaceId = boundarySurfaceId;
-                    currentOpeningId = 0;
+            // brid:address
+            if (projectionFilter.containsProperty("address", bridgeModule)) {
+                long addressId = rs.getLong("baid");
+                if (!rs.wasNull() && bridgeAddresses.add(currentBridgeId + "_" + addressId)) {
+                    AddressProperty addressProperty = addressExporter.doExport(addressId, "ba", addressADEHookTables, rs);
+                    if (addressProperty != null)
+                        bridge.addAddress(addressProperty);
+                }
+            }
 
-                    boundarySurface = boundarySurfaces.get(boundarySurfaceId);
-                    if (boundarySurface == null) {
-                        int objectClassId = rs.getInt("tsobjectclass_id");
-                        FeatureType featureType = exporter.getFeatureType(objectClassId);
+            if (!lodFilter.containsLodGreaterThanOrEuqalTo(2)
+                    || !projectionFilter.containsProperty("boundedBy", bridgeModule))
+                continue;
 
-                        boundarySurface = thematicSurfaceExporter.doExport(boundarySurfaceId, featureType, "ts", surfaceADEHookTables, rs);
-                        if (boundarySurface == null) {
-                            exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, boundarySurfaceId) + " as boundary surface object.");
-                            continue;
-                        }
-
-                        // get projection filter
-                        boundarySurfaceProjectionFilter = exporter.getProjectionFilter(featureType);
-                        boundarySurface.setLocalProperty("projection", boundarySurfaceProjectionFilter);
+            // brid:boundedBy
+            long boundarySurfaceId = rs.getLong("tsid");
+            if (rs.wasNull())
+                continue;
 
-                        bridge.getBoundedBySurface().add(new BoundarySurfaceProperty(boundarySurface));
-                        boundarySurfaces.put(boundarySurfaceId, boundarySurface);
-                    } else
-                        boundarySurfaceProjectionFilter = (ProjectionFilter) boundarySurface.getLocalProperty("projection");
-                }
+            if (boundarySurfaceId != currentBoundarySurfaceId || boundarySurface == null) {
+                currentBoundarySurfaceId = boundarySurfaceId;
+                currentOpeningId = 0;
 
-                // continue if openings shall not be exported
-                if (!lodFilter.containsLodGreaterThanOrEuqalTo(3)
-                        || !boundarySurfaceProjectionFilter.containsProperty("opening", bridgeModule))
-                    continue;
+                boundarySurface = boundarySurfaces.get(boundarySurfaceId);
+                if (boundarySurface == null) {
+                    int objectClassId = rs.getInt("tsobjectclass_id");
+                    FeatureType featureType = exporter.getFeatureType(objectClassId);
 
-                long openingId = rs.getLong("opid");
-                if (rs.wasNull())
-                    continue;
+                    boundarySurface = thematicSurfaceExporter.doExport(boundarySurfaceId, featureType, "ts", surfaceADEHookTables, rs);
+                    if (boundarySurface == null) {
+                        exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, boundarySurfaceId) + " as boundary surface object.");
+                        continue;
+                    }
 
-                if (openingId != currentOpeningId || openingProperty == null) {
-                    currentOpeningId = openingId;
-                    String key = currentBoundarySurfaceId + "_" + openingId;
+                    // get projection filter
+                    boundarySurfaceProjectionFilter = exporter.getProjectionFilter(featureType);
+                    boundarySurface.setLocalProperty("projection", boundarySurfaceProjectionFilter);
 
-                    openingProperty = openingProperties.get(key);
-                    if (openingProperty == null) {
-                        int objectClassId = rs.getInt("opobjectclass_id");
+                    bridge.getBoundedBySurface().add(new BoundarySurfaceProperty(boundarySurface));
+                    boundarySurfaces.put(boundarySurfaceId, boundarySurface);
+                } else
+                    boundarySurfaceProjectionFilter = (ProjectionFilter) boundarySurface.getLocalProperty("projection");
+            }
 
-                        // check whether we need an XLink
-                        String gmlId = rs.getString("opgmlid");
-                        boolean generateNewGmlId = false;
-                        if (!rs.wasNull()) {
-                            if (exporter.lookupAndPutObjectId(gmlId, openingId, objectClassId)) {
-                                if (useXLink) {
-                                    openingProperty = new OpeningProperty();
-                                    openingProperty.setHref("#" + gmlId);
-                                    boundarySurface.addOpening(openingProperty);
-                                    openingProperties.put(key, openingProperty);
-                                    continue;
-                                } else
-                                    generateNewGmlId = true;
-                            }
+            // continue if openings shall not be exported
+            if (!lodFilter.containsLodGreaterThanOrEuqalTo(3)
+                    || !boundarySurfaceProjectionFilter.containsProperty("opening", bridgeModule))
+                continue;
+
+            long openingId = rs.getLong("opid");
+            if (rs.wasNull())
+                continue;
+
+            if (openingId != currentOpeningId || openingProperty == null) {
+                currentOpeningId = openingId;
+                String key = currentBoundarySurfaceId + "_" + openingId;
+
+                openingProperty = openingProperties.get(key);
+                if (openingProperty == null) {
+                    int objectClassId = rs.getInt("opobjectclass_id");
+
+                    // check whether we need an XLink
+                    String gmlId = rs.getString("opgmlid");
+                    boolean generateNewGmlId = false;
+                    if (!rs.wasNull()) {
+                        if (exporter.lookupAndPutObjectId(gmlId, openingId, objectClassId)) {
+                            if (useXLink) {
+                                openingProperty = new OpeningProperty();
+                                openingProperty.setHref("#" + gmlId);
+                                boundarySurface.addOpening(openingProperty);
+                                openingProperties.put(key, openingProperty);
+                                continue;
+                            } else
+                                generateNewGmlId = true;
                         }
+                    }
 
-                        // create new opening object
-                        FeatureType featureType = exporter.getFeatureType(objectClassId);
-                        AbstractOpening opening = openingExporter.doExport(openingId, featureType, "op", openingADEHookTables, rs);
-                        if (opening == null) {
-                            exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, openingId) + " as bridge opening object.");
-                            continue;
-                        }
+                    // create new opening object
+                    FeatureType featureType = exporter.getFeatureType(objectClassId);
+                    AbstractOpening opening = openingExporter.doExport(openingId, featureType, "op", openingADEHookTables, rs);
+                    if (opening == null) {
+                        exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, openingId) + " as bridge opening object.");
+                        continue;
+                    }
 
-                        if (generateNewGmlId)
-                            opening.setId(exporter.generateFeatureGmlId(opening, gmlId));
+                    if (generateNewGmlId)
+                        opening.setId(exporter.generateFeatureGmlId(opening, gmlId));
 
-                        // get projection filter
-                        openingProjectionFilter = exporter.getProjectionFilter(featureType);
-                        opening.setLocalProperty("projection", openingProjectionFilter);
+                    // get projection filter
+                    openingProjectionFilter = exporter.getProjectionFilter(featureType);
+                    opening.setLocalProperty("projection", openingProjectionFilter);
 
-                        openingProperty = new OpeningProperty(opening);
-                        boundarySurface.getOpening().add(openingProperty);
-                        openingProperties.put(key, openingProperty);
-                    } else if (openingProperty.isSetOpening())
-                        openingProjectionFilter = (ProjectionFilter) openingProperty.getOpening().getLocalProperty("projection");
-                }
+                    openingProperty = new OpeningProperty(opening);
+                    boundarySurface.getOpening().add(openingProperty);
+                    openingProperties.put(key, openingProperty);
+                } else if (openingProperty.isSetOpening())
+                    openingProjectionFilter = (ProjectionFilter) openingProperty.getOpening().getLocalProperty("projection");
+            }
 
-                if (openingProperty.getOpening() instanceof Door
-                        && openingProjectionFilter.containsProperty("address", bridgeModule)) {
-                    long openingAddressId = rs.getLong("oaid");
-                    if (!rs.wasNull() && openingAddresses.add(currentOpeningId + "_" + openingAddressId)) {
-                        AddressProperty addressProperty = addressExporter.doExport(openingAddressId, "oa", openingAddressADEHookTables, rs);
-                        if (addressProperty != null) {
-                            Door door = (Door) openingProperty.getOpening();
-                            door.addAddress(addressProperty);
-                        }
+            if (openingProperty.getOpening() instanceof Door
+                    && openingProjectionFilter.containsProperty("address", bridgeModule)) {
+                long openingAddressId = rs.getLong("oaid");
+                if (!rs.wasNull() && openingAddresses.add(currentOpeningId + "_" + openingAddressId)) {
+                    AddressProperty addressProperty = addressExporter.doExport(openingAddressId, "oa", openingAddressADEHookTables, rs);
+                    if (addressProperty != null) {
+                        Door door = (Door) openingProperty.getOpening();
+                        door.addAddress(addressProperty);
                     }
                 }
             }
+        }
 
-            // export installations
-            for (Map.Entry<Long, Collection<AbstractCityObject>> entry : bridgeInstallationExporter.doExportForBridges(installations).entrySet()) {
+        // export installations
+        for (Map.Entry<Long, Set<Long>> scope : installations.entrySet()) {
+            exporter.setLocalGeometryScope(scope.getKey());
+            for (Map.Entry<Long, Collection<AbstractCityObject>> entry : bridgeInstallationExporter.doExportForBridges(scope.getValue()).entrySet()) {
                 bridge = bridges.get(entry.getKey());
                 if (bridge != null) {
                     for (AbstractCityObject installation : entry.getValue()) {
@@ -617,9 +651,12 @@ public class DBBridge extends AbstractFeatureExporter<AbstractBridge> {
                     }
                 }
             }
+        }
 
-            // export construction elements
-            for (Map.Entry<Long, Collection<BridgeConstructionElement>> entry : bridgeConstrElemExporter.doExport(elements).entrySet()) {
+        // export construction elements
+        for (Map.Entry<Long, Set<Long>> scope : elements.entrySet()) {
+            exporter.setLocalGeometryScope(scope.getKey());
+            for (Map.Entry<Long, Collection<BridgeConstructionElement>> entry : bridgeConstrElemExporter.doExport(scope.getValue()).entrySet()) {
                 bridge = bridges.get(entry.getKey());
                 if (bridge != null) {
                     for (BridgeConstructionElement element : entry.getValue()) {
@@ -627,9 +664,12 @@ public class DBBridge extends AbstractFeatureExporter<AbstractBridge> {
                     }
                 }
             }
+        }
 
-            // export bridge rooms
-            for (Map.Entry<Long, Collection<BridgeRoom>> entry : bridgeRoomExporter.doExport(bridgeRooms).entrySet()) {
+        // export bridge rooms
+        for (Map.Entry<Long, Set<Long>> scope : bridgeRooms.entrySet()) {
+            exporter.setLocalGeometryScope(scope.getKey());
+            for (Map.Entry<Long, Collection<BridgeRoom>> entry : bridgeRoomExporter.doExport(scope.getValue()).entrySet()) {
                 bridge = bridges.get(entry.getKey());
                 if (bridge != null) {
                     for (BridgeRoom bridgeRoom : entry.getValue()) {
@@ -637,42 +677,47 @@ public class DBBridge extends AbstractFeatureExporter<AbstractBridge> {
                     }
                 }
             }
+        }
 
-            // export postponed geometries
-            for (Map.Entry<Long, GeometrySetterHandler> entry : geometries.entrySet())
+        // export postponed geometries
+        for (Map.Entry<Long, Map<Long, GeometrySetterHandler>> scope : geometries.entrySet()) {
+            exporter.setLocalGeometryScope(scope.getKey());
+            for (Map.Entry<Long, GeometrySetterHandler> entry : scope.getValue().entrySet())
                 geometryExporter.addBatch(entry.getKey(), entry.getValue());
+        }
 
-            List<AbstractBridge> result = new ArrayList<>();
-            for (Entry<Long, AbstractBridge> entry : bridges.entrySet()) {
-                bridge = entry.getValue();
-                long bridgeId = entry.getKey();
-                long parentId = (Long) bridge.getLocalProperty("parent");
-
-                // delegate export of generic ADE properties
-                if (adeHookTables != null) {
-                    List<String> tables = adeHookTables.get(bridgeId);
-                    if (tables != null) {
-                        exporter.delegateToADEExporter(tables, bridge, bridgeId,
-                                (FeatureType) bridge.getLocalProperty("type"),
-                                (ProjectionFilter) bridge.getLocalProperty("projection"));
-                    }
+        Map<Long, AbstractBridge> result = new LinkedHashMap<>();
+        for (Entry<Long, AbstractBridge> entry : bridges.entrySet()) {
+            bridge = entry.getValue();
+            long bridgeId = entry.getKey();
+            long parentId = (Long) bridge.getLocalProperty("parent");
+
+            // delegate export of generic ADE properties
+            if (adeHookTables != null) {
+                List<String> tables = adeHookTables.get(bridgeId);
+                if (tables != null) {
+                    exporter.setLocalGeometryScope((Long) bridge.getLocalProperty("scope"));
+                    exporter.delegateToADEExporter(tables, bridge, bridgeId,
+                            (FeatureType) bridge.getLocalProperty("type"),
+                            (ProjectionFilter) bridge.getLocalProperty("projection"));
                 }
-
-                // rebuild bridge part hierarchy
-                if (parentId == 0) {
-                    result.add(bridge);
-                } else if (bridge instanceof BridgePart) {
-                    AbstractBridge parent = bridges.get(parentId);
-                    if (parent != null) {
-                        projectionFilter = (ProjectionFilter) parent.getLocalProperty("projection");
-                        if (projectionFilter.containsProperty("consistsOfBridgePart", bridgeModule))
-                            parent.addConsistsOfBridgePart(new BridgePartProperty((BridgePart) bridge));
-                    }
-                } else
-                    exporter.logOrThrowErrorMessage("Expected " + exporter.getObjectSignature(exporter.getFeatureType(bridge), bridgeId) + " to be a bridge part.");
             }
 
-            return result;
+            // rebuild bridge part hierarchy
+            if (parentId == 0) {
+                result.put(bridgeId, bridge);
+            } else if (bridge instanceof BridgePart) {
+                AbstractBridge parent = bridges.get(parentId);
+                if (parent != null) {
+                    projectionFilter = (ProjectionFilter) parent.getLocalProperty("projection");
+                    if (projectionFilter.containsProperty("consistsOfBridgePart", bridgeModule))
+                        parent.addConsistsOfBridgePart(new BridgePartProperty((BridgePart) bridge));
+                }
+            } else
+                exporter.logOrThrowErrorMessage("Expected " + exporter.getObjectSignature(exporter.getFeatureType(bridge), bridgeId) + " to be a bridge part.");
         }
+
+        exporter.setLocalGeometryScope(localGeometryScope);
+        return result;
     }
 }
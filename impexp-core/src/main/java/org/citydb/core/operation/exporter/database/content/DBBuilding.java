@@ -106,7 +106,8 @@ public class DBBuilding extends AbstractFeatureExporter<AbstractBuilding> {
         String schema = exporter.getDatabaseAdapter().getConnectionDetails().getSchema();
 
         table = new Table(TableEnum.BUILDING.getName(), schema);
-        select = new Select().addProjection(table.getColumn("id"), table.getColumn("building_parent_id"));
+        select = new Select().addProjection(table.getColumn("id"), table.getColumn("building_parent_id"),
+                table.getColumn("building_root_id"));
         if (hasObjectClassIdColumn) select.addProjection(table.getColumn("objectclass_id"));
         if (projectionFilter.containsProperty("class", buildingModule))
             select.addProjection(table.getColumn("class"), table.getColumn("class_codespace"));
@@ -237,450 +238,483 @@ public class DBBuilding extends AbstractFeatureExporter<AbstractBuilding> {
         return !doExport(id, object, featureType, getOrCreateStatement(column)).isEmpty();
     }
 
+    @Override
+    protected Map<Long, AbstractBuilding> doExport(Map<Long, AbstractBuilding> roots, Map<Long, FeatureType> rootTypes) throws CityGMLExportException, SQLException {
+        Map<String, List<Long>> ids = new HashMap<>();
+        for (Long id : roots.keySet()) {
+            ProjectionFilter projectionFilter = exporter.getProjectionFilter(rootTypes.get(id));
+            String column = projectionFilter.containsProperty("consistsOfBuildingPart", buildingModule) ? "building_root_id" : "id";
+            ids.computeIfAbsent(column, v -> new ArrayList<>()).add(id);
+        }
+
+        Map<Long, AbstractBuilding> result = new HashMap<>();
+        for (Map.Entry<String, List<Long>> entry : ids.entrySet())
+            result.putAll(doBulkExport(entry.getKey(), entry.getValue(), roots, rootTypes));
+
+        return result;
+    }
+
     @Override
     protected Collection<AbstractBuilding> doExport(long id, AbstractBuilding root, FeatureType rootType, PreparedStatement ps) throws CityGMLExportException, SQLException {
         ps.setLong(1, id);
 
         try (ResultSet rs = ps.executeQuery()) {
-            long currentBuildingId = 0;
-            AbstractBuilding building = null;
-            ProjectionFilter projectionFilter = null;
-            Map<Long, AbstractBuilding> buildings = new HashMap<>();
-            Map<Long, GeometrySetterHandler> geometries = new LinkedHashMap<>();
-            Map<Long, List<String>> adeHookTables = buildingADEHookTables != null ? new HashMap<>() : null;
-
-            long currentBoundarySurfaceId = 0;
-            AbstractBoundarySurface boundarySurface = null;
-            ProjectionFilter boundarySurfaceProjectionFilter = null;
-            Map<Long, AbstractBoundarySurface> boundarySurfaces = new HashMap<>();
-
-            long currentOpeningId = 0;
-            OpeningProperty openingProperty = null;
-            ProjectionFilter openingProjectionFilter = null;
-            Map<String, OpeningProperty> openingProperties = new HashMap<>();
-
-            Set<Long> installations = new HashSet<>();
-            Set<Long> rooms = new HashSet<>();
-            Set<Long> buildingAddresses = new HashSet<>();
-            Set<String> openingAddresses = new HashSet<>();
-
-            while (rs.next()) {
-                long buildingId = rs.getLong("id");
-
-                if (buildingId != currentBuildingId || building == null) {
-                    currentBuildingId = buildingId;
-
-                    building = buildings.get(buildingId);
-                    if (building == null) {
-                        FeatureType featureType;
-                        if (buildingId == id && root != null) {
-                            building = root;
-                            featureType = rootType;
-                        } else {
-                            if (hasObjectClassIdColumn) {
-                                // create building object
-                                int objectClassId = rs.getInt("objectclass_id");
-                                building = exporter.createObject(objectClassId, AbstractBuilding.class);
-                                if (building == null) {
-                                    exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, buildingId) + " as building object.");
-                                    continue;
-                                }
+            return root != null ?
+                    doExport(rs, Collections.singletonMap(id, root), Collections.singletonMap(id, rootType)).values() :
+                    doExport(rs, Collections.emptyMap(), Collections.emptyMap()).values();
+        }
+    }
 
-                                featureType = exporter.getFeatureType(objectClassId);
-                            } else {
-                                building = new BuildingPart();
-                                featureType = exporter.getFeatureType(building);
+    @Override
+    protected Map<Long, AbstractBuilding> doExport(ResultSet rs, Map<Long, AbstractBuilding> roots, Map<Long, FeatureType> rootTypes) throws CityGMLExportException, SQLException {
+        long localGeometryScope = exporter.getLocalGeometryScope();
+        long currentBuildingId = 0;
+        AbstractBuilding building = null;
+        ProjectionFilter projectionFilter = null;
+        Map<Long, AbstractBuilding> buildings = new HashMap<>();
+        Map<Long, Map<Long, GeometrySetterHandler>> geometries = new LinkedHashMap<>();
+        Map<Long, List<String>> adeHookTables = buildingADEHookTables != null ? new HashMap<>() : null;
+
+        long currentBoundarySurfaceId = 0;
+        AbstractBoundarySurface boundarySurface = null;
+        ProjectionFilter boundarySurfaceProjectionFilter = null;
+        Map<Long, AbstractBoundarySurface> boundarySurfaces = new HashMap<>();
+
+        long currentOpeningId = 0;
+        OpeningProperty openingProperty = null;
+        ProjectionFilter openingProjectionFilter = null;
+        Map<String, OpeningProperty> openingProperties = new HashMap<>();
+
+        Map<Long, Set<Long>> installations = new LinkedHashMap<>();
+        Map<Long, Set<Long>> rooms = new LinkedHashMap<>();
+        Set<String> buildingAddresses = new HashSet<>();
+        Set<String> openingAddresses = new HashSet<>();
+
+        while (rs.next()) {
+            long buildingId = rs.getLong("id");
+
+            if (buildingId != currentBuildingId || building == null) {
+                currentBuildingId = buildingId;
+
+                // resolve local geometry xlinks per top-level feature
+                if (!roots.isEmpty())
+                    exporter.setLocalGeometryScope(rs.getLong("building_root_id"));
+
+                building = buildings.get(buildingId);
+                if (building == null) {
+                    FeatureType featureType;
+                    building = roots.get(buildingId);
+                    if (building != null) {
+                        featureType = rootTypes.get(buildingId);
+                    } else {
+                        if (hasObjectClassIdColumn) {
+                            // create building object
+                            int objectClassId = rs.getInt("objectclass_id");
+                            building = exporter.createObject(objectClassId, AbstractBuilding.class);
+                            if (building == null) {
+                                exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, buildingId) + " as building object.");
+                                continue;
                             }
+
+                            featureType = exporter.getFeatureType(objectClassId);
+                        } else {
+                            building = new BuildingPart();
+                            featureType = exporter.getFeatureType(building);
                         }
+                    }
 
-                        // get projection filter
-                        projectionFilter = exporter.getProjectionFilter(featureType);
+                    // get projection filter
+                    projectionFilter = exporter.getProjectionFilter(featureType);
 
-                        // export city object information
-                        cityObjectExporter.addBatch(building, buildingId, featureType, projectionFilter);
+                    // export city object information
+                    cityObjectExporter.addBatch(building, buildingId, featureType, projectionFilter);
+                    Map<Long, GeometrySetterHandler> buildingGeometries = geometries.computeIfAbsent(exporter.getLocalGeometryScope(), v -> new LinkedHashMap<>());
 
-                        if (projectionFilter.containsProperty("class", buildingModule)) {
-                            String clazz = rs.getString("class");
-                            if (!rs.wasNull()) {
-                                Code code = new Code(clazz);
-                                code.setCodeSpace(rs.getString("class_codespace"));
-                                building.setClazz(code);
-                            }
+                    if (projectionFilter.containsProperty("class", buildingModule)) {
+                        String clazz = rs.getString("class");
+                        if (!rs.wasNull()) {
+                            Code code = new Code(clazz);
+                            code.setCodeSpace(rs.getString("class_codespace"));
+                            building.setClazz(code);
                         }
+                    }
 
-                        if (projectionFilter.containsProperty("function", buildingModule)) {
-                            for (SplitValue splitValue : valueSplitter.split(rs.getString("function"), rs.getString("function_codespace"))) {
-                                Code function = new Code(splitValue.result(0));
-                                function.setCodeSpace(splitValue.result(1));
-                                building.addFunction(function);
-                            }
+                    if (projectionFilter.containsProperty("function", buildingModule)) {
+                        for (SplitValue splitValue : valueSplitter.split(rs.getString("function"), rs.getString("function_codespace"))) {
+                            Code function = new Code(splitValue.result(0));
+                            function.setCodeSpace(splitValue.result(1));
+                            building.addFunction(function);
                         }
+                    }
 
-                        if (projectionFilter.containsProperty("usage", buildingModule)) {
-                            for (SplitValue splitValue : valueSplitter.split(rs.getString("usage"), rs.getString("usage_codespace"))) {
-                                Code usage = new Code(splitValue.result(0));
-                                usage.setCodeSpace(splitValue.result(1));
-                                building.addUsage(usage);
-                            }
+                    if (projectionFilter.containsProperty("usage", buildingModule)) {
+                        for (SplitValue splitValue : valueSplitter.split(rs.getString("usage"), rs.getString("usage_codespace"))) {
+                            Code usage = new Code(splitValue.result(0));
+                            usage.setCodeSpace(splitValue.result(1));
+                            building.addUsage(usage);
                         }
+                    }
 
-                        if (projectionFilter.containsProperty("yearOfConstruction", buildingModule))
-                            building.setYearOfConstruction(rs.getObject("year_of_construction", LocalDate.class));
-
-                        if (projectionFilter.containsProperty("yearOfDemolition", buildingModule))
-                            building.setYearOfDemolition(rs.getObject("year_of_demolition", LocalDate.class));
+                    if (projectionFilter.containsProperty("yearOfConstruction", buildingModule))
+                        building.setYearOfConstruction(rs.getObject("year_of_construction", LocalDate.class));
 
-                        if (projectionFilter.containsProperty("roofType", buildingModule)) {
-                            String roofType = rs.getString("roof_type");
-                            if (!rs.wasNull()) {
-                                Code code = new Code(roofType);
-                                code.setCodeSpace(rs.getString("roof_type_codespace"));
-                                building.setRoofType(code);
-                            }
-                        }
+                    if (projectionFilter.containsProperty("yearOfDemolition", buildingModule))
+                        building.setYearOfDemolition(rs.getObject("year_of_demolition", LocalDate.class));
 
-                        if (projectionFilter.containsProperty("measuredHeight", buildingModule)) {
-                            double measuredHeight = rs.getDouble("measured_height");
-                            if (!rs.wasNull()) {
-                                Length length = new Length(measuredHeight);
-                                length.setUom(rs.getString("measured_height_unit"));
-                                building.setMeasuredHeight(length);
-                            }
+                    if (projectionFilter.containsProperty("roofType", buildingModule)) {
+                        String roofType = rs.getString("roof_type");
+                        if (!rs.wasNull()) {
+                            Code code = new Code(roofType);
+                            code.setCodeSpace(rs.getString("roof_type_codespace"));
+                            building.setRoofType(code);
                         }
+                    }
 
-                        if (projectionFilter.containsProperty("storeysAboveGround", buildingModule)) {
-                            int storeysAboveGround = rs.getInt("storeys_above_ground");
-                            if (!rs.wasNull())
-                                building.setStoreysAboveGround(storeysAboveGround);
+                    if (projectionFilter.containsProperty("measuredHeight", buildingModule)) {
+                        double measuredHeight = rs.getDouble("measured_height");
+                        if (!rs.wasNull()) {
+                            Length length = new Length(measuredHeight);
+                            length.setUom(rs.getString("measured_height_unit"));
+                            building.setMeasuredHeight(length);
                         }
+                    }
 
-                        if (projectionFilter.containsProperty("storeysBelowGround", buildingModule)) {
-                            int storeysBelowGround = rs.getInt("storeys_below_ground");
-                            if (!rs.wasNull())
-                                building.setStoreysBelowGround(storeysBelowGround);
-                        }
+                    if (projectionFilter.containsProperty("storeysAboveGround", buildingModule)) {
+                        int storeysAboveGround = rs.getInt("storeys_above_ground");
+                        if (!rs.wasNull())
+                            building.setStoreysAboveGround(storeysAboveGround);
+                    }
 
-                        if (projectionFilter.containsProperty("storeyHeightsAboveGround", buildingModule)) {
-                            String storeyHeightsAboveGround = rs.getString("storey_heights_above_ground");
-                            if (!rs.wasNull()) {
-                                MeasureOrNullList measureList = new MeasureOrNullList();
-                                for (SplitValue splitValue : valueSplitter.split(Pattern.compile("\\s+"), storeyHeightsAboveGround)) {
-                                    Double value = splitValue.asDouble(0);
-                                    if (value != null)
-                                        measureList.addDoubleOrNull(new DoubleOrNull(value));
-                                }
+                    if (projectionFilter.containsProperty("storeysBelowGround", buildingModule)) {
+                        int storeysBelowGround = rs.getInt("storeys_below_ground");
+                        if (!rs.wasNull())
+                            building.setStoreysBelowGround(storeysBelowGround);
+                    }
 
-                                measureList.setUom(rs.getString("storey_heights_ag_unit"));
-                                building.setStoreyHeightsAboveGround(measureList);
+                    if (projectionFilter.containsProperty("storeyHeightsAboveGround", buildingModule)) {
+                        String storeyHeightsAboveGround = rs.getString("storey_heights_above_ground");
+                        if (!rs.wasNull()) {
+                            MeasureOrNullList measureList = new MeasureOrNullList();
+                            for (SplitValue splitValue : valueSplitter.split(Pattern.compile("\\s+"), storeyHeightsAboveGround)) {
+                                Double value = splitValue.asDouble(0);
+                                if (value != null)
+                                    measureList.addDoubleOrNull(new DoubleOrNull(value));
                             }
-                        }
 
-                        if (projectionFilter.containsProperty("storeyHeightsBelowGround", buildingModule)) {
-                            String storeyHeightsBelowGround = rs.getString("storey_heights_below_ground");
-                            if (!rs.wasNull()) {
-                                MeasureOrNullList measureList = new MeasureOrNullList();
-                                for (SplitValue splitValue : valueSplitter.split(Pattern.compile("\\s+"), storeyHeightsBelowGround)) {
-                                    Double value = splitValue.asDouble(0);
-                                    if (value != null)
-                                        measureList.addDoubleOrNull(new DoubleOrNull(value));
-                                }
+                            measureList.setUom(rs.getString("storey_heights_ag_unit"));
+                            building.setStoreyHeightsAboveGround(measureList);
+                        }
+                    }
 
-                                measureList.setUom(rs.getString("storey_heights_bg_unit"));
-                                building.setStoreyHeightsBelowGround(measureList);
+                    if (projectionFilter.containsProperty("storeyHeightsBelowGround", buildingModule)) {
+                        String storeyHeightsBelowGround = rs.getString("storey_heights_below_ground");
+                        if (!rs.wasNull()) {
+                            MeasureOrNullList measureList = new MeasureOrNullList();
+                            for (SplitValue splitValue : valueSplitter.split(Pattern.compile("\\s+"), storeyHeightsBelowGround)) {
+                                Double value = splitValue.asDouble(0);
+                                if (value != null)
+                                    measureList.addDoubleOrNull(new DoubleOrNull(value));
                             }
+
+                            measureList.setUom(rs.getString("storey_heights_bg_unit"));
+                            building.setStoreyHeightsBelowGround(measureList);
                         }
+                    }
 
-                        // bldg:lodXTerrainIntersectionCurve
-                        LodIterator lodIterator = lodFilter.iterator(1, 4);
-                        while (lodIterator.hasNext()) {
-                            int lod = lodIterator.next();
+                    // bldg:lodXTerrainIntersectionCurve
+                    LodIterator lodIterator = lodFilter.iterator(1, 4);
+                    while (lodIterator.hasNext()) {
+                        int lod = lodIterator.next();
 
-                            if (!projectionFilter.containsProperty("lod" + lod + "TerrainIntersection", buildingModule))
-                                continue;
+                        if (!projectionFilter.containsProperty("lod" + lod + "TerrainIntersection", buildingModule))
+                            continue;
 
-                            Object terrainIntersectionObj = rs.getObject("lod" + lod + "_terrain_intersection");
-                            if (rs.wasNull())
-                                continue;
+                        Object terrainIntersectionObj = rs.getObject("lod" + lod + "_terrain_intersection");
+                        if (rs.wasNull())
+                            continue;
 
-                            GeometryObject terrainIntersection = exporter.getDatabaseAdapter().getGeometryConverter().getMultiCurve(terrainIntersectionObj);
-                            if (terrainIntersection != null) {
-                                MultiCurveProperty multiCurveProperty = gmlConverter.getMultiCurveProperty(terrainIntersection, false);
-                                if (multiCurveProperty != null) {
-                                    switch (lod) {
-                                        case 1:
-                                            building.setLod1TerrainIntersection(multiCurveProperty);
-                                            break;
-                                        case 2:
-                                            building.setLod2TerrainIntersection(multiCurveProperty);
-                                            break;
-                                        case 3:
-                                            building.setLod3TerrainIntersection(multiCurveProperty);
-                                            break;
-                                        case 4:
-                                            building.setLod4TerrainIntersection(multiCurveProperty);
-                                            break;
-                                    }
+                        GeometryObject terrainIntersection = exporter.getDatabaseAdapter().getGeometryConverter().getMultiCurve(terrainIntersectionObj);
+                        if (terrainIntersection != null) {
+                            MultiCurveProperty multiCurveProperty = gmlConverter.getMultiCurveProperty(terrainIntersection, false);
+                            if (multiCurveProperty != null) {
+                                switch (lod) {
+                                    case 1:
+                                        building.setLod1TerrainIntersection(multiCurveProperty);
+                                        break;
+                                    case 2:
+                                        building.setLod2TerrainIntersection(multiCurveProperty);
+                                        break;
+                                    case 3:
+                                        building.setLod3TerrainIntersection(multiCurveProperty);
+                                        break;
+                                    case 4:
+                                        building.setLod4TerrainIntersection(multiCurveProperty);
+                                        break;
                                 }
                             }
                         }
+                    }
 
-                        // bldg:lodXMultiCurve
-                        lodIterator = lodFilter.iterator(2, 4);
-                        while (lodIterator.hasNext()) {
-                            int lod = lodIterator.next();
-
-                            if (!projectionFilter.containsProperty("lod" + lod + "MultiCurve", buildingModule))
-                                continue;
+                    // bldg:lodXMultiCurve
+                    lodIterator = lodFilter.iterator(2, 4);
+                    while (lodIterator.hasNext()) {
+                        int lod = lodIterator.next();
 
-                            Object multiCurveObj = rs.getObject("lod" + lod + "_multi_curve");
-                            if (rs.wasNull())
-                                continue;
+                        if (!projectionFilter.containsProperty("lod" + lod + "MultiCurve", buildingModule))
+                            continue;
 
-                            GeometryObject multiCurve = exporter.getDatabaseAdapter().getGeometryConverter().getMultiCurve(multiCurveObj);
-                            if (multiCurve != null) {
-                                MultiCurveProperty multiCurveProperty = gmlConverter.getMultiCurveProperty(multiCurve, false);
-                                if (multiCurveProperty != null) {
-                                    switch (lod) {
-                                        case 2:
-                                            building.setLod2MultiCurve(multiCurveProperty);
-                                            break;
-                                        case 3:
-                                            building.setLod3MultiCurve(multiCurveProperty);
-                                            break;
-                                        case 4:
-                                            building.setLod4MultiCurve(multiCurveProperty);
-                                            break;
-                                    }
-                                }
-                            }
-                        }
+                        Object multiCurveObj = rs.getObject("lod" + lod + "_multi_curve");
+                        if (rs.wasNull())
+                            continue;
 
-                        // bldg:lod0FootPrint and lod0RoofEdge
-                        if (lodFilter.isEnabled(0)) {
-                            for (int i = 0; i < 2; i++) {
-                                if (i == 0 && !projectionFilter.containsProperty("lod0FootPrint", buildingModule))
-                                    continue;
-                                else if (i == 1 && !projectionFilter.containsProperty("lod0RoofEdge", buildingModule))
-                                    continue;
-
-                                long geometryId = rs.getLong(i == 0 ? "lod0_footprint_id" : "lod0_roofprint_id");
-                                if (rs.wasNull())
-                                    continue;
-
-                                switch (i) {
-                                    case 0:
-                                        geometryExporter.addBatch(geometryId, building::setLod0FootPrint);
+                        GeometryObject multiCurve = exporter.getDatabaseAdapter().getGeometryConverter().getMultiCurve(multiCurveObj);
+                        if (multiCurve != null) {
+                            MultiCurveProperty multiCurveProperty = gmlConverter.getMultiCurveProperty(multiCurve, false);
+                            if (multiCurveProperty != null) {
+                                switch (lod) {
+                                    case 2:
+                                        building.setLod2MultiCurve(multiCurveProperty);
                                         break;
-                                    case 1:
-                                        geometryExporter.addBatch(geometryId, building::setLod0RoofEdge);
+                                    case 3:
+                                        building.setLod3MultiCurve(multiCurveProperty);
+                                        break;
+                                    case 4:
+                                        building.setLod4MultiCurve(multiCurveProperty);
                                         break;
                                 }
                             }
                         }
+                    }
 
-                        // bldg:lodXSolid
-                        lodIterator = lodFilter.iterator(1, 4);
-                        while (lodIterator.hasNext()) {
-                            int lod = lodIterator.next();
-
-                            if (!projectionFilter.containsProperty("lod" + lod + "Solid", buildingModule))
+                    // bldg:lod0FootPrint and lod0RoofEdge
+                    if (lodFilter.isEnabled(0)) {
+                        for (int i = 0; i < 2; i++) {
+                            if (i == 0 && !projectionFilter.containsProperty("lod0FootPrint", buildingModule))
+                                continue;
+                            else if (i == 1 && !projectionFilter.containsProperty("lod0RoofEdge", buildingModule))
                                 continue;
 
-                            long geometryId = rs.getLong("lod" + lod + "_solid_id");
+                            long geometryId = rs.getLong(i == 0 ? "lod0_footprint_id" : "lod0_roofprint_id");
                             if (rs.wasNull())
                                 continue;
 
-                            switch (lod) {
-                                case 1:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod1Solid));
-                                    break;
-                                case 2:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod2Solid));
-                                    break;
-                                case 3:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod3Solid));
+                            switch (i) {
+                                case 0:
+                                    geometryExporter.addBatch(geometryId, building::setLod0FootPrint);
                                     break;
-                                case 4:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod4Solid));
+                                case 1:
+                                    geometryExporter.addBatch(geometryId, building::setLod0RoofEdge);
                                     break;
                             }
                         }
+                    }
 
-                        // bldg:lodXMultiSurface
-                        lodIterator.reset();
-                        while (lodIterator.hasNext()) {
-                            int lod = lodIterator.next();
+                    // bldg:lodXSolid
+                    lodIterator = lodFilter.iterator(1, 4);
+                    while (lodIterator.hasNext()) {
+                        int lod = lodIterator.next();
 
-                            if (!projectionFilter.containsProperty("lod" + lod + "MultiSurface", buildingModule))
-                                continue;
+                        if (!projectionFilter.containsProperty("lod" + lod + "Solid", buildingModule))
+                            continue;
 
-                            long geometryId = rs.getLong("lod" + lod + "_multi_surface_id");
-                            if (rs.wasNull())
-                                continue;
+                        long geometryId = rs.getLong("lod" + lod + "_solid_id");
+                        if (rs.wasNull())
+                            continue;
 
-                            switch (lod) {
-                                case 1:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod1MultiSurface));
-                                    break;
-                                case 2:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod2MultiSurface));
-                                    break;
-                                case 3:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod3MultiSurface));
-                                    break;
-                                case 4:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod4MultiSurface));
-                                    break;
-                            }
+                        switch (lod) {
+                            case 1:
+                                buildingGeometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod1Solid));
+                                break;
+                            case 2:
+                                buildingGeometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod2Solid));
+                                break;
+                            case 3:
+                                buildingGeometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod3Solid));
+                                break;
+                            case 4:
+                                buildingGeometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod4Solid));
+                                break;
                         }
+                    }
 
-                        // bldg:outerBuildingInstallation and bldg:interiorBuildingInstallation
-                        if (lodFilter.containsLodGreaterThanOrEuqalTo(2)
-                                && (projectionFilter.containsProperty("outerBuildingInstallation", buildingModule)
-                                || projectionFilter.containsProperty("interiorBuildingInstallation", buildingModule))) {
-                            if (rs.getLong("inid") != 0) {
-                                installations.add(buildingId);
-                            }
-                        }
+                    // bldg:lodXMultiSurface
+                    lodIterator.reset();
+                    while (lodIterator.hasNext()) {
+                        int lod = lodIterator.next();
 
-                        // bldg:interiorRoom
-                        if (lodFilter.isEnabled(4)
-                                && projectionFilter.containsProperty("interiorRoom", buildingModule)) {
-                            if (rs.getLong("roid") != 0) {
-                                rooms.add(buildingId);
-                            }
-                        }
+                        if (!projectionFilter.containsProperty("lod" + lod + "MultiSurface", buildingModule))
+                            continue;
 
-                        // get tables of ADE hook properties
-                        if (buildingADEHookTables != null) {
-                            List<String> tables = retrieveADEHookTables(buildingADEHookTables, rs);
-                            if (tables != null) {
-                                adeHookTables.put(buildingId, tables);
-                                building.setLocalProperty("type", featureType);
-                            }
-                        }
+                        long geometryId = rs.getLong("lod" + lod + "_multi_surface_id");
+                        if (rs.wasNull())
+                            continue;
 
-                        building.setLocalProperty("parent", rs.getLong("building_parent_id"));
-                        building.setLocalProperty("projection", projectionFilter);
-                        buildings.put(buildingId, building);
-                    } else
-                        projectionFilter = (ProjectionFilter) building.getLocalProperty("projection");
-                }
+                        switch (lod) {
+                            case 1:
+                                buildingGeometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod1MultiSurface));
+                                break;
+                            case 2:
+                                buildingGeometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod2MultiSurface));
+                                break;
+                            case 3:
+                                buildingGeometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod3MultiSurface));
+                                break;
+                            case 4:
+                                buildingGeometries.put(geometryId, new DefaultGeometrySetterHandler(building::setLod4MultiSurface));
+                                break;
+                        }
+                    }
 
-                // bldg:address
-                if (projectionFilter.containsProperty("address", buildingModule)) {
-                    long addressId = rs.getLong("baid");
-                    if (!rs.wasNull() && buildingAddresses.add(addressId)) {
-                        AddressProperty addressProperty = addressExporter.doExport(addressId, "ba", addressADEHookTables, rs);
-                        if (addressProperty != null)
-                            building.addAddress(addressProperty);
+                    // bldg:outerBuildingInstallation and bldg:interiorBuildingInstallation
+                    if (lodFilter.containsLodGreaterThanOrEuqalTo(2)
+                            && (projectionFilter.containsProperty("outerBuildingInstallation", buildingModule)
+                            || projectionFilter.containsProperty("interiorBuildingInstallation", buildingModule))) {
+                        if (rs.getLong("inid") != 0) {
+                            installations.computeIfAbsent(exporter.getLocalGeometryScope(), v -> new HashSet<>()).add(buildingId);
+                        }
                     }
-                }
 
-                if (!lodFilter.containsLodGreaterThanOrEuqalTo(2)
-                        || !projectionFilter.containsProperty("boundedBy", buildingModule))
-                    continue;
+                    // bldg:interiorRoom
+                    if (lodFilter.isEnabled(4)
+                            && projectionFilter.containsProperty("interiorRoom", buildingModule)) {
+                        if (rs.getLong("roid") != 0) {
+                            rooms.computeIfAbsent(exporter.getLocalGeometryScope(), v -> new HashSet<>()).add(buildingId);
+                        }
+                    }
 
-                // bldg:boundedBy
-                long boundarySurfaceId = rs.getLong("tsid");
-                if (rs.wasNull())
-                    continue;
+                    // get tables of ADE hook properties
+                    if (buildingADEHookTables != null) {
+                        List<String> tables = retrieveADEHookTables(buildingADEHookTables, rs);
+                        if (tables != null) {
+                            adeHookTables.put(buildingId, tables);
+                            building.setLocalProperty("type", featureType);
+                        }
+                    }
 
-                if (boundarySurfaceId != currentBoundarySurfaceId || boundarySurface == null) {
-                    currentBoundarySurfaceId = boundarySurfaceId;
-                    currentOpeningId = 0;
+                    building.setLocalProperty("parent", rs.getLong("building_parent_id"));
+                    building.setLocalProperty("scope", exporter.getLocalGeometryScope());
+                    building.setLocalProperty("projection", projectionFilter);
+                    buildings.put(buildingId, building);
+                } else
+                    projectionFilter = (ProjectionFilter) building.getLocalProperty("projection");
+            }
 
-                    boundarySurface = boundarySurfaces.get(boundarySurfaceId);
-                    if (boundarySurface == null) {
-                        int objectClassId = rs.getInt("tsobjectclass_id");
-                        FeatureType featureType = exporter.getFeatureType(objectClassId);
+            // bldg:address
+            if (projectionFilter.containsProperty("address", buildingModule)) {
+                long addressId = rs.getLong("baid");
+                if (!rs.wasNull() && buildingAddresses.add(currentBuildingId + "_" + addressId)) {
+                    AddressProperty addressProperty = addressExporter.doExport(addressId, "ba", addressADEHookTables, rs);
+                    if (addressProperty != null)
+                        building.addAddress(addressProperty);
+                }
+            }
 
-                        boundarySurface = thematicSurfaceExporter.doExport(boundarySurfaceId, featureType, "ts", surfaceADEHookTables, rs);
-                        if (boundarySurface == null) {
-                            exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, boundarySurfaceId) + " as boundary surface object.");
-                            continue;
-                        }
+            if (!lodFilter.containsLodGreaterThanOrEuqalTo(2)
+                    || !projectionFilter.containsProperty("boundedBy", buildingModule))
+                continue;
 
-                        // get projection filter
-                        boundarySurfaceProjectionFilter = exporter.getProjectionFilter(featureType);
-                        boundarySurface.setLocalProperty("projection", boundarySurfaceProjectionFilter);
+            // bldg:boundedBy
+            long boundarySurfaceId = rs.getLong("tsid");
+            if (rs.wasNull())
+                continue;
 
-                        building.getBoundedBySurface().add(new BoundarySurfaceProperty(boundarySurface));
-                        boundarySurfaces.put(boundarySurfaceId, boundarySurface);
-                    } else
-                        boundarySurfaceProjectionFilter = (ProjectionFilter) boundarySurface.getLocalProperty("projection");
-                }
+            if (boundarySurfaceId != currentBoundarySurfaceId || boundarySurface == null) {
+                currentBoundarySurfaceId = boundarySurfaceId;
+                currentOpeningId = 0;
 
-                // continue if openings shall not be exported
-                if (!lodFilter.containsLodGreaterThanOrEuqalTo(3)
-                        || !boundarySurfaceProjectionFilter.containsProperty("opening", buildingModule))
-                    continue;
+                boundarySurface = boundarySurfaces.get(boundarySurfaceId);
+                if (boundarySurface == null) {
+                    int objectClassId = rs.getInt("tsobjectclass_id");
+                    FeatureType featureType = exporter.getFeatureType(objectClassId);
 
-                long openingId = rs.getLong("opid");
-                if (rs.wasNull())
-                    continue;
+                    boundarySurface = thematicSurfaceExporter.doExport(boundarySurfaceId, featureType, "ts", surfaceADEHookTables, rs);
+                    if (boundarySurface == null) {
+                        exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, boundarySurfaceId) + " as boundary surface object.");
+                        continue;
+                    }
 
-                if (openingId != currentOpeningId || openingProperty == null) {
-                    currentOpeningId = openingId;
-                    String key = currentBoundarySurfaceId + "_" + openingId;
+                    // get projection filter
+                    boundarySurfaceProjectionFilter = exporter.getProjectionFilter(featureType);
+                    boundarySurface.setLocalProperty("projection", boundarySurfaceProjectionFilter);
 
-                    openingProperty = openingProperties.get(key);
-                    if (openingProperty == null) {
-                        int objectClassId = rs.getInt("opobjectclass_id");
+                    building.getBoundedBySurface().add(new BoundarySurfaceProperty(boundarySurface));
+                    boundarySurfaces.put(boundarySurfaceId, boundarySurface);
+                } else
+                    boundarySurfaceProjectionFilter = (ProjectionFilter) boundarySurface.getLocalProperty("projection");
+            }
 
-                        // check whether we need an XLink
-                        String gmlId = rs.getString("opgmlid");
-                        boolean generateNewGmlId = false;
-                        if (!rs.wasNull()) {
-                            if (exporter.lookupAndPutObjectId(gmlId, openingId, objectClassId)) {
-                                if (useXLink) {
-                                    openingProperty = new OpeningProperty();
-                                    openingProperty.setHref("#" + gmlId);
-                                    boundarySurface.addOpening(openingProperty);
-                                    openingProperties.put(key, openingProperty);
-                                    continue;
-                                } else
-                                    generateNewGmlId = true;
-                            }
+            // continue if openings shall not be exported
+            if (!lodFilter.containsLodGreaterThanOrEuqalTo(3)
+                    || !boundarySurfaceProjectionFilter.containsProperty("opening", buildingModule))
+                continue;
+
+            long openingId = rs.getLong("opid");
+            if (rs.wasNull())
+                continue;
+
+            if (openingId != currentOpeningId || openingProperty == null) {
+                currentOpeningId = openingId;
+                String key = currentBoundarySurfaceId + "_" + openingId;
+
+                openingProperty = openingProperties.get(key);
+                if (openingProperty == null) {
+                    int objectClassId = rs.getInt("opobjectclass_id");
+
+                    // check whether we need an XLink
+                    String gmlId = rs.getString("opgmlid");
+                    boolean generateNewGmlId = false;
+                    if (!rs.wasNull()) {
+                        if (exporter.lookupAndPutObjectId(gmlId, openingId, objectClassId)) {
+                            if (useXLink) {
+                                openingProperty = new OpeningProperty();
+                                openingProperty.setHref("#" + gmlId);
+                                boundarySurface.addOpening(openingProperty);
+                                openingProperties.put(key, openingProperty);
+                                continue;
+                            } else
+                                generateNewGmlId = true;
                         }
+                    }
 
-                        // create new opening object
-                        FeatureType featureType = exporter.getFeatureType(objectClassId);
-                        AbstractOpening opening = openingExporter.doExport(openingId, featureType, "op", openingADEHookTables, rs);
-                        if (opening == null) {
-                            exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, openingId) + " as opening object.");
-                            continue;
-                        }
+                    // create new opening object
+                    FeatureType featureType = exporter.getFeatureType(objectClassId);
+                    AbstractOpening opening = openingExporter.doExport(openingId, featureType, "op", openingADEHookTables, rs);
+                    if (opening == null) {
+                        exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, openingId) + " as opening object.");
+                        continue;
+                    }
 
-                        if (generateNewGmlId)
-                            opening.setId(exporter.generateFeatureGmlId(opening, gmlId));
+                    if (generateNewGmlId)
+                        opening.setId(exporter.generateFeatureGmlId(opening, gmlId));
 
-                        // get projection filter
-                        openingProjectionFilter = exporter.getProjectionFilter(featureType);
-                        opening.setLocalProperty("projection", openingProjectionFilter);
+                    // get projection filter
+                    openingProjectionFilter = exporter.getProjectionFilter(featureType);
+                    opening.setLocalProperty("projection", openingProjectionFilter);
 
-                        openingProperty = new OpeningProperty(opening);
-                        boundarySurface.getOpening().add(openingProperty);
-                        openingProperties.put(key, openingProperty);
-                    } else if (openingProperty.isSetOpening())
-                        openingProjectionFilter = (ProjectionFilter) openingProperty.getOpening().getLocalProperty("projection");
-                }
+                    openingProperty = new OpeningProperty(opening);
+                    boundarySurface.getOpening().add(openingProperty);
+                    openingProperties.put(key, openingProperty);
+                } else if (openingProperty.isSetOpening())
+                    openingProjectionFilter = (ProjectionFilter) openingProperty.getOpening().getLocalProperty("projection");
+            }
 
-                if (openingProperty.getOpening() instanceof Door
-                        && openingProjectionFilter.containsProperty("address", buildingModule)) {
-                    long openingAddressId = rs.getLong("oaid");
-                    if (!rs.wasNull() && openingAddresses.add(currentOpeningId + "_" + openingAddressId)) {
-                        AddressProperty addressProperty = addressExporter.doExport(openingAddressId, "oa", openingAddressADEHookTables, rs);
-                        if (addressProperty != null) {
-                            Door door = (Door) openingProperty.getOpening();
-                            door.addAddress(addressProperty);
-                        }
+            if (openingProperty.getOpening() instanceof Door
+                    && openingProjectionFilter.containsProperty("address", buildingModule)) {
+                long openingAddressId = rs.getLong("oaid");
+                if (!rs.wasNull() && openingAddresses.add(currentOpeningId + "_" + openingAddressId)) {
+                    AddressProperty addressProperty = addressExporter.doExport(openingAddressId, "oa", openingAddressADEHookTables, rs);
+                    if (addressProperty != null) {
+                        Door door = (Door) openingProperty.getOpening();
+                        door.addAddress(addressProperty);
                     }
                 }
             }
+        }
 
-            // export installations
-            for (Map.Entry<Long, Collection<AbstractCityObject>> entry : buildingInstallationExporter.doExportForBuildings(installations).entrySet()) {
+        // export installations
+        for (Map.Entry<Long, Set<Long>> scope : installations.entrySet()) {
+            exporter.setLocalGeometryScope(scope.getKey());
+            for (Map.Entry<Long, Collection<AbstractCityObject>> entry : buildingInstallationExporter.doExportForBuildings(scope.getValue()).entrySet()) {
                 building = buildings.get(entry.getKey());
                 if (building != null) {
                     for (AbstractCityObject installation : entry.getValue()) {
@@ -695,9 +729,12 @@ public class DBBuilding extends AbstractFeatureExporter<AbstractBuilding> {
                     }
                 }
             }
+        }
 
-            // export rooms
-            for (Map.Entry<Long, Collection<Room>> entry : roomExporter.doExport(rooms).entrySet()) {
+        // export rooms
+        for (Map.Entry<Long, Set<Long>> scope : rooms.entrySet()) {
+            exporter.setLocalGeometryScope(scope.getKey());
+            for (Map.Entry<Long, Collection<Room>> entry : roomExporter.doExport(scope.getValue()).entrySet()) {
                 building = buildings.get(entry.getKey());
                 if (building != null) {
                     for (Room room : entry.getValue()) {
@@ -705,42 +742,47 @@ public class DBBuilding extends AbstractFeatureExporter<AbstractBuilding> {
                     }
                 }
             }
+        }
 
-            // export postponed geometries
-            for (Map.Entry<Long, GeometrySetterHandler> entry : geometries.entrySet())
+        // export postponed geometries
+        for (Map.Entry<Long, Map<Long, GeometrySetterHandler>> scope : geometries.entrySet()) {
+            exporter.setLocalGeometryScope(scope.getKey());
+            for (Map.Entry<Long, GeometrySetterHandler> entry : scope.getValue().entrySet())
                 geometryExporter.addBatch(entry.getKey(), entry.getValue());
+        }
 
-            List<AbstractBuilding> result = new ArrayList<>();
-            for (Map.Entry<Long, AbstractBuilding> entry : buildings.entrySet()) {
-                building = entry.getValue();
-                long buildingId = entry.getKey();
-                long parentId = (Long) building.getLocalProperty("parent");
-
-                // delegate export of generic ADE properties
-                if (adeHookTables != null) {
-                    List<String> tables = adeHookTables.get(buildingId);
-                    if (tables != null) {
-                        exporter.delegateToADEExporter(tables, building, buildingId,
-                                (FeatureType) building.getLocalProperty("type"),
-                                (ProjectionFilter) building.getLocalProperty("projection"));
-                    }
+        Map<Long, AbstractBuilding> result = new LinkedHashMap<>();
+        for (Map.Entry<Long, AbstractBuilding> entry : buildings.entrySet()) {
+            building = entry.getValue();
+            long buildingId = entry.getKey();
+            long parentId = (Long) building.getLocalProperty("parent");
+
+            // delegate export of generic ADE properties
+            if (adeHookTables != null) {
+                List<String> tables = adeHookTables.get(buildingId);
+                if (tables != null) {
+                    exporter.setLocalGeometryScope((Long) building.getLocalProperty("scope"));
+                    exporter.delegateToADEExporter(tables, building, buildingId,
+                            (FeatureType) building.getLocalProperty("type"),
+                            (ProjectionFilter) building.getLocalProperty("projection"));
                 }
-
-                // rebuild building part hierarchy
-                if (parentId == 0) {
-                    result.add(building);
-                } else if (building instanceof BuildingPart) {
-                    AbstractBuilding parent = buildings.get(parentId);
-                    if (parent != null) {
-                        projectionFilter = (ProjectionFilter) parent.getLocalProperty("projection");
-                        if (projectionFilter.containsProperty("consistsOfBuildingPart", buildingModule))
-                            parent.addConsistsOfBuildingPart(new BuildingPartProperty((BuildingPart) building));
-                    }
-                } else
-                    exporter.logOrThrowErrorMessage("Expected " + exporter.getObjectSignature(exporter.getFeatureType(building), buildingId) + " to be a building part.");
             }
 
-            return result;
+            // rebuild building part hierarchy
+            if (parentId == 0) {
+                result.put(buildingId, building);
+            } else if (building instanceof BuildingPart) {
+                AbstractBuilding parent = buildings.get(parentId);
+                if (parent != null) {
+                    projectionFilter = (ProjectionFilter) parent.getLocalProperty("projection");
+                    if (projectionFilter.containsProperty("consistsOfBuildingPart", buildingModule))
+                        parent.addConsistsOfBuildingPart(new BuildingPartProperty((BuildingPart) building));
+                }
+            } else
+                exporter.logOrThrowErrorMessage("Expected " + exporter.getObjectSignature(exporter.getFeatureType(building), buildingId) + " to be a building part.");
         }
+
+        exporter.setLocalGeometryScope(localGeometryScope);
+        return result;
     }
 }
@@ -40,6 +40,7 @@ import org.citydb.core.database.schema.TableEnum;
 import org.citydb.core.database.schema.mapping.AbstractObjectType;
 import org.citydb.core.database.schema.mapping.FeatureType;
 import org.citydb.core.database.schema.mapping.MappingConstants;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 import org.citydb.core.operation.exporter.CityGMLExportException;
 import org.citydb.core.operation.exporter.util.AttributeValueSplitter;
 import org.citydb.core.operation.exporter.util.SplitValue;
@@ -91,6 +92,7 @@ public class DBCityObject extends AbstractTypeExporter {
     private final boolean exportAppearance;
     private final boolean exportCityDBMetadata;
     private final boolean affineTransformation;
+    private final CoordinateTransformer coordinateTransformer;
 
     private final AttributeValueSplitter valueSplitter;
     private final String coreModule;
@@ -115,6 +117,7 @@ public class DBCityObject extends AbstractTypeExporter {
         gmlSrsName = query.getTargetSrs().getGMLSrsName();
         exportAppearance = exporter.getExportConfig().getAppearances().isSetExportAppearance();
         affineTransformation = exporter.getExportConfig().getAffineTransformation().isEnabled();
+        coordinateTransformer = exporter.getCoordinateTransformer();
 
         if (query.isSetTiling()) {
             Tiling tiling = query.getTiling();
@@ -297,9 +300,16 @@ public class DBCityObject extends AbstractTypeExporter {
 
         // gml:boundedBy
         if (setEnvelope) {
+            GeometryObject geomObj = null;
             Object geom = rs.getObject("envelope");
             if (!rs.wasNull()) {
-                GeometryObject geomObj = exporter.getDatabaseAdapter().getGeometryConverter().getEnvelope(geom);
+                geomObj = exporter.getDatabaseAdapter().getGeometryConverter().getEnvelope(geom);
+                if (coordinateTransformer != null && !coordinateTransformer.transform(geomObj)) {
+                    geomObj = null;
+                }
+            }
+
+            if (geomObj != null) {
                 double[] coordinates = geomObj.getCoordinates(0);
 
                 if (affineTransformation) {
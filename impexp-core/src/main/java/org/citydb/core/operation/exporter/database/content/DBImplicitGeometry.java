@@ -33,6 +33,7 @@ import org.citydb.core.database.schema.mapping.MappingConstants;
 import org.citydb.core.operation.common.xlink.DBXlinkLibraryObject;
 import org.citydb.core.operation.exporter.CityGMLExportException;
 import org.citydb.core.operation.exporter.util.AttributeValueSplitter;
+import org.citydb.core.operation.exporter.util.ImplicitGeometryCache;
 import org.citydb.core.util.CoreConstants;
 import org.citydb.core.util.Util;
 import org.citydb.sqlbuilder.expression.PlaceHolder;
@@ -53,7 +54,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.List;
 import java.util.UUID;
 
 public class DBImplicitGeometry implements DBExporter {
@@ -61,7 +61,9 @@ public class DBImplicitGeometry implements DBExporter {
     private final PreparedStatement ps;
     private final DBSurfaceGeometry geometryExporter;
     private final GMLConverter gmlConverter;
+    private final GMLConverter relativeGeometryConverter;
     private final AttributeValueSplitter valueSplitter;
+    private final ImplicitGeometryCache prototypeCache;
     private final boolean affineTransformation;
     private final boolean hasGmlIdColumn;
 
@@ -70,7 +72,9 @@ public class DBImplicitGeometry implements DBExporter {
 
         geometryExporter = exporter.getExporter(DBSurfaceGeometry.class);
         gmlConverter = exporter.getGMLConverter();
+        relativeGeometryConverter = exporter.getRelativeGeometryConverter();
         valueSplitter = exporter.getAttributeValueSplitter();
+        prototypeCache = exporter.getInternalConfig().getImplicitGeometryCache();
         affineTransformation = exporter.getExportConfig().getAffineTransformation().isEnabled();
         hasGmlIdColumn = exporter.getDatabaseAdapter().getConnectionMetaData().getCityDBVersion().compareTo(4, 3, 0) >= 0;
         String getLength = exporter.getDatabaseAdapter().getSQLAdapter().resolveDatabaseOperationName("blob.get_length");
@@ -92,94 +96,117 @@ public class DBImplicitGeometry implements DBExporter {
     }
 
     protected ImplicitGeometry doExport(long id, GeometryObject referencePoint, String transformationMatrix) throws CityGMLExportException, SQLException {
+        ImplicitGeometryCache.Prototype prototype = prototypeCache.get(id);
+        if (prototype == null) {
+            prototype = getPrototype(id);
+            prototypeCache.put(prototype);
+        }
+
+        if (!prototype.isValid()) {
+            return null;
+        }
+
+        ImplicitGeometry implicitGeometry = new ImplicitGeometry();
+
+        // library object
+        if (prototype.getLibraryObject() != null) {
+            implicitGeometry.setLibraryObject(prototype.getLibraryObject());
+            if (prototype.isSetLibraryObjectFileName()
+                    && prototype.markLibraryObjectExported(exporter.getInternalConfig().getOutputFile())) {
+                exporter.propagateXlink(new DBXlinkLibraryObject(id, prototype.getLibraryObjectFileName()));
+            }
+
+            if (prototype.getMimeType() != null) {
+                implicitGeometry.setMimeType(new Code(prototype.getMimeType()));
+            }
+        }
+
+        // geometry
+        String gmlId = prototype.getGmlId();
+        if (prototype.isSetRelativeBrepId()) {
+            if (exporter.lookupGeometryId(gmlId)) {
+                implicitGeometry.setRelativeGeometry(new GeometryProperty<>("#" + gmlId));
+            } else {
+                geometryExporter.addImplicitGeometryBatch(prototype.getRelativeBrepId(), implicitGeometry);
+            }
+        } else if (prototype.getRelativeOtherGeometry() != null) {
+            if (exporter.lookupAndPutObjectId(gmlId, id, MappingConstants.IMPLICIT_GEOMETRY_OBJECTCLASS_ID)) {
+                implicitGeometry.setRelativeGeometry(new GeometryProperty<>("#" + gmlId));
+            } else {
+                AbstractGeometry geometry = relativeGeometryConverter.getPointOrCurveGeometry(prototype.getRelativeOtherGeometry(), true);
+                if (geometry != null) {
+                    geometry.setId(gmlId);
+                    implicitGeometry.setRelativeGeometry(new GeometryProperty<>(geometry));
+                } else {
+                    return null;
+                }
+            }
+        }
+
+        // referencePoint
+        if (referencePoint != null) {
+            implicitGeometry.setReferencePoint(gmlConverter.getPointProperty(referencePoint, false));
+        }
+
+        // transformationMatrix
+        double[] values = valueSplitter.splitDoubleArray(transformationMatrix, 16);
+        if (values != null) {
+            Matrix matrix = new Matrix(4, 4);
+            for (int i = 0; i < 16; i++) {
+                matrix.set(i / 4, i % 4, values[i]);
+            }
+
+            if (affineTransformation) {
+                matrix = exporter.getAffineTransformer().transformImplicitGeometryTransformationMatrix(matrix);
+            }
+
+            implicitGeometry.setTransformationMatrix(new TransformationMatrix4x4(matrix));
+        }
+
+        return implicitGeometry;
+    }
+
+    private ImplicitGeometryCache.Prototype getPrototype(long id) throws SQLException {
+        ImplicitGeometryCache.Prototype prototype = new ImplicitGeometryCache.Prototype(id);
         ps.setLong(1, id);
 
         try (ResultSet rs = ps.executeQuery()) {
-            ImplicitGeometry implicitGeometry = new ImplicitGeometry();
-            boolean isValid = false;
-
             if (rs.next()) {
                 // library object
                 String libraryObject = rs.getString(2);
                 if (!rs.wasNull()) {
-                    isValid = true;
                     long dbBlobSize = rs.getLong(5);
                     if (dbBlobSize > 0) {
                         String extension = Util.getFileExtension(libraryObject);
                         String fileName = CoreConstants.UNIQUE_LIBRARY_OBJECT_FILENAME_PREFIX + id +
                                 (!extension.isEmpty() ? "." + extension : "");
-                        implicitGeometry.setLibraryObject(CoreConstants.LIBRARY_OBJECTS_DIR + '/' + fileName);
-                        exporter.propagateXlink(new DBXlinkLibraryObject(id, fileName));
+                        prototype.setLibraryObject(CoreConstants.LIBRARY_OBJECTS_DIR + '/' + fileName);
+                        prototype.setLibraryObjectFileName(fileName);
                     } else {
-                        implicitGeometry.setLibraryObject(libraryObject);
+                        prototype.setLibraryObject(libraryObject);
                     }
 
-                    String mimeType = rs.getString(1);
-                    if (!rs.wasNull()) {
-                        implicitGeometry.setMimeType(new Code(mimeType));
-                    }
+                    prototype.setMimeType(rs.getString(1));
                 }
 
                 // geometry
                 long geometryId = rs.getLong(3);
                 if (!rs.wasNull()) {
-                    isValid = true;
-                    String gmlId = rs.getString(6);
-                    if (exporter.lookupGeometryId(gmlId)) {
-                        implicitGeometry.setRelativeGeometry(new GeometryProperty<>("#" + gmlId));
-                    } else {
-                        geometryExporter.addImplicitGeometryBatch(geometryId, implicitGeometry);
-                    }
+                    prototype.setRelativeBrepId(geometryId);
+                    prototype.setGmlId(rs.getString(6));
                 } else {
                     Object otherGeometry = rs.getObject(4);
                     if (!rs.wasNull()) {
-                        isValid = true;
-                        String gmlId = hasGmlIdColumn ?
+                        prototype.setRelativeOtherGeometry(exporter.getDatabaseAdapter().getGeometryConverter().getGeometry(otherGeometry));
+                        prototype.setGmlId(hasGmlIdColumn ?
                                 rs.getString(6) :
-                                "ID_" + UUID.nameUUIDFromBytes(String.valueOf(id).getBytes());
-
-                        if (exporter.lookupAndPutObjectId(gmlId, id, MappingConstants.IMPLICIT_GEOMETRY_OBJECTCLASS_ID)) {
-                            implicitGeometry.setRelativeGeometry(new GeometryProperty<>("#" + gmlId));
-                        } else {
-                            GeometryObject geometryObject = exporter.getDatabaseAdapter().getGeometryConverter().getGeometry(otherGeometry);
-                            AbstractGeometry geometry = gmlConverter.getPointOrCurveGeometry(geometryObject, true);
-                            if (geometry != null) {
-                                geometry.setId(gmlId);
-                                implicitGeometry.setRelativeGeometry(new GeometryProperty<>(geometry));
-                            } else {
-                                isValid = false;
-                            }
-                        }
+                                "ID_" + UUID.nameUUIDFromBytes(String.valueOf(id).getBytes()));
                     }
                 }
             }
-
-            if (!isValid) {
-                return null;
-            }
-
-            // referencePoint
-            if (referencePoint != null) {
-                implicitGeometry.setReferencePoint(gmlConverter.getPointProperty(referencePoint, false));
-            }
-
-            // transformationMatrix
-            if (transformationMatrix != null) {
-                List<Double> values = valueSplitter.splitDoubleList(transformationMatrix);
-                if (values.size() >= 16) {
-                    Matrix matrix = new Matrix(4, 4);
-                    matrix.setMatrix(values.subList(0, 16));
-
-                    if (affineTransformation) {
-                        matrix = exporter.getAffineTransformer().transformImplicitGeometryTransformationMatrix(matrix);
-                    }
-
-                    implicitGeometry.setTransformationMatrix(new TransformationMatrix4x4(matrix));
-                }
-            }
-
-            return implicitGeometry;
         }
+
+        return prototype;
     }
 
     @Override
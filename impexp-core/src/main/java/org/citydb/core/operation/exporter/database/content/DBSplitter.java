@@ -36,6 +36,7 @@ import org.citydb.config.project.exporter.GeneralOptions;
 import org.citydb.config.project.exporter.TileTokenValue;
 import org.citydb.config.project.global.CacheMode;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.core.database.adapter.FeatureStatistics;
 import org.citydb.core.database.connection.DatabaseConnectionPool;
 import org.citydb.core.database.schema.mapping.AbstractObjectType;
 import org.citydb.core.database.schema.mapping.FeatureType;
@@ -92,6 +93,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 public class DBSplitter {
     private final Logger log = Logger.getInstance();
@@ -116,6 +118,8 @@ public class DBSplitter {
     private volatile boolean shouldRun = true;
     private boolean calculateNumberMatched;
     private long sequenceId;
+    private long lastId;
+    private long numberOfRows;
 
     public DBSplitter(FeatureWriter writer,
                       SchemaMapping schemaMapping,
@@ -180,6 +184,14 @@ public class DBSplitter {
         this.calculateNumberMatched = calculateNumberMatched;
     }
 
+    public long getLastId() {
+        return lastId;
+    }
+
+    public long getNumberOfRows() {
+        return numberOfRows;
+    }
+
     public void shutdown() {
         shouldRun = false;
         eventDispatcher.triggerEvent(new StatusDialogProgressBar(true));
@@ -304,6 +316,8 @@ public class DBSplitter {
                 do {
                     long id = rs.getLong(MappingConstants.ID);
                     int objectClassId = rs.getInt(MappingConstants.OBJECTCLASS_ID);
+                    lastId = Math.max(lastId, id);
+                    numberOfRows++;
 
                     AbstractObjectType<?> objectType = schemaMapping.getAbstractObjectType(objectClassId);
                     if (objectType == null) {
@@ -532,6 +546,15 @@ public class DBSplitter {
         hitsQuery.unsetCounterFilter();
         hitsQuery.unsetSorting();
 
+        // use the feature statistics if the query only filters by feature type
+        Set<Integer> objectClassIds = FeatureStatistics.getObjectClassIds(hitsQuery, schemaMapping);
+        if (objectClassIds != null) {
+            FeatureStatistics statistics = databaseAdapter.getUtil().getFeatureStatistics();
+            if (statistics != null) {
+                return statistics.getCount(objectClassIds);
+            }
+        }
+
         return getNumberMatched(builder.buildQuery(hitsQuery), connection);
     }
 
@@ -30,6 +30,7 @@ package org.citydb.core.operation.exporter.database.content;
 import org.citydb.config.geometry.GeometryObject;
 import org.citydb.core.database.schema.TableEnum;
 import org.citydb.core.database.schema.XlinkType;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 import org.citydb.core.operation.exporter.CityGMLExportException;
 import org.citydb.core.operation.exporter.util.DefaultGeometrySetterHandler;
 import org.citydb.core.operation.exporter.util.GeometrySetter;
@@ -64,6 +65,7 @@ public class DBSurfaceGeometry implements DBExporter, SurfaceGeometryExporter {
     private final boolean exportAppearance;
     private final boolean useXLink;
     private final boolean affineTransformation;
+    private final CoordinateTransformer coordinateTransformer;
 
     public DBSurfaceGeometry(Connection connection, CityGMLExportManager exporter) throws SQLException {
         this.exporter = exporter;
@@ -73,6 +75,7 @@ public class DBSurfaceGeometry implements DBExporter, SurfaceGeometryExporter {
         exportAppearance = exporter.getInternalConfig().getGlobalAppearanceMode() != InternalConfig.GlobalAppearanceMode.SKIP;
         useXLink = exporter.getInternalConfig().isExportGeometryReferences();
         affineTransformation = exporter.getExportConfig().getAffineTransformation().isEnabled();
+        coordinateTransformer = exporter.getCoordinateTransformer();
         String schema = exporter.getDatabaseAdapter().getConnectionDetails().getSchema();
 
         Table table = new Table(TableEnum.SURFACE_GEOMETRY.getName(), schema);
@@ -92,7 +95,7 @@ public class DBSurfaceGeometry implements DBExporter, SurfaceGeometryExporter {
 
     @Override
     public void addBatch(long id, GeometrySetterHandler handler) throws CityGMLExportException, SQLException {
-        batches.add(new SurfaceGeometryContext(id, handler, false));
+        batches.add(new SurfaceGeometryContext(id, handler, false, exporter.getLocalGeometryScope()));
         if (batches.size() == batchSize)
             executeBatch();
     }
@@ -150,7 +153,7 @@ public class DBSurfaceGeometry implements DBExporter, SurfaceGeometryExporter {
     protected void addImplicitGeometryBatch(long id, ImplicitGeometry geometry) throws CityGMLExportException, SQLException {
         batches.add(new SurfaceGeometryContext(id,
                 new DefaultGeometrySetterHandler((GeometrySetter.AbstractGeometry) geometry::setRelativeGeometry),
-                true));
+                true, exporter.getLocalGeometryScope()));
 
         if (batches.size() == batchSize)
             executeBatch();
@@ -160,9 +163,11 @@ public class DBSurfaceGeometry implements DBExporter, SurfaceGeometryExporter {
         if (batches.isEmpty())
             return;
 
+        long localGeometryScope = exporter.getLocalGeometryScope();
         try {
             if (batches.size() == 1) {
                 SurfaceGeometryContext context = batches.get(0);
+                exporter.setLocalGeometryScope(context.scope);
                 SurfaceGeometry geometry = doExport(context.id, context.isImplicit);
                 if (geometry != null)
                     context.handler.handle(geometry);
@@ -186,6 +191,7 @@ public class DBSurfaceGeometry implements DBExporter, SurfaceGeometryExporter {
                 for (SurfaceGeometryContext batch : batches) {
                     GeometryTree geomTree = geomTrees.get(batch.id);
                     if (geomTree != null && geomTree.root != 0) {
+                        exporter.setLocalGeometryScope(batch.scope);
                         SurfaceGeometry geometry = rebuildGeometry(geomTree.getNode(geomTree.root), false, false, geomTree.isImplicit);
                         if (geometry != null)
                             batch.handler.handle(geometry);
@@ -195,6 +201,7 @@ public class DBSurfaceGeometry implements DBExporter, SurfaceGeometryExporter {
             }
         } finally {
             batches.clear();
+            exporter.setLocalGeometryScope(localGeometryScope);
         }
     }
 
@@ -247,6 +254,13 @@ public class DBSurfaceGeometry implements DBExporter, SurfaceGeometryExporter {
                         ": " + e.getMessage());
                 return;
             }
+
+            if (coordinateTransformer != null && geometry != null && !geomTree.isImplicit
+                    && !coordinateTransformer.transform(geometry)) {
+                exporter.logOrThrowErrorMessage("Skipping " + exporter.getGeometrySignature(GMLClass.POLYGON, id) +
+                        ": Failed to transform coordinates to the target reference system.");
+                return;
+            }
         }
 
         geomNode.geometry = geometry;
@@ -645,11 +659,13 @@ public class DBSurfaceGeometry implements DBExporter, SurfaceGeometryExporter {
         final long id;
         final GeometrySetterHandler handler;
         final boolean isImplicit;
+        final long scope;
 
-        SurfaceGeometryContext(long id, GeometrySetterHandler handler, boolean isImplicit) {
+        SurfaceGeometryContext(long id, GeometrySetterHandler handler, boolean isImplicit, long scope) {
             this.id = id;
             this.handler = handler;
             this.isImplicit = isImplicit;
+            this.scope = scope;
         }
     }
 }
@@ -98,7 +98,8 @@ public class DBTunnel extends AbstractFeatureExporter<AbstractTunnel> {
         String schema = exporter.getDatabaseAdapter().getConnectionDetails().getSchema();
 
         table = new Table(TableEnum.TUNNEL.getName(), schema);
-        select = new Select().addProjection(table.getColumn("id"), table.getColumn("tunnel_parent_id"));
+        select = new Select().addProjection(table.getColumn("id"), table.getColumn("tunnel_parent_id"),
+                table.getColumn("tunnel_root_id"));
         if (hasObjectClassIdColumn) select.addProjection(table.getColumn("objectclass_id"));
         if (projectionFilter.containsProperty("class", tunnelModule))
             select.addProjection(table.getColumn("class"), table.getColumn("class_codespace"));
@@ -196,337 +197,370 @@ public class DBTunnel extends AbstractFeatureExporter<AbstractTunnel> {
         return !doExport(id, object, featureType, getOrCreateStatement(column)).isEmpty();
     }
 
+    @Override
+    protected Map<Long, AbstractTunnel> doExport(Map<Long, AbstractTunnel> roots, Map<Long, FeatureType> rootTypes) throws CityGMLExportException, SQLException {
+        Map<String, List<Long>> ids = new HashMap<>();
+        for (Long id : roots.keySet()) {
+            ProjectionFilter projectionFilter = exporter.getProjectionFilter(rootTypes.get(id));
+            String column = projectionFilter.containsProperty("consistsOfTunnelPart", tunnelModule) ? "tunnel_root_id" : "id";
+            ids.computeIfAbsent(column, v -> new ArrayList<>()).add(id);
+        }
+
+        Map<Long, AbstractTunnel> result = new HashMap<>();
+        for (Map.Entry<String, List<Long>> entry : ids.entrySet())
+            result.putAll(doBulkExport(entry.getKey(), entry.getValue(), roots, rootTypes));
+
+        return result;
+    }
+
     @Override
     protected Collection<AbstractTunnel> doExport(long id, AbstractTunnel root, FeatureType rootType, PreparedStatement ps) throws CityGMLExportException, SQLException {
         ps.setLong(1, id);
 
         try (ResultSet rs = ps.executeQuery()) {
-            long currentTunnelId = 0;
-            AbstractTunnel tunnel = null;
-            ProjectionFilter projectionFilter = null;
-            Map<Long, AbstractTunnel> tunnels = new HashMap<>();
-            Map<Long, GeometrySetterHandler> geometries = new LinkedHashMap<>();
-            Map<Long, List<String>> adeHookTables = tunnelADEHookTables != null ? new HashMap<>() : null;
-
-            long currentBoundarySurfaceId = 0;
-            AbstractBoundarySurface boundarySurface = null;
-            ProjectionFilter boundarySurfaceProjectionFilter = null;
-            Map<Long, AbstractBoundarySurface> boundarySurfaces = new HashMap<>();
-
-            long currentOpeningId = 0;
-            OpeningProperty openingProperty = null;
-            Map<String, OpeningProperty> openingProperties = new HashMap<>();
-
-            Set<Long> installations = new HashSet<>();
-            Set<Long> hollowSpaces = new HashSet<>();
-
-            while (rs.next()) {
-                long tunnelId = rs.getLong("id");
-
-                if (tunnelId != currentTunnelId || tunnel == null) {
-                    currentTunnelId = tunnelId;
-
-                    tunnel = tunnels.get(tunnelId);
-                    if (tunnel == null) {
-                        FeatureType featureType;
-                        if (tunnelId == id && root != null) {
-                            tunnel = root;
-                            featureType = rootType;
-                        } else {
-                            if (hasObjectClassIdColumn) {
-                                // create tunnel object
-                                int objectClassId = rs.getInt("objectclass_id");
-                                tunnel = exporter.createObject(objectClassId, AbstractTunnel.class);
-                                if (tunnel == null) {
-                                    exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, tunnelId) + " as tunnel object.");
-                                    continue;
-                                }
+            return root != null ?
+                    doExport(rs, Collections.singletonMap(id, root), Collections.singletonMap(id, rootType)).values() :
+                    doExport(rs, Collections.emptyMap(), Collections.emptyMap()).values();
+        }
+    }
 
-                                featureType = exporter.getFeatureType(objectClassId);
-                            } else {
-                                tunnel = new TunnelPart();
-                                featureType = exporter.getFeatureType(tunnel);
+    @Override
+    protected Map<Long, AbstractTunnel> doExport(ResultSet rs, Map<Long, AbstractTunnel> roots, Map<Long, FeatureType> rootTypes) throws CityGMLExportException, SQLException {
+        long localGeometryScope = exporter.getLocalGeometryScope();
+        long currentTunnelId = 0;
+        AbstractTunnel tunnel = null;
+        ProjectionFilter projectionFilter = null;
+        Map<Long, AbstractTunnel> tunnels = new HashMap<>();
+        Map<Long, Map<Long, GeometrySetterHandler>> geometries = new LinkedHashMap<>();
+        Map<Long, List<String>> adeHookTables = tunnelADEHookTables != null ? new HashMap<>() : null;
+
+        long currentBoundarySurfaceId = 0;
+        AbstractBoundarySurface boundarySurface = null;
+        ProjectionFilter boundarySurfaceProjectionFilter = null;
+        Map<Long, AbstractBoundarySurface> boundarySurfaces = new HashMap<>();
+
+        long currentOpeningId = 0;
+        OpeningProperty openingProperty = null;
+        Map<String, OpeningProperty> openingProperties = new HashMap<>();
+
+        Map<Long, Set<Long>> installations = new LinkedHashMap<>();
+        Map<Long, Set<Long>> hollowSpaces = new LinkedHashMap<>();
+
+        while (rs.next()) {
+            long tunnelId = rs.getLong("id");
+
+            if (tunnelId != currentTunnelId || tunnel == null) {
+                currentTunnelId = tunnelId;
+
+                // resolve local geometry xlinks per top-level feature
+                if (!roots.isEmpty())
+                    exporter.setLocalGeometryScope(rs.getLong("tunnel_root_id"));
+
+                tunnel = tunnels.get(tunnelId);
+                if (tunnel == null) {
+                    FeatureType featureType;
+                    tunnel = roots.get(tunnelId);
+                    if (tunnel != null) {
+                        featureType = rootTypes.get(tunnelId);
+                    } else {
+                        if (hasObjectClassIdColumn) {
+                            // create tunnel object
+                            int objectClassId = rs.getInt("objectclass_id");
+                            tunnel = exporter.createObject(objectClassId, AbstractTunnel.class);
+                            if (tunnel == null) {
+                                exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, tunnelId) + " as tunnel object.");
+                                continue;
                             }
+
+                            featureType = exporter.getFeatureType(objectClassId);
+                        } else {
+                            tunnel = new TunnelPart();
+                            featureType = exporter.getFeatureType(tunnel);
                         }
+                    }
 
-                        // get projection filter
-                        projectionFilter = exporter.getProjectionFilter(featureType);
+                    // get projection filter
+                    projectionFilter = exporter.getProjectionFilter(featureType);
 
-                        // export city object information
-                        cityObjectExporter.addBatch(tunnel, tunnelId, featureType, projectionFilter);
+                    // export city object information
+                    cityObjectExporter.addBatch(tunnel, tunnelId, featureType, projectionFilter);
+                    Map<Long, GeometrySetterHandler> tunnelGeometries = geometries.computeIfAbsent(exporter.getLocalGeometryScope(), v -> new LinkedHashMap<>());
 
-                        if (projectionFilter.containsProperty("class", tunnelModule)) {
-                            String clazz = rs.getString("class");
-                            if (!rs.wasNull()) {
-                                Code code = new Code(clazz);
-                                code.setCodeSpace(rs.getString("class_codespace"));
-                                tunnel.setClazz(code);
-                            }
+                    if (projectionFilter.containsProperty("class", tunnelModule)) {
+                        String clazz = rs.getString("class");
+                        if (!rs.wasNull()) {
+                            Code code = new Code(clazz);
+                            code.setCodeSpace(rs.getString("class_codespace"));
+                            tunnel.setClazz(code);
                         }
+                    }
 
-                        if (projectionFilter.containsProperty("function", tunnelModule)) {
-                            for (SplitValue splitValue : valueSplitter.split(rs.getString("function"), rs.getString("function_codespace"))) {
-                                Code function = new Code(splitValue.result(0));
-                                function.setCodeSpace(splitValue.result(1));
-                                tunnel.addFunction(function);
-                            }
+                    if (projectionFilter.containsProperty("function", tunnelModule)) {
+                        for (SplitValue splitValue : valueSplitter.split(rs.getString("function"), rs.getString("function_codespace"))) {
+                            Code function = new Code(splitValue.result(0));
+                            function.setCodeSpace(splitValue.result(1));
+                            tunnel.addFunction(function);
                         }
+                    }
 
-                        if (projectionFilter.containsProperty("usage", tunnelModule)) {
-                            for (SplitValue splitValue : valueSplitter.split(rs.getString("usage"), rs.getString("usage_codespace"))) {
-                                Code usage = new Code(splitValue.result(0));
-                                usage.setCodeSpace(splitValue.result(1));
-                                tunnel.addUsage(usage);
-                            }
+                    if (projectionFilter.containsProperty("usage", tunnelModule)) {
+                        for (SplitValue splitValue : valueSplitter.split(rs.getString("usage"), rs.getString("usage_codespace"))) {
+                            Code usage = new Code(splitValue.result(0));
+                            usage.setCodeSpace(splitValue.result(1));
+                            tunnel.addUsage(usage);
                         }
+                    }
 
-                        if (projectionFilter.containsProperty("yearOfConstruction", tunnelModule))
-                            tunnel.setYearOfConstruction(rs.getObject("year_of_construction", LocalDate.class));
+                    if (projectionFilter.containsProperty("yearOfConstruction", tunnelModule))
+                        tunnel.setYearOfConstruction(rs.getObject("year_of_construction", LocalDate.class));
 
-                        if (projectionFilter.containsProperty("yearOfDemolition", tunnelModule))
-                            tunnel.setYearOfDemolition(rs.getObject("year_of_demolition", LocalDate.class));
+                    if (projectionFilter.containsProperty("yearOfDemolition", tunnelModule))
+                        tunnel.setYearOfDemolition(rs.getObject("year_of_demolition", LocalDate.class));
 
-                        // tun:lodXTerrainIntersectionCurve
-                        LodIterator lodIterator = lodFilter.iterator(1, 4);
-                        while (lodIterator.hasNext()) {
-                            int lod = lodIterator.next();
+                    // tun:lodXTerrainIntersectionCurve
+                    LodIterator lodIterator = lodFilter.iterator(1, 4);
+                    while (lodIterator.hasNext()) {
+                        int lod = lodIterator.next();
 
-                            if (!projectionFilter.containsProperty("lod" + lod + "TerrainIntersection", tunnelModule))
-                                continue;
+                        if (!projectionFilter.containsProperty("lod" + lod + "TerrainIntersection", tunnelModule))
+                            continue;
 
-                            Object terrainIntersectionObj = rs.getObject("lod" + lod + "_terrain_intersection");
-                            if (rs.wasNull())
-                                continue;
+                        Object terrainIntersectionObj = rs.getObject("lod" + lod + "_terrain_intersection");
+                        if (rs.wasNull())
+                            continue;
 
-                            GeometryObject terrainIntersection = exporter.getDatabaseAdapter().getGeometryConverter().getMultiCurve(terrainIntersectionObj);
-                            if (terrainIntersection != null) {
-                                MultiCurveProperty multiCurveProperty = gmlConverter.getMultiCurveProperty(terrainIntersection, false);
-                                if (multiCurveProperty != null) {
-                                    switch (lod) {
-                                        case 1:
-                                            tunnel.setLod1TerrainIntersection(multiCurveProperty);
-                                            break;
-                                        case 2:
-                                            tunnel.setLod2TerrainIntersection(multiCurveProperty);
-                                            break;
-                                        case 3:
-                                            tunnel.setLod3TerrainIntersection(multiCurveProperty);
-                                            break;
-                                        case 4:
-                                            tunnel.setLod4TerrainIntersection(multiCurveProperty);
-                                            break;
-                                    }
+                        GeometryObject terrainIntersection = exporter.getDatabaseAdapter().getGeometryConverter().getMultiCurve(terrainIntersectionObj);
+                        if (terrainIntersection != null) {
+                            MultiCurveProperty multiCurveProperty = gmlConverter.getMultiCurveProperty(terrainIntersection, false);
+                            if (multiCurveProperty != null) {
+                                switch (lod) {
+                                    case 1:
+                                        tunnel.setLod1TerrainIntersection(multiCurveProperty);
+                                        break;
+                                    case 2:
+                                        tunnel.setLod2TerrainIntersection(multiCurveProperty);
+                                        break;
+                                    case 3:
+                                        tunnel.setLod3TerrainIntersection(multiCurveProperty);
+                                        break;
+                                    case 4:
+                                        tunnel.setLod4TerrainIntersection(multiCurveProperty);
+                                        break;
                                 }
                             }
                         }
+                    }
 
-                        // tun:lodXMultiCurve
-                        lodIterator = lodFilter.iterator(2, 4);
-                        while (lodIterator.hasNext()) {
-                            int lod = lodIterator.next();
+                    // tun:lodXMultiCurve
+                    lodIterator = lodFilter.iterator(2, 4);
+                    while (lodIterator.hasNext()) {
+                        int lod = lodIterator.next();
 
-                            if (!projectionFilter.containsProperty("lod" + lod + "MultiCurve", tunnelModule))
-                                continue;
+                        if (!projectionFilter.containsProperty("lod" + lod + "MultiCurve", tunnelModule))
+                            continue;
 
-                            Object multiCurveObj = rs.getObject("lod" + lod + "_multi_curve");
-                            if (rs.wasNull())
-                                continue;
+                        Object multiCurveObj = rs.getObject("lod" + lod + "_multi_curve");
+                        if (rs.wasNull())
+                            continue;
 
-                            GeometryObject multiCurve = exporter.getDatabaseAdapter().getGeometryConverter().getMultiCurve(multiCurveObj);
-                            if (multiCurve != null) {
-                                MultiCurveProperty multiCurveProperty = gmlConverter.getMultiCurveProperty(multiCurve, false);
-                                if (multiCurveProperty != null) {
-                                    switch (lod) {
-                                        case 2:
-                                            tunnel.setLod2MultiCurve(multiCurveProperty);
-                                            break;
-                                        case 3:
-                                            tunnel.setLod3MultiCurve(multiCurveProperty);
-                                            break;
-                                        case 4:
-                                            tunnel.setLod4MultiCurve(multiCurveProperty);
-                                            break;
-                                    }
+                        GeometryObject multiCurve = exporter.getDatabaseAdapter().getGeometryConverter().getMultiCurve(multiCurveObj);
+                        if (multiCurve != null) {
+                            MultiCurveProperty multiCurveProperty = gmlConverter.getMultiCurveProperty(multiCurve, false);
+                            if (multiCurveProperty != null) {
+                                switch (lod) {
+                                    case 2:
+                                        tunnel.setLod2MultiCurve(multiCurveProperty);
+                                        break;
+                                    case 3:
+                                        tunnel.setLod3MultiCurve(multiCurveProperty);
+                                        break;
+                                    case 4:
+                                        tunnel.setLod4MultiCurve(multiCurveProperty);
+                                        break;
                                 }
                             }
                         }
+                    }
 
-                        // tun:lodXSolid
-                        lodIterator = lodFilter.iterator(1, 4);
-                        while (lodIterator.hasNext()) {
-                            int lod = lodIterator.next();
+                    // tun:lodXSolid
+                    lodIterator = lodFilter.iterator(1, 4);
+                    while (lodIterator.hasNext()) {
+                        int lod = lodIterator.next();
 
-                            if (!projectionFilter.containsProperty("lod" + lod + "Solid", tunnelModule))
-                                continue;
+                        if (!projectionFilter.containsProperty("lod" + lod + "Solid", tunnelModule))
+                            continue;
 
-                            long geometryId = rs.getLong("lod" + lod + "_solid_id");
-                            if (rs.wasNull())
-                                continue;
+                        long geometryId = rs.getLong("lod" + lod + "_solid_id");
+                        if (rs.wasNull())
+                            continue;
 
-                            switch (lod) {
-                                case 1:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod1Solid));
-                                    break;
-                                case 2:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod2Solid));
-                                    break;
-                                case 3:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod3Solid));
-                                    break;
-                                case 4:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod4Solid));
-                                    break;
-                            }
+                        switch (lod) {
+                            case 1:
+                                tunnelGeometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod1Solid));
+                                break;
+                            case 2:
+                                tunnelGeometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod2Solid));
+                                break;
+                            case 3:
+                                tunnelGeometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod3Solid));
+                                break;
+                            case 4:
+                                tunnelGeometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod4Solid));
+                                break;
                         }
+                    }
 
-                        // tun:lodXMultiSurface
-                        lodIterator.reset();
-                        while (lodIterator.hasNext()) {
-                            int lod = lodIterator.next();
+                    // tun:lodXMultiSurface
+                    lodIterator.reset();
+                    while (lodIterator.hasNext()) {
+                        int lod = lodIterator.next();
 
-                            if (!projectionFilter.containsProperty("lod" + lod + "MultiSurface", tunnelModule))
-                                continue;
+                        if (!projectionFilter.containsProperty("lod" + lod + "MultiSurface", tunnelModule))
+                            continue;
 
-                            long geometryId = rs.getLong("lod" + lod + "_multi_surface_id");
-                            if (rs.wasNull())
-                                continue;
+                        long geometryId = rs.getLong("lod" + lod + "_multi_surface_id");
+                        if (rs.wasNull())
+                            continue;
 
-                            switch (lod) {
-                                case 1:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod1MultiSurface));
-                                    break;
-                                case 2:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod2MultiSurface));
-                                    break;
-                                case 3:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod3MultiSurface));
-                                    break;
-                                case 4:
-                                    geometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod4MultiSurface));
-                                    break;
-                            }
+                        switch (lod) {
+                            case 1:
+                                tunnelGeometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod1MultiSurface));
+                                break;
+                            case 2:
+                                tunnelGeometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod2MultiSurface));
+                                break;
+                            case 3:
+                                tunnelGeometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod3MultiSurface));
+                                break;
+                            case 4:
+                                tunnelGeometries.put(geometryId, new DefaultGeometrySetterHandler(tunnel::setLod4MultiSurface));
+                                break;
                         }
+                    }
 
-                        // tun:outerTunnelInstallation and tun:interiorTunnelInstallation
-                        if (lodFilter.containsLodGreaterThanOrEuqalTo(2)
-                                && (projectionFilter.containsProperty("outerTunnelInstallation", tunnelModule)
-                                || projectionFilter.containsProperty("interiorTunnelInstallation", tunnelModule))) {
-                            if (rs.getLong("inid") != 0) {
-                                installations.add(tunnelId);
-                            }
+                    // tun:outerTunnelInstallation and tun:interiorTunnelInstallation
+                    if (lodFilter.containsLodGreaterThanOrEuqalTo(2)
+                            && (projectionFilter.containsProperty("outerTunnelInstallation", tunnelModule)
+                            || projectionFilter.containsProperty("interiorTunnelInstallation", tunnelModule))) {
+                        if (rs.getLong("inid") != 0) {
+                            installations.computeIfAbsent(exporter.getLocalGeometryScope(), v -> new HashSet<>()).add(tunnelId);
                         }
+                    }
 
-                        // tun:interiorHollowSpace
-                        if (lodFilter.isEnabled(4)
-                                && projectionFilter.containsProperty("interiorHollowSpace", tunnelModule)) {
-                            if (rs.getLong("hsid") != 0) {
-                                hollowSpaces.add(tunnelId);
-                            }
+                    // tun:interiorHollowSpace
+                    if (lodFilter.isEnabled(4)
+                            && projectionFilter.containsProperty("interiorHollowSpace", tunnelModule)) {
+                        if (rs.getLong("hsid") != 0) {
+                            hollowSpaces.computeIfAbsent(exporter.getLocalGeometryScope(), v -> new HashSet<>()).add(tunnelId);
                         }
+                    }
 
-                        // get tables of ADE hook properties
-                        if (tunnelADEHookTables != null) {
-                            List<String> tables = retrieveADEHookTables(this.tunnelADEHookTables, rs);
-                            if (tables != null) {
-                                adeHookTables.put(tunnelId, tables);
-                                tunnel.setLocalProperty("type", featureType);
-                            }
+                    // get tables of ADE hook properties
+                    if (tunnelADEHookTables != null) {
+                        List<String> tables = retrieveADEHookTables(this.tunnelADEHookTables, rs);
+                        if (tables != null) {
+                            adeHookTables.put(tunnelId, tables);
+                            tunnel.setLocalProperty("type", featureType);
                         }
+                    }
 
-                        tunnel.setLocalProperty("parent", rs.getLong("tunnel_parent_id"));
-                        tunnel.setLocalProperty("projection", projectionFilter);
-                        tunnels.put(tunnelId, tunnel);
-                    } else
-                        projectionFilter = (ProjectionFilter) tunnel.getLocalProperty("projection");
-                }
-
-                if (!lodFilter.containsLodGreaterThanOrEuqalTo(2)
-                        || !projectionFilter.containsProperty("boundedBy", tunnelModule))
-                    continue;
-
-                // tun:boundedBy
-                long boundarySurfaceId = rs.getLong("tsid");
-                if (rs.wasNull())
-                    continue;
-
-                if (boundarySurfaceId != currentBoundarySurfaceId || boundarySurface == null) {
-                    currentBoundarySurfaceId = boundarySurfaceId;
-                    currentOpeningId = 0;
-
-                    boundarySurface = boundarySurfaces.get(boundarySurfaceId);
-                    if (boundarySurface == null) {
-                        int objectClassId = rs.getInt("tsobjectclass_id");
-                        FeatureType featureType = exporter.getFeatureType(objectClassId);
+                    tunnel.setLocalProperty("parent", rs.getLong("tunnel_parent_id"));
+                    tunnel.setLocalProperty("scope", exporter.getLocalGeometryScope());
+                    tunnel.setLocalProperty("projection", projectionFilter);
+                    tunnels.put(tunnelId, tunnel);
+                } else
+                    projectionFilter = (ProjectionFilter) tunnel.getLocalProperty("projection");
+            }
 
-                        boundarySurface = thematicSurfaceExporter.doExport(boundarySurfaceId, featureType, "ts", surfaceADEHookTables, rs);
-                        if (boundarySurface == null) {
-                            exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, boundarySurfaceId) + " as boundary surface object.");
-                            continue;
-                        }
+            if (!lodFilter.containsLodGreaterThanOrEuqalTo(2)
+                    || !projectionFilter.containsProperty("boundedBy", tunnelModule))
+                continue;
 
-                        // get projection filter
-                        boundarySurfaceProjectionFilter = exporter.getProjectionFilter(featureType);
-                        boundarySurface.setLocalProperty("projection", boundarySurfaceProjectionFilter);
+            // tun:boundedBy
+            long boundarySurfaceId = rs.getLong("tsid");
+            if (rs.wasNull())
+                continue;
 
-                        tunnel.getBoundedBySurface().add(new BoundarySurfaceProperty(boundarySurface));
-                        boundarySurfaces.put(boundarySurfaceId, boundarySurface);
-                    } else
-                        boundarySurfaceProjectionFilter = (ProjectionFilter) boundarySurface.getLocalProperty("projection");
-                }
+            if (boundarySurfaceId != currentBoundarySurfaceId || boundarySurface == null) {
+                currentBoundarySurfaceId = boundarySurfaceId;
+                currentOpeningId = 0;
 
-                // continue if openings shall not be exported
-                if (!lodFilter.containsLodGreaterThanOrEuqalTo(3)
-                        || !boundarySurfaceProjectionFilter.containsProperty("opening", tunnelModule))
-                    continue;
+                boundarySurface = boundarySurfaces.get(boundarySurfaceId);
+                if (boundarySurface == null) {
+                    int objectClassId = rs.getInt("tsobjectclass_id");
+                    FeatureType featureType = exporter.getFeatureType(objectClassId);
 
-                long openingId = rs.getLong("opid");
-                if (rs.wasNull())
-                    continue;
+                    boundarySurface = thematicSurfaceExporter.doExport(boundarySurfaceId, featureType, "ts", surfaceADEHookTables, rs);
+                    if (boundarySurface == null) {
+                        exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, boundarySurfaceId) + " as boundary surface object.");
+                        continue;
+                    }
 
-                if (openingId != currentOpeningId || openingProperty == null) {
-                    currentOpeningId = openingId;
-                    String key = currentBoundarySurfaceId + "_" + openingId;
+                    // get projection filter
+                    boundarySurfaceProjectionFilter = exporter.getProjectionFilter(featureType);
+                    boundarySurface.setLocalProperty("projection", boundarySurfaceProjectionFilter);
 
-                    openingProperty = openingProperties.get(key);
-                    if (openingProperty == null) {
-                        int objectClassId = rs.getInt("opobjectclass_id");
+                    tunnel.getBoundedBySurface().add(new BoundarySurfaceProperty(boundarySurface));
+                    boundarySurfaces.put(boundarySurfaceId, boundarySurface);
+                } else
+                    boundarySurfaceProjectionFilter = (ProjectionFilter) boundarySurface.getLocalProperty("projection");
+            }
 
-                        // check whether we need an XLink
-                        String gmlId = rs.getString("opgmlid");
-                        boolean generateNewGmlId = false;
-                        if (!rs.wasNull()) {
-                            if (exporter.lookupAndPutObjectId(gmlId, openingId, objectClassId)) {
-                                if (useXLink) {
-                                    openingProperty = new OpeningProperty();
-                                    openingProperty.setHref("#" + gmlId);
-                                    boundarySurface.addOpening(openingProperty);
-                                    openingProperties.put(key, openingProperty);
-                                    continue;
-                                } else
-                                    generateNewGmlId = true;
-                            }
+            // continue if openings shall not be exported
+            if (!lodFilter.containsLodGreaterThanOrEuqalTo(3)
+                    || !boundarySurfaceProjectionFilter.containsProperty("opening", tunnelModule))
+                continue;
+
+            long openingId = rs.getLong("opid");
+            if (rs.wasNull())
+                continue;
+
+            if (openingId != currentOpeningId || openingProperty == null) {
+                currentOpeningId = openingId;
+                String key = currentBoundarySurfaceId + "_" + openingId;
+
+                openingProperty = openingProperties.get(key);
+                if (openingProperty == null) {
+                    int objectClassId = rs.getInt("opobjectclass_id");
+
+                    // check whether we need an XLink
+                    String gmlId = rs.getString("opgmlid");
+                    boolean generateNewGmlId = false;
+                    if (!rs.wasNull()) {
+                        if (exporter.lookupAndPutObjectId(gmlId, openingId, objectClassId)) {
+                            if (useXLink) {
+                                openingProperty = new OpeningProperty();
+                                openingProperty.setHref("#" + gmlId);
+                                boundarySurface.addOpening(openingProperty);
+                                openingProperties.put(key, openingProperty);
+                                continue;
+                            } else
+                                generateNewGmlId = true;
                         }
+                    }
 
-                        // create new opening object
-                        FeatureType featureType = exporter.getFeatureType(objectClassId);
-                        AbstractOpening opening = openingExporter.doExport(openingId, featureType, "op", openingADEHookTables, rs);
-                        if (opening == null) {
-                            exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, openingId) + " as tunnel opening object.");
-                            continue;
-                        }
+                    // create new opening object
+                    FeatureType featureType = exporter.getFeatureType(objectClassId);
+                    AbstractOpening opening = openingExporter.doExport(openingId, featureType, "op", openingADEHookTables, rs);
+                    if (opening == null) {
+                        exporter.logOrThrowErrorMessage("Failed to instantiate " + exporter.getObjectSignature(objectClassId, openingId) + " as tunnel opening object.");
+                        continue;
+                    }
 
-                        if (generateNewGmlId)
-                            opening.setId(exporter.generateFeatureGmlId(opening, gmlId));
+                    if (generateNewGmlId)
+                        opening.setId(exporter.generateFeatureGmlId(opening, gmlId));
 
-                        openingProperty = new OpeningProperty(opening);
-                        boundarySurface.getOpening().add(openingProperty);
-                        openingProperties.put(key, openingProperty);
-                    }
+                    openingProperty = new OpeningProperty(opening);
+                    boundarySurface.getOpening().add(openingProperty);
+                    openingProperties.put(key, openingProperty);
                 }
             }
+        }
 
-            // export installations
-            for (Map.Entry<Long, Collection<AbstractCityObject>> entry : tunnelInstallationExporter.doExportForTunnels(installations).entrySet()) {
+        // export installations
+        for (Map.Entry<Long, Set<Long>> scope : installations.entrySet()) {
+            exporter.setLocalGeometryScope(scope.getKey());
+            for (Map.Entry<Long, Collection<AbstractCityObject>> entry : tunnelInstallationExporter.doExportForTunnels(scope.getValue()).entrySet()) {
                 tunnel = tunnels.get(entry.getKey());
                 if (tunnel != null) {
                     for (AbstractCityObject installation : entry.getValue()) {
@@ -541,9 +575,12 @@ public class DBTunnel extends AbstractFeatureExporter<AbstractTunnel> {
                     }
                 }
             }
+        }
 
-            // export hollow spaces
-            for (Map.Entry<Long, Collection<HollowSpace>> entry : hollowSpaceExporter.doExport(hollowSpaces).entrySet()) {
+        // export hollow spaces
+        for (Map.Entry<Long, Set<Long>> scope : hollowSpaces.entrySet()) {
+            exporter.setLocalGeometryScope(scope.getKey());
+            for (Map.Entry<Long, Collection<HollowSpace>> entry : hollowSpaceExporter.doExport(scope.getValue()).entrySet()) {
                 tunnel = tunnels.get(entry.getKey());
                 if (tunnel != null) {
                     for (HollowSpace hollowSpace : entry.getValue()) {
@@ -551,42 +588,47 @@ public class DBTunnel extends AbstractFeatureExporter<AbstractTunnel> {
                     }
                 }
             }
+        }
 
-            // export postponed geometries
-            for (Map.Entry<Long, GeometrySetterHandler> entry : geometries.entrySet())
+        // export postponed geometries
+        for (Map.Entry<Long, Map<Long, GeometrySetterHandler>> scope : geometries.entrySet()) {
+            exporter.setLocalGeometryScope(scope.getKey());
+            for (Map.Entry<Long, GeometrySetterHandler> entry : scope.getValue().entrySet())
                 geometryExporter.addBatch(entry.getKey(), entry.getValue());
+        }
 
-            List<AbstractTunnel> result = new ArrayList<>();
-            for (Entry<Long, AbstractTunnel> entry : tunnels.entrySet()) {
-                tunnel = entry.getValue();
-                long tunnelId = entry.getKey();
-                long parentId = (Long) tunnel.getLocalProperty("parent");
-
-                // delegate export of generic ADE properties
-                if (adeHookTables != null) {
-                    List<String> tables = adeHookTables.get(tunnelId);
-                    if (tables != null) {
-                        exporter.delegateToADEExporter(tables, tunnel, tunnelId,
-                                (FeatureType) tunnel.getLocalProperty("type"),
-                                (ProjectionFilter) tunnel.getLocalProperty("projection"));
-                    }
+        Map<Long, AbstractTunnel> result = new LinkedHashMap<>();
+        for (Entry<Long, AbstractTunnel> entry : tunnels.entrySet()) {
+            tunnel = entry.getValue();
+            long tunnelId = entry.getKey();
+            long parentId = (Long) tunnel.getLocalProperty("parent");
+
+            // delegate export of generic ADE properties
+            if (adeHookTables != null) {
+                List<String> tables = adeHookTables.get(tunnelId);
+                if (tables != null) {
+                    exporter.setLocalGeometryScope((Long) tunnel.getLocalProperty("scope"));
+                    exporter.delegateToADEExporter(tables, tunnel, tunnelId,
+                            (FeatureType) tunnel.getLocalProperty("type"),
+                            (ProjectionFilter) tunnel.getLocalProperty("projection"));
                 }
-
-                // rebuild tunnel part hierarchy
-                if (parentId == 0) {
-                    result.add(tunnel);
-                } else if (tunnel instanceof TunnelPart) {
-                    AbstractTunnel parent = tunnels.get(parentId);
-                    if (parent != null) {
-                        projectionFilter = (ProjectionFilter) parent.getLocalProperty("projection");
-                        if (projectionFilter.containsProperty("consistsOfTunnelPart", tunnelModule))
-                            parent.addConsistsOfTunnelPart(new TunnelPartProperty((TunnelPart) tunnel));
-                    }
-                } else
-                    exporter.logOrThrowErrorMessage("Expected " + exporter.getObjectSignature(exporter.getFeatureType(tunnel), tunnelId) + " to be a tunnel part.");
             }
 
-            return result;
+            // rebuild tunnel part hierarchy
+            if (parentId == 0) {
+                result.put(tunnelId, tunnel);
+            } else if (tunnel instanceof TunnelPart) {
+                AbstractTunnel parent = tunnels.get(parentId);
+                if (parent != null) {
+                    projectionFilter = (ProjectionFilter) parent.getLocalProperty("projection");
+                    if (projectionFilter.containsProperty("consistsOfTunnelPart", tunnelModule))
+                        parent.addConsistsOfTunnelPart(new TunnelPartProperty((TunnelPart) tunnel));
+                }
+            } else
+                exporter.logOrThrowErrorMessage("Expected " + exporter.getObjectSignature(exporter.getFeatureType(tunnel), tunnelId) + " to be a tunnel part.");
         }
+
+        exporter.setLocalGeometryScope(localGeometryScope);
+        return result;
     }
 }
@@ -31,6 +31,7 @@ import org.citydb.config.Config;
 import org.citydb.config.geometry.GeometryObject;
 import org.citydb.config.geometry.GeometryType;
 import org.citydb.core.operation.common.util.AffineTransformer;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 import org.citygml4j.model.gml.geometry.AbstractGeometry;
 import org.citygml4j.model.gml.geometry.GeometryProperty;
 import org.citygml4j.model.gml.geometry.aggregates.MultiCurve;
@@ -49,13 +50,19 @@ public class GMLConverter {
 
     private AffineTransformer affineTransformer;
     private boolean affineTransformation;
+    private CoordinateTransformer coordinateTransformer;
 
     public GMLConverter(String srsName) {
         this.srsName = srsName;
     }
 
     public GMLConverter(String srsName, AffineTransformer affineTransformer, Config config) {
+        this(srsName, affineTransformer, null, config);
+    }
+
+    public GMLConverter(String srsName, AffineTransformer affineTransformer, CoordinateTransformer coordinateTransformer, Config config) {
         this(srsName);
+        this.coordinateTransformer = coordinateTransformer;
 
         affineTransformation = config.getExportConfig().getAffineTransformation().isEnabled();
         if (affineTransformation) {
@@ -70,7 +77,7 @@ public class GMLConverter {
     public Point getPoint(GeometryObject geomObj, boolean setSrsName) {
         Point point = null;
 
-        if (geomObj != null && geomObj.getGeometryType() == GeometryType.POINT) {
+        if (geomObj != null && geomObj.getGeometryType() == GeometryType.POINT && transform(geomObj)) {
             point = new Point();
             int dimension = geomObj.getDimension();
             double[] coordinates = geomObj.getCoordinates(0);
@@ -122,6 +129,10 @@ public class GMLConverter {
             int dimension = geomObj.getDimension();
 
             if (geomObj.getGeometryType() == GeometryType.MULTI_POINT) {
+                if (!transform(geomObj)) {
+                    return null;
+                }
+
                 multiPoint = new MultiPoint();
 
                 for (int i = 0; i < geomObj.getNumElements(); i++) {
@@ -212,7 +223,7 @@ public class GMLConverter {
     public LineString getLineString(GeometryObject geomObj, boolean setSrsName) {
         LineString lineString = null;
 
-        if (geomObj != null && geomObj.getGeometryType() == GeometryType.LINE_STRING) {
+        if (geomObj != null && geomObj.getGeometryType() == GeometryType.LINE_STRING && transform(geomObj)) {
             lineString = new LineString();
 
             List<Double> value = geomObj.getCoordinatesAsList(0);
@@ -257,6 +268,10 @@ public class GMLConverter {
 
         if (geomObj != null) {
             if (geomObj.getGeometryType() == GeometryType.MULTI_LINE_STRING) {
+                if (!transform(geomObj)) {
+                    return null;
+                }
+
                 multiCurve = new MultiCurve();
 
                 for (int i = 0; i < geomObj.getNumElements(); i++) {
@@ -442,7 +457,7 @@ public class GMLConverter {
     public Polygon getPolygon(GeometryObject geomObj, boolean setSrsName) {
         Polygon polygon = null;
 
-        if (geomObj != null && geomObj.getGeometryType() == GeometryType.POLYGON) {
+        if (geomObj != null && geomObj.getGeometryType() == GeometryType.POLYGON && transform(geomObj)) {
             polygon = new Polygon();
             boolean isExterior = true;
 
@@ -504,4 +519,7 @@ public class GMLConverter {
         return polygonProperty;
     }
 
+    private boolean transform(GeometryObject geomObj) {
+        return coordinateTransformer == null || coordinateTransformer.transform(geomObj);
+    }
 }
@@ -99,4 +99,34 @@ public class AttributeValueSplitter {
         return splitDoubleList(Pattern.compile("\\s+"), doubleList);
     }
 
+    public double[] splitDoubleArray(String doubleList, int size) {
+        if (doubleList == null) {
+            return null;
+        }
+
+        double[] values = new double[size];
+        int length = doubleList.length();
+        int count = 0;
+        int start = -1;
+
+        for (int i = 0; i <= length && count < size; i++) {
+            if (i == length || Character.isWhitespace(doubleList.charAt(i))) {
+                if (start != -1) {
+                    try {
+                        values[count] = Double.parseDouble(doubleList.substring(start, i));
+                        count++;
+                    } catch (NumberFormatException e) {
+                        //
+                    }
+
+                    start = -1;
+                }
+            } else if (start == -1) {
+                start = i;
+            }
+        }
+
+        return count == size ? values : null;
+    }
+
 }
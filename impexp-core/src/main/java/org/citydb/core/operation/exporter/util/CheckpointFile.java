@@ -0,0 +1,162 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.exporter.util;
+
+import org.citydb.core.util.Util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+public class CheckpointFile {
+    private final Path file;
+    private String outputFile;
+    private int rows;
+    private int columns;
+    private int row;
+    private int column;
+    private int part;
+    private long lastId;
+    private boolean tileCompleted;
+
+    private CheckpointFile(Path file) {
+        this.file = file;
+    }
+
+    public static CheckpointFile newInstance(Path file, String outputFile, int rows, int columns) {
+        CheckpointFile checkpoint = new CheckpointFile(file);
+        checkpoint.outputFile = outputFile;
+        checkpoint.rows = rows;
+        checkpoint.columns = columns;
+        checkpoint.row = -1;
+        return checkpoint;
+    }
+
+    public static CheckpointFile load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream stream = Files.newInputStream(file)) {
+            properties.load(stream);
+        }
+
+        try {
+            CheckpointFile checkpoint = new CheckpointFile(file);
+            checkpoint.outputFile = properties.getProperty("outputFile");
+            checkpoint.rows = Integer.parseInt(properties.getProperty("rows"));
+            checkpoint.columns = Integer.parseInt(properties.getProperty("columns"));
+            checkpoint.row = Integer.parseInt(properties.getProperty("row"));
+            checkpoint.column = Integer.parseInt(properties.getProperty("column"));
+            checkpoint.part = Integer.parseInt(properties.getProperty("part"));
+            checkpoint.lastId = Long.parseLong(properties.getProperty("lastId"));
+            checkpoint.tileCompleted = Boolean.parseBoolean(properties.getProperty("tileCompleted"));
+            return checkpoint;
+        } catch (NumberFormatException e) {
+            throw new IOException("The checkpoint file '" + file + "' is corrupt.", e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public boolean isCompatible(String outputFile, int rows, int columns) {
+        return outputFile.equals(this.outputFile) && rows == this.rows && columns == this.columns;
+    }
+
+    public boolean isCompleted(int lastRow, int lastColumn) {
+        return isTileCompleted(lastRow, lastColumn);
+    }
+
+    public boolean isTileCompleted(int row, int column) {
+        long index = (long) row * columns + column;
+        long current = (long) this.row * columns + this.column;
+        return index < current || (index == current && tileCompleted);
+    }
+
+    public int getNextPart(int row, int column) {
+        return isCurrentTile(row, column) ? part + 1 : 1;
+    }
+
+    public long getLastId(int row, int column) {
+        return isCurrentTile(row, column) ? lastId : 0;
+    }
+
+    private boolean isCurrentTile(int row, int column) {
+        return row == this.row && column == this.column && !tileCompleted;
+    }
+
+    public void update(int row, int column, int part, long lastId, boolean tileCompleted) throws IOException {
+        this.row = row;
+        this.column = column;
+        this.part = part;
+        this.lastId = lastId;
+        this.tileCompleted = tileCompleted;
+
+        Properties properties = new Properties();
+        properties.setProperty("outputFile", outputFile);
+        properties.setProperty("rows", String.valueOf(rows));
+        properties.setProperty("columns", String.valueOf(columns));
+        properties.setProperty("row", String.valueOf(row));
+        properties.setProperty("column", String.valueOf(column));
+        properties.setProperty("part", String.valueOf(part));
+        properties.setProperty("lastId", String.valueOf(lastId));
+        properties.setProperty("tileCompleted", String.valueOf(tileCompleted));
+
+        // replace the checkpoint file atomically so that it is never left half-written
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream stream = Files.newOutputStream(tmp)) {
+            properties.store(stream, "3DCityDB export checkpoint");
+        }
+
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public static String getPartFileName(String fileName, int part) {
+        String extension = Util.getFileExtension(fileName);
+        String baseName = Util.stripFileExtension(fileName);
+
+        // keep the format extension of compressed files such as .gml.gz
+        if (extension.equals("gz") || extension.equals("gzip")) {
+            String formatExtension = Util.getFileExtension(baseName);
+            if (!formatExtension.isEmpty()) {
+                extension = formatExtension + "." + extension;
+                baseName = Util.stripFileExtension(baseName);
+            }
+        }
+
+        return baseName + "_part" + part + (!extension.isEmpty() ? "." + extension : "");
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.exporter.util;
+
+import org.citydb.config.geometry.GeometryObject;
+import org.citydb.core.file.OutputFile;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Size-bounded LRU cache of implicit geometry prototypes shared by all export workers of an
+ * export operation. A prototype holds the resolved content of an IMPLICIT_GEOMETRY row so that
+ * features referencing the same implicit geometry do not have to query it again. Whether the
+ * relative geometry is written inline or as XLink still depends on the output file and is
+ * therefore decided for every reference.
+ */
+public class ImplicitGeometryCache {
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    private final LinkedHashMap<Long, Prototype> prototypes;
+
+    public ImplicitGeometryCache(int capacity) {
+        prototypes = new LinkedHashMap<Long, Prototype>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Prototype> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public ImplicitGeometryCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public synchronized Prototype get(long id) {
+        return prototypes.get(id);
+    }
+
+    public synchronized void put(Prototype prototype) {
+        prototypes.put(prototype.id, prototype);
+    }
+
+    public synchronized void clear() {
+        prototypes.clear();
+    }
+
+    public static class Prototype {
+        private final long id;
+        private final AtomicReference<OutputFile> libraryObjectTarget = new AtomicReference<>();
+        private String libraryObject;
+        private String libraryObjectFileName;
+        private String mimeType;
+        private long relativeBrepId;
+        private GeometryObject relativeOtherGeometry;
+        private String gmlId;
+
+        public Prototype(long id) {
+            this.id = id;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public boolean isValid() {
+            return libraryObject != null || relativeBrepId != 0 || relativeOtherGeometry != null;
+        }
+
+        public String getLibraryObject() {
+            return libraryObject;
+        }
+
+        public void setLibraryObject(String libraryObject) {
+            this.libraryObject = libraryObject;
+        }
+
+        public String getLibraryObjectFileName() {
+            return libraryObjectFileName;
+        }
+
+        public void setLibraryObjectFileName(String libraryObjectFileName) {
+            this.libraryObjectFileName = libraryObjectFileName;
+        }
+
+        public boolean isSetLibraryObjectFileName() {
+            return libraryObjectFileName != null;
+        }
+
+        /**
+         * Returns {@code true} for the first call with a given output file. The library object
+         * stored in the database only has to be written once per output file.
+         */
+        public boolean markLibraryObjectExported(OutputFile outputFile) {
+            OutputFile target = libraryObjectTarget.get();
+            return target != outputFile && libraryObjectTarget.compareAndSet(target, outputFile);
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        public void setMimeType(String mimeType) {
+            this.mimeType = mimeType;
+        }
+
+        public long getRelativeBrepId() {
+            return relativeBrepId;
+        }
+
+        public void setRelativeBrepId(long relativeBrepId) {
+            this.relativeBrepId = relativeBrepId;
+        }
+
+        public boolean isSetRelativeBrepId() {
+            return relativeBrepId != 0;
+        }
+
+        public GeometryObject getRelativeOtherGeometry() {
+            return relativeOtherGeometry;
+        }
+
+        public void setRelativeOtherGeometry(GeometryObject relativeOtherGeometry) {
+            this.relativeOtherGeometry = relativeOtherGeometry;
+        }
+
+        public String getGmlId() {
+            return gmlId;
+        }
+
+        public void setGmlId(String gmlId) {
+            this.gmlId = gmlId;
+        }
+    }
+}
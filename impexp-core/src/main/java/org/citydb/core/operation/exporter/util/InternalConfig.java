@@ -30,16 +30,19 @@ package org.citydb.core.operation.exporter.util;
 
 import org.citydb.config.project.exporter.OutputFormat;
 import org.citydb.core.file.OutputFile;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 
 public class InternalConfig {
     private OutputFile outputFile;
     private OutputFormat outputFormat;
     private String exportTextureURI;
     private boolean transformCoordinates = false;
+    private CoordinateTransformer coordinateTransformer;
     private GlobalAppearanceMode globalAppearanceMode = GlobalAppearanceMode.SKIP;
     private boolean registerGmlIdInCache = false;
     private boolean exportFeatureReferences = true;
     private boolean exportGeometryReferences = true;
+    private final ImplicitGeometryCache implicitGeometryCache = new ImplicitGeometryCache();
 
     public enum GlobalAppearanceMode {
         SKIP,
@@ -79,6 +82,18 @@ public class InternalConfig {
         this.transformCoordinates = transformCoordinates;
     }
 
+    public boolean isTransformCoordinatesOnClient() {
+        return transformCoordinates && coordinateTransformer != null;
+    }
+
+    public CoordinateTransformer getCoordinateTransformer() {
+        return coordinateTransformer;
+    }
+
+    public void setCoordinateTransformer(CoordinateTransformer coordinateTransformer) {
+        this.coordinateTransformer = coordinateTransformer;
+    }
+
     public GlobalAppearanceMode getGlobalAppearanceMode() {
         return globalAppearanceMode;
     }
@@ -110,4 +125,8 @@ public class InternalConfig {
     public void setExportGeometryReferences(boolean exportGeometryReferences) {
         this.exportGeometryReferences = exportGeometryReferences;
     }
+
+    public ImplicitGeometryCache getImplicitGeometryCache() {
+        return implicitGeometryCache;
+    }
 }
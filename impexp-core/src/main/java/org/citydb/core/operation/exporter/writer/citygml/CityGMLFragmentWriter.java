@@ -0,0 +1,287 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.exporter.writer.citygml;
+
+import org.citydb.config.geometry.BoundingBox;
+import org.citydb.core.operation.exporter.util.Metadata;
+import org.citydb.core.operation.exporter.writer.FeatureWriteException;
+import org.citydb.core.operation.exporter.writer.FeatureWriter;
+import org.citydb.core.registry.ObjectRegistry;
+import org.citydb.core.writer.ByteArrayWriterWorkerFactory;
+import org.citydb.core.writer.SequentialWriter;
+import org.citydb.core.writer.XMLFragmentSerializer;
+import org.citydb.util.concurrent.SingleWorkerPool;
+import org.citydb.util.event.Event;
+import org.citydb.util.event.EventDispatcher;
+import org.citydb.util.event.EventHandler;
+import org.citydb.util.event.global.EventType;
+import org.citygml4j.builder.jaxb.CityGMLBuilder;
+import org.citygml4j.builder.jaxb.marshal.JAXBMarshaller;
+import org.citygml4j.geometry.Point;
+import org.citygml4j.model.citygml.core.CityModel;
+import org.citygml4j.model.gml.base.StringOrRef;
+import org.citygml4j.model.gml.basicTypes.Code;
+import org.citygml4j.model.gml.feature.AbstractFeature;
+import org.citygml4j.model.gml.feature.BoundingShape;
+import org.citygml4j.model.gml.geometry.primitives.Envelope;
+import org.citygml4j.model.module.citygml.CityGMLVersion;
+import org.citygml4j.util.internal.xml.TransformerChain;
+import org.citygml4j.util.internal.xml.TransformerChainFactory;
+import org.xml.sax.SAXException;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.sax.SAXResult;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CityGML writer for UTF-8 output that serializes each feature member into a byte array on the
+ * calling export worker. The single writer thread therefore only copies pre-serialized fragments
+ * to the output stream instead of replaying SAX events through a character encoder.
+ */
+public class CityGMLFragmentWriter implements FeatureWriter, EventHandler {
+    private final SingleWorkerPool<byte[]> writerPool;
+    private final OutputStream outputStream;
+    private final Map<String, String> namespaces;
+    private final Map<String, String> schemaLocations;
+    private final List<String> headerComments;
+    private final CityGMLBuilder cityGMLBuilder;
+    private final JAXBMarshaller jaxbMarshaller;
+    private final CityGMLVersion version;
+    private final TransformerChainFactory transformerChainFactory;
+    private final boolean useSequentialWriting;
+    private final EventDispatcher eventDispatcher;
+    private final ThreadLocal<Marshaller> marshallers = new ThreadLocal<>();
+    private final ThreadLocal<XMLFragmentSerializer> serializers;
+
+    private volatile boolean headerWritten = false;
+    private volatile String indentString = "";
+    private String rootName;
+    private Metadata metadata;
+
+    private SequentialWriter<byte[]> sequentialWriter;
+
+    CityGMLFragmentWriter(OutputStream outputStream, Map<String, String> namespaces, Map<String, String> schemaLocations,
+                          List<String> headerComments, CityGMLVersion version, TransformerChainFactory transformerChainFactory,
+                          boolean useSequentialWriting, Object eventChannel) {
+        this.outputStream = new BufferedOutputStream(outputStream, 64 * 1024);
+        this.namespaces = namespaces;
+        this.schemaLocations = schemaLocations;
+        this.headerComments = headerComments;
+        this.version = version;
+        this.transformerChainFactory = transformerChainFactory;
+        this.useSequentialWriting = useSequentialWriting;
+
+        cityGMLBuilder = ObjectRegistry.getInstance().getCityGMLBuilder();
+        jaxbMarshaller = cityGMLBuilder.createJAXBMarshaller(version);
+        serializers = ThreadLocal.withInitial(() -> XMLFragmentSerializer.newFragmentSerializer(namespaces));
+
+        eventDispatcher = ObjectRegistry.getInstance().getEventDispatcher();
+        eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
+
+        writerPool = new SingleWorkerPool<>(
+                "citygml_writer_pool",
+                new ByteArrayWriterWorkerFactory(this.outputStream, eventDispatcher),
+                100,
+                false);
+
+        writerPool.setEventSource(eventChannel);
+        writerPool.prestartCoreWorkers();
+
+        if (useSequentialWriting)
+            sequentialWriter = new SequentialWriter<>(writerPool);
+    }
+
+    @Override
+    public void useIndentation(boolean useIndentation) {
+        indentString = useIndentation ? "  " : "";
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        if (metadata == null)
+            metadata = new Metadata();
+
+        return metadata;
+    }
+
+    @Override
+    public void writeHeader() throws FeatureWriteException {
+        headerWritten = true;
+        writerPool.addWork(createHeader());
+    }
+
+    private void writeEndDocument() throws IOException, FeatureWriteException {
+        if (!headerWritten) {
+            headerWritten = true;
+            outputStream.write(createHeader());
+        }
+
+        outputStream.write(("\n</" + rootName + ">\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void write(AbstractFeature feature, long sequenceId) throws FeatureWriteException {
+        XMLFragmentSerializer serializer = serializers.get();
+        serializer.setIndentString(indentString);
+
+        byte[] fragment;
+        try {
+            JAXBElement<?> jaxbElement = jaxbMarshaller.marshalJAXBElement(CityGMLWriter.wrapFeature(feature));
+            if (jaxbElement != null) {
+                Marshaller marshaller = CityGMLWriter.getFragmentMarshaller(marshallers, cityGMLBuilder);
+
+                if (transformerChainFactory == null)
+                    marshaller.marshal(jaxbElement, serializer);
+                else {
+                    TransformerChain chain = transformerChainFactory.buildChain();
+                    chain.tail().setResult(new SAXResult(serializer));
+                    chain.head().startDocument();
+                    marshaller.marshal(jaxbElement, chain.head());
+                    chain.head().endDocument();
+                }
+            }
+
+            fragment = serializer.toByteArray();
+        } catch (JAXBException | SAXException | TransformerConfigurationException e) {
+            throw new FeatureWriteException("Failed to write feature with gml:id '" + feature.getId() + "'.", e);
+        } finally {
+            serializer.reset();
+        }
+
+        if (fragment.length == 0)
+            throw new FeatureWriteException("Failed to write feature with gml:id '" + feature.getId() + "'.");
+
+        if (!useSequentialWriting)
+            writerPool.addWork(fragment);
+        else {
+            try {
+                sequentialWriter.write(fragment, sequenceId);
+            } catch (InterruptedException e) {
+                throw new FeatureWriteException("Failed to write feature with gml:id '" + feature.getId() + "'.", e);
+            }
+        }
+    }
+
+    @Override
+    public void updateSequenceId(long sequenceId) throws FeatureWriteException {
+        if (useSequentialWriting) {
+            try {
+                sequentialWriter.updateSequenceId(sequenceId);
+            } catch (InterruptedException e) {
+                throw new FeatureWriteException("Failed to update sequence id.", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws FeatureWriteException {
+        try {
+            if (useSequentialWriting && sequentialWriter.isInterrupted())
+                sequentialWriter.writeCache();
+
+            writerPool.shutdownAndWait();
+            writeEndDocument();
+            outputStream.close();
+        } catch (Throwable e) {
+            throw new FeatureWriteException("Failed to close CityGML writer.", e);
+        } finally {
+            if (!writerPool.isTerminated())
+                writerPool.shutdownNow();
+
+            eventDispatcher.removeEventHandler(this);
+        }
+    }
+
+    private byte[] createHeader() throws FeatureWriteException {
+        XMLFragmentSerializer serializer = XMLFragmentSerializer.newDocumentSerializer(namespaces, schemaLocations);
+        serializer.setIndentString(indentString);
+        serializer.setOmitRootEnd(true);
+        serializer.writeXMLDeclaration();
+        headerComments.forEach(serializer::writeComment);
+
+        try {
+            CityModel cityModel = new CityModel();
+            if (metadata != null) {
+                if (metadata.isSetDatasetName())
+                    cityModel.addName(new Code(metadata.getDatasetName()));
+
+                if (metadata.isSetDatasetDescription())
+                    cityModel.setDescription(new StringOrRef(metadata.getDatasetDescription()));
+
+                if (metadata.isSetSpatialExtent() && metadata.getSpatialExtent().isValid()) {
+                    BoundingBox extent = metadata.getSpatialExtent();
+
+                    Envelope envelope = new Envelope();
+                    envelope.setLowerCorner(new Point(extent.getLowerCorner().getX(), extent.getLowerCorner().getY(), extent.getLowerCorner().getZ()));
+                    envelope.setUpperCorner(new Point(extent.getUpperCorner().getX(), extent.getUpperCorner().getY(), extent.getUpperCorner().getZ()));
+                    envelope.setSrsDimension(3);
+                    if (extent.isSetSrs())
+                        envelope.setSrsName(extent.getSrs().getGMLSrsName());
+
+                    cityModel.setBoundedBy(new BoundingShape(envelope));
+                }
+            }
+
+            JAXBElement<?> jaxbElement = jaxbMarshaller.marshalJAXBElement(cityModel);
+            if (jaxbElement != null) {
+                Marshaller marshaller = cityGMLBuilder.getJAXBContext().createMarshaller();
+                marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+
+                if (transformerChainFactory == null)
+                    marshaller.marshal(jaxbElement, serializer);
+                else {
+                    TransformerChain chain = transformerChainFactory.buildChain();
+                    chain.tail().setResult(new SAXResult(serializer));
+                    marshaller.marshal(jaxbElement, chain.head());
+                }
+            }
+        } catch (JAXBException | TransformerConfigurationException e) {
+            throw new FeatureWriteException("Failed to write CityGML document header.", e);
+        }
+
+        if (serializer.getRootName() == null)
+            throw new FeatureWriteException("Failed to write CityGML document header.");
+
+        rootName = serializer.getRootName();
+        return serializer.toByteArray();
+    }
+
+    @Override
+    public void handleEvent(Event event) throws Exception {
+        if (useSequentialWriting)
+            sequentialWriter.interrupt();
+    }
+}
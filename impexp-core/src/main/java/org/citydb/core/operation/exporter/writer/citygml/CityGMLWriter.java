@@ -80,6 +80,7 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
     private final TransformerChainFactory transformerChainFactory;
     private final boolean useSequentialWriting;
     private final EventDispatcher eventDispatcher;
+    private final ThreadLocal<Marshaller> marshallers = new ThreadLocal<>();
 
     private volatile boolean headerWritten = false;
     private Metadata metadata;
@@ -139,26 +140,11 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
 
     @Override
     public void write(AbstractFeature feature, long sequenceId) throws FeatureWriteException {
-        FeatureProperty<? extends AbstractFeature> member;
-
-        // wrap feature with a feature property element
-        if (feature instanceof AbstractCityObject) {
-            member = new CityObjectMember();
-            ((CityObjectMember) member).setCityObject((AbstractCityObject) feature);
-        } else if (feature instanceof Appearance) {
-            member = new AppearanceMember();
-            ((AppearanceMember) member).setAppearance((Appearance) feature);
-        } else {
-            member = new FeatureMember();
-            ((FeatureMember) member).setFeature(feature);
-        }
-
         SAXEventBuffer buffer = new SAXEventBuffer();
         try {
-            JAXBElement<?> jaxbElement = jaxbMarshaller.marshalJAXBElement(member);
+            JAXBElement<?> jaxbElement = jaxbMarshaller.marshalJAXBElement(wrapFeature(feature));
             if (jaxbElement != null) {
-                Marshaller marshaller = cityGMLBuilder.getJAXBContext().createMarshaller();
-                marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+                Marshaller marshaller = getFragmentMarshaller(marshallers, cityGMLBuilder);
 
                 if (transformerChainFactory == null)
                     marshaller.marshal(jaxbElement, buffer);
@@ -188,6 +174,36 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
         }
     }
 
+    static FeatureProperty<? extends AbstractFeature> wrapFeature(AbstractFeature feature) {
+        FeatureProperty<? extends AbstractFeature> member;
+
+        // wrap feature with a feature property element
+        if (feature instanceof AbstractCityObject) {
+            member = new CityObjectMember();
+            ((CityObjectMember) member).setCityObject((AbstractCityObject) feature);
+        } else if (feature instanceof Appearance) {
+            member = new AppearanceMember();
+            ((AppearanceMember) member).setAppearance((Appearance) feature);
+        } else {
+            member = new FeatureMember();
+            ((FeatureMember) member).setFeature(feature);
+        }
+
+        return member;
+    }
+
+    static Marshaller getFragmentMarshaller(ThreadLocal<Marshaller> marshallers, CityGMLBuilder cityGMLBuilder) throws JAXBException {
+        // marshallers are not thread-safe but expensive to create, so keep one per export worker
+        Marshaller marshaller = marshallers.get();
+        if (marshaller == null) {
+            marshaller = cityGMLBuilder.getJAXBContext().createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+            marshallers.set(marshaller);
+        }
+
+        return marshaller;
+    }
+
     @Override
     public void updateSequenceId(long sequenceId) throws FeatureWriteException {
         if (useSequentialWriting) {
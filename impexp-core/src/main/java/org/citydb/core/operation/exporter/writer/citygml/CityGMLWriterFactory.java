@@ -61,6 +61,7 @@ import javax.xml.transform.stream.StreamSource;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -120,43 +121,37 @@ public class CityGMLWriterFactory implements FeatureWriterFactory {
 
     @Override
     public FeatureWriter createFeatureWriter(OutputStream outputStream) throws FeatureWriteException {
-        // prepare SAX writer
-        SAXWriter saxWriter;
-        try {
-            saxWriter = new SAXWriter(outputStream, config.getExportConfig().getGeneralOptions().getFileEncoding());
-            saxWriter.setWriteEncoding(true);
-            saxWriter.setIndentString(config.getExportConfig().getCityGMLOptions().isPrettyPrint() ? "  " : "");
-        } catch (IOException e) {
-            throw new FeatureWriteException("Failed to create CityGML writer.", e);
-        }
-
+        List<String> headerComments = new ArrayList<>();
         if (cityGMLOptions.isWriteProductHeader()) {
-            saxWriter.setHeaderComment("Written by " + this.getClass().getPackage().getImplementationTitle() + ", version \"" +
-                            this.getClass().getPackage().getImplementationVersion() + '"',
-                    this.getClass().getPackage().getImplementationVendor());
+            headerComments.add("Written by " + this.getClass().getPackage().getImplementationTitle() + ", version \"" +
+                    this.getClass().getPackage().getImplementationVersion() + '"');
+            headerComments.add(this.getClass().getPackage().getImplementationVendor());
         }
 
+        Map<String, String> prefixes = new LinkedHashMap<>();
+        Map<String, String> schemaLocations = new LinkedHashMap<>();
+
         ModuleContext moduleContext = new ModuleContext(version);
         Map<String, Namespace> namespaces = getNamespaces(moduleContext);
 
         // add default prefixes and schema locations
         Namespace core = namespaces.get(moduleContext.getModule(CityGMLModuleType.CORE).getNamespaceURI());
         if (core != null && core.getMode() != NamespaceMode.SKIP) {
-            saxWriter.setPrefix(core.getPrefix(), core.getURI());
+            setPrefix(prefixes, core.getPrefix(), core.getURI());
             if (core.isSetSchemaLocation())
-                saxWriter.setSchemaLocation(core.getURI(), core.getSchemaLocation());
+                setSchemaLocation(schemaLocations, core.getURI(), core.getSchemaLocation());
         }
 
         Namespace generics = namespaces.get(moduleContext.getModule(CityGMLModuleType.GENERICS).getNamespaceURI());
         if (generics != null && generics.getMode() != NamespaceMode.SKIP) {
-            saxWriter.setPrefix(generics.getPrefix(), generics.getURI());
-            saxWriter.setSchemaLocation(generics.getURI(), generics.getSchemaLocation());
+            setPrefix(prefixes, generics.getPrefix(), generics.getURI());
+            setSchemaLocation(schemaLocations, generics.getURI(), generics.getSchemaLocation());
         }
 
         Namespace appearance = namespaces.get(moduleContext.getModule(CityGMLModuleType.APPEARANCE).getNamespaceURI());
         if (appearance != null && appearance.getMode() != NamespaceMode.SKIP && config.getExportConfig().getAppearances().isSetExportAppearance()) {
-            saxWriter.setPrefix(appearance.getPrefix(), appearance.getURI());
-            saxWriter.setSchemaLocation(appearance.getURI(), appearance.getSchemaLocation());
+            setPrefix(prefixes, appearance.getPrefix(), appearance.getURI());
+            setSchemaLocation(schemaLocations, appearance.getURI(), appearance.getSchemaLocation());
         }
 
         // add XML prefixes and schema locations for non-CityGML modules
@@ -169,9 +164,9 @@ public class CityGMLWriterFactory implements FeatureWriterFactory {
 
                 Namespace namespace = namespaces.get(module.getNamespaceURI());
                 if (namespace != null && namespace.getMode() != NamespaceMode.SKIP) {
-                    saxWriter.setPrefix(namespace.getPrefix(), namespace.getURI());
+                    setPrefix(prefixes, namespace.getPrefix(), namespace.getURI());
                     if (module instanceof ADEModule)
-                        saxWriter.setSchemaLocation(namespace.getURI(), namespace.getSchemaLocation());
+                        setSchemaLocation(schemaLocations, namespace.getURI(), namespace.getSchemaLocation());
                 }
             }
         }
@@ -194,23 +189,60 @@ public class CityGMLWriterFactory implements FeatureWriterFactory {
         for (CityGMLModule module : modules) {
             Namespace namespace = namespaces.get(module.getNamespaceURI());
             if (namespace != null && namespace.getMode() != NamespaceMode.SKIP) {
-                saxWriter.setPrefix(namespace.getPrefix(), namespace.getURI());
-                saxWriter.setSchemaLocation(namespace.getURI(), namespace.getSchemaLocation());
+                setPrefix(prefixes, namespace.getPrefix(), namespace.getURI());
+                setSchemaLocation(schemaLocations, namespace.getURI(), namespace.getSchemaLocation());
             }
         }
 
         // force namespace prefixes
         for (Namespace namespace : namespaces.values()) {
             if (namespace.getMode() == NamespaceMode.FORCE) {
-                saxWriter.setPrefix(namespace.getPrefix(), namespace.getURI());
-                saxWriter.setSchemaLocation(namespace.getURI(), namespace.getSchemaLocation());
+                setPrefix(prefixes, namespace.getPrefix(), namespace.getURI());
+                setSchemaLocation(schemaLocations, namespace.getURI(), namespace.getSchemaLocation());
             }
         }
 
+        String encoding = config.getExportConfig().getGeneralOptions().getFileEncoding();
+        boolean prettyPrint = cityGMLOptions.isPrettyPrint();
+
+        // serialize UTF-8 output directly on the export workers
+        if (encoding == null || StandardCharsets.UTF_8.name().equalsIgnoreCase(encoding)) {
+            CityGMLFragmentWriter writer = new CityGMLFragmentWriter(outputStream, prefixes, schemaLocations,
+                    headerComments, version, transformerChainFactory, useSequentialWriting, eventChannel);
+            writer.useIndentation(prettyPrint);
+            return writer;
+        }
+
+        // prepare SAX writer for other encodings
+        SAXWriter saxWriter;
+        try {
+            saxWriter = new SAXWriter(outputStream, encoding);
+            saxWriter.setWriteEncoding(true);
+            saxWriter.setIndentString(prettyPrint ? "  " : "");
+        } catch (IOException e) {
+            throw new FeatureWriteException("Failed to create CityGML writer.", e);
+        }
+
+        if (!headerComments.isEmpty())
+            saxWriter.setHeaderComment(headerComments.toArray(new String[0]));
+
+        prefixes.forEach((prefix, uri) -> saxWriter.setPrefix(prefix, uri));
+        schemaLocations.forEach(saxWriter::setSchemaLocation);
+
         // create CityGML writer
         return new CityGMLWriter(saxWriter, version, transformerChainFactory, useSequentialWriting, eventChannel);
     }
 
+    private void setPrefix(Map<String, String> prefixes, String prefix, String uri) {
+        if (prefix != null && uri != null)
+            prefixes.put(prefix, uri);
+    }
+
+    private void setSchemaLocation(Map<String, String> schemaLocations, String uri, String schemaLocation) {
+        if (uri != null && schemaLocation != null && !schemaLocation.isEmpty())
+            schemaLocations.put(uri, schemaLocation);
+    }
+
     private Map<String, Namespace> getNamespaces(ModuleContext moduleContext) {
         Map<String, Namespace> namespaces = new LinkedHashMap<>();
         if (cityGMLOptions.getNamespaces().isEnabled()) {
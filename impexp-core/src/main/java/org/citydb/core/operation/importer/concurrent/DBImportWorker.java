@@ -31,7 +31,9 @@ import org.citydb.config.Config;
 import org.citydb.config.project.global.LogLevel;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citydb.core.operation.common.cache.IdCacheEntry;
 import org.citydb.core.operation.common.cache.IdCacheManager;
+import org.citydb.core.operation.common.cache.PersistentIdIndex;
 import org.citydb.core.operation.common.util.AffineTransformer;
 import org.citydb.core.operation.common.xlink.DBXlink;
 import org.citydb.core.operation.importer.CityGMLImportException;
@@ -58,6 +60,8 @@ import org.citygml4j.util.bbox.BoundingBoxOptions;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
@@ -71,6 +75,9 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
     private final boolean isManagedTransaction;
     private final CityGMLFilter filter;
     private final ImportLogger importLogger;
+    private final PersistentIdIndex idIndex;
+    private final boolean skipIndexedFeatures;
+    private final PreparedStatement psIndexedFeature;
     private final EventDispatcher eventDispatcher;
 
     private final BoundingBoxOptions bboxOptions;
@@ -100,6 +107,13 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
         this.importLogger = importLogger;
         this.eventDispatcher = eventDispatcher;
 
+        idIndex = idCacheManager.getPersistentIdIndex();
+        skipIndexedFeatures = idIndex != null && config.getImportConfig().getIdIndex().isSkipIndexedFeatures();
+        psIndexedFeature = skipIndexedFeatures ?
+                connection.prepareStatement("select 1 from " + databaseAdapter.getConnectionDetails().getSchema() +
+                        ".CITYOBJECT where ID=? and GMLID=?") :
+                null;
+
         importer = new CityGMLImportManager(connection,
                 databaseAdapter,
                 schemaMapping,
@@ -170,6 +184,9 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
         } finally {
             try {
                 importer.close();
+                if (psIndexedFeature != null) {
+                    psIndexedFeature.close();
+                }
             } catch (CityGMLImportException | SQLException e) {
                 //
             }
@@ -228,6 +245,11 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
                         return;
                     }
 
+                    // skip features imported by a previous run
+                    if (skipIndexedFeatures && feature.isSetId() && isIndexedFeature(feature.getId())) {
+                        return;
+                    }
+
                     id = importer.importObject(feature);
                     if (id != 0) {
                         topLevelFeatureCounter++;
@@ -274,10 +296,34 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
         topLevelFeatureCounter = 0;
 
         // log imported top-level features
-        if (importLogger != null) {
+        if (importLogger != null || idIndex != null) {
             for (ImportLogEntry entry : importer.getAndResetImportLogEntries()) {
-                importLogger.write(entry);
+                if (importLogger != null) {
+                    importLogger.write(entry);
+                }
+
+                if (idIndex != null) {
+                    idIndex.put(entry.getGmlId(), entry.getId(), entry.getObjectClassId());
+                }
             }
+
+            if (idIndex != null) {
+                idIndex.sync();
+            }
+        }
+    }
+
+    private boolean isIndexedFeature(String gmlId) throws SQLException {
+        IdCacheEntry entry = idIndex.get(gmlId);
+        if (entry == null) {
+            return false;
+        }
+
+        // the feature might have been deleted since it was indexed
+        psIndexedFeature.setLong(1, entry.getId());
+        psIndexedFeature.setString(2, gmlId);
+        try (ResultSet rs = psIndexedFeature.executeQuery()) {
+            return rs.next();
         }
     }
 
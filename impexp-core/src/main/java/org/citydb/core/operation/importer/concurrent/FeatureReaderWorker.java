@@ -29,6 +29,8 @@ package org.citydb.core.operation.importer.concurrent;
 
 import org.citydb.config.Config;
 import org.citydb.config.project.global.LogLevel;
+import org.citydb.core.operation.importer.reader.citygml.XMLChunkPreFilter;
+import org.citydb.core.query.filter.FilterException;
 import org.citydb.util.concurrent.Worker;
 import org.citydb.util.concurrent.WorkerPool;
 import org.citydb.util.event.EventDispatcher;
@@ -45,13 +47,16 @@ public class FeatureReaderWorker extends Worker<XMLChunk> {
     private volatile boolean shouldRun = true;
 
     private final WorkerPool<CityGML> workerPool;
+    private final XMLChunkPreFilter preFilter;
     private final EventDispatcher eventDispatcher;
     private final boolean useValidation;
 
     public FeatureReaderWorker(WorkerPool<CityGML> workerPool,
+                               XMLChunkPreFilter preFilter,
                                Config config,
                                EventDispatcher eventDispatcher) {
         this.workerPool = workerPool;
+        this.preFilter = preFilter;
         this.eventDispatcher = eventDispatcher;
 
         useValidation = config.getImportConfig().getCityGMLOptions().getXMLValidation().isSetUseXMLValidation();
@@ -85,6 +90,11 @@ public class FeatureReaderWorker extends Worker<XMLChunk> {
 
         try {
             try {
+                // skip features that do not satisfy the selection filter without unmarshalling them
+                if (preFilter != null && !preFilter.isCandidate(work)) {
+                    return;
+                }
+
                 CityGML cityGML = work.unmarshal();
                 if (!useValidation || work.hasPassedXMLValidation()) {
                     workerPool.addWork(cityGML);
@@ -93,6 +103,8 @@ public class FeatureReaderWorker extends Worker<XMLChunk> {
                 if (!useValidation || work.hasPassedXMLValidation()) {
                     eventDispatcher.triggerSyncEvent(new InterruptEvent("Failed to unmarshal XML chunk.", LogLevel.ERROR, e, eventChannel));
                 }
+            } catch (FilterException e) {
+                eventDispatcher.triggerSyncEvent(new InterruptEvent("Failed to apply the import filter to an XML chunk.", LogLevel.ERROR, e, eventChannel));
             } catch (MissingADESchemaException e) {
                 eventDispatcher.triggerSyncEvent(new InterruptEvent("Failed to read an ADE XML Schema.", LogLevel.ERROR, e, eventChannel));
             } catch (Throwable e) {
@@ -28,6 +28,7 @@
 package org.citydb.core.operation.importer.concurrent;
 
 import org.citydb.config.Config;
+import org.citydb.core.operation.importer.reader.citygml.XMLChunkPreFilter;
 import org.citydb.util.concurrent.Worker;
 import org.citydb.util.concurrent.WorkerFactory;
 import org.citydb.util.concurrent.WorkerPool;
@@ -37,19 +38,22 @@ import org.citygml4j.xml.io.reader.XMLChunk;
 
 public class FeatureReaderWorkerFactory implements WorkerFactory<XMLChunk> {
     private final WorkerPool<CityGML> workerPool;
+    private final XMLChunkPreFilter preFilter;
     private final Config config;
     private final EventDispatcher eventDispatcher;
 
     public FeatureReaderWorkerFactory(WorkerPool<CityGML> workerPool,
+                                      XMLChunkPreFilter preFilter,
                                       Config config,
                                       EventDispatcher eventDispatcher) {
         this.workerPool = workerPool;
+        this.preFilter = preFilter;
         this.config = config;
         this.eventDispatcher = eventDispatcher;
     }
 
     @Override
     public Worker<XMLChunk> createWorker() {
-        return new FeatureReaderWorker(workerPool, config, eventDispatcher);
+        return new FeatureReaderWorker(workerPool, preFilter, config, eventDispatcher);
     }
 }
@@ -40,6 +40,7 @@ import org.citydb.core.database.adapter.IndexStatusInfo;
 import org.citydb.core.database.adapter.IndexStatusInfo.IndexInfoObject;
 import org.citydb.core.database.adapter.IndexStatusInfo.IndexStatus;
 import org.citydb.core.database.adapter.IndexStatusInfo.IndexType;
+import org.citydb.core.database.connection.DatabaseConnectionDetails;
 import org.citydb.core.database.connection.DatabaseConnectionPool;
 import org.citydb.core.database.schema.mapping.SchemaMapping;
 import org.citydb.core.file.FileType;
@@ -50,7 +51,9 @@ import org.citydb.core.operation.common.cache.CacheTable;
 import org.citydb.core.operation.common.cache.CacheTableManager;
 import org.citydb.core.operation.common.cache.IdCacheManager;
 import org.citydb.core.operation.common.cache.IdCacheType;
+import org.citydb.core.operation.common.cache.PersistentIdIndex;
 import org.citydb.core.operation.common.cache.model.CacheTableModel;
+import org.citydb.core.operation.common.csv.IdHashSet;
 import org.citydb.core.operation.common.csv.IdListException;
 import org.citydb.core.operation.common.csv.IdListImporter;
 import org.citydb.core.operation.common.csv.IdListParser;
@@ -67,6 +70,7 @@ import org.citydb.core.operation.importer.database.xlink.resolver.DBXlinkSplitte
 import org.citydb.core.operation.importer.filter.CityGMLFilter;
 import org.citydb.core.operation.importer.filter.CityGMLFilterBuilder;
 import org.citydb.core.operation.importer.filter.selection.id.DuplicateListFilter;
+import org.citydb.core.operation.importer.filter.selection.id.ImportListFilter;
 import org.citydb.core.operation.importer.reader.FeatureReadException;
 import org.citydb.core.operation.importer.reader.FeatureReader;
 import org.citydb.core.operation.importer.reader.FeatureReaderFactory;
@@ -79,6 +83,7 @@ import org.citydb.core.plugin.extension.importer.FeatureImportExtension;
 import org.citydb.core.plugin.extension.importer.ImportStatus;
 import org.citydb.core.query.filter.FilterException;
 import org.citydb.core.registry.ObjectRegistry;
+import org.citydb.core.util.CoreConstants;
 import org.citydb.core.util.Util;
 import org.citydb.util.concurrent.PoolSizeAdaptationStrategy;
 import org.citydb.util.concurrent.WorkerPool;
@@ -87,6 +92,7 @@ import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.event.EventHandler;
 import org.citydb.util.event.global.*;
 import org.citydb.util.log.Logger;
+import org.citydb.util.metrics.Metrics;
 import org.citygml4j.builder.jaxb.CityGMLBuilder;
 import org.citygml4j.model.citygml.CityGML;
 import org.citygml4j.model.gml.GMLClass;
@@ -104,6 +110,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Importer implements EventHandler {
     private final Logger log = Logger.getInstance();
+    private final Metrics metrics = Metrics.getInstance();
     private final CityGMLBuilder cityGMLBuilder;
     private final AbstractDatabaseAdapter databaseAdapter;
     private final SchemaMapping schemaMapping;
@@ -121,9 +128,11 @@ public class Importer implements EventHandler {
     private CityGMLImportException exception;
     private DirectoryScanner directoryScanner;
     private ImportLogger importLogger;
+    private PersistentIdIndex idIndex;
     private CacheTableManager cacheTableManager;
     private CacheTable importListCacheTable;
     private CacheTable duplicateListCacheTable;
+    private ImportListFilter importListFilter;
 
     public Importer() {
         cityGMLBuilder = ObjectRegistry.getInstance().getCityGMLBuilder();
@@ -177,6 +186,25 @@ public class Importer implements EventHandler {
                 }
             }
 
+            if (idIndex != null) {
+                try {
+                    log.debug("Closing gml:id index.");
+                    idIndex.close();
+                } catch (IOException e) {
+                    log.error("Failed to close the gml:id index.", e);
+                }
+            }
+
+            if (importListFilter != null) {
+                try {
+                    importListFilter.close();
+                } catch (SQLException e) {
+                    log.error("Failed to close the import list filter.", e);
+                } finally {
+                    importListFilter = null;
+                }
+            }
+
             if (cacheTableManager != null) {
                 try {
                     log.debug("Closing temporary cache.");
@@ -255,6 +283,17 @@ public class Importer implements EventHandler {
             }
         }
 
+        // open persistent gml:id index
+        if (config.getImportConfig().getIdIndex().isUseIdIndex()) {
+            Path indexPath = getIdIndexPath();
+            try {
+                idIndex = PersistentIdIndex.open(indexPath, getIdIndexDatabase());
+                log.info("Using gml:id index " + indexPath + " with " + idIndex.size() + " entries.");
+            } catch (IOException e) {
+                throw new CityGMLImportException("Failed to open the gml:id index " + indexPath + ".", e);
+            }
+        }
+
         // initialize import plugins
         for (FeatureImportExtension plugin : pluginManager.getEnabledExternalPlugins(FeatureImportExtension.class)) {
             try {
@@ -305,6 +344,7 @@ public class Importer implements EventHandler {
 
         // load import list into local cache
         importListCacheTable = null;
+        IdHashSet importListHashSet = null;
         if (config.getImportConfig().getFilter().isUseImportListFilter()
                 && config.getImportConfig().getFilter().isSetImportList()
                 && config.getImportConfig().getFilter().getImportList().hasFiles()) {
@@ -318,7 +358,8 @@ public class Importer implements EventHandler {
 
             ImportList importList = config.getImportConfig().getFilter().getImportList();
             int maxBatchSize = config.getDatabaseConfig().getImportBatching().getTempBatchSize();
-            IdListImporter importer = new IdListImporter(importListCacheTable, maxBatchSize);
+            importListHashSet = new IdHashSet(importList.getMemoryBudget());
+            IdListImporter importer = new IdListImporter(importListCacheTable, maxBatchSize).withHashSet(importListHashSet);
 
             try {
                 for (String file : importList.getFiles()) {
@@ -338,13 +379,19 @@ public class Importer implements EventHandler {
             } catch (SQLException e) {
                 throw new CityGMLImportException("Failed to load import list into cache.", e);
             }
+
+            if (importListHashSet.isExceeded()) {
+                log.debug("The import list exceeds the memory budget of " + importList.getMemoryBudget() +
+                        " MB and is only queried from the local cache.");
+            }
         }
 
         // build CityGML filter
         CityGMLFilter filter;
         try {
             CityGMLFilterBuilder builder = new CityGMLFilterBuilder(schemaMapping, databaseAdapter);
-            filter = builder.buildCityGMLFilter(config.getImportConfig().getFilter(), importListCacheTable);
+            filter = builder.buildCityGMLFilter(config.getImportConfig().getFilter(), importListCacheTable, importListHashSet);
+            importListFilter = filter.getSelectionFilter().getImportListFilter();
         } catch (FilterException e) {
             throw new CityGMLImportException("Failed to build the import filter.", e);
         }
@@ -383,6 +430,17 @@ public class Importer implements EventHandler {
         WorkerPool<DBXlink> xlinkResolverPool = null;
         DBXlinkSplitter splitter;
 
+        // keep feature statistics up to date if they have been created for the database
+        boolean maintainFeatureStatistics;
+        try {
+            maintainFeatureStatistics = databaseAdapter.getUtil().hasFeatureStatistics();
+            if (maintainFeatureStatistics) {
+                log.debug("Updating feature statistics with imported top-level features.");
+            }
+        } catch (SQLException e) {
+            throw new CityGMLImportException("Failed to query feature statistics.", e);
+        }
+
         while (shouldRun && fileCounter < files.size()) {
             // check whether we reached the counter limit
             if (filter.isSetCounterFilter() && !filter.getCounterFilter().isCountSatisfied()) {
@@ -390,6 +448,7 @@ public class Importer implements EventHandler {
             }
 
             InternalConfig internalConfig = new InternalConfig();
+            internalConfig.setMaintainFeatureStatistics(maintainFeatureStatistics);
 
             try (InputFile file = files.get(fileCounter++)) {
                 internalConfig.setInputFile(file);
@@ -428,6 +487,7 @@ public class Importer implements EventHandler {
 
                 // create instance of gml:id lookup server manager...
                 idCacheManager = new IdCacheManager();
+                idCacheManager.setPersistentIdIndex(idIndex);
 
                 // ...and start servers
                 try {
@@ -692,6 +752,22 @@ public class Importer implements EventHandler {
         }
     }
 
+    private Path getIdIndexPath() {
+        if (config.getImportConfig().getIdIndex().isSetIndexPath()) {
+            return Paths.get(config.getImportConfig().getIdIndex().getIndexPath());
+        } else if (importLogger != null) {
+            return importLogger.getLogFilePath().resolveSibling("gmlid-index");
+        } else {
+            return CoreConstants.IMPEXP_DATA_DIR.resolve(CoreConstants.IMPORT_LOG_DIR).resolve("gmlid-index");
+        }
+    }
+
+    private String getIdIndexDatabase() {
+        DatabaseConnectionDetails details = databaseAdapter.getConnectionDetails();
+        return details.getDatabaseType() + "://" + details.getServer() + ":" + details.getPort() + "/" +
+                details.getSid() + "/" + details.getSchema();
+    }
+
     private void setException(String message, Throwable cause) {
         if (exception == null) {
             exception = new CityGMLImportException(message, cause);
@@ -705,6 +781,9 @@ public class Importer implements EventHandler {
             for (Entry<Integer, Long> entry : counter.entrySet()) {
                 Long tmp = objectCounter.get(entry.getKey());
                 objectCounter.put(entry.getKey(), tmp == null ? entry.getValue() : tmp + entry.getValue());
+                if (metrics.isEnabled()) {
+                    metrics.counter("citydb_objects_total", "stage", "import").add(entry.getValue());
+                }
             }
         } else if (e.getEventType() == EventType.GEOMETRY_COUNTER && e.getChannel() == eventChannel) {
             Map<GMLClass, Long> counter = ((GeometryCounterEvent) e).getCounter();
@@ -37,6 +37,7 @@ import org.citydb.core.ade.importer.ADEPropertyCollection;
 import org.citydb.core.ade.importer.CityGMLImportHelper;
 import org.citydb.core.ade.importer.ForeignKeys;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.core.database.adapter.FeatureStatistics;
 import org.citydb.core.database.schema.TableEnum;
 import org.citydb.core.database.schema.mapping.AbstractObjectType;
 import org.citydb.core.database.schema.mapping.FeatureType;
@@ -59,6 +60,9 @@ import org.citydb.core.util.CoreConstants;
 import org.citydb.core.util.Util;
 import org.citydb.util.concurrent.WorkerPool;
 import org.citydb.util.log.Logger;
+import org.citydb.util.metrics.BatchFlushEvent;
+import org.citydb.util.metrics.Metrics;
+import org.citydb.util.metrics.Timer;
 import org.citygml4j.builder.jaxb.CityGMLBuilder;
 import org.citygml4j.builder.jaxb.marshal.JAXBMarshaller;
 import org.citygml4j.geometry.Matrix;
@@ -112,8 +116,10 @@ import java.util.Map.Entry;
 
 public class CityGMLImportManager implements CityGMLImportHelper {
     private final Logger log = Logger.getInstance();
+    private final Metrics metrics = Metrics.getInstance();
     private final IdentityHashMap<Class<? extends DBImporter>, DBImporter> importers = new IdentityHashMap<>();
     private final IdentityHashMap<ADEExtension, ADEImportManager> adeImporters = new IdentityHashMap<>();
+    private final Map<String, Timer> batchFlushTimers = new HashMap<>();
 
     private final Connection connection;
     private final AbstractDatabaseAdapter databaseAdapter;
@@ -131,6 +137,7 @@ public class CityGMLImportManager implements CityGMLImportHelper {
     private final GeometryConverter geometryConverter;
     private final Map<Integer, Long> objectCounter;
     private final Map<GMLClass, Long> geometryCounter;
+    private final FeatureStatistics featureStatistics;
     private final AttributeValueJoiner attributeValueJoiner;
     private final ExternalFileChecker externalFileChecker;
     private final boolean hasADESupport;
@@ -170,6 +177,7 @@ public class CityGMLImportManager implements CityGMLImportHelper {
         geometryConverter = new GeometryConverter(databaseAdapter, failOnError);
         objectCounter = new HashMap<>();
         geometryCounter = new HashMap<>();
+        featureStatistics = internalConfig.isMaintainFeatureStatistics() ? new FeatureStatistics() : null;
         attributeValueJoiner = new AttributeValueJoiner();
         externalFileChecker = new ExternalFileChecker(internalConfig.getInputFile());
 
@@ -177,7 +185,8 @@ public class CityGMLImportManager implements CityGMLImportHelper {
             localAppearanceHandler = new LocalAppearanceHandler(this);
         }
 
-        if (config.getImportConfig().getImportLog().isSetLogImportedFeatures()) {
+        if (config.getImportConfig().getImportLog().isSetLogImportedFeatures()
+                || config.getImportConfig().getIdIndex().isUseIdIndex()) {
             importLogEntries = new ArrayList<>();
         }
 
@@ -571,7 +580,16 @@ public class CityGMLImportManager implements CityGMLImportHelper {
         if (importLogEntries != null
                 && !object.isSetParent()
                 && !(object instanceof Appearance)) {
-            importLogEntries.add(ImportLogEntry.of(type.getPath(), id, (String) object.getLocalProperty(CoreConstants.OBJECT_ORIGINAL_GMLID)));
+            importLogEntries.add(ImportLogEntry.of(type.getPath(), id,
+                    (String) object.getLocalProperty(CoreConstants.OBJECT_ORIGINAL_GMLID), type.getObjectClassId()));
+        }
+    }
+
+    protected void updateFeatureStatistics(AbstractObjectType<?> type, List<Double> envelope) {
+        if (featureStatistics != null
+                && type instanceof FeatureType
+                && ((FeatureType) type).isTopLevel()) {
+            featureStatistics.update(type.getObjectClassId(), envelope);
         }
     }
 
@@ -718,6 +736,12 @@ public class CityGMLImportManager implements CityGMLImportHelper {
     public void executeBatch() throws CityGMLImportException, SQLException {
         for (String dependency : tableHelper.getCommitOrder())
             doExecuteBatch(dependency);
+
+        // update feature statistics within the same transaction
+        if (featureStatistics != null && !featureStatistics.isEmpty()) {
+            databaseAdapter.getUtil().updateFeatureStatistics(featureStatistics, connection);
+            featureStatistics.clear();
+        }
     }
 
     public void executeBatch(TableEnum table) throws CityGMLImportException, SQLException {
@@ -726,6 +750,26 @@ public class CityGMLImportManager implements CityGMLImportHelper {
     }
 
     private void doExecuteBatch(String tableName) throws CityGMLImportException, SQLException {
+        BatchFlushEvent event = new BatchFlushEvent();
+        event.begin();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+
+        try {
+            executeTableBatch(tableName);
+        } finally {
+            if (start != 0) {
+                batchFlushTimers.computeIfAbsent(tableName, v -> metrics.timer("citydb_import_batch_flush", "table", v))
+                        .recordSince(start);
+            }
+
+            if (event.shouldCommit()) {
+                event.table = tableName;
+                event.commit();
+            }
+        }
+    }
+
+    private void executeTableBatch(String tableName) throws CityGMLImportException, SQLException {
         // check whether we deal with a predefined 3dcitydb table
         // in which case we pick a predefined importer to execute the batch
         TableEnum table = TableEnum.fromTableName(tableName);
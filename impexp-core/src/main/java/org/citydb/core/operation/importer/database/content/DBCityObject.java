@@ -240,9 +240,11 @@ public class DBCityObject implements DBImporter {
 
             GeometryObject envelope = GeometryObject.createPolygon(coordinates, 3, dbSrid);
             psCityObject.setObject(7, importer.getDatabaseAdapter().getGeometryConverter().getDatabaseObject(envelope, batchConn));
+            importer.updateFeatureStatistics(objectType, points);
         } else {
             psCityObject.setNull(7, importer.getDatabaseAdapter().getGeometryConverter().getNullGeometryType(),
                     importer.getDatabaseAdapter().getGeometryConverter().getNullGeometryTypeName());
+            importer.updateFeatureStatistics(objectType, null);
         }
 
         // core:creationDate
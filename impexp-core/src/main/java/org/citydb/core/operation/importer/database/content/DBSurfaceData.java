@@ -261,7 +261,7 @@ public class DBSurfaceData implements DBImporter {
 
                         // check for duplicate targets
                         if (!duplicateTargets.add(target.replaceAll("^#", ""))) {
-                            log.debug(featureSignature + ": Skipping duplicate target '" + target + "'.");
+                            log.debug(() -> featureSignature + ": Skipping duplicate target '" + target + "'.");
                             continue;
                         }
 
@@ -319,7 +319,7 @@ public class DBSurfaceData implements DBImporter {
 
                         // check for duplicate targets
                         if (!duplicateTargets.add(targetURI.replaceAll("^#", ""))) {
-                            log.debug(featureSignature + ": Skipping duplicate target '" + targetURI + "'.");
+                            log.debug(() -> featureSignature + ": Skipping duplicate target '" + targetURI + "'.");
                             continue;
                         }
 
@@ -388,7 +388,7 @@ public class DBSurfaceData implements DBImporter {
 
                                     // check for duplicate references to the same geometry object
                                     if (!duplicateTargets.add(ringId)) {
-                                        log.debug(featureSignature + ": Skipping duplicate target ring '" + ringId + "'.");
+                                        log.debug(() -> featureSignature + ": Skipping duplicate target ring '" + ringId + "'.");
                                         continue;
                                     }
 
@@ -398,7 +398,7 @@ public class DBSurfaceData implements DBImporter {
                                             !texCoord.getValue().get(1).equals(texCoord.getValue().get(nrOfCoord - 1))) {
                                         texCoord.getValue().add(texCoord.getValue().get(0));
                                         texCoord.getValue().add(texCoord.getValue().get(1));
-                                        log.debug(featureSignature + ": Fixed unclosed texture coordinates for ring '" + ringId + "'.");
+                                        log.debug(() -> featureSignature + ": Fixed unclosed texture coordinates for ring '" + ringId + "'.");
                                     }
 
                                     // check for minimum number of texture coordinates
@@ -530,7 +530,7 @@ public class DBSurfaceData implements DBImporter {
 
                             // check for duplicate targets
                             if (!duplicateTargets.add(target.replaceAll("^#", ""))) {
-                                log.debug(featureSignature + ": Skipping duplicate target '" + target + "'.");
+                                log.debug(() -> featureSignature + ": Skipping duplicate target '" + target + "'.");
                                 continue;
                             }
 
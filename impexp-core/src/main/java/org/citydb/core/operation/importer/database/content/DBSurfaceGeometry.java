@@ -38,6 +38,7 @@ import org.citydb.core.operation.common.xlink.DBXlinkLinearRing;
 import org.citydb.core.operation.common.xlink.DBXlinkSolidGeometry;
 import org.citydb.core.operation.common.xlink.DBXlinkSurfaceGeometry;
 import org.citydb.core.operation.importer.CityGMLImportException;
+import org.citydb.core.operation.importer.util.CoordinateBuffer;
 import org.citydb.core.operation.importer.util.GeometryConverter;
 import org.citydb.core.operation.importer.util.GeometryValidator;
 import org.citydb.core.operation.importer.util.LocalAppearanceHandler;
@@ -72,6 +73,7 @@ public class DBSurfaceGeometry implements DBImporter {
     private final IdManager ids;
     private final LocalAppearanceHandler localAppearanceHandler;
     private final GeometryValidator geometryValidator;
+    private final CoordinateBuffer coordinateBuffer = new CoordinateBuffer();
 
     private final boolean replaceGmlId;
     private final boolean importAppearance;
@@ -224,17 +226,16 @@ public class DBSurfaceGeometry implements DBImporter {
             Polygon polygon = (Polygon) geometry;
 
             if (polygon.isSetExterior()) {
-                List<List<Double>> pointList = new ArrayList<>();
+                List<double[]> pointList = new ArrayList<>();
                 AbstractRing exterior = polygon.getExterior().getRing();
                 if (exterior != null) {
-                    List<Double> points = exterior.toList3d(reverse);
-                    if (!geometryValidator.isValidRing(points, exterior))
+                    if (!geometryValidator.isValidRing(coordinateBuffer.read(exterior, reverse), exterior))
                         return 0;
 
                     if (applyTransformation)
-                        importer.getAffineTransformer().transformCoordinates(points);
+                        coordinateBuffer.transform(importer.getAffineTransformer());
 
-                    pointList.add(points);
+                    pointList.add(coordinateBuffer.toArray());
                     int ringNo = 0;
                     importer.updateGeometryCounter(GMLClass.LINEAR_RING);
 
@@ -253,14 +254,13 @@ public class DBSurfaceGeometry implements DBImporter {
                         for (AbstractRingProperty property : polygon.getInterior()) {
                             AbstractRing interior = property.getRing();
                             if (interior != null) {
-                                List<Double> interiorPoints = interior.toList3d(reverse);
-                                if (!geometryValidator.isValidRing(interiorPoints, interior))
+                                if (!geometryValidator.isValidRing(coordinateBuffer.read(interior, reverse), interior))
                                     continue;
 
                                 if (applyTransformation)
-                                    importer.getAffineTransformer().transformCoordinates(interiorPoints);
+                                    coordinateBuffer.transform(importer.getAffineTransformer());
 
-                                pointList.add(interiorPoints);
+                                pointList.add(coordinateBuffer.toArray());
                                 importer.updateGeometryCounter(GMLClass.LINEAR_RING);
 
                                 // also remember the gml:id of interior rings
@@ -275,11 +275,7 @@ public class DBSurfaceGeometry implements DBImporter {
                         }
                     }
 
-                    double[][] coordinates = new double[pointList.size()][];
-                    for (int i = 0; i < pointList.size(); i++)
-                        coordinates[i] = pointList.get(i).stream().mapToDouble(Double::doubleValue).toArray();
-
-                    GeometryObject geometryObject = GeometryObject.createPolygon(coordinates, 3, dbSrid);
+                    GeometryObject geometryObject = GeometryObject.createPolygon(pointList.toArray(new double[0][]), 3, dbSrid);
                     Object object = importer.getDatabaseAdapter().getGeometryConverter().getDatabaseObject(geometryObject, batchConn);
 
                     if (origGmlId != null && !isCopy)
@@ -28,8 +28,10 @@
 package org.citydb.core.operation.importer.database.xlink.importer;
 
 import org.citydb.core.operation.common.cache.CacheTable;
+import org.citydb.core.operation.common.cache.SpillFile;
 import org.citydb.core.operation.common.xlink.DBXlinkBasic;
 
+import java.io.IOException;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Types;
@@ -37,6 +39,7 @@ import java.sql.Types;
 public class DBXlinkImporterBasic implements DBXlinkImporter {
     private final DBXlinkImporterManager xlinkImporterManager;
     private PreparedStatement psXlink;
+    private SpillFile.Writer spillWriter;
     private int batchCounter;
 
     public DBXlinkImporterBasic(CacheTable tempTable, DBXlinkImporterManager xlinkImporterManager) throws SQLException {
@@ -48,7 +51,27 @@ public class DBXlinkImporterBasic implements DBXlinkImporter {
                 .append("(?, ?, ?, ?, ?)").toString());
     }
 
+    public DBXlinkImporterBasic(SpillFile spillFile, DBXlinkImporterManager xlinkImporterManager) {
+        this.xlinkImporterManager = xlinkImporterManager;
+        spillWriter = spillFile.newWriter();
+    }
+
     public boolean insert(DBXlinkBasic xlinkEntry) throws SQLException {
+        if (spillWriter != null) {
+            try {
+                spillWriter.writeLong(xlinkEntry.getId())
+                        .writeString(xlinkEntry.getTable())
+                        .writeString(xlinkEntry.getFromColumn())
+                        .writeString(xlinkEntry.getToColumn())
+                        .writeString(xlinkEntry.getGmlId())
+                        .endRecord();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+
+            return true;
+        }
+
         psXlink.setLong(1, xlinkEntry.getId());
         psXlink.setString(2, xlinkEntry.getTable());
         psXlink.setString(3, xlinkEntry.getFromColumn());
@@ -69,13 +92,30 @@ public class DBXlinkImporterBasic implements DBXlinkImporter {
 
     @Override
     public void executeBatch() throws SQLException {
+        if (spillWriter != null) {
+            try {
+                spillWriter.flush();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+
+            return;
+        }
+
         psXlink.executeBatch();
         batchCounter = 0;
     }
 
     @Override
     public void close() throws SQLException {
-        psXlink.close();
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+        } else
+            psXlink.close();
     }
 
     @Override
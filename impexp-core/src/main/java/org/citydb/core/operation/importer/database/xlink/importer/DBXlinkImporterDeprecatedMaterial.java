@@ -28,14 +28,17 @@
 package org.citydb.core.operation.importer.database.xlink.importer;
 
 import org.citydb.core.operation.common.cache.CacheTable;
+import org.citydb.core.operation.common.cache.SpillFile;
 import org.citydb.core.operation.common.xlink.DBXlinkDeprecatedMaterial;
 
+import java.io.IOException;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 public class DBXlinkImporterDeprecatedMaterial implements DBXlinkImporter {
     private final DBXlinkImporterManager xlinkImporterManager;
     private PreparedStatement psXlink;
+    private SpillFile.Writer spillWriter;
     private int batchCounter;
 
     public DBXlinkImporterDeprecatedMaterial(CacheTable tempTable, DBXlinkImporterManager xlinkImporterManager) throws SQLException {
@@ -46,7 +49,25 @@ public class DBXlinkImporterDeprecatedMaterial implements DBXlinkImporter {
                 "(?, ?, ?)");
     }
 
+    public DBXlinkImporterDeprecatedMaterial(SpillFile spillFile, DBXlinkImporterManager xlinkImporterManager) {
+        this.xlinkImporterManager = xlinkImporterManager;
+        spillWriter = spillFile.newWriter();
+    }
+
     public boolean insert(DBXlinkDeprecatedMaterial xlinkEntry) throws SQLException {
+        if (spillWriter != null) {
+            try {
+                spillWriter.writeLong(xlinkEntry.getId())
+                        .writeString(xlinkEntry.getGmlId())
+                        .writeLong(xlinkEntry.getSurfaceGeometryId())
+                        .endRecord();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+
+            return true;
+        }
+
         psXlink.setLong(1, xlinkEntry.getId());
         psXlink.setString(2, xlinkEntry.getGmlId());
         psXlink.setLong(3, xlinkEntry.getSurfaceGeometryId());
@@ -60,13 +81,30 @@ public class DBXlinkImporterDeprecatedMaterial implements DBXlinkImporter {
 
     @Override
     public void executeBatch() throws SQLException {
+        if (spillWriter != null) {
+            try {
+                spillWriter.flush();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+
+            return;
+        }
+
         psXlink.executeBatch();
         batchCounter = 0;
     }
 
     @Override
     public void close() throws SQLException {
-        psXlink.close();
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+        } else
+            psXlink.close();
     }
 
     @Override
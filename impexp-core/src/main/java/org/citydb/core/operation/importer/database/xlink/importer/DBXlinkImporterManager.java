@@ -52,6 +52,9 @@ public class DBXlinkImporterManager {
     public DBXlinkImporter getDBImporterXlink(DBXlinkImporterEnum xlinkType) throws SQLException {
         DBXlinkImporter dbImporter = dbImporterMap.get(xlinkType);
 
+        if (dbImporter == null && cacheTableManager.isUseSpillFiles())
+            dbImporter = getSpillImporter(xlinkType);
+
         if (dbImporter == null) {
             // firstly create tmp table
             CacheTable tempTable = null;
@@ -150,6 +153,51 @@ public class DBXlinkImporterManager {
         return dbImporter;
     }
 
+    private DBXlinkImporter getSpillImporter(DBXlinkImporterEnum xlinkType) throws SQLException {
+        // only xlinks that are read back once in sequential order are written to spill files,
+        // xlinks queried by the resolvers must be kept in cache tables
+        DBXlinkImporter dbImporter = null;
+        switch (xlinkType) {
+            case XLINK_BASIC:
+                dbImporter = new DBXlinkImporterBasic(cacheTableManager.createSpillFile(CacheTableModel.BASIC,
+                        "ID", "TABLE_NAME", "FROM_COLUMN", "TO_COLUMN", "GMLID"), this);
+                break;
+            case XLINK_TEXTUREPARAM:
+                dbImporter = new DBXlinkImporterTextureParam(cacheTableManager.createSpillFile(CacheTableModel.TEXTUREPARAM,
+                        "ID", "GMLID", "TYPE", "IS_TEXTURE_PARAMETERIZATION", "TEXPARAM_GMLID", "WORLD_TO_TEXTURE"), this);
+                break;
+            case XLINK_TEXTUREASSOCIATION:
+                dbImporter = new DBXlinkImporterTextureAssociation(cacheTableManager.createSpillFile(CacheTableModel.TEXTUREASSOCIATION,
+                        "ID", "GMLID", "TARGET_URI"), this);
+                break;
+            case TEXTURE_FILE:
+                dbImporter = new DBXlinkImporterTextureFile(cacheTableManager.createSpillFile(CacheTableModel.TEXTURE_FILE,
+                        "ID", "FILE_URI"), this);
+                break;
+            case SURFACE_DATA_TO_TEX_IMAGE:
+                dbImporter = new DBXlinkImporterSurfaceDataToTexImage(cacheTableManager.createSpillFile(CacheTableModel.SURFACE_DATA_TO_TEX_IMAGE,
+                        "FROM_ID", "TO_ID"), this);
+                break;
+            case LIBRARY_OBJECT:
+                dbImporter = new DBXlinkImporterLibraryObject(cacheTableManager.createSpillFile(CacheTableModel.LIBRARY_OBJECT,
+                        "ID", "FILE_URI"), this);
+                break;
+            case XLINK_DEPRECATED_MATERIAL:
+                dbImporter = new DBXlinkImporterDeprecatedMaterial(cacheTableManager.createSpillFile(CacheTableModel.DEPRECATED_MATERIAL,
+                        "ID", "GMLID", "SURFACE_GEOMETRY_ID"), this);
+                break;
+            case SOLID_GEOMETRY:
+                dbImporter = new DBXlinkImporterSolidGeometry(cacheTableManager.createSpillFile(CacheTableModel.SOLID_GEOMETRY,
+                        "ID"), this);
+                break;
+        }
+
+        if (dbImporter != null)
+            dbImporterMap.put(xlinkType, dbImporter);
+
+        return dbImporter;
+    }
+
     public void propagateEvent(Event event) {
         eventDispatcher.triggerEvent(event);
     }
@@ -28,14 +28,17 @@
 package org.citydb.core.operation.importer.database.xlink.importer;
 
 import org.citydb.core.operation.common.cache.CacheTable;
+import org.citydb.core.operation.common.cache.SpillFile;
 import org.citydb.core.operation.common.xlink.DBXlinkSolidGeometry;
 
+import java.io.IOException;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 public class DBXlinkImporterSolidGeometry implements DBXlinkImporter {
     private final DBXlinkImporterManager xlinkImporterManager;
     private PreparedStatement psXlink;
+    private SpillFile.Writer spillWriter;
     private int batchCounter;
 
     public DBXlinkImporterSolidGeometry(CacheTable tempTable, DBXlinkImporterManager xlinkImporterManager) throws SQLException {
@@ -45,7 +48,22 @@ public class DBXlinkImporterSolidGeometry implements DBXlinkImporter {
                 " (ID) values (?)");
     }
 
+    public DBXlinkImporterSolidGeometry(SpillFile spillFile, DBXlinkImporterManager xlinkImporterManager) {
+        this.xlinkImporterManager = xlinkImporterManager;
+        spillWriter = spillFile.newWriter();
+    }
+
     public boolean insert(DBXlinkSolidGeometry xlinkEntry) throws SQLException {
+        if (spillWriter != null) {
+            try {
+                spillWriter.writeLong(xlinkEntry.getId()).endRecord();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+
+            return true;
+        }
+
         psXlink.setLong(1, xlinkEntry.getId());
 
         psXlink.addBatch();
@@ -57,13 +75,30 @@ public class DBXlinkImporterSolidGeometry implements DBXlinkImporter {
 
     @Override
     public void executeBatch() throws SQLException {
+        if (spillWriter != null) {
+            try {
+                spillWriter.flush();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+
+            return;
+        }
+
         psXlink.executeBatch();
         batchCounter = 0;
     }
 
     @Override
     public void close() throws SQLException {
-        psXlink.close();
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+        } else
+            psXlink.close();
     }
 
     @Override
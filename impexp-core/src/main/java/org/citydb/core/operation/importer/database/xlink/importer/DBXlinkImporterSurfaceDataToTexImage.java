@@ -28,14 +28,17 @@
 package org.citydb.core.operation.importer.database.xlink.importer;
 
 import org.citydb.core.operation.common.cache.CacheTable;
+import org.citydb.core.operation.common.cache.SpillFile;
 import org.citydb.core.operation.common.xlink.DBXlinkSurfaceDataToTexImage;
 
+import java.io.IOException;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 public class DBXlinkImporterSurfaceDataToTexImage implements DBXlinkImporter {
     private final DBXlinkImporterManager xlinkImporterManager;
     private PreparedStatement psXlink;
+    private SpillFile.Writer spillWriter;
     private int batchCounter;
 
     public DBXlinkImporterSurfaceDataToTexImage(CacheTable tempTable, DBXlinkImporterManager xlinkImporterManager) throws SQLException {
@@ -46,7 +49,24 @@ public class DBXlinkImporterSurfaceDataToTexImage implements DBXlinkImporter {
                 .append(" (FROM_ID, TO_ID) values (?, ?)").toString());
     }
 
+    public DBXlinkImporterSurfaceDataToTexImage(SpillFile spillFile, DBXlinkImporterManager xlinkImporterManager) {
+        this.xlinkImporterManager = xlinkImporterManager;
+        spillWriter = spillFile.newWriter();
+    }
+
     public boolean insert(DBXlinkSurfaceDataToTexImage xlinkEntry) throws SQLException {
+        if (spillWriter != null) {
+            try {
+                spillWriter.writeLong(xlinkEntry.getFromId())
+                        .writeLong(xlinkEntry.getToId())
+                        .endRecord();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+
+            return true;
+        }
+
         psXlink.setLong(1, xlinkEntry.getFromId());
         psXlink.setLong(2, xlinkEntry.getToId());
 
@@ -59,13 +79,30 @@ public class DBXlinkImporterSurfaceDataToTexImage implements DBXlinkImporter {
 
     @Override
     public void executeBatch() throws SQLException {
+        if (spillWriter != null) {
+            try {
+                spillWriter.flush();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+
+            return;
+        }
+
         psXlink.executeBatch();
         batchCounter = 0;
     }
 
     @Override
     public void close() throws SQLException {
-        psXlink.close();
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+        } else
+            psXlink.close();
     }
 
     @Override
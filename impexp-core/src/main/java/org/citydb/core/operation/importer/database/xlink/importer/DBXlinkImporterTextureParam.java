@@ -28,8 +28,10 @@
 package org.citydb.core.operation.importer.database.xlink.importer;
 
 import org.citydb.core.operation.common.cache.CacheTable;
+import org.citydb.core.operation.common.cache.SpillFile;
 import org.citydb.core.operation.common.xlink.DBXlinkTextureParam;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -40,6 +42,7 @@ public class DBXlinkImporterTextureParam implements DBXlinkImporter {
 
     private Connection connection;
     private PreparedStatement psXlink;
+    private SpillFile.Writer spillWriter;
     private int batchCounter;
 
     public DBXlinkImporterTextureParam(CacheTable tempTable, DBXlinkImporterManager xlinkImporterManager) throws SQLException {
@@ -51,7 +54,30 @@ public class DBXlinkImporterTextureParam implements DBXlinkImporter {
                 "(?, ?, ?, ?, ?, ?)");
     }
 
+    public DBXlinkImporterTextureParam(SpillFile spillFile, DBXlinkImporterManager xlinkImporterManager) {
+        this.xlinkImporterManager = xlinkImporterManager;
+        spillWriter = spillFile.newWriter();
+    }
+
     public boolean insert(DBXlinkTextureParam xlinkEntry) throws SQLException {
+        if (spillWriter != null) {
+            try {
+                spillWriter.writeLong(xlinkEntry.getId())
+                        .writeString(xlinkEntry.getGmlId())
+                        .writeInt(xlinkEntry.getType().ordinal())
+                        .writeInt(xlinkEntry.isTextureParameterization() ? 1 : 0)
+                        .writeString(xlinkEntry.getTexParamGmlId() != null && xlinkEntry.getTexParamGmlId().length() != 0 ?
+                                xlinkEntry.getTexParamGmlId() : null)
+                        .writeString(xlinkEntry.getWorldToTexture() != null && xlinkEntry.getWorldToTexture().length() != 0 ?
+                                xlinkEntry.getWorldToTexture() : null)
+                        .endRecord();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+
+            return true;
+        }
+
         psXlink.setLong(1, xlinkEntry.getId());
         psXlink.setString(2, xlinkEntry.getGmlId());
         psXlink.setInt(3, xlinkEntry.getType().ordinal());
@@ -76,13 +102,30 @@ public class DBXlinkImporterTextureParam implements DBXlinkImporter {
 
     @Override
     public void executeBatch() throws SQLException {
+        if (spillWriter != null) {
+            try {
+                spillWriter.flush();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+
+            return;
+        }
+
         psXlink.executeBatch();
         batchCounter = 0;
     }
 
     @Override
     public void close() throws SQLException {
-        psXlink.close();
+        if (spillWriter != null) {
+            try {
+                spillWriter.close();
+            } catch (IOException e) {
+                throw new SQLException("Failed to write to spill file.", e);
+            }
+        } else
+            psXlink.close();
     }
 
     @Override
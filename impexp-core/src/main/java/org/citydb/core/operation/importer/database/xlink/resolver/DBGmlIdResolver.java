@@ -32,6 +32,7 @@ import org.citydb.core.operation.common.cache.IdCache;
 import org.citydb.core.operation.common.cache.IdCacheEntry;
 import org.citydb.core.operation.common.cache.IdCacheManager;
 import org.citydb.core.operation.common.cache.IdCacheType;
+import org.citydb.core.operation.common.cache.PersistentIdIndex;
 import org.citydb.util.log.Logger;
 
 import java.sql.Connection;
@@ -42,14 +43,24 @@ import java.sql.SQLException;
 public class DBGmlIdResolver {
     private final Logger log = Logger.getInstance();
     private final IdCacheManager idCacheManager;
+    private final PersistentIdIndex idIndex;
     private final PreparedStatement psSurfaceGeometryId;
     private final PreparedStatement psCityObjectId;
+    private final PreparedStatement psIndexedCityObjectId;
 
-    public DBGmlIdResolver(Connection connection, AbstractDatabaseAdapter databaseAdapter, IdCacheManager idCacheManager) throws SQLException {
+    public DBGmlIdResolver(Connection connection, AbstractDatabaseAdapter databaseAdapter, IdCacheManager idCacheManager, boolean useIdIndex) throws SQLException {
         this.idCacheManager = idCacheManager;
+        idIndex = useIdIndex ? idCacheManager.getPersistentIdIndex() : null;
         String schema = databaseAdapter.getConnectionDetails().getSchema();
         psSurfaceGeometryId = connection.prepareStatement("select ID from " + schema + ".SURFACE_GEOMETRY where ROOT_ID=? and GMLID=?");
         psCityObjectId = connection.prepareStatement("select ID, OBJECTCLASS_ID from " + schema + ".CITYOBJECT where GMLID=?");
+        psIndexedCityObjectId = idIndex != null ?
+                connection.prepareStatement("select OBJECTCLASS_ID from " + schema + ".CITYOBJECT where ID=? and GMLID=?") :
+                null;
+    }
+
+    public DBGmlIdResolver(Connection connection, AbstractDatabaseAdapter databaseAdapter, IdCacheManager idCacheManager) throws SQLException {
+        this(connection, databaseAdapter, idCacheManager, false);
     }
 
     public IdCacheEntry getDBId(String gmlId, IdCacheType type, boolean forceCityObjectDatabaseLookup) {
@@ -68,11 +79,21 @@ public class DBGmlIdResolver {
                         return null;
 
                     entry = geometryLookup(entry);
-                } else if (forceCityObjectDatabaseLookup) {
-                    if (entry != null)
-                        gmlId = entry.getMapping();
-
-                    entry = cityObjectLookup(gmlId);
+                } else {
+                    if (type == IdCacheType.OBJECT && idIndex != null) {
+                        // resolve against features of previous imports. index entries are only
+                        // candidates and must still exist in the database
+                        IdCacheEntry indexEntry = idIndex.get(entry != null ? entry.getMapping() : gmlId);
+                        if (indexEntry != null && (indexEntry = indexedCityObjectLookup(indexEntry)) != null)
+                            return indexEntry;
+                    }
+
+                    if (forceCityObjectDatabaseLookup) {
+                        if (entry != null)
+                            gmlId = entry.getMapping();
+
+                        entry = cityObjectLookup(gmlId);
+                    }
                 }
             } catch (SQLException e) {
                 log.error("SQL error while querying the gml:id cache.", e);
@@ -103,6 +124,17 @@ public class DBGmlIdResolver {
         }
     }
 
+    private IdCacheEntry indexedCityObjectLookup(IdCacheEntry entry) throws SQLException {
+        psIndexedCityObjectId.setLong(1, entry.getId());
+        psIndexedCityObjectId.setString(2, entry.getMapping());
+
+        try (ResultSet rs = psIndexedCityObjectId.executeQuery()) {
+            return rs.next() ?
+                    new IdCacheEntry(entry.getId(), 0, false, entry.getMapping(), rs.getInt(1)) :
+                    null;
+        }
+    }
+
     private IdCacheEntry cacheLookup(String gmlId, IdCacheEntry oldEntry, IdCache cache) {
         // this is a recursive server request since we might have mapped gml:ids!
         IdCacheEntry entry = cache.get(gmlId);
@@ -153,5 +185,7 @@ public class DBGmlIdResolver {
     public void close() throws SQLException {
         psSurfaceGeometryId.close();
         psCityObjectId.close();
+        if (psIndexedCityObjectId != null)
+            psIndexedCityObjectId.close();
     }
 }
@@ -90,7 +90,8 @@ public class DBXlinkResolverManager {
         this.eventDispatcher = eventDispatcher;
 
         resolvers = new HashMap<>();
-        gmlIdResolver = new DBGmlIdResolver(batchConn, databaseAdapter, idCacheManager);
+        gmlIdResolver = new DBGmlIdResolver(batchConn, databaseAdapter, idCacheManager,
+                config.getImportConfig().getIdIndex().isResolveXlinks());
         sequenceHelper = new SequenceHelper(batchConn, databaseAdapter, config);
         schemaMapping = ObjectRegistry.getInstance().getSchemaMapping();
     }
@@ -31,6 +31,7 @@ import org.citydb.config.i18n.Language;
 import org.citydb.config.project.global.LogLevel;
 import org.citydb.core.operation.common.cache.CacheTable;
 import org.citydb.core.operation.common.cache.CacheTableManager;
+import org.citydb.core.operation.common.cache.SpillFile;
 import org.citydb.core.operation.common.cache.model.CacheTableModel;
 import org.citydb.core.operation.common.xlink.*;
 import org.citydb.util.concurrent.WorkerPool;
@@ -40,6 +41,7 @@ import org.citydb.util.event.EventHandler;
 import org.citydb.util.event.global.*;
 import org.citydb.util.log.Logger;
 
+import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
@@ -116,33 +118,30 @@ public class DBXlinkSplitter implements EventHandler {
         if (!shouldRun)
             return;
 
-        CacheTable cacheTable = cacheTableManager.getCacheTable(CacheTableModel.BASIC);
-        if (cacheTable == null)
+        if (!exists(CacheTableModel.BASIC))
             return;
 
         log.info("Resolving feature XLinks...");
-        eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) cacheTable.size()));
+        eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) size(CacheTableModel.BASIC)));
         eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.basicXLink.msg")));
 
-        try (Statement stmt = cacheTable.getConnection().createStatement();
-             ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
-            while (rs.next() && shouldRun) {
-                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
-
-                long id = rs.getLong("ID");
-                String table = rs.getString("TABLE_NAME");
-                String fromColumn = rs.getString("FROM_COLUMN");
-                String toColumn = rs.getString("TO_COLUMN");
-                String gmlId = rs.getString("GMLID");
-
-                // set initial context...
-                xlinkResolverPool.addWork(new DBXlinkBasic(id,
-                        table,
-                        fromColumn,
-                        toColumn,
-                        gmlId));
-            }
-        }
+        // spill files are sorted by the target gml:id so that lookups of the same target follow each other
+        scan(CacheTableModel.BASIC, "GMLID", rs -> {
+            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+
+            long id = rs.getLong("ID");
+            String table = rs.getString("TABLE_NAME");
+            String fromColumn = rs.getString("FROM_COLUMN");
+            String toColumn = rs.getString("TO_COLUMN");
+            String gmlId = rs.getString("GMLID");
+
+            // set initial context...
+            xlinkResolverPool.addWork(new DBXlinkBasic(id,
+                    table,
+                    fromColumn,
+                    toColumn,
+                    gmlId));
+        });
     }
 
     private void groupMemberXLinks() throws SQLException {
@@ -217,17 +216,17 @@ public class DBXlinkSplitter implements EventHandler {
             return;
 
         if (!cacheTableManager.existsCacheTable(CacheTableModel.TEXTURE_COORD_LIST) &&
-                !cacheTableManager.existsCacheTable(CacheTableModel.TEXTUREPARAM) &&
-                !cacheTableManager.existsCacheTable(CacheTableModel.SURFACE_DATA_TO_TEX_IMAGE))
+                !exists(CacheTableModel.TEXTUREPARAM) &&
+                !exists(CacheTableModel.SURFACE_DATA_TO_TEX_IMAGE))
             return;
 
         CacheTable texCoordTable = cacheTableManager.getCacheTable(CacheTableModel.TEXTURE_COORD_LIST);
-        CacheTable texParamTableTable = cacheTableManager.getCacheTable(CacheTableModel.TEXTUREPARAM);
+        boolean existsTexParam = exists(CacheTableModel.TEXTUREPARAM);
         boolean existsLinearRingTable = cacheTableManager.existsCacheTable(CacheTableModel.LINEAR_RING);
 
         int max = 0;
         if (texCoordTable != null && existsLinearRingTable) max += (int) texCoordTable.size();
-        if (texParamTableTable != null) max += (int) texParamTableTable.size();
+        if (existsTexParam) max += (int) size(CacheTableModel.TEXTUREPARAM);
 
         log.info("Resolving appearance XLinks...");
         eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, max));
@@ -268,56 +267,48 @@ public class DBXlinkSplitter implements EventHandler {
         }
 
         // second step: resolve texture param other than texture coordinates
-        if (texParamTableTable != null) {
-            try (Statement stmt = texParamTableTable.getConnection().createStatement();
-                 ResultSet rs = stmt.executeQuery("select * from " + texParamTableTable.getTableName())) {
-                while (rs.next() && shouldRun) {
-                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+        if (existsTexParam) {
+            scan(CacheTableModel.TEXTUREPARAM, null, rs -> {
+                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
 
-                    long id = rs.getLong("ID");
-                    String gmlId = rs.getString("GMLID");
-                    DBXlinkTextureParamEnum type = DBXlinkTextureParamEnum.fromInt(rs.getInt("TYPE"));
-                    int isTexPara = rs.getInt("IS_TEXTURE_PARAMETERIZATION");
-                    String texParamGmlId = rs.getString("TEXPARAM_GMLID");
-                    String worldToTexture = rs.getString("WORLD_TO_TEXTURE");
+                long id = rs.getLong("ID");
+                String gmlId = rs.getString("GMLID");
+                DBXlinkTextureParamEnum type = DBXlinkTextureParamEnum.fromInt(rs.getInt("TYPE"));
+                int isTexPara = rs.getInt("IS_TEXTURE_PARAMETERIZATION");
+                String texParamGmlId = rs.getString("TEXPARAM_GMLID");
+                String worldToTexture = rs.getString("WORLD_TO_TEXTURE");
 
-                    // set initial context...
-                    DBXlinkTextureParam xlink = new DBXlinkTextureParam(
-                            id,
-                            gmlId,
-                            type);
+                // set initial context...
+                DBXlinkTextureParam xlink = new DBXlinkTextureParam(
+                        id,
+                        gmlId,
+                        type);
 
-                    xlink.setTextureParameterization(isTexPara != 0);
-                    xlink.setTexParamGmlId(texParamGmlId);
-                    xlink.setWorldToTexture(worldToTexture);
+                xlink.setTextureParameterization(isTexPara != 0);
+                xlink.setTexParamGmlId(texParamGmlId);
+                xlink.setWorldToTexture(worldToTexture);
 
-                    xlinkResolverPool.addWork(xlink);
-                }
-            }
+                xlinkResolverPool.addWork(xlink);
+            });
         }
 
         if (!shouldRun)
             return;
 
         // third step: import texture images and world files
-        if (cacheTableManager.existsCacheTable(CacheTableModel.TEXTURE_FILE)) {
-            CacheTable temporaryTable = cacheTableManager.getCacheTable(CacheTableModel.TEXTURE_FILE);
-
+        if (exists(CacheTableModel.TEXTURE_FILE)) {
             log.info("Importing texture images...");
-            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) temporaryTable.size()));
+            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) size(CacheTableModel.TEXTURE_FILE)));
             eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.texImg.msg")));
 
-            try (Statement stmt = temporaryTable.getConnection().createStatement();
-                 ResultSet rs = stmt.executeQuery("select * from " + temporaryTable.getTableName())) {
-                while (rs.next() && shouldRun) {
-                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+            scan(CacheTableModel.TEXTURE_FILE, null, rs -> {
+                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
 
-                    long id = rs.getLong("ID");
-                    String imageURI = rs.getString("FILE_URI");
+                long id = rs.getLong("ID");
+                String imageURI = rs.getString("FILE_URI");
 
-                    xlinkResolverPool.addWork(new DBXlinkTextureFile(id, imageURI));
-                }
-            }
+                xlinkResolverPool.addWork(new DBXlinkTextureFile(id, imageURI));
+            });
         }
 
         // restart xlink worker pools
@@ -329,24 +320,19 @@ public class DBXlinkSplitter implements EventHandler {
         }
 
         // fourth step: linking surface data to texture images
-        if (cacheTableManager.existsCacheTable(CacheTableModel.SURFACE_DATA_TO_TEX_IMAGE)) {
-            CacheTable temporaryTable = cacheTableManager.getCacheTable(CacheTableModel.SURFACE_DATA_TO_TEX_IMAGE);
-
+        if (exists(CacheTableModel.SURFACE_DATA_TO_TEX_IMAGE)) {
             log.info("Linking texture images to surface data...");
-            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) temporaryTable.size()));
+            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) size(CacheTableModel.SURFACE_DATA_TO_TEX_IMAGE)));
             eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.linkTexImg.msg")));
 
-            try (Statement stmt = temporaryTable.getConnection().createStatement();
-                 ResultSet rs = stmt.executeQuery("select * from " + temporaryTable.getTableName())) {
-                while (rs.next() && shouldRun) {
-                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+            scan(CacheTableModel.SURFACE_DATA_TO_TEX_IMAGE, null, rs -> {
+                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
 
-                    long fromId = rs.getLong("FROM_ID");
-                    long toId = rs.getLong("TO_ID");
+                long fromId = rs.getLong("FROM_ID");
+                long toId = rs.getLong("TO_ID");
 
-                    xlinkResolverPool.addWork(new DBXlinkSurfaceDataToTexImage(fromId, toId));
-                }
-            }
+                xlinkResolverPool.addWork(new DBXlinkSurfaceDataToTexImage(fromId, toId));
+            });
         }
 
         // restart xlink worker pools
@@ -361,29 +347,25 @@ public class DBXlinkSplitter implements EventHandler {
             return;
 
         // fifth step: identifying xlinks to texture association elements...
-        if (cacheTableManager.existsCacheTable(CacheTableModel.TEXTUREASSOCIATION) &&
+        if (exists(CacheTableModel.TEXTUREASSOCIATION) &&
                 cacheTableManager.existsCacheTable(CacheTableModel.TEXTUREASSOCIATION_TARGET)) {
-            CacheTable cacheTable = cacheTableManager.getCacheTable(CacheTableModel.TEXTUREASSOCIATION);
             cacheTableManager.getCacheTable(CacheTableModel.TEXTUREASSOCIATION_TARGET).createIndexes();
 
-            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) cacheTable.size()));
+            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) size(CacheTableModel.TEXTUREASSOCIATION)));
             eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.appXlink.msg")));
 
-            try (Statement stmt = cacheTable.getConnection().createStatement();
-                 ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
-                while (rs.next() && shouldRun) {
-                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+            scan(CacheTableModel.TEXTUREASSOCIATION, null, rs -> {
+                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
 
-                    long id = rs.getLong("ID");
-                    String gmlId = rs.getString("GMLID");
-                    String targetURI = rs.getString("TARGET_URI");
+                long id = rs.getLong("ID");
+                String gmlId = rs.getString("GMLID");
+                String targetURI = rs.getString("TARGET_URI");
 
-                    xlinkResolverPool.addWork(new DBXlinkTextureAssociation(
-                            id,
-                            gmlId,
-                            targetURI));
-                }
-            }
+                xlinkResolverPool.addWork(new DBXlinkTextureAssociation(
+                        id,
+                        gmlId,
+                        targetURI));
+            });
         }
     }
 
@@ -391,62 +373,54 @@ public class DBXlinkSplitter implements EventHandler {
         if (!shouldRun)
             return;
 
-        CacheTable cacheTable = cacheTableManager.getCacheTable(CacheTableModel.LIBRARY_OBJECT);
-        if (cacheTable == null)
+        if (!exists(CacheTableModel.LIBRARY_OBJECT))
             return;
 
         log.info("Importing library objects...");
-        eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) cacheTable.size()));
+        eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) size(CacheTableModel.LIBRARY_OBJECT)));
         eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.libObj.msg")));
 
-        try (Statement stmt = cacheTable.getConnection().createStatement();
-             ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
-            while (rs.next() && shouldRun) {
-                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+        scan(CacheTableModel.LIBRARY_OBJECT, null, rs -> {
+            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
 
-                long id = rs.getLong("ID");
-                String imageURI = rs.getString("FILE_URI");
+            long id = rs.getLong("ID");
+            String imageURI = rs.getString("FILE_URI");
 
-                // set initial context
-                DBXlinkLibraryObject xlink = new DBXlinkLibraryObject(
-                        id,
-                        imageURI);
+            // set initial context
+            DBXlinkLibraryObject xlink = new DBXlinkLibraryObject(
+                    id,
+                    imageURI);
 
-                xlinkResolverPool.addWork(xlink);
-            }
-        }
+            xlinkResolverPool.addWork(xlink);
+        });
     }
 
     private void deprecatedMaterialXlinks() throws SQLException {
         if (!shouldRun)
             return;
 
-        CacheTable cacheTable = cacheTableManager.getCacheTable(CacheTableModel.DEPRECATED_MATERIAL);
-        if (cacheTable == null)
+        if (!exists(CacheTableModel.DEPRECATED_MATERIAL))
             return;
 
         log.info("Resolving TexturedSurface XLinks...");
-        eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) cacheTable.size()));
+        eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) size(CacheTableModel.DEPRECATED_MATERIAL)));
         eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.depMat.msg")));
 
-        try (Statement stmt = cacheTable.getConnection().createStatement();
-             ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
-            while (rs.next() && shouldRun) {
-                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+        scan(CacheTableModel.DEPRECATED_MATERIAL, null, rs -> {
+            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
 
-                long appearanceId = rs.getLong("ID");
-                String gmlId = rs.getString("GMLID");
-                long surfaceGeometryId = rs.getLong("SURFACE_GEOMETRY_ID");
+            long appearanceId = rs.getLong("ID");
+            String gmlId = rs.getString("GMLID");
+            long surfaceGeometryId = rs.getLong("SURFACE_GEOMETRY_ID");
 
-                // set initial context
-                DBXlinkDeprecatedMaterial xlink = new DBXlinkDeprecatedMaterial(
-                        appearanceId,
-                        gmlId,
-                        surfaceGeometryId);
+            // set initial context
+            DBXlinkDeprecatedMaterial xlink = new DBXlinkDeprecatedMaterial(
+                    appearanceId,
+                    gmlId,
+                    surfaceGeometryId);
 
-                xlinkResolverPool.addWork(xlink);
-            }
-        }
+            xlinkResolverPool.addWork(xlink);
+        });
     }
 
     private void surfaceGeometryXlinks() throws SQLException {
@@ -528,23 +502,53 @@ public class DBXlinkSplitter implements EventHandler {
         if (!shouldRun)
             return;
 
-        CacheTable cacheTable = cacheTableManager.getCacheTable(CacheTableModel.SOLID_GEOMETRY);
-        if (cacheTable == null)
+        if (!exists(CacheTableModel.SOLID_GEOMETRY))
             return;
 
-        eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) cacheTable.size()));
+        eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) size(CacheTableModel.SOLID_GEOMETRY)));
         eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.solidXLink.msg")));
 
-        try (Statement stmt = cacheTable.getConnection().createStatement();
-             ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
-            while (rs.next() && shouldRun) {
-                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+        scan(CacheTableModel.SOLID_GEOMETRY, null, rs -> {
+            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
 
-                long id = rs.getLong("ID");
+            long id = rs.getLong("ID");
 
-                // set initial context
-                DBXlinkSolidGeometry xlink = new DBXlinkSolidGeometry(id);
-                xlinkResolverPool.addWork(xlink);
+            // set initial context
+            DBXlinkSolidGeometry xlink = new DBXlinkSolidGeometry(id);
+            xlinkResolverPool.addWork(xlink);
+        });
+    }
+
+    private boolean exists(CacheTableModel model) {
+        return cacheTableManager.existsSpillFile(model) || cacheTableManager.existsCacheTable(model);
+    }
+
+    private long size(CacheTableModel model) throws SQLException {
+        SpillFile spillFile = cacheTableManager.getSpillFile(model);
+        return spillFile != null ?
+                spillFile.size() :
+                cacheTableManager.getCacheTable(model).size();
+    }
+
+    private void scan(CacheTableModel model, String sortColumn, RecordHandler handler) throws SQLException {
+        SpillFile spillFile = cacheTableManager.getSpillFile(model);
+        if (spillFile != null) {
+            try (SpillFile.Reader reader = sortColumn != null ?
+                    spillFile.newSortedReader(sortColumn) :
+                    spillFile.newReader()) {
+                Record record = new SpillFileRecord(reader);
+                while (reader.next() && shouldRun)
+                    handler.handle(record);
+            } catch (IOException e) {
+                throw new SQLException("Failed to read spill file '" + spillFile.getFile().getFileName() + "'.", e);
+            }
+        } else {
+            CacheTable cacheTable = cacheTableManager.getCacheTable(model);
+            try (Statement stmt = cacheTable.getConnection().createStatement();
+                 ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
+                Record record = new ResultSetRecord(rs);
+                while (rs.next() && shouldRun)
+                    handler.handle(record);
             }
         }
     }
@@ -555,4 +559,63 @@ public class DBXlinkSplitter implements EventHandler {
             shouldRun = false;
     }
 
+    private interface Record {
+        long getLong(String column) throws SQLException;
+
+        int getInt(String column) throws SQLException;
+
+        String getString(String column) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RecordHandler {
+        void handle(Record record) throws SQLException;
+    }
+
+    private static class ResultSetRecord implements Record {
+        private final ResultSet rs;
+
+        ResultSetRecord(ResultSet rs) {
+            this.rs = rs;
+        }
+
+        @Override
+        public long getLong(String column) throws SQLException {
+            return rs.getLong(column);
+        }
+
+        @Override
+        public int getInt(String column) throws SQLException {
+            return rs.getInt(column);
+        }
+
+        @Override
+        public String getString(String column) throws SQLException {
+            return rs.getString(column);
+        }
+    }
+
+    private static class SpillFileRecord implements Record {
+        private final SpillFile.Reader reader;
+
+        SpillFileRecord(SpillFile.Reader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public long getLong(String column) {
+            return reader.getLong(column);
+        }
+
+        @Override
+        public int getInt(String column) {
+            return reader.getInt(column);
+        }
+
+        @Override
+        public String getString(String column) {
+            return reader.getString(column);
+        }
+    }
+
 }
@@ -34,6 +34,7 @@ import org.citydb.config.project.query.simple.SimpleAttributeFilter;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.schema.mapping.SchemaMapping;
 import org.citydb.core.operation.common.cache.CacheTable;
+import org.citydb.core.operation.common.csv.IdHashSet;
 import org.citydb.core.operation.importer.filter.selection.comparison.LikeFilter;
 import org.citydb.core.operation.importer.filter.selection.counter.CounterFilter;
 import org.citydb.core.operation.importer.filter.selection.id.ImportListFilter;
@@ -51,7 +52,7 @@ public class CityGMLFilterBuilder {
         this.databaseAdapter = databaseAdapter;
     }
 
-    public CityGMLFilter buildCityGMLFilter(ImportFilter filterConfig, CacheTable importListCacheTable) throws FilterException {
+    public CityGMLFilter buildCityGMLFilter(ImportFilter filterConfig, CacheTable importListCacheTable, IdHashSet importListHashSet) throws FilterException {
         CityGMLFilter filter = new CityGMLFilter(schemaMapping);
 
         // feature type filter
@@ -94,7 +95,8 @@ public class CityGMLFilterBuilder {
 
         // import list filter
         if (filterConfig.isUseImportListFilter() && filterConfig.isSetImportList()) {
-            filter.getSelectionFilter().setImportListFilter(new ImportListFilter(filterConfig.getImportList(), importListCacheTable));
+            filter.getSelectionFilter().setImportListFilter(new ImportListFilter(filterConfig.getImportList(),
+                    importListCacheTable, importListHashSet));
         }
 
         // counter filter
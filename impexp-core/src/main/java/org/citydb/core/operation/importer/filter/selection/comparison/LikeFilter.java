@@ -32,12 +32,12 @@ import org.citydb.core.query.filter.FilterException;
 import org.citygml4j.model.gml.basicTypes.Code;
 import org.citygml4j.model.gml.feature.AbstractFeature;
 
-import java.util.regex.Matcher;
+import java.util.List;
 import java.util.regex.Pattern;
 
 public class LikeFilter {
     private final String literal;
-    private final Matcher matcher;
+    private final Pattern pattern;
 
     private char wildCard = '*';
     private char singleCharacter = '.';
@@ -58,20 +58,32 @@ public class LikeFilter {
         if (likeOperator.isSetEscapeCharacter())
             escapeCharacter = likeOperator.getEscapeCharacter().charAt(0);
 
-        matcher = Pattern.compile(replaceWildCards(), Pattern.UNICODE_CHARACTER_CLASS | Pattern.MULTILINE).matcher("");
+        pattern = Pattern.compile(replaceWildCards(), Pattern.UNICODE_CHARACTER_CLASS | Pattern.MULTILINE);
     }
 
     public boolean isSatisfiedBy(AbstractFeature feature) {
         for (Code code : feature.getName()) {
-            if (code.isSetValue()) {
-                if (matcher.reset(code.getValue()).matches())
-                    return true;
-            }
+            if (code.isSetValue() && isSatisfiedBy(code.getValue()))
+                return true;
         }
 
         return false;
     }
 
+    public boolean isSatisfiedBy(List<String> names) {
+        for (String name : names) {
+            if (isSatisfiedBy(name))
+                return true;
+        }
+
+        return false;
+    }
+
+    private boolean isSatisfiedBy(String name) {
+        // matchers are not thread-safe, and filters are shared between workers
+        return pattern.matcher(name).matches();
+    }
+
     private String replaceWildCards() {
         boolean escapeWildCard = wildCard != '*' && singleCharacter != '*';
         boolean espaceSingleChar = wildCard != '.' && singleCharacter != '.';
@@ -44,10 +44,14 @@ public class DuplicateListFilter {
     }
 
     public boolean isSatisfiedBy(AbstractFeature feature) throws FilterException {
-        if (feature.isSetId()) {
+        return isSatisfiedBy(feature.getId());
+    }
+
+    public boolean isSatisfiedBy(String gmlId) throws FilterException {
+        if (gmlId != null) {
             try (PreparedStatement ps = duplicateListCacheTable.getConnection().prepareStatement("select 1 from " +
                     duplicateListCacheTable.getTableName() + " where gmlid = ?")) {
-                ps.setString(1, feature.getId());
+                ps.setString(1, gmlId);
                 try (ResultSet rs = ps.executeQuery()) {
                     return !rs.next();
                 }
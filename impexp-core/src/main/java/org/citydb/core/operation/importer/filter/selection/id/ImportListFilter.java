@@ -31,39 +31,81 @@ package org.citydb.core.operation.importer.filter.selection.id;
 import org.citydb.config.project.importer.ImportList;
 import org.citydb.config.project.importer.ImportListMode;
 import org.citydb.core.operation.common.cache.CacheTable;
+import org.citydb.core.operation.common.csv.IdHashSet;
 import org.citydb.core.query.filter.FilterException;
 import org.citygml4j.model.gml.feature.AbstractFeature;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 public class ImportListFilter {
     private final CacheTable importListCacheTable;
+    private final IdHashSet hashSet;
     private final ImportListMode mode;
+    private final Queue<PreparedStatement> statements = new ConcurrentLinkedQueue<>();
 
-    public ImportListFilter(ImportList importList, CacheTable importListCacheTable) throws FilterException {
+    public ImportListFilter(ImportList importList, CacheTable importListCacheTable, IdHashSet hashSet) throws FilterException {
         if (importList == null) {
             throw new FilterException("Import list config must not be null.");
         }
 
         this.importListCacheTable = importListCacheTable;
+        this.hashSet = hashSet != null && !hashSet.isExceeded() ? hashSet : null;
         mode = importList.getMode();
     }
 
     public boolean isSatisfiedBy(AbstractFeature feature) throws FilterException {
-        if (feature.isSetId()) {
-            try (PreparedStatement ps = importListCacheTable.getConnection().prepareStatement("select 1 from " +
-                    importListCacheTable.getTableName() + " where gmlid = ?")) {
-                ps.setString(1, feature.getId());
-                try (ResultSet rs = ps.executeQuery()) {
-                    return (mode == ImportListMode.IMPORT) == rs.next();
-                }
+        return isSatisfiedBy(feature.getId());
+    }
+
+    public boolean isSatisfiedBy(String gmlId) throws FilterException {
+        if (gmlId != null) {
+            // hash misses are exact, whereas hash hits are verified against the cache table
+            boolean contained = (hashSet == null || hashSet.mightContain(gmlId)) && lookup(gmlId);
+            return (mode == ImportListMode.IMPORT) == contained;
+        }
+
+        return true;
+    }
+
+    private boolean lookup(String gmlId) throws FilterException {
+        // every worker borrows its own statement so that lookups do not block each other
+        PreparedStatement ps = statements.poll();
+        try {
+            if (ps == null) {
+                ps = importListCacheTable.getConnection().prepareStatement("select 1 from " +
+                        importListCacheTable.getTableName() + " where gmlid = ?");
+            }
+
+            ps.setString(1, gmlId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            throw new FilterException("Failed to query import list.", e);
+        } finally {
+            if (ps != null) {
+                statements.offer(ps);
+            }
+        }
+    }
+
+    public void close() throws SQLException {
+        SQLException exception = null;
+        PreparedStatement ps;
+        while ((ps = statements.poll()) != null) {
+            try {
+                ps.close();
             } catch (SQLException e) {
-                throw new FilterException("Failed to query import list.", e);
+                exception = e;
             }
         }
 
-        return true;
+        if (exception != null) {
+            throw exception;
+        }
     }
 }
@@ -49,7 +49,11 @@ public class ResourceIdFilter {
     }
 
     public boolean isSatisfiedBy(AbstractFeature feature) {
-        return feature.isSetId() && ids.contains(feature.getId());
+        return isSatisfiedBy(feature.getId());
+    }
+
+    public boolean isSatisfiedBy(String gmlId) {
+        return gmlId != null && ids.contains(gmlId);
     }
 
 }
@@ -72,16 +72,21 @@ public class SimpleBBOXFilter {
         if (candidate == null)
             return false;
 
+        return isSatisfiedBy(candidate.getLowerCorner().getX(), candidate.getLowerCorner().getY(),
+                candidate.getUpperCorner().getX(), candidate.getUpperCorner().getY());
+    }
+
+    public boolean isSatisfiedBy(double minX, double minY, double maxX, double maxY) {
         if (mode == SimpleBBOXMode.WITHIN) {
-            return (candidate.getLowerCorner().getX() >= bbox.getLowerCorner().getX() &&
-                    candidate.getLowerCorner().getY() >= bbox.getLowerCorner().getY() &&
-                    candidate.getUpperCorner().getX() <= bbox.getUpperCorner().getX() &&
-                    candidate.getUpperCorner().getY() <= bbox.getUpperCorner().getY());
+            return (minX >= bbox.getLowerCorner().getX() &&
+                    minY >= bbox.getLowerCorner().getY() &&
+                    maxX <= bbox.getUpperCorner().getX() &&
+                    maxY <= bbox.getUpperCorner().getY());
         } else {
-            return !(candidate.getLowerCorner().getX() >= bbox.getUpperCorner().getX() ||
-                    candidate.getLowerCorner().getY() >= bbox.getUpperCorner().getY() ||
-                    candidate.getUpperCorner().getX() <= bbox.getLowerCorner().getX() ||
-                    candidate.getUpperCorner().getY() <= bbox.getLowerCorner().getY());
+            return !(minX >= bbox.getUpperCorner().getX() ||
+                    minY >= bbox.getUpperCorner().getY() ||
+                    maxX <= bbox.getLowerCorner().getX() ||
+                    maxY <= bbox.getLowerCorner().getY());
         }
     }
 
@@ -54,6 +54,7 @@ import java.io.InputStream;
 public class CityGMLReader implements FeatureReader, EventHandler {
     private final CityGMLInputFilter typeFilter;
     private final CounterFilter counterFilter;
+    private final XMLChunkPreFilter preFilter;
     private final ValidationErrorHandler validationHandler;
     private final CityGMLInputFactory factory;
     private final Object eventChannel;
@@ -63,9 +64,10 @@ public class CityGMLReader implements FeatureReader, EventHandler {
 
     private volatile boolean shouldRun = true;
 
-    CityGMLReader(CityGMLInputFilter typeFilter, CounterFilter counterFilter, ValidationErrorHandler validationHandler, CityGMLInputFactory factory, Object eventChannel, Config config) {
+    CityGMLReader(CityGMLInputFilter typeFilter, CounterFilter counterFilter, XMLChunkPreFilter preFilter, ValidationErrorHandler validationHandler, CityGMLInputFactory factory, Object eventChannel, Config config) {
         this.typeFilter = typeFilter;
         this.counterFilter = counterFilter;
+        this.preFilter = preFilter;
         this.validationHandler = validationHandler;
         this.factory = factory;
         this.eventChannel = eventChannel;
@@ -98,7 +100,7 @@ public class CityGMLReader implements FeatureReader, EventHandler {
                     minThreads,
                     maxThreads,
                     PoolSizeAdaptationStrategy.AGGRESSIVE,
-                    new FeatureReaderWorkerFactory(workerPool, config, eventDispatcher),
+                    new FeatureReaderWorkerFactory(workerPool, preFilter, config, eventDispatcher),
                     maxThreads * 2,
                     false);
 
@@ -61,6 +61,7 @@ public class CityGMLReaderFactory implements FeatureReaderFactory {
     private CityGMLInputFactory factory;
     private CityGMLInputFilter typeFilter;
     private CounterFilter counterFilter;
+    private XMLChunkPreFilter preFilter;
     private ValidationErrorHandler validationHandler;
     private Object eventChannel;
     private Config config;
@@ -127,10 +128,13 @@ public class CityGMLReaderFactory implements FeatureReaderFactory {
         };
 
         counterFilter = filter.getCounterFilter();
+
+        // evaluate selection filters on raw XML chunks to avoid unmarshalling features that are skipped anyway
+        preFilter = XMLChunkPreFilter.newInstance(filter, config);
     }
 
     @Override
     public FeatureReader createFeatureReader() throws FeatureReadException {
-        return new CityGMLReader(typeFilter, counterFilter, validationHandler, factory, eventChannel, config);
+        return new CityGMLReader(typeFilter, counterFilter, preFilter, validationHandler, factory, eventChannel, config);
     }
 }
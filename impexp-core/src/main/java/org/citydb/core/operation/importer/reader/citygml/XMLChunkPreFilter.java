@@ -0,0 +1,237 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.reader.citygml;
+
+import org.citydb.config.Config;
+import org.citydb.config.project.common.XSLTransformation;
+import org.citydb.core.operation.importer.filter.CityGMLFilter;
+import org.citydb.core.operation.importer.filter.selection.SelectionFilter;
+import org.citydb.core.plugin.PluginManager;
+import org.citydb.core.plugin.extension.importer.FeatureImportExtension;
+import org.citydb.core.query.filter.FilterException;
+import org.citygml4j.model.citygml.CityGMLClass;
+import org.citygml4j.model.module.gml.GMLCoreModule;
+import org.citygml4j.xml.io.reader.XMLChunk;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class XMLChunkPreFilter {
+    private static final String GML = GMLCoreModule.v3_1_1.getNamespaceURI();
+    private static final StopScanning STOP_SCANNING = new StopScanning();
+
+    private final SelectionFilter selectionFilter;
+
+    private XMLChunkPreFilter(SelectionFilter selectionFilter) {
+        this.selectionFilter = selectionFilter;
+    }
+
+    public static XMLChunkPreFilter newInstance(CityGMLFilter filter, Config config) {
+        SelectionFilter selectionFilter = filter.getSelectionFilter();
+        if (!selectionFilter.isSetResourceIdFilter()
+                && !selectionFilter.isSetNameFilter()
+                && !selectionFilter.isSetImportListFilter()
+                && !selectionFilter.isSetDuplicateListFilter()
+                && !selectionFilter.isSetBboxFilter()) {
+            return null;
+        }
+
+        // XSL transformations and import plugins may change features before the selection
+        // filter is evaluated, so the raw chunk content cannot be used in this case
+        XSLTransformation xslTransformation = config.getImportConfig().getCityGMLOptions().getXSLTransformation();
+        if ((xslTransformation.isEnabled() && xslTransformation.isSetStylesheets())
+                || !PluginManager.getInstance().getEnabledExternalPlugins(FeatureImportExtension.class).isEmpty()) {
+            return null;
+        }
+
+        return new XMLChunkPreFilter(selectionFilter);
+    }
+
+    public boolean isCandidate(XMLChunk chunk) throws FilterException {
+        // global appearances are not subject to the selection filter
+        if (chunk.getCityGMLClass() == CityGMLClass.APPEARANCE) {
+            return true;
+        }
+
+        FeatureHeader header = new FeatureHeader();
+        try {
+            chunk.send(header, false);
+        } catch (SAXException e) {
+            if (e != STOP_SCANNING) {
+                // let the unmarshaller report the error
+                return true;
+            }
+        }
+
+        if (!header.hasRootElement) {
+            return true;
+        }
+
+        if (selectionFilter.isSetResourceIdFilter()
+                && !selectionFilter.getResourceIdFilter().isSatisfiedBy(header.gmlId)) {
+            return false;
+        }
+
+        if (selectionFilter.isSetNameFilter()
+                && header.isComplete
+                && !selectionFilter.getNameFilter().isSatisfiedBy(header.names)) {
+            return false;
+        }
+
+        if (selectionFilter.isSetImportListFilter()
+                && !selectionFilter.getImportListFilter().isSatisfiedBy(header.gmlId)) {
+            return false;
+        }
+
+        if (selectionFilter.isSetDuplicateListFilter()
+                && !selectionFilter.getDuplicateListFilter().isSatisfiedBy(header.gmlId)) {
+            return false;
+        }
+
+        // features without an envelope get their bounding box computed from
+        // their geometries after unmarshalling, so they must be kept here
+        if (selectionFilter.isSetBboxFilter()
+                && header.lowerCorner != null
+                && header.upperCorner != null
+                && !selectionFilter.getBboxFilter().isSatisfiedBy(header.lowerCorner[0], header.lowerCorner[1],
+                header.upperCorner[0], header.upperCorner[1])) {
+            return false;
+        }
+
+        return true;
+    }
+
+    private static final class FeatureHeader extends DefaultHandler {
+        private final List<String> names = new ArrayList<>();
+        private final StringBuilder buffer = new StringBuilder();
+        private String gmlId;
+        private double[] lowerCorner;
+        private double[] upperCorner;
+        private boolean hasRootElement;
+        private boolean isComplete;
+        private boolean inBoundedBy;
+        private boolean inEnvelope;
+        private boolean capture;
+        private int depth;
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            depth++;
+            if (depth == 1) {
+                hasRootElement = true;
+                gmlId = attributes.getValue(GML, "id");
+            } else if (depth == 2) {
+                if (!GML.equals(uri)) {
+                    stop();
+                }
+
+                switch (localName) {
+                    case "name":
+                        capture = true;
+                        break;
+                    case "boundedBy":
+                        inBoundedBy = true;
+                        break;
+                    case "metaDataProperty":
+                    case "description":
+                        break;
+                    default:
+                        // gml:location and feature properties follow the header
+                        stop();
+                }
+            } else if (depth == 3 && inBoundedBy) {
+                inEnvelope = GML.equals(uri) && localName.equals("Envelope");
+            } else if (depth == 4 && inEnvelope) {
+                capture = GML.equals(uri)
+                        && (localName.equals("lowerCorner") || localName.equals("upperCorner") || localName.equals("pos"));
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (capture) {
+                if (depth == 2) {
+                    names.add(buffer.toString());
+                } else {
+                    double[] coordinates = parseCoordinates();
+                    if (localName.equals("lowerCorner") || (localName.equals("pos") && lowerCorner == null)) {
+                        lowerCorner = coordinates;
+                    } else {
+                        upperCorner = coordinates;
+                    }
+                }
+
+                buffer.setLength(0);
+                capture = false;
+            }
+
+            if (depth == 1 || (depth == 2 && inBoundedBy)) {
+                stop();
+            } else if (depth == 3) {
+                inEnvelope = false;
+            }
+
+            depth--;
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (capture) {
+                buffer.append(ch, start, length);
+            }
+        }
+
+        private double[] parseCoordinates() {
+            String[] values = buffer.toString().trim().split("\\s+");
+            if (values.length < 2) {
+                return null;
+            }
+
+            try {
+                return new double[]{Double.parseDouble(values[0]), Double.parseDouble(values[1])};
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private void stop() throws StopScanning {
+            isComplete = true;
+            throw STOP_SCANNING;
+        }
+    }
+
+    private static final class StopScanning extends SAXException {
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.util;
+
+import org.citydb.core.operation.common.util.AffineTransformer;
+import org.citygml4j.model.gml.geometry.primitives.AbstractRing;
+import org.citygml4j.model.gml.geometry.primitives.DirectPosition;
+import org.citygml4j.model.gml.geometry.primitives.DirectPositionList;
+import org.citygml4j.model.gml.geometry.primitives.LinearRing;
+import org.citygml4j.model.gml.geometry.primitives.PosOrPointPropertyOrPointRep;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reusable buffer of 3d coordinates backed by a primitive {@code double[]}.
+ * <p>
+ * Coordinates of linear rings given as {@code gml:posList} or {@code gml:pos} are copied
+ * directly from the unmarshalled values into the buffer, without creating the intermediate
+ * lists of {@link AbstractRing#toList3d(boolean)}. Other ring representations fall back
+ * to {@code toList3d()}. Closing and reversing rings is done in place.
+ */
+public class CoordinateBuffer {
+    private static final int INITIAL_CAPACITY = 3 * 64;
+
+    private double[] coordinates = new double[INITIAL_CAPACITY];
+    private int size;
+
+    public CoordinateBuffer read(AbstractRing ring, boolean reverse) {
+        size = 0;
+
+        if (!(ring instanceof LinearRing) || !readLinearRing((LinearRing) ring)) {
+            size = 0;
+            List<Double> values = ring.toList3d();
+            if (values != null) {
+                ensureCapacity(values.size());
+                for (Double value : values) {
+                    coordinates[size++] = value;
+                }
+            }
+        }
+
+        if (reverse) {
+            reverse();
+        }
+
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getNumberOfPoints() {
+        return size / 3;
+    }
+
+    public double get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        return coordinates[index];
+    }
+
+    public boolean isClosed() {
+        return size >= 3
+                && Double.compare(coordinates[0], coordinates[size - 3]) == 0
+                && Double.compare(coordinates[1], coordinates[size - 2]) == 0
+                && Double.compare(coordinates[2], coordinates[size - 1]) == 0;
+    }
+
+    public void closeRing() {
+        if (size >= 3) {
+            ensureCapacity(3);
+            coordinates[size] = coordinates[0];
+            coordinates[size + 1] = coordinates[1];
+            coordinates[size + 2] = coordinates[2];
+            size += 3;
+        }
+    }
+
+    public void reverse() {
+        for (int i = 0, j = size - 3; i < j; i += 3, j -= 3) {
+            for (int k = 0; k < 3; k++) {
+                double tmp = coordinates[i + k];
+                coordinates[i + k] = coordinates[j + k];
+                coordinates[j + k] = tmp;
+            }
+        }
+    }
+
+    public void transform(AffineTransformer affineTransformer) {
+        affineTransformer.transformCoordinates(coordinates, size);
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(coordinates, size);
+    }
+
+    public double[] toArray2d() {
+        double[] result = new double[size / 3 * 2];
+        for (int i = 0, j = 0; i + 2 < size; i += 3) {
+            result[j++] = coordinates[i];
+            result[j++] = coordinates[i + 1];
+        }
+
+        return result;
+    }
+
+    private boolean readLinearRing(LinearRing ring) {
+        if (ring.isSetCoord() || ring.isSetCoordinates()) {
+            return false;
+        }
+
+        if (ring.isSetPosList()) {
+            if (ring.isSetPosOrPointPropertyOrPointRep() || !readPositions(ring.getPosList())) {
+                return false;
+            }
+        } else if (ring.isSetPosOrPointPropertyOrPointRep()) {
+            for (PosOrPointPropertyOrPointRep item : ring.getPosOrPointPropertyOrPointRep()) {
+                if (!item.isSetPos() || !readPosition(item.getPos())) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private boolean readPositions(DirectPositionList posList) {
+        if (!posList.isSetValue()) {
+            return true;
+        }
+
+        return read(posList.getValue(), posList.isSetSrsDimension() ? posList.getSrsDimension() : 3);
+    }
+
+    private boolean readPosition(DirectPosition pos) {
+        if (!pos.isSetValue()) {
+            return true;
+        }
+
+        List<Double> values = pos.getValue();
+        return read(values, values.size() == 2 ? 2 : 3);
+    }
+
+    private boolean read(List<Double> values, int dimension) {
+        int length = values.size();
+        if ((dimension != 2 && dimension != 3) || length % dimension != 0) {
+            return false;
+        }
+
+        ensureCapacity(length / dimension * 3);
+        for (int i = 0; i < length; i += dimension) {
+            coordinates[size++] = values.get(i);
+            coordinates[size++] = values.get(i + 1);
+            coordinates[size++] = dimension == 3 ? values.get(i + 2) : 0;
+        }
+
+        return true;
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > coordinates.length) {
+            coordinates = Arrays.copyOf(coordinates, Math.max(coordinates.length * 2, size + length));
+        }
+    }
+}
@@ -49,6 +49,7 @@ import java.util.*;
 public class GeometryConverter {
     private AffineTransformer affineTransformer;
     private final GeometryValidator geometryValidator;
+    private final CoordinateBuffer coordinateBuffer = new CoordinateBuffer();
     private final int dbSrid;
     private final boolean hasSolidSupport;
 
@@ -546,9 +547,9 @@ public class GeometryConverter {
         GeometryObject polygonGeom = null;
 
         if (polygon != null) {
-            List<List<Double>> pointList = generatePointList(polygon, is2d, false);
+            List<double[]> pointList = generatePointList(polygon, is2d, false);
             if (pointList != null && !pointList.isEmpty()) {
-                polygonGeom = GeometryObject.createPolygon(convertAggregate(pointList), is2d ? 2 : 3, dbSrid);
+                polygonGeom = GeometryObject.createPolygon(pointList.toArray(new double[0][]), is2d ? 2 : 3, dbSrid);
             }
         }
 
@@ -567,52 +568,41 @@ public class GeometryConverter {
                 null;
     }
 
-    private List<List<Double>> generatePointList(Polygon polygon, boolean is2d, boolean reverse) throws CityGMLImportException {
-        List<List<Double>> pointList = new ArrayList<>();
+    private List<double[]> generatePointList(Polygon polygon, boolean is2d, boolean reverse) throws CityGMLImportException {
+        List<double[]> pointList = new ArrayList<>();
 
         if (polygon.isSetExterior()) {
             AbstractRing exteriorRing = polygon.getExterior().getRing();
             if (exteriorRing != null) {
-                List<Double> coords = exteriorRing.toList3d(reverse);
-                if (!geometryValidator.isValidRing(coords, exteriorRing)) {
+                if (!geometryValidator.isValidRing(coordinateBuffer.read(exteriorRing, reverse), exteriorRing)) {
                     return null;
                 }
 
-                pointList.add(coords);
+                pointList.add(convertRing(is2d));
 
                 if (polygon.isSetInterior()) {
                     for (AbstractRingProperty abstractRingProperty : polygon.getInterior()) {
                         AbstractRing interiorRing = abstractRingProperty.getRing();
-                        if (interiorRing != null) {
-                            coords = interiorRing.toList3d(reverse);
-                            if (geometryValidator.isValidRing(coords, interiorRing)) {
-                                pointList.add(coords);
-                            }
+                        if (interiorRing != null
+                                && geometryValidator.isValidRing(coordinateBuffer.read(interiorRing, reverse), interiorRing)) {
+                            pointList.add(convertRing(is2d));
                         }
                     }
                 }
             }
+        }
 
-            if (is2d) {
-                // if we have to return a 2d polygon we first have to correct the
-                // double lists we retrieved from citygml4j as they are always 3d
-                for (List<Double> coordsList : pointList) {
-                    Iterator<Double> iter = coordsList.iterator();
-
-                    int count = 0;
-                    while (iter.hasNext()) {
-                        iter.next();
+        return pointList;
+    }
 
-                        if (count++ == 2) {
-                            count = 0;
-                            iter.remove();
-                        }
-                    }
-                }
-            }
+    private double[] convertRing(boolean is2d) {
+        if (affineTransformer != null) {
+            coordinateBuffer.transform(affineTransformer);
         }
 
-        return pointList;
+        // the coordinate buffer is always 3d, so we have to drop
+        // the z values if we have to return a 2d polygon
+        return is2d ? coordinateBuffer.toArray2d() : coordinateBuffer.toArray();
     }
 
     public GeometryObject getSolid(Solid solid) throws CityGMLImportException {
@@ -621,7 +611,7 @@ public class GeometryConverter {
         }
 
         if (solid != null) {
-            final List<List<Double>> pointList = new ArrayList<>();
+            final List<double[]> pointList = new ArrayList<>();
             final List<Integer> rings = new ArrayList<>();
             final CityGMLImportException[] exceptions = new CityGMLImportException[1];
 
@@ -650,7 +640,7 @@ public class GeometryConverter {
                 }
 
                 public void visit(Polygon polygon) {
-                    List<List<Double>> points = null;
+                    List<double[]> points = null;
                     try {
                         points = generatePointList(polygon, false, reverse);
                     } catch (CityGMLImportException e) {
@@ -677,10 +667,9 @@ public class GeometryConverter {
 
                 public void visit(AbstractRing ring) {
                     // required to handle surface patches such as triangles and rectangles
-                    List<Double> points = ring.toList3d(reverse);
                     try {
-                        if (geometryValidator.isValidRing(points, ring)) {
-                            pointList.add(points);
+                        if (geometryValidator.isValidRing(coordinateBuffer.read(ring, reverse), ring)) {
+                            pointList.add(convertRing(false));
                             rings.add(ringNo);
                             ringNo++;
                         }
@@ -702,7 +691,7 @@ public class GeometryConverter {
                     exteriorRings[i++] = ringNo;
                 }
 
-                return GeometryObject.createSolid(convertAggregate(pointList), exteriorRings, dbSrid);
+                return GeometryObject.createSolid(pointList.toArray(new double[0][]), exteriorRings, dbSrid);
             }
         }
 
@@ -77,7 +77,7 @@ public class GeometryValidator {
         return true;
     }
 
-    public boolean isValidRing(List<Double> coordinates, AbstractRing ring) throws CityGMLImportException {
+    public boolean isValidRing(CoordinateBuffer coordinates, AbstractRing ring) throws CityGMLImportException {
         if (coordinates == null || ring.hasLocalProperty(CoreConstants.GEOMETRY_INVALID)) {
             return false;
         }
@@ -86,7 +86,7 @@ public class GeometryValidator {
         closeRing(coordinates, ring);
 
         // too few points
-        if (coordinates.size() / 3 < 4) {
+        if (coordinates.getNumberOfPoints() < 4) {
             logOrThrow(ring, getGeometrySignature(ring) + " has too few points.");
             return false;
         }
@@ -94,25 +94,13 @@ public class GeometryValidator {
         return true;
     }
 
-    private void closeRing(List<Double> coordinates, AbstractRing ring) throws CityGMLImportException {
-        if (coordinates.size() >= 9) {
-            Double x = coordinates.get(0);
-            Double y = coordinates.get(1);
-            Double z = coordinates.get(2);
+    private void closeRing(CoordinateBuffer coordinates, AbstractRing ring) throws CityGMLImportException {
+        if (coordinates.size() >= 9 && !coordinates.isClosed()) {
+            logOrThrow(ring, "Fixed unclosed " + getGeometrySignature(ring) + " by appending its first point.",
+                    LogLevel.DEBUG);
 
-            int nrOfPoints = coordinates.size();
-            if (!x.equals(coordinates.get(nrOfPoints - 3))
-                    || !y.equals(coordinates.get(nrOfPoints - 2))
-                    || !z.equals(coordinates.get(nrOfPoints - 1))) {
-
-                logOrThrow(ring, "Fixed unclosed " + getGeometrySignature(ring) + " by appending its first point.",
-                        LogLevel.DEBUG);
-
-                // repair unclosed ring...
-                coordinates.add(x);
-                coordinates.add(y);
-                coordinates.add(z);
-            }
+            // repair unclosed ring...
+            coordinates.closeRing();
         }
     }
 
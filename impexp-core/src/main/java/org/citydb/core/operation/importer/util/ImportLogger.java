@@ -130,15 +130,37 @@ public class ImportLogger {
         private final String type;
         private final long id;
         private final String gmlId;
+        private final int objectClassId;
 
-        private ImportLogEntry(String type, long id, String gmlId) {
+        private ImportLogEntry(String type, long id, String gmlId, int objectClassId) {
             this.type = type;
             this.id = id;
             this.gmlId = gmlId != null ? gmlId : "";
+            this.objectClassId = objectClassId;
         }
 
         public static ImportLogEntry of(String type, long id, String gmlId) {
-            return new ImportLogEntry(type, id, gmlId);
+            return new ImportLogEntry(type, id, gmlId, 0);
+        }
+
+        public static ImportLogEntry of(String type, long id, String gmlId, int objectClassId) {
+            return new ImportLogEntry(type, id, gmlId, objectClassId);
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getGmlId() {
+            return gmlId;
+        }
+
+        public int getObjectClassId() {
+            return objectClassId;
         }
     }
 }
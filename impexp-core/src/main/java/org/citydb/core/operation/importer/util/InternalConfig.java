@@ -38,6 +38,7 @@ public class InternalConfig {
     private String updatingPerson;
     private String reasonForUpdate;
     private String lineage;
+    private boolean maintainFeatureStatistics;
 
     public InputFile getInputFile() {
         return inputFile;
@@ -95,6 +96,14 @@ public class InternalConfig {
         }
     }
 
+    public boolean isMaintainFeatureStatistics() {
+        return maintainFeatureStatistics;
+    }
+
+    public void setMaintainFeatureStatistics(boolean maintainFeatureStatistics) {
+        this.maintainFeatureStatistics = maintainFeatureStatistics;
+    }
+
     public void setMetadata(Continuation continuation) {
         setUpdatingPersonMode(continuation.getUpdatingPersonMode());
         setUpdatingPerson(continuation.getUpdatingPerson());
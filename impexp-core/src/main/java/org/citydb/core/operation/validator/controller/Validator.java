@@ -30,11 +30,13 @@ package org.citydb.core.operation.validator.controller;
 import org.apache.tika.exception.TikaException;
 import org.citydb.config.Config;
 import org.citydb.config.i18n.Language;
+import org.citydb.config.project.global.LogLevel;
 import org.citydb.core.file.FileType;
 import org.citydb.core.file.InputFile;
 import org.citydb.core.file.input.AbstractArchiveInputFile;
 import org.citydb.core.file.input.DirectoryScanner;
 import org.citydb.core.operation.validator.ValidationException;
+import org.citydb.core.operation.validator.reader.ValidationLog;
 import org.citydb.core.operation.validator.reader.ValidatorFactory;
 import org.citydb.core.operation.validator.reader.ValidatorFactoryBuilder;
 import org.citydb.core.registry.ObjectRegistry;
@@ -48,8 +50,16 @@ import org.citydb.util.log.Logger;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Validator implements EventHandler {
     private final Logger log = Logger.getInstance();
@@ -127,53 +137,83 @@ public class Validator implements EventHandler {
             throw new ValidationException("Fatal error while searching for files.", e);
         }
 
+        // input files are closed by their validation task or, if the validation stops early, here
+        Set<InputFile> pendingFiles = ConcurrentHashMap.newKeySet();
+        pendingFiles.addAll(files);
+
+        try {
+            return process(files, pendingFiles);
+        } finally {
+            for (InputFile file : pendingFiles) {
+                try {
+                    file.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close input file '" + getContentFile(file) + "'.");
+                }
+            }
+        }
+    }
+
+    private boolean process(List<InputFile> files, Set<InputFile> pendingFiles) throws ValidationException {
         if (!shouldRun)
             return false;
 
-        int fileCounter = 0;
-        int remainingFiles = files.size();
         log.info("List of files to be validated successfully created.");
-        log.info(remainingFiles + " file(s) will be validated.");
+        log.info(files.size() + " file(s) will be validated.");
 
         // create reader factory builder
         ValidatorFactoryBuilder builder = new ValidatorFactoryBuilder();
+        List<ValidatorFactory> validatorFactories = new ArrayList<>(files.size());
+        for (InputFile file : files) {
+            try {
+                validatorFactories.add(builder.buildFactory(file, config));
+            } catch (ValidationException e) {
+                throw new ValidationException("Failed to validate input file '" + getContentFile(file) + "'.", e);
+            }
+        }
 
-        while (shouldRun && fileCounter < files.size()) {
-            try (InputFile file = files.get(fileCounter++)) {
-                Path contentFile = file.getType() != FileType.ARCHIVE ?
-                        file.getFile() :
-                        Paths.get(file.getFile().toString(), ((AbstractArchiveInputFile) file).getContentFile());
+        int threads = Math.min(files.size(), config.getImportConfig().getCityGMLOptions().getXMLValidation().getNumberOfThreads());
+        if (threads > 1) {
+            log.debug("Validating files using " + threads + " threads.");
+        }
 
-                eventDispatcher.triggerEvent(new StatusDialogTitle(contentFile.getFileName().toString()));
-                eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("validate.dialog.validate.msg")));
-                eventDispatcher.triggerEvent(new CounterEvent(CounterType.FILE, --remainingFiles));
+        // validate files concurrently and report the results of each file as one block
+        AtomicInteger remainingFiles = new AtomicInteger(files.size());
+        ExecutorService service = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                InputFile file = files.get(i);
+                ValidatorFactory validatorFactory = validatorFactories.get(i);
+                results.add(service.submit(() -> validate(file, validatorFactory, pendingFiles, remainingFiles, threads > 1)));
+            }
 
-                ValidatorFactory validatorFactory;
+            ValidationException failure = null;
+            for (Future<Boolean> result : results) {
                 try {
-                    validatorFactory = builder.buildFactory(file, config);
-                } catch (ValidationException e) {
-                    throw new ValidationException("Failed to validate input file '" + contentFile + "'.", e);
-                }
-
-                log.info("Validating file: " + contentFile);
-
-                try (org.citydb.core.operation.validator.reader.Validator validator = validatorFactory.createValidator()) {
-                    validator.validate(file);
-
-                    if (shouldRun) {
-                        if (validator.getValidationErrors() == 0) {
-                            log.info("The file is valid.");
-                        } else {
-                            log.warn("The file is invalid. Found " + validator.getValidationErrors() + " error(s).");
-                            invalidFiles++;
-                        }
+                    if (result.get() == Boolean.FALSE) {
+                        invalidFiles++;
+                    }
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof ValidationException ?
+                                (ValidationException) e.getCause() :
+                                new ValidationException("Failed to validate input file.", e.getCause());
+
+                        // stop the validation of all remaining files
+                        eventDispatcher.triggerSyncEvent(new InterruptEvent("Aborting validation due to errors.",
+                                LogLevel.WARN, eventChannel));
                     }
+                } catch (InterruptedException e) {
+                    throw new ValidationException("Failed to wait for the validation of input files.", e);
                 }
+            }
 
-                eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("validate.dialog.finish.msg")));
-            } catch (IOException e) {
-                throw new ValidationException("Failed to validate input file.", e);
+            if (failure != null) {
+                throw failure;
             }
+        } finally {
+            service.shutdownNow();
         }
 
         if (shouldRun && files.size() > 1) {
@@ -191,6 +231,55 @@ public class Validator implements EventHandler {
         return shouldRun;
     }
 
+    private Boolean validate(InputFile file, ValidatorFactory validatorFactory, Set<InputFile> pendingFiles, AtomicInteger remainingFiles, boolean buffered) throws ValidationException {
+        if (!pendingFiles.remove(file)) {
+            return null;
+        }
+
+        Path contentFile = getContentFile(file);
+        ValidationLog fileLog = buffered ? ValidationLog.buffered() : ValidationLog.direct();
+
+        try (InputFile inputFile = file) {
+            if (!shouldRun) {
+                return null;
+            }
+
+            eventDispatcher.triggerEvent(new StatusDialogTitle(contentFile.getFileName().toString()));
+            eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("validate.dialog.validate.msg")));
+            eventDispatcher.triggerEvent(new CounterEvent(CounterType.FILE, remainingFiles.decrementAndGet()));
+
+            fileLog.info("Validating file: " + contentFile);
+
+            Boolean valid = null;
+            try (org.citydb.core.operation.validator.reader.Validator validator = validatorFactory.createValidator(fileLog)) {
+                validator.validate(inputFile);
+
+                if (shouldRun) {
+                    if (validator.getValidationErrors() == 0) {
+                        fileLog.info("The file is valid.");
+                        valid = true;
+                    } else {
+                        fileLog.warn("The file is invalid. Found " + validator.getValidationErrors() + " error(s).");
+                        valid = false;
+                    }
+                }
+            }
+
+            eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("validate.dialog.finish.msg")));
+            return valid;
+        } catch (IOException e) {
+            throw new ValidationException("Failed to validate input file.", e);
+        } finally {
+            fileLog.flush();
+        }
+    }
+
+    private Path getContentFile(InputFile file) {
+        return file.getType() != FileType.ARCHIVE ?
+                file.getFile() :
+                Paths.get(file.getFile().toString(), ((AbstractArchiveInputFile) file).getContentFile());
+    }
+
     public int getNumberOfInvalidFiles() {
         return invalidFiles;
     }
@@ -0,0 +1,168 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.validator.reader;
+
+import org.citydb.config.project.global.LogLevel;
+import org.citydb.util.log.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ValidationLog {
+    private static final Object lock = new Object();
+    private static final int MAX_BUFFERED_MESSAGES = 1000;
+    private final Logger log = Logger.getInstance();
+    private final boolean buffered;
+    private final List<LogLevel> levels;
+    private final List<String> messages;
+    private Path spillFile;
+    private DataOutputStream spill;
+
+    private ValidationLog(boolean buffered) {
+        this.buffered = buffered;
+        levels = buffered ? new ArrayList<>() : null;
+        messages = buffered ? new ArrayList<>() : null;
+    }
+
+    public static ValidationLog direct() {
+        return new ValidationLog(false);
+    }
+
+    public static ValidationLog buffered() {
+        return new ValidationLog(true);
+    }
+
+    public void log(LogLevel level, String msg) {
+        if (!buffered) {
+            log.log(level, msg);
+        } else if (log.isEnabled(level)) {
+            levels.add(level);
+            messages.add(msg);
+            if (messages.size() >= MAX_BUFFERED_MESSAGES) {
+                spill();
+            }
+        }
+    }
+
+    public void info(String msg) {
+        log(LogLevel.INFO, msg);
+    }
+
+    public void warn(String msg) {
+        log(LogLevel.WARN, msg);
+    }
+
+    public void error(String msg) {
+        log(LogLevel.ERROR, msg);
+    }
+
+    public void flush() {
+        if (buffered && (spillFile != null || !messages.isEmpty())) {
+            // write all messages of a file as one contiguous block
+            synchronized (lock) {
+                if (spillFile != null) {
+                    flushSpillFile();
+                }
+
+                for (int i = 0; i < messages.size(); i++) {
+                    log.log(levels.get(i), messages.get(i));
+                }
+            }
+
+            levels.clear();
+            messages.clear();
+        }
+    }
+
+    private void spill() {
+        // keep the memory footprint per file bounded by moving messages to a temporary file
+        try {
+            if (spillFile == null) {
+                spillFile = Files.createTempFile("validation-", ".log");
+                spill = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile)));
+            }
+
+            for (int i = 0; i < messages.size(); i++) {
+                byte[] msg = messages.get(i).getBytes(StandardCharsets.UTF_8);
+                spill.writeByte(levels.get(i).ordinal());
+                spill.writeInt(msg.length);
+                spill.write(msg);
+            }
+
+            levels.clear();
+            messages.clear();
+        } catch (IOException e) {
+            log.warn("Failed to buffer validation messages in a temporary file.");
+            flush();
+        }
+    }
+
+    private void flushSpillFile() {
+        LogLevel[] values = LogLevel.values();
+        try {
+            if (spill != null) {
+                spill.close();
+            }
+
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(spillFile)))) {
+                while (true) {
+                    LogLevel level;
+                    try {
+                        level = values[in.readUnsignedByte()];
+                    } catch (EOFException e) {
+                        break;
+                    }
+
+                    byte[] msg = new byte[in.readInt()];
+                    in.readFully(msg);
+                    log.log(level, new String(msg, StandardCharsets.UTF_8));
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to read buffered validation messages.", e);
+        } finally {
+            try {
+                Files.deleteIfExists(spillFile);
+            } catch (IOException e) {
+                //
+            }
+
+            spillFile = null;
+            spill = null;
+        }
+    }
+}
@@ -34,5 +34,5 @@ import org.citydb.core.operation.validator.ValidationException;
 public interface ValidatorFactory {
     void initializeContext(Config config) throws ValidationException;
 
-    Validator createValidator() throws ValidationException;
+    Validator createValidator(ValidationLog log) throws ValidationException;
 }
@@ -47,7 +47,7 @@ public class CityGMLValidator implements Validator, EventHandler {
     private final ValidationErrorHandler validationHandler;
     private final EventDispatcher eventDispatcher;
 
-    private InputStream inputStream;
+    private volatile InputStream inputStream;
 
     CityGMLValidator(javax.xml.validation.Validator validator, ValidationErrorHandler validationHandler) {
         this.validator = validator;
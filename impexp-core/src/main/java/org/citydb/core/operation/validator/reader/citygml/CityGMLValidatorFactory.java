@@ -30,6 +30,7 @@ package org.citydb.core.operation.validator.reader.citygml;
 
 import org.citydb.config.Config;
 import org.citydb.core.operation.validator.ValidationException;
+import org.citydb.core.operation.validator.reader.ValidationLog;
 import org.citydb.core.operation.validator.reader.Validator;
 import org.citydb.core.operation.validator.reader.ValidatorFactory;
 import org.citygml4j.xml.schema.SchemaHandler;
@@ -40,26 +41,35 @@ import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 
 public class CityGMLValidatorFactory implements ValidatorFactory {
-    private javax.xml.validation.Validator validator;
-    private ValidationErrorHandler validationHandler;
+    private static Schema cachedSchema;
+    private Schema schema;
+    private Config config;
 
     @Override
     public void initializeContext(Config config) throws ValidationException {
-        try {
-            SchemaHandler schemaHandler = SchemaHandler.newInstance();
-            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-            schemaFactory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-            Schema schema = schemaFactory.newSchema(schemaHandler.getSchemaSources());
-            validator = schema.newValidator();
-        } catch (SAXException e) {
-            throw new ValidationException("Failed to create CityGML schema context.", e);
+        this.config = config;
+        schema = getSchema();
+    }
+
+    private static synchronized Schema getSchema() throws ValidationException {
+        // compiling the CityGML schemas is expensive, whereas the resulting
+        // schema object is immutable and can be shared by all threads
+        if (cachedSchema == null) {
+            try {
+                SchemaHandler schemaHandler = SchemaHandler.newInstance();
+                SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+                schemaFactory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+                cachedSchema = schemaFactory.newSchema(schemaHandler.getSchemaSources());
+            } catch (SAXException e) {
+                throw new ValidationException("Failed to create CityGML schema context.", e);
+            }
         }
 
-        validationHandler = new ValidationErrorHandler(config);
+        return cachedSchema;
     }
 
     @Override
-    public Validator createValidator() throws ValidationException {
-        return new CityGMLValidator(validator, validationHandler);
+    public Validator createValidator(ValidationLog log) throws ValidationException {
+        return new CityGMLValidator(schema.newValidator(), new ValidationErrorHandler(config, log));
     }
 }
@@ -30,23 +30,24 @@ package org.citydb.core.operation.validator.reader.citygml;
 
 import org.citydb.config.Config;
 import org.citydb.config.project.global.LogLevel;
-import org.citydb.util.log.Logger;
+import org.citydb.core.operation.validator.reader.ValidationLog;
 import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 
 class ValidationErrorHandler implements ErrorHandler {
-    private final Logger log = Logger.getInstance();
     private final Config config;
+    private final ValidationLog log;
 
     private long validationErrors;
     private boolean isReportAllErrors;
-    private boolean isAborted;
+    private volatile boolean isAborted;
     private boolean hasFatalErrors;
     private String location;
 
-    ValidationErrorHandler(Config config) {
+    ValidationErrorHandler(Config config, ValidationLog log) {
         this.config = config;
+        this.log = log;
         reset();
     }
 
@@ -34,13 +34,13 @@ import com.google.gson.JsonParseException;
 import com.google.gson.stream.JsonReader;
 import org.citydb.core.file.InputFile;
 import org.citydb.core.operation.validator.ValidationException;
+import org.citydb.core.operation.validator.reader.ValidationLog;
 import org.citydb.core.operation.validator.reader.Validator;
 import org.citydb.core.registry.ObjectRegistry;
 import org.citydb.util.event.Event;
 import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.event.EventHandler;
 import org.citydb.util.event.global.EventType;
-import org.citydb.util.log.Logger;
 import org.citygml4j.cityjson.CityJSON;
 import org.citygml4j.cityjson.CityJSONTypeAdapterFactory;
 
@@ -49,14 +49,15 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 
 public class CityJSONValidator implements Validator, EventHandler {
-    private final Logger log = Logger.getInstance();
+    private final ValidationLog log;
     private final EventDispatcher eventDispatcher;
 
     private InputStream inputStream;
     private volatile boolean isAborted;
     private boolean hasErrors;
 
-    CityJSONValidator() {
+    CityJSONValidator(ValidationLog log) {
+        this.log = log;
         eventDispatcher = ObjectRegistry.getInstance().getEventDispatcher();
         eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
     }
@@ -30,6 +30,7 @@ package org.citydb.core.operation.validator.reader.cityjson;
 
 import org.citydb.config.Config;
 import org.citydb.core.operation.validator.ValidationException;
+import org.citydb.core.operation.validator.reader.ValidationLog;
 import org.citydb.core.operation.validator.reader.Validator;
 import org.citydb.core.operation.validator.reader.ValidatorFactory;
 
@@ -41,7 +42,7 @@ public class CityJSONValidatorFactory implements ValidatorFactory {
     }
 
     @Override
-    public Validator createValidator() throws ValidationException {
-        return new CityJSONValidator();
+    public Validator createValidator(ValidationLog log) throws ValidationException {
+        return new CityJSONValidator(log);
     }
 }
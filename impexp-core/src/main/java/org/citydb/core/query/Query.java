@@ -29,10 +29,12 @@ package org.citydb.core.query;
 
 import org.citydb.config.project.database.DatabaseSrs;
 import org.citydb.core.database.schema.mapping.AbstractObjectType;
+import org.citydb.core.database.schema.mapping.SchemaMapping;
 import org.citydb.core.query.filter.apperance.AppearanceFilter;
 import org.citydb.core.query.filter.counter.CounterFilter;
 import org.citydb.core.query.filter.lod.LodFilter;
 import org.citydb.core.query.filter.lod.LodFilterMode;
+import org.citydb.core.query.filter.projection.CombinedProjectionFilter;
 import org.citydb.core.query.filter.projection.Projection;
 import org.citydb.core.query.filter.projection.ProjectionFilter;
 import org.citydb.core.query.filter.selection.SelectionFilter;
@@ -41,6 +43,11 @@ import org.citydb.core.query.filter.tiling.Tiling;
 import org.citydb.core.query.filter.type.FeatureTypeFilter;
 import org.citygml4j.model.module.citygml.CityGMLVersion;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
 public class Query {
     private CityGMLVersion targetVersion;
     private DatabaseSrs targetSrs;
@@ -53,6 +60,13 @@ public class Query {
     private Sorting sorting;
     private Tiling tiling;
 
+    // projection filters are immutable during an export and therefore shared by all workers
+    private final ConcurrentHashMap<Integer, ProjectionFilter> defaultProjectionFilters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CombinedProjectionFilter> combinedProjectionFilters = new ConcurrentHashMap<>();
+
+    // feature SQL only depends on the target, LoD and projection settings and is likewise shared
+    private final ConcurrentHashMap<String, String> statements = new ConcurrentHashMap<>();
+
     public Query() {
     }
 
@@ -70,6 +84,7 @@ public class Query {
 
     public void setTargetVersion(CityGMLVersion targetVersion) {
         this.targetVersion = targetVersion;
+        clearCaches();
     }
 
     public boolean isSetTargetSrs() {
@@ -82,6 +97,7 @@ public class Query {
 
     public void setTargetSrs(DatabaseSrs targetSrs) {
         this.targetSrs = targetSrs;
+        clearCaches();
     }
 
     public boolean isSetFeatureTypeFilter() {
@@ -129,10 +145,12 @@ public class Query {
 
     public void setLodFilter(LodFilter lodFilter) {
         this.lodFilter = lodFilter;
+        clearCaches();
     }
 
     public void unsetLodFilter() {
         lodFilter = null;
+        clearCaches();
     }
 
     public boolean isSetProjection() {
@@ -140,15 +158,37 @@ public class Query {
     }
 
     public ProjectionFilter getProjectionFilter(AbstractObjectType<?> objectType) {
-        return projectionFilter != null ? projectionFilter.getProjectionFilter(objectType) : new ProjectionFilter(objectType);
+        return projectionFilter != null ?
+                projectionFilter.getProjectionFilter(objectType) :
+                defaultProjectionFilters.computeIfAbsent(objectType.getObjectClassId(), v -> new ProjectionFilter(objectType));
+    }
+
+    public CombinedProjectionFilter getCombinedProjectionFilter(String tableName, SchemaMapping schemaMapping) {
+        return combinedProjectionFilters.computeIfAbsent(tableName, v -> {
+            List<ProjectionFilter> filters = new ArrayList<>();
+            schemaMapping.listAbstractObjectTypesByTable(tableName, true).forEach(type -> filters.add(getProjectionFilter(type)));
+            return new CombinedProjectionFilter(filters);
+        });
     }
 
     public void setProjection(Projection projectionFilter) {
         this.projectionFilter = projectionFilter;
+        clearCaches();
     }
 
     public void unsetProjection() {
         projectionFilter = null;
+        clearCaches();
+    }
+
+    public String getStatement(String key, Supplier<String> sql) {
+        return statements.computeIfAbsent(key, v -> sql.get());
+    }
+
+    private void clearCaches() {
+        defaultProjectionFilters.clear();
+        combinedProjectionFilters.clear();
+        statements.clear();
     }
 
     public boolean isSetSelection() {
@@ -226,5 +266,6 @@ public class Query {
         appearanceFilter = query.appearanceFilter;
         sorting = query.sorting;
         tiling = query.tiling;
+        clearCaches();
     }
 }
@@ -81,6 +81,14 @@ public class TilingFilterBuilder {
             Tiling tiling = new Tiling(tilingConfig.getExtent(), tilingConfig.getRows(), tilingConfig.getColumns());
             tiling.setTilingOptions(tilingConfig.getTilingOptions());
 
+            // adaptive tiling is only available for CityGML/CityJSON exports
+            if (tilingConfig instanceof org.citydb.config.project.query.filter.tiling.Tiling) {
+                org.citydb.config.project.query.filter.tiling.Tiling queryTiling = (org.citydb.config.project.query.filter.tiling.Tiling) tilingConfig;
+                if (queryTiling.isSetMaxFeaturesPerTile()) {
+                    tiling.setMaxFeaturesPerTile(queryTiling.getMaxFeaturesPerTile());
+                }
+            }
+
             return tiling;
         } catch (FilterException e) {
             throw new QueryBuildException("Failed to build the tiling filter.", e);
@@ -120,4 +120,14 @@ public class Tile {
                 && pos.getY() <= extent.getUpperCorner().getY();
     }
 
+    public boolean isOnTile(GeometryObject envelope, DatabaseSrs srs, AbstractDatabaseAdapter databaseAdapter) throws FilterException {
+        // features are assigned to the tile holding the center of their envelope
+        double[] coordinates = envelope.getCoordinates(0);
+        return isOnTile(new Point(
+                        (coordinates[0] + coordinates[3]) / 2.0,
+                        (coordinates[1] + coordinates[4]) / 2.0,
+                        srs),
+                databaseAdapter);
+    }
+
 }
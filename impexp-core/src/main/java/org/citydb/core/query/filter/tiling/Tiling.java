@@ -34,14 +34,24 @@ import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.query.filter.FilterException;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class Tiling {
+    public static final int MAX_SPLIT_DEPTH = 10;
+
     private final double[] rows;
     private final double[] columns;
 
     private BoundingBox extent;
     private Tile activeTile;
     private Object tilingOptions;
+    private long maxFeaturesPerTile;
+    private int splitDepth;
+    private Map<Long, Tile> adaptiveTiles;
 
     public Tiling(BoundingBox extent, int rows, int columns) throws FilterException {
         if (extent == null) {
@@ -68,11 +78,27 @@ public class Tiling {
     }
 
     public int getRows() {
-        return rows.length - 1;
+        return (rows.length - 1) << splitDepth;
     }
 
     public int getColumns() {
-        return columns.length - 1;
+        return (columns.length - 1) << splitDepth;
+    }
+
+    public int getNumberOfTiles() {
+        return adaptiveTiles != null ? adaptiveTiles.size() : getRows() * getColumns();
+    }
+
+    public boolean isAdaptive() {
+        return maxFeaturesPerTile > 0;
+    }
+
+    public long getMaxFeaturesPerTile() {
+        return maxFeaturesPerTile;
+    }
+
+    public void setMaxFeaturesPerTile(long maxFeaturesPerTile) {
+        this.maxFeaturesPerTile = maxFeaturesPerTile;
     }
 
     public Object getTilingOptions() {
@@ -107,11 +133,41 @@ public class Tiling {
         calculateTilingScheme();
     }
 
+    /**
+     * Returns all tiles ordered by row and column. For adaptive tilings, only the adaptive tiles
+     * are returned and not every cell of the grid at the deepest split level.
+     */
+    public List<Tile> getTiles() throws FilterException {
+        List<Tile> tiles;
+        if (adaptiveTiles != null) {
+            tiles = new ArrayList<>(adaptiveTiles.values());
+            tiles.sort(Comparator.comparingInt(Tile::getRow).thenComparingInt(Tile::getColumn));
+        } else {
+            tiles = new ArrayList<>();
+            for (int row = 0; row < getRows(); row++) {
+                for (int column = 0; column < getColumns(); column++) {
+                    tiles.add(getTileAt(row, column));
+                }
+            }
+        }
+
+        return tiles;
+    }
+
     public Tile getTileAt(int row, int column) throws FilterException {
         if (row < 0 || column < 0 || row >= getRows() || column >= getColumns()) {
             throw new FilterException("Tile coordinates are out of bounds.");
         }
 
+        if (adaptiveTiles != null) {
+            Tile tile = adaptiveTiles.get(getTileKey(row, column));
+            if (tile == null) {
+                throw new FilterException("The tile coordinates [" + row + "," + column + "] are covered by a larger adaptive tile.");
+            }
+
+            return tile;
+        }
+
         BoundingBox tileExtent = new BoundingBox(
                 new Position(columns[column], rows[row]),
                 new Position(columns[column + 1], rows[row + 1]),
@@ -129,7 +185,91 @@ public class Tiling {
         this.activeTile = activeTile;
     }
 
+    /**
+     * Recursively splits the tiles of the regular grid into quadrants until each tile holds at most
+     * {@link #getMaxFeaturesPerTile()} features or {@link #MAX_SPLIT_DEPTH} is reached. A tile is not
+     * split if none of its quadrants holds fewer features than the tile itself. Afterwards,
+     * rows and columns refer to a regular grid at the deepest split level, and every adaptive tile
+     * is addressed by the row and column of its lower left grid cell.
+     */
+    public void splitTiles(TileFeatureCounter counter) throws FilterException {
+        splitDepth = 0;
+        adaptiveTiles = null;
+        if (!isAdaptive()) {
+            return;
+        }
+
+        List<AdaptiveTile> tiles = new ArrayList<>();
+        for (int row = 0; row < rows.length - 1; row++) {
+            for (int column = 0; column < columns.length - 1; column++) {
+                BoundingBox tileExtent = getTileExtent(columns[column], rows[row], columns[column + 1], rows[row + 1]);
+                long count = counter.count(new Tile(tileExtent, row, column));
+                splitTile(tileExtent, count, row, column, 0, counter, tiles);
+            }
+        }
+
+        for (AdaptiveTile tile : tiles) {
+            splitDepth = Math.max(splitDepth, tile.level);
+        }
+
+        adaptiveTiles = new HashMap<>();
+        for (AdaptiveTile tile : tiles) {
+            int shift = splitDepth - tile.level;
+            int row = tile.row << shift;
+            int column = tile.column << shift;
+            adaptiveTiles.put(getTileKey(row, column), new Tile(tile.extent, row, column));
+        }
+    }
+
+    private void splitTile(BoundingBox tileExtent, long count, int row, int column, int level,
+                           TileFeatureCounter counter, List<AdaptiveTile> tiles) throws FilterException {
+        if (level < MAX_SPLIT_DEPTH && count > maxFeaturesPerTile) {
+            double minX = tileExtent.getLowerCorner().getX();
+            double minY = tileExtent.getLowerCorner().getY();
+            double maxX = tileExtent.getUpperCorner().getX();
+            double maxY = tileExtent.getUpperCorner().getY();
+            double midX = (minX + maxX) / 2;
+            double midY = (minY + maxY) / 2;
+
+            BoundingBox[] extents = new BoundingBox[]{
+                    getTileExtent(minX, minY, midX, midY),
+                    getTileExtent(midX, minY, maxX, midY),
+                    getTileExtent(minX, midY, midX, maxY),
+                    getTileExtent(midX, midY, maxX, maxY)
+            };
+
+            long[] counts = new long[extents.length];
+            boolean decreases = false;
+            for (int i = 0; i < extents.length; i++) {
+                counts[i] = counter.count(new Tile(extents[i], row * 2 + i / 2, column * 2 + i % 2));
+                decreases |= counts[i] < count;
+            }
+
+            // stop splitting if the features cannot be separated
+            if (decreases) {
+                for (int i = 0; i < extents.length; i++) {
+                    splitTile(extents[i], counts[i], row * 2 + i / 2, column * 2 + i % 2, level + 1, counter, tiles);
+                }
+
+                return;
+            }
+        }
+
+        tiles.add(new AdaptiveTile(tileExtent, row, column, level));
+    }
+
+    private BoundingBox getTileExtent(double minX, double minY, double maxX, double maxY) {
+        return new BoundingBox(new Position(minX, minY), new Position(maxX, maxY), extent.getSrs());
+    }
+
+    private long getTileKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
     private void calculateTilingScheme() {
+        splitDepth = 0;
+        adaptiveTiles = null;
+
         double tileHeight = (extent.getUpperCorner().getY() - extent.getLowerCorner().getY()) / getRows();
         rows[0] = extent.getLowerCorner().getY();
         rows[rows.length - 1] = extent.getUpperCorner().getY();
@@ -144,4 +284,18 @@ public class Tiling {
             columns[i] = columns[i - 1] + tileWidth;
         }
     }
+
+    private static class AdaptiveTile {
+        private final BoundingBox extent;
+        private final int row;
+        private final int column;
+        private final int level;
+
+        AdaptiveTile(BoundingBox extent, int row, int column, int level) {
+            this.extent = extent;
+            this.row = row;
+            this.column = column;
+            this.level = level;
+        }
+    }
 }
@@ -40,6 +40,7 @@ import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 public class ObjectRegistry {
     private static ObjectRegistry instance;
@@ -59,7 +60,8 @@ public class ObjectRegistry {
 
     private Map<String, Object> properties;
     private DatabaseController databaseController;
-    private CityGMLBuilder cityGMLBuilder;
+    private volatile CityGMLBuilder cityGMLBuilder;
+    private Callable<CityGMLBuilder> cityGMLBuilderFactory;
     private SchemaMapping schemaMapping;
 
     private ObjectRegistry() {
@@ -128,17 +130,41 @@ public class ObjectRegistry {
     }
 
     public CityGMLBuilder getCityGMLBuilder() {
+        CityGMLBuilder cityGMLBuilder = this.cityGMLBuilder;
+        if (cityGMLBuilder == null) {
+            synchronized (this) {
+                if (this.cityGMLBuilder == null && cityGMLBuilderFactory != null) {
+                    try {
+                        this.cityGMLBuilder = cityGMLBuilderFactory.call();
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Failed to initialize CityGML and ADE contexts.", e);
+                    }
+                }
+
+                cityGMLBuilder = this.cityGMLBuilder;
+            }
+        }
+
         return cityGMLBuilder;
     }
 
-    public void setCityGMLBuilder(CityGMLBuilder cityGMLBuilder) {
-        if (this.cityGMLBuilder != null) {
+    public synchronized void setCityGMLBuilder(CityGMLBuilder cityGMLBuilder) {
+        if (this.cityGMLBuilder != null || cityGMLBuilderFactory != null) {
             throw new IllegalArgumentException("CityGML Builder is already registered with the object registry.");
         }
 
         this.cityGMLBuilder = cityGMLBuilder;
     }
 
+    public synchronized void setCityGMLBuilder(Callable<CityGMLBuilder> cityGMLBuilderFactory) {
+        if (this.cityGMLBuilder != null || this.cityGMLBuilderFactory != null) {
+            throw new IllegalArgumentException("CityGML Builder is already registered with the object registry.");
+        }
+
+        // the JAXB context behind the builder is expensive, so it is only created once a command needs it
+        this.cityGMLBuilderFactory = cityGMLBuilderFactory;
+    }
+
     public SchemaMapping getSchemaMapping() {
         return schemaMapping;
     }
@@ -0,0 +1,555 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.writer;
+
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+
+import javax.xml.XMLConstants;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SAX content handler that serializes XML content directly into a reusable UTF-8 byte buffer.
+ * <p>
+ * The serializer is meant to be used by export workers so that each feature is serialized on
+ * the worker thread and the file writer only has to copy finished byte blocks. The namespace
+ * prefixes declared on the root element of the document are passed to the constructor and
+ * treated as being in scope, so fragments do not repeat these declarations.
+ */
+public class XMLFragmentSerializer implements ContentHandler {
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private final Map<String, String> rootNamespaces;
+    private final Map<String, String> rootPrefixes = new HashMap<>();
+    private final Map<String, String> schemaLocations;
+    private final Map<String, String> reportedPrefixes = new HashMap<>();
+    private final List<String[]> bindings = new ArrayList<>();
+    private final List<String[]> reportedBindings = new ArrayList<>();
+    private final List<String> elementNames = new ArrayList<>();
+    private final boolean isFragment;
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int count;
+    private int[] scopes = new int[16];
+    private int depth;
+    private int prefixCounter;
+    private byte[] indent = new byte[0];
+    private boolean pendingStartTag;
+    private boolean hasText;
+    private boolean omitRootEnd;
+    private String rootName;
+
+    private XMLFragmentSerializer(Map<String, String> namespaces, Map<String, String> schemaLocations, boolean isFragment) {
+        this.rootNamespaces = new LinkedHashMap<>(namespaces);
+        this.schemaLocations = schemaLocations;
+        this.isFragment = isFragment;
+
+        if (!isFragment && !schemaLocations.isEmpty()
+                && !rootNamespaces.containsValue(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI)) {
+            rootNamespaces.put("xsi", XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI);
+        }
+
+        rootNamespaces.forEach((prefix, uri) -> rootPrefixes.putIfAbsent(uri, prefix));
+    }
+
+    public static XMLFragmentSerializer newFragmentSerializer(Map<String, String> namespaces) {
+        return new XMLFragmentSerializer(namespaces, new HashMap<>(), true);
+    }
+
+    public static XMLFragmentSerializer newDocumentSerializer(Map<String, String> namespaces, Map<String, String> schemaLocations) {
+        return new XMLFragmentSerializer(namespaces, schemaLocations, false);
+    }
+
+    public void setIndentString(String indentString) {
+        indent = indentString != null ? indentString.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    public void setOmitRootEnd(boolean omitRootEnd) {
+        this.omitRootEnd = omitRootEnd;
+    }
+
+    public String getRootName() {
+        return rootName;
+    }
+
+    public void writeXMLDeclaration() {
+        writeAscii("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+    }
+
+    public void writeComment(String comment) {
+        if (comment == null) {
+            return;
+        }
+
+        // comments must neither contain "--" nor end with "-"
+        while (comment.contains("--")) {
+            comment = comment.replace("--", "- -");
+        }
+
+        if (comment.endsWith("-")) {
+            comment += " ";
+        }
+
+        closeStartTag();
+        writeAscii("\n<!--");
+        for (int i = 0; i < comment.length(); i++) {
+            i = writeChar(comment.charAt(i), i + 1 < comment.length() ? comment.charAt(i + 1) : 0, i);
+        }
+
+        writeAscii("-->");
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    public void writeTo(OutputStream stream) throws IOException {
+        stream.write(buffer, 0, count);
+    }
+
+    public void reset() {
+        count = 0;
+        depth = 0;
+        prefixCounter = 0;
+        pendingStartTag = false;
+        hasText = false;
+        bindings.clear();
+        reportedBindings.clear();
+        elementNames.clear();
+        reportedPrefixes.clear();
+
+        if (buffer.length > MAX_RETAINED_BUFFER_SIZE) {
+            buffer = new byte[INITIAL_BUFFER_SIZE];
+        }
+    }
+
+    @Override
+    public void setDocumentLocator(Locator locator) {
+        // nothing to do
+    }
+
+    @Override
+    public void startDocument() {
+        // nothing to do
+    }
+
+    @Override
+    public void endDocument() {
+        // nothing to do
+    }
+
+    @Override
+    public void startPrefixMapping(String prefix, String uri) {
+        if (!uri.isEmpty()) {
+            reportedPrefixes.putIfAbsent(uri, prefix);
+        }
+
+        // reported mappings are declared on the next element, since prefixes may also be used
+        // in content such as QName values of xsi:type attributes
+        if (!XMLConstants.XML_NS_PREFIX.equals(prefix) && (!uri.isEmpty() || prefix.isEmpty())) {
+            reportedBindings.add(new String[]{prefix, uri});
+        }
+    }
+
+    @Override
+    public void endPrefixMapping(String prefix) {
+        // nothing to do
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes atts) {
+        closeStartTag();
+        if (count > 0 || isFragment) {
+            writeIndent(depth);
+        }
+
+        if (depth == scopes.length) {
+            scopes = Arrays.copyOf(scopes, depth * 2);
+        }
+
+        int scope = bindings.size();
+        scopes[depth] = scope;
+
+        for (String[] binding : reportedBindings) {
+            String boundUri = lookupUri(binding[0]);
+            if (boundUri != null ? !boundUri.equals(binding[1]) : !binding[1].isEmpty()) {
+                bindings.add(binding);
+            }
+        }
+
+        reportedBindings.clear();
+
+        String name = qualify(getElementPrefix(uri, qName), localName);
+        String[] attributeNames = new String[atts.getLength()];
+        for (int i = 0; i < attributeNames.length; i++) {
+            String attributeName = atts.getQName(i);
+            if (attributeName.equals("xmlns") || attributeName.startsWith("xmlns:")) {
+                continue;
+            }
+
+            String attributeUri = atts.getURI(i);
+            attributeNames[i] = attributeUri.isEmpty() ?
+                    atts.getLocalName(i) :
+                    qualify(getAttributePrefix(attributeUri, attributeName), atts.getLocalName(i));
+        }
+
+        write('<');
+        writeAscii(name);
+
+        if (depth == 0 && !isFragment) {
+            rootName = name;
+            writeRootNamespaces();
+        }
+
+        for (int i = scope; i < bindings.size(); i++) {
+            String[] binding = bindings.get(i);
+            writeAscii(binding[0].isEmpty() ? " xmlns" : " xmlns:" + binding[0]);
+            writeAscii("=\"");
+            writeEscaped(binding[1], true);
+            write('"');
+        }
+
+        for (int i = 0; i < attributeNames.length; i++) {
+            if (attributeNames[i] != null) {
+                write(' ');
+                writeAscii(attributeNames[i]);
+                writeAscii("=\"");
+                writeEscaped(atts.getValue(i), true);
+                write('"');
+            }
+        }
+
+        elementNames.add(name);
+        pendingStartTag = true;
+        hasText = false;
+        depth++;
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        depth--;
+        String name = elementNames.remove(elementNames.size() - 1);
+
+        if (omitRootEnd && depth == 0) {
+            closeStartTag();
+        } else if (pendingStartTag) {
+            writeAscii("/>");
+            pendingStartTag = false;
+        } else {
+            if (!hasText) {
+                writeIndent(depth);
+            }
+
+            writeAscii("</");
+            writeAscii(name);
+            write('>');
+        }
+
+        hasText = false;
+        bindings.subList(scopes[depth], bindings.size()).clear();
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (length > 0) {
+            closeStartTag();
+            for (int i = start; i < start + length; i++) {
+                i = writeEscaped(ch[i], i + 1 < start + length ? ch[i + 1] : 0, false, i);
+            }
+
+            hasText = true;
+        }
+    }
+
+    @Override
+    public void ignorableWhitespace(char[] ch, int start, int length) {
+        // formatting is controlled by the serializer
+    }
+
+    @Override
+    public void processingInstruction(String target, String data) {
+        closeStartTag();
+        writeAscii("<?");
+        writeAscii(target);
+        if (data != null && !data.isEmpty()) {
+            write(' ');
+            writeAscii(data);
+        }
+
+        writeAscii("?>");
+    }
+
+    @Override
+    public void skippedEntity(String name) {
+        // nothing to do
+    }
+
+    private String getElementPrefix(String uri, String qName) {
+        if (uri.isEmpty()) {
+            // undeclare a default namespace if required
+            String defaultUri = lookupUri(XMLConstants.DEFAULT_NS_PREFIX);
+            if (defaultUri != null && !defaultUri.isEmpty()) {
+                bindings.add(new String[]{XMLConstants.DEFAULT_NS_PREFIX, ""});
+            }
+
+            return XMLConstants.DEFAULT_NS_PREFIX;
+        }
+
+        String prefix = lookupPrefix(uri);
+        return prefix != null ? prefix : bind(uri, qName, true);
+    }
+
+    private String getAttributePrefix(String uri, String qName) {
+        if (XMLConstants.XML_NS_URI.equals(uri)) {
+            return XMLConstants.XML_NS_PREFIX;
+        }
+
+        String prefix = lookupPrefix(uri);
+        return prefix != null && !prefix.isEmpty() ? prefix : bind(uri, qName, false);
+    }
+
+    private String bind(String uri, String qName, boolean allowDefault) {
+        String prefix = reportedPrefixes.get(uri);
+        if (prefix == null) {
+            int index = qName.indexOf(':');
+            prefix = index > 0 ? qName.substring(0, index) : "";
+        }
+
+        while ((prefix.isEmpty() && !allowDefault) || lookupUri(prefix) != null) {
+            prefix = "ns" + ++prefixCounter;
+        }
+
+        bindings.add(new String[]{prefix, uri});
+        return prefix;
+    }
+
+    private String lookupPrefix(String uri) {
+        for (int i = bindings.size() - 1; i >= 0; i--) {
+            String[] binding = bindings.get(i);
+            if (binding[1].equals(uri) && uri.equals(lookupUri(binding[0]))) {
+                return binding[0];
+            }
+        }
+
+        String prefix = rootPrefixes.get(uri);
+        return prefix != null && uri.equals(lookupUri(prefix)) ? prefix : null;
+    }
+
+    private String lookupUri(String prefix) {
+        for (int i = bindings.size() - 1; i >= 0; i--) {
+            String[] binding = bindings.get(i);
+            if (binding[0].equals(prefix)) {
+                return binding[1];
+            }
+        }
+
+        return rootNamespaces.get(prefix);
+    }
+
+    private String qualify(String prefix, String localName) {
+        return prefix.isEmpty() ? localName : prefix + ':' + localName;
+    }
+
+    private void writeRootNamespaces() {
+        for (Map.Entry<String, String> entry : rootNamespaces.entrySet()) {
+            writeAscii(entry.getKey().isEmpty() ? " xmlns" : " xmlns:" + entry.getKey());
+            writeAscii("=\"");
+            writeEscaped(entry.getValue(), true);
+            write('"');
+        }
+
+        if (!schemaLocations.isEmpty()) {
+            StringBuilder value = new StringBuilder();
+            schemaLocations.forEach((uri, location) -> {
+                if (value.length() > 0) {
+                    value.append(' ');
+                }
+
+                value.append(uri).append(' ').append(location);
+            });
+
+            write(' ');
+            writeAscii(rootPrefixes.get(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI));
+            writeAscii(":schemaLocation=\"");
+            writeEscaped(value.toString(), true);
+            write('"');
+        }
+    }
+
+    private void closeStartTag() {
+        if (pendingStartTag) {
+            write('>');
+            pendingStartTag = false;
+        }
+    }
+
+    private void writeIndent(int level) {
+        if (indent.length > 0) {
+            write('\n');
+            for (int i = isFragment ? -1 : 0; i < level; i++) {
+                ensureCapacity(indent.length);
+                System.arraycopy(indent, 0, buffer, count, indent.length);
+                count += indent.length;
+            }
+        }
+    }
+
+    private void writeEscaped(String value, boolean isAttribute) {
+        for (int i = 0; i < value.length(); i++) {
+            i = writeEscaped(value.charAt(i), i + 1 < value.length() ? value.charAt(i + 1) : 0, isAttribute, i);
+        }
+    }
+
+    private int writeEscaped(char c, char next, boolean isAttribute, int index) {
+        switch (c) {
+            case '&':
+                writeAscii("&amp;");
+                break;
+            case '<':
+                writeAscii("&lt;");
+                break;
+            case '>':
+                writeAscii("&gt;");
+                break;
+            case '"':
+                if (isAttribute) {
+                    writeAscii("&quot;");
+                } else {
+                    write(c);
+                }
+                break;
+            case '\n':
+                if (isAttribute) {
+                    writeAscii("&#10;");
+                } else {
+                    write(c);
+                }
+                break;
+            case '\t':
+                if (isAttribute) {
+                    writeAscii("&#9;");
+                } else {
+                    write(c);
+                }
+                break;
+            case '\r':
+                writeAscii("&#13;");
+                break;
+            default:
+                return writeChar(c, next, index);
+        }
+
+        return index;
+    }
+
+    private int writeChar(char c, char next, int index) {
+        if (c < 0x80) {
+            if (c < 0x20 && c != '\t' && c != '\n' && c != '\r') {
+                // control characters are not allowed in XML 1.0, not even as character references
+                writeReplacement();
+            } else {
+                write(c);
+            }
+        } else if (c < 0x800) {
+            ensureCapacity(2);
+            buffer[count++] = (byte) (0xc0 | (c >> 6));
+            buffer[count++] = (byte) (0x80 | (c & 0x3f));
+        } else if (Character.isSurrogate(c)) {
+            if (Character.isHighSurrogate(c) && Character.isLowSurrogate(next)) {
+                int codePoint = Character.toCodePoint(c, next);
+                ensureCapacity(4);
+                buffer[count++] = (byte) (0xf0 | (codePoint >> 18));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                buffer[count++] = (byte) (0x80 | (codePoint & 0x3f));
+                return index + 1;
+            } else {
+                // lone surrogates cannot be encoded in UTF-8
+                writeReplacement();
+            }
+        } else if (c == 0xfffe || c == 0xffff) {
+            writeReplacement();
+        } else {
+            ensureCapacity(3);
+            buffer[count++] = (byte) (0xe0 | (c >> 12));
+            buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            buffer[count++] = (byte) (0x80 | (c & 0x3f));
+        }
+
+        return index;
+    }
+
+    private void writeReplacement() {
+        // U+FFFD replacement character
+        ensureCapacity(3);
+        buffer[count++] = (byte) 0xef;
+        buffer[count++] = (byte) 0xbf;
+        buffer[count++] = (byte) 0xbd;
+    }
+
+    private void writeAscii(String value) {
+        int length = value.length();
+
+        // reserve enough space for non-ASCII characters, which take up to three bytes per char
+        ensureCapacity(3 * length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[count++] = (byte) c;
+            } else {
+                // names may contain non-ASCII characters
+                i = writeEscaped(c, i + 1 < length ? value.charAt(i + 1) : 0, false, i);
+            }
+        }
+    }
+
+    private void write(int b) {
+        ensureCapacity(1);
+        buffer[count++] = (byte) b;
+    }
+
+    private void ensureCapacity(int length) {
+        if (count + length > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + length));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.util;
+
+import org.citygml4j.model.gml.geometry.primitives.DirectPositionList;
+import org.citygml4j.model.gml.geometry.primitives.LinearRing;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class CoordinateBufferTest {
+
+    @Test
+    public void readsPosList() {
+        CoordinateBuffer buffer = new CoordinateBuffer().read(createRing(3, 0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 0, 0), false);
+
+        assertEquals(12, buffer.size());
+        assertEquals(4, buffer.getNumberOfPoints());
+        assertTrue(buffer.isClosed());
+        assertArrayEquals(new double[]{0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 0, 0}, buffer.toArray());
+        assertArrayEquals(new double[]{0, 0, 1, 0, 1, 1, 0, 0}, buffer.toArray2d());
+    }
+
+    @Test
+    public void readsTwoDimensionalPosList() {
+        CoordinateBuffer buffer = new CoordinateBuffer().read(createRing(2, 0, 0, 1, 0, 1, 1), false);
+
+        assertFalse(buffer.isClosed());
+        buffer.closeRing();
+        assertArrayEquals(new double[]{0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 0, 0}, buffer.toArray());
+    }
+
+    @Test
+    public void reversesRing() {
+        CoordinateBuffer buffer = new CoordinateBuffer().read(createRing(3, 0, 0, 0, 1, 0, 0, 1, 1, 1), true);
+        assertArrayEquals(new double[]{1, 1, 1, 1, 0, 0, 0, 0, 0}, buffer.toArray());
+    }
+
+    @Test
+    public void reusesBufferWithoutAllocating() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+
+        double[] values = new double[3 * 1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+
+        LinearRing ring = createRing(3, values);
+        CoordinateBuffer buffer = new CoordinateBuffer();
+        double checksum = 0;
+        for (int i = 0; i < 1000; i++) {
+            checksum += buffer.read(ring, i % 2 == 0).get(0);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long allocated = bean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1000; i++) {
+            checksum += buffer.read(ring, i % 2 == 0).get(0);
+        }
+
+        allocated = bean.getThreadAllocatedBytes(threadId) - allocated;
+
+        // reading 1000 rings of 1000 points into a warm buffer must not allocate per coordinate,
+        // whereas copying them into boxed lists takes more than 16 bytes per coordinate
+        assertTrue(allocated < 64 * 1024, "allocated " + allocated + " bytes");
+        assertTrue(checksum >= 0);
+    }
+
+    private LinearRing createRing(int dimension, double... values) {
+        List<Double> value = new ArrayList<>(values.length);
+        for (double v : values) {
+            value.add(v);
+        }
+
+        DirectPositionList posList = new DirectPositionList();
+        posList.setValue(value);
+        posList.setSrsDimension(dimension);
+
+        LinearRing ring = new LinearRing();
+        ring.setPosList(posList);
+        return ring;
+    }
+}
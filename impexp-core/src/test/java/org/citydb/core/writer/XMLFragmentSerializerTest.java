@@ -0,0 +1,168 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.writer;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Comment;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.helpers.AttributesImpl;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class XMLFragmentSerializerTest {
+    private static final String NAMESPACE = "urn:test";
+
+    @Test
+    public void roundTripsEscapedCharacters() throws Exception {
+        String value = "a & b < c > d \"e\" 'f'\tg\nh\ri";
+        Element root = roundTrip(value, value, null);
+
+        assertEquals(value, root.getTextContent());
+        assertEquals(value, root.getAttribute("value"));
+    }
+
+    @Test
+    public void roundTripsSupplementaryCharacters() throws Exception {
+        String value = "\u00e4\u20ac\ud83c\udfe0";
+        Element root = roundTrip(value, value, null);
+
+        assertEquals(value, root.getTextContent());
+        assertEquals(value, root.getAttribute("value"));
+    }
+
+    @Test
+    public void replacesLoneSurrogates() throws Exception {
+        Element root = roundTrip("a\ud83cb\udfe0c", "\udfe0\ud83c", null);
+
+        assertEquals("a\ufffdb\ufffdc", root.getTextContent());
+        assertEquals("\ufffd\ufffd", root.getAttribute("value"));
+    }
+
+    @Test
+    public void replacesIllegalControlCharacters() throws Exception {
+        Element root = roundTrip("a\u0000b\u0001c\u001fd\ufffe", "\u0007\u000b\u000c", null);
+
+        assertEquals("a\ufffdb\ufffdc\ufffdd\ufffd", root.getTextContent());
+        assertEquals("\ufffd\ufffd\ufffd", root.getAttribute("value"));
+    }
+
+    @Test
+    public void sanitizesComments() throws Exception {
+        Element root = roundTrip("text", "value", "a -- b --- c & <d> \u0000 \ud83c-");
+
+        Node comment = root.getOwnerDocument().getFirstChild();
+        assertEquals(Node.COMMENT_NODE, comment.getNodeType());
+        assertEquals("a - - b - - - c & <d> \ufffd \ufffd- ", ((Comment) comment).getData());
+    }
+
+    @Test
+    public void writesNonAsciiNamesAtBufferBoundary() throws Exception {
+        String localName = "\u00e4\u00f6\u00fcabcdef";
+        String attributeName = "\u00e9tat";
+
+        // shift the start tag across the end of the initial buffer
+        for (int padding = 8100; padding < 8192; padding++) {
+            XMLFragmentSerializer serializer = XMLFragmentSerializer.newDocumentSerializer(
+                    Collections.singletonMap("t", NAMESPACE), Collections.emptyMap());
+
+            char[] text = new char[padding];
+            Arrays.fill(text, 'x');
+
+            AttributesImpl attributes = new AttributesImpl();
+            attributes.addAttribute("", attributeName, attributeName, "CDATA", "\u00fc");
+            serializer.startElement(NAMESPACE, "root", "t:root", new AttributesImpl());
+            serializer.characters(text, 0, text.length);
+            serializer.startElement(NAMESPACE, localName, "t:" + localName, attributes);
+            serializer.endElement(NAMESPACE, localName, "t:" + localName);
+            serializer.endElement(NAMESPACE, "root", "t:root");
+
+            Element child = (Element) parse(serializer).getLastChild();
+            assertEquals(NAMESPACE, child.getNamespaceURI());
+            assertEquals(localName, child.getLocalName());
+            assertEquals("\u00fc", child.getAttribute(attributeName));
+        }
+    }
+
+    @Test
+    public void declaresReportedNamespaces() throws Exception {
+        XMLFragmentSerializer serializer = XMLFragmentSerializer.newDocumentSerializer(
+                Collections.singletonMap("t", NAMESPACE), Collections.emptyMap());
+
+        AttributesImpl attributes = new AttributesImpl();
+        attributes.addAttribute(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "type", "xsi:type", "CDATA", "app:FooType");
+        serializer.startElement(NAMESPACE, "root", "t:root", new AttributesImpl());
+        serializer.startPrefixMapping("app", "urn:app");
+        serializer.startPrefixMapping("t", NAMESPACE);
+        serializer.startElement(NAMESPACE, "child", "t:child", attributes);
+        serializer.endElement(NAMESPACE, "child", "t:child");
+        serializer.endElement(NAMESPACE, "root", "t:root");
+
+        Element root = parse(serializer);
+        Element child = (Element) root.getFirstChild();
+        assertEquals("app:FooType", child.getAttributeNS(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "type"));
+        assertEquals("urn:app", child.lookupNamespaceURI("app"));
+        assertNull(root.lookupNamespaceURI("app"));
+        assertEquals("", child.getAttribute("xmlns:t"));
+    }
+
+    private Element roundTrip(String text, String attribute, String comment) throws Exception {
+        XMLFragmentSerializer serializer = XMLFragmentSerializer.newDocumentSerializer(
+                Collections.singletonMap("t", NAMESPACE), Collections.emptyMap());
+
+        serializer.writeXMLDeclaration();
+        serializer.writeComment(comment);
+
+        AttributesImpl attributes = new AttributesImpl();
+        attributes.addAttribute("", "value", "value", "CDATA", attribute);
+        serializer.startElement(NAMESPACE, "root", "t:root", attributes);
+        serializer.characters(text.toCharArray(), 0, text.length());
+        serializer.endElement(NAMESPACE, "root", "t:root");
+
+        return parse(serializer);
+    }
+
+    private Element parse(XMLFragmentSerializer serializer) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document document = factory.newDocumentBuilder().parse(new ByteArrayInputStream(serializer.toByteArray()));
+
+        Element root = document.getDocumentElement();
+        assertEquals(NAMESPACE, root.getNamespaceURI());
+        assertEquals("root", root.getLocalName());
+        return root;
+    }
+}
@@ -29,6 +29,9 @@ package org.citydb.util.concurrent;
 
 import org.citydb.util.event.Event;
 import org.citydb.util.log.Logger;
+import org.citydb.util.metrics.Metrics;
+import org.citydb.util.metrics.Timer;
+import org.citydb.util.metrics.WorkQueueWaitEvent;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -39,15 +42,18 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 
 public class WorkerPool<T> {
     private final ReentrantLock mainLock = new ReentrantLock();
 
     private final Logger log = Logger.getInstance();
+    private final Metrics metrics = Metrics.getInstance();
     private final WorkQueue<T> workQueue;
     private final ConcurrentHashMap<Worker<T>, Object> workers;
     private final WorkerFactory<T> workerFactory;
     private final String poolName;
+    private final Timer putWaitTimer;
     private final Object DUMMY = new Object();
 
     private volatile int runState;
@@ -68,6 +74,7 @@ public class WorkerPool<T> {
     private byte poolSizeAdaptationFailure;
     private byte threadNo;
     private Object eventSource;
+    private LongSupplier queueDepth;
 
     // WorkQueue
     public static final class WorkQueue<E> {
@@ -227,7 +234,7 @@ public class WorkerPool<T> {
             final ReentrantLock lock = this.lock;
             lock.lock();
             try {
-                return count == 0 ? extract() : null;
+                return count != 0 ? extract() : null;
             } finally {
                 lock.unlock();
             }
@@ -420,6 +427,7 @@ public class WorkerPool<T> {
             throw new IllegalArgumentException("WorkerFactory may not be null.");
 
         this.poolName = poolName;
+        putWaitTimer = metrics.timer("citydb_worker_pool_put_wait", "pool", poolName);
         this.corePoolSize = corePoolSize;
         this.maximumPoolSize = maximumPoolSize;
         this.adaptationStrategy = adaptationStrategy;
@@ -431,6 +439,11 @@ public class WorkerPool<T> {
         this.queueSize = queueSize;
         workQueue = new WorkQueue<>(queueSize, fair);
         workers = new ConcurrentHashMap<>(maximumPoolSize);
+
+        if (metrics.isEnabled()) {
+            queueDepth = workQueue::size;
+            metrics.registerGauge("citydb_worker_pool_queue_depth", "pool", poolName, queueDepth);
+        }
     }
 
     public WorkerPool(String poolName,
@@ -573,12 +586,30 @@ public class WorkerPool<T> {
             if (runState == RUNNING && !workQueue.offer(work)) {
                 if (!addIfUnderMaximumPoolSize(work)) {
                     if (runState == RUNNING)
-                        workQueue.put(work);
+                        putAndMeasure(work);
                 }
             }
         }
     }
 
+    private void putAndMeasure(T work) {
+        WorkQueueWaitEvent event = new WorkQueueWaitEvent();
+        event.begin();
+        long start = metrics.isEnabled() ? System.nanoTime() : 0;
+
+        workQueue.put(work);
+
+        if (start != 0) {
+            putWaitTimer.recordSince(start);
+        }
+
+        if (event.shouldCommit()) {
+            event.pool = poolName;
+            event.queueSize = queueSize;
+            event.commit();
+        }
+    }
+
     public void addWorkAndWait(T work) {
         if (work == null)
             throw new NullPointerException();
@@ -658,6 +689,7 @@ public class WorkerPool<T> {
             workQueue.notEmpty.signalAll();
 
             runState = TERMINATED;
+            unregisterQueueDepth();
         } finally {
             queueLock.unlock();
             mainLock.unlock();
@@ -702,6 +734,7 @@ public class WorkerPool<T> {
             joinWorkerThreads();
         } finally {
             runState = TERMINATED;
+            unregisterQueueDepth();
         }
     }
 
@@ -730,6 +763,7 @@ public class WorkerPool<T> {
             }
 
             runState = TERMINATED;
+            unregisterQueueDepth();
             clearWorkers();
             return workList;
         } finally {
@@ -817,6 +851,13 @@ public class WorkerPool<T> {
 
     }
 
+    private void unregisterQueueDepth() {
+        if (queueDepth != null) {
+            metrics.unregisterGauge("citydb_worker_pool_queue_depth", "pool", poolName, queueDepth);
+            queueDepth = null;
+        }
+    }
+
     private void joinWorkerThreads() throws InterruptedException {
         final ReentrantLock mainLock = this.mainLock;
         mainLock.lock();
@@ -43,6 +43,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -81,10 +82,18 @@ public class ConfigUtil {
     }
 
     public void marshal(Object object, File file) throws JAXBException {
+        createMarshaller().marshal(object, file);
+    }
+
+    public void marshal(Object object, OutputStream outputStream) throws JAXBException {
+        createMarshaller().marshal(object, outputStream);
+    }
+
+    private Marshaller createMarshaller() throws JAXBException {
         Marshaller marshaller = createJAXBContext().context.createMarshaller();
         marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
         marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
-        marshaller.marshal(object, file);
+        return marshaller;
     }
 
     public Object unmarshal(File file) throws JAXBException, IOException {
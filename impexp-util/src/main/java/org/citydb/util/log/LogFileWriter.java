@@ -0,0 +1,143 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.util.log;
+
+import org.citydb.config.project.global.LogFileOverflowPolicy;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LogFileWriter {
+    private static final int MAX_BATCH_SIZE = 512;
+    private static final String END_OF_QUEUE = new String("");
+
+    private final BufferedWriter writer;
+    private final BlockingQueue<String> queue;
+    private final LogFileOverflowPolicy overflowPolicy;
+    private final AtomicLong droppedMessages = new AtomicLong();
+    private final Thread thread;
+
+    private volatile boolean closed;
+
+    LogFileWriter(BufferedWriter writer, int queueSize, LogFileOverflowPolicy overflowPolicy) {
+        this.writer = writer;
+        this.overflowPolicy = overflowPolicy;
+        queue = new ArrayBlockingQueue<>(Math.max(queueSize, 1));
+
+        thread = new Thread(this::run, "impexp-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void write(String msg) {
+        if (closed) {
+            return;
+        }
+
+        if (overflowPolicy == LogFileOverflowPolicy.DROP) {
+            if (!queue.offer(msg)) {
+                droppedMessages.incrementAndGet();
+            }
+        } else {
+            try {
+                queue.put(msg);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        try {
+            if (queue.offer(END_OF_QUEUE, 10, TimeUnit.SECONDS)) {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                //
+            }
+        }
+    }
+
+    private void run() {
+        List<String> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        boolean shouldRun = true;
+
+        while (shouldRun) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+            } catch (InterruptedException e) {
+                shouldRun = false;
+                queue.drainTo(batch);
+            }
+
+            try {
+                long dropped = droppedMessages.getAndSet(0);
+                if (dropped > 0) {
+                    writer.write("*** " + dropped + " log message(s) dropped due to a full log queue");
+                    writer.newLine();
+                }
+
+                for (String msg : batch) {
+                    if (msg == END_OF_QUEUE) {
+                        shouldRun = false;
+                        break;
+                    }
+
+                    writer.write(msg);
+                    writer.newLine();
+                }
+
+                // flush once per batch when there is nothing left to write
+                if (!shouldRun || queue.isEmpty()) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                //
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+}
@@ -28,6 +28,7 @@
 package org.citydb.util.log;
 
 import org.citydb.config.project.global.LogFileMode;
+import org.citydb.config.project.global.LogFileOverflowPolicy;
 import org.citydb.config.project.global.LogLevel;
 
 import java.io.BufferedWriter;
@@ -40,6 +41,7 @@ import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
 
 public class Logger {
     private static final Logger instance = new Logger();
@@ -47,13 +49,14 @@ public class Logger {
     private ConsoleLogger consoleLogger;
     private LogLevel consoleLevel = LogLevel.INFO;
     private LogLevel fileLevel = LogLevel.INFO;
-    private BufferedWriter writer;
+    private volatile LogFileWriter writer;
 
-    private boolean logToConsole = true;
-    private boolean logToFile = false;
+    private volatile boolean logToConsole = true;
+    private volatile boolean logToFile = false;
 
     private Logger() {
         consoleLogger = new DefaultConsoleLogger();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "impexp-log-shutdown"));
     }
 
     public static Logger getInstance() {
@@ -98,31 +101,58 @@ public class Logger {
                 "] ";
     }
 
+    public boolean isEnabled(LogLevel level) {
+        return isConsoleEnabled(level) || isFileEnabled(level);
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(LogLevel.DEBUG);
+    }
+
+    private boolean isConsoleEnabled(LogLevel level) {
+        return logToConsole && consoleLevel.ordinal() >= level.ordinal();
+    }
+
+    private boolean isFileEnabled(LogLevel level) {
+        return logToFile && writer != null && fileLevel.ordinal() >= level.ordinal();
+    }
+
     public void log(LogLevel level, String msg) {
+        boolean console = isConsoleEnabled(level);
+        boolean file = isFileEnabled(level);
+        if (!console && !file) {
+            return;
+        }
+
         msg = getPrefix(level) + msg;
 
-        if (logToConsole && consoleLevel.ordinal() >= level.ordinal()) {
+        if (console) {
             consoleLogger.log(level, msg);
         }
 
-        if (fileLevel.ordinal() >= level.ordinal()) {
+        if (file) {
             printToFile(msg);
         }
     }
 
+    public void log(LogLevel level, Supplier<String> msg) {
+        if (isEnabled(level)) {
+            log(level, msg.get());
+        }
+    }
+
     public void printToFile(String msg) {
+        LogFileWriter writer = this.writer;
         if (logToFile && writer != null) {
-            try {
-                writer.write(msg);
-                writer.newLine();
-                writer.flush();
-            } catch (IOException e) {
-                //
-            }
+            writer.write(msg);
         }
     }
 
     private void log(LogLevel level, String msg, Throwable e) {
+        if (!isEnabled(level)) {
+            return;
+        }
+
         log(level, msg);
         if (e != null) {
             msg = "Caused by: " + e.getClass().getName();
@@ -138,6 +168,10 @@ public class Logger {
         log(LogLevel.DEBUG, msg);
     }
 
+    public void debug(Supplier<String> msg) {
+        log(LogLevel.DEBUG, msg);
+    }
+
     public void debug(String msg, Throwable e) {
         log(LogLevel.DEBUG, msg, e);
     }
@@ -146,10 +180,18 @@ public class Logger {
         log(LogLevel.INFO, msg);
     }
 
+    public void info(Supplier<String> msg) {
+        log(LogLevel.INFO, msg);
+    }
+
     public void warn(String msg) {
         log(LogLevel.WARN, msg);
     }
 
+    public void warn(Supplier<String> msg) {
+        log(LogLevel.WARN, msg);
+    }
+
     public void warn(String msg, Throwable e) {
         log(LogLevel.WARN, msg, e);
     }
@@ -174,12 +216,20 @@ public class Logger {
     }
 
     public void logStackTrace(Throwable t) {
+        if (!isEnabled(LogLevel.ERROR)) {
+            return;
+        }
+
         StringWriter writer = new StringWriter();
         t.printStackTrace(new PrintWriter(writer, true));
         log(LogLevel.ERROR, writer.toString());
     }
 
     public boolean appendLogFile(Path logFile, LogFileMode mode) {
+        return appendLogFile(logFile, mode, 8192, LogFileOverflowPolicy.BLOCK);
+    }
+
+    public boolean appendLogFile(Path logFile, LogFileMode mode, int queueSize, LogFileOverflowPolicy overflowPolicy) {
         if (Files.exists(logFile) && Files.isDirectory(logFile)) {
             logFile = logFile.resolve(getDefaultLogFileName());
         } else if (!Files.exists(logFile.getParent())) {
@@ -194,12 +244,14 @@ public class Logger {
         try {
             detachLogFile();
             info("Writing log messages to file '" + logFile.toAbsolutePath() + "'.");
-            writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+            BufferedWriter fileWriter = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
                     StandardOpenOption.CREATE, StandardOpenOption.WRITE,
                     mode == LogFileMode.TRUNCATE ?
                             StandardOpenOption.TRUNCATE_EXISTING :
                             StandardOpenOption.APPEND);
 
+            writer = new LogFileWriter(fileWriter, queueSize, overflowPolicy);
+
             logToFile = true;
             printToFile("*** Starting new log file session on " + LocalDateTime.now()
                     .withNano(0)
@@ -221,15 +273,11 @@ public class Logger {
     }
 
     public void close() {
+        LogFileWriter writer = this.writer;
         if (writer != null) {
-            try {
-                writer.close();
-            } catch (IOException e) {
-                //
-            } finally {
-                writer = null;
-                logToFile = false;
-            }
+            this.writer = null;
+            logToFile = false;
+            writer.close();
         }
     }
 
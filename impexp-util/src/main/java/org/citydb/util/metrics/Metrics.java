@@ -0,0 +1,223 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.util.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of runtime metrics collected during import and export operations.
+ * <p>
+ * Collection is disabled by default. Instrumented code must check {@link #isEnabled()}
+ * before taking timestamps so that disabled metrics cause no measurable overhead.
+ * Counters and timers should be resolved once and kept by callers on hot paths.
+ * {@link #reset()} only clears their values.
+ */
+public class Metrics implements MetricsMXBean {
+    public static final String OBJECT_NAME = "org.citydb:type=Metrics";
+    private static final Metrics instance = new Metrics();
+
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+
+    private Metrics() {
+    }
+
+    public static Metrics getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, k -> new Counter(name, null));
+    }
+
+    public Counter counter(String name, String label, String value) {
+        String labels = label(label, value);
+        return counters.computeIfAbsent(name + labels, k -> new Counter(name, labels));
+    }
+
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, k -> new Timer(name, null));
+    }
+
+    public Timer timer(String name, String label, String value) {
+        String labels = label(label, value);
+        return timers.computeIfAbsent(name + labels, k -> new Timer(name, labels));
+    }
+
+    public void registerGauge(String name, String label, String value, LongSupplier supplier) {
+        String labels = label(label, value);
+        gauges.put(name + labels, new Gauge(name, labels, supplier));
+    }
+
+    public void unregisterGauge(String name, String label, String value, LongSupplier supplier) {
+        Gauge gauge = gauges.get(name + label(label, value));
+        if (gauge != null && gauge.supplier == supplier) {
+            gauges.remove(name + label(label, value), gauge);
+        }
+    }
+
+    public void registerMBean() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            //
+        }
+    }
+
+    @Override
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        timers.values().forEach(Timer::reset);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        return snapshot(counters, Counter::getValue);
+    }
+
+    @Override
+    public Map<String, Long> getTimerCounts() {
+        return snapshot(timers, Timer::getCount);
+    }
+
+    @Override
+    public Map<String, Long> getTimerTotalMillis() {
+        return snapshot(timers, timer -> timer.getTotalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public Map<String, Long> getTimerMaxMillis() {
+        return snapshot(timers, timer -> timer.getMaxTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        return snapshot(gauges, gauge -> gauge.supplier.getAsLong());
+    }
+
+    @Override
+    public String getPrometheusText() {
+        StringWriter writer = new StringWriter();
+        try {
+            writePrometheusText(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return writer.toString();
+    }
+
+    public void writePrometheusText(Writer writer) throws IOException {
+        String type = null;
+        for (Counter counter : new TreeMap<>(counters).values()) {
+            type = writeType(writer, type, counter.getName(), "counter");
+            writeSample(writer, counter.getName(), counter.getLabels(), counter.getValue());
+        }
+
+        for (Gauge gauge : new TreeMap<>(gauges).values()) {
+            type = writeType(writer, type, gauge.name, "gauge");
+            writeSample(writer, gauge.name, gauge.labels, gauge.supplier.getAsLong());
+        }
+
+        for (Timer timer : new TreeMap<>(timers).values()) {
+            type = writeType(writer, type, timer.getName() + "_seconds", "summary");
+            writeSample(writer, timer.getName() + "_seconds_count", timer.getLabels(), timer.getCount());
+            writeSample(writer, timer.getName() + "_seconds_sum", timer.getLabels(), timer.getTotalSeconds());
+            writeSample(writer, timer.getName() + "_seconds_max", timer.getLabels(), timer.getMaxSeconds());
+        }
+
+        writer.flush();
+    }
+
+    private String writeType(Writer writer, String previous, String name, String type) throws IOException {
+        if (!name.equals(previous)) {
+            writer.write("# TYPE " + name + " " + type + "\n");
+        }
+
+        return name;
+    }
+
+    private void writeSample(Writer writer, String name, String labels, Number value) throws IOException {
+        writer.write(name);
+        if (labels != null) {
+            writer.write(labels);
+        }
+
+        writer.write(' ');
+        writer.write(value.toString());
+        writer.write('\n');
+    }
+
+    private <T> Map<String, Long> snapshot(Map<String, T> metrics, Function<T, Long> mapper) {
+        Map<String, Long> snapshot = new TreeMap<>();
+        metrics.forEach((key, metric) -> snapshot.put(key, mapper.apply(metric)));
+        return snapshot;
+    }
+
+    private String label(String label, String value) {
+        return "{" + label + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"}";
+    }
+
+    private static final class Gauge {
+        private final String name;
+        private final String labels;
+        private final LongSupplier supplier;
+
+        Gauge(String name, String labels, LongSupplier supplier) {
+            this.name = name;
+            this.labels = labels;
+            this.supplier = supplier;
+        }
+    }
+}
@@ -48,8 +48,11 @@ import org.citydb.util.event.global.ObjectCounterEvent;
 import org.citydb.util.log.Logger;
 import org.citydb.vis.database.*;
 import org.citydb.vis.util.BalloonTemplateHandler;
+import org.citydb.vis.util.ElevationProvider;
 import org.citydb.vis.util.ElevationServiceHandler;
 import org.citydb.vis.util.ExportTracker;
+import org.citydb.vis.util.GoogleElevationProvider;
+import org.citydb.vis.util.TextureCache;
 import org.citygml4j.model.citygml.bridge.Bridge;
 import org.citygml4j.model.citygml.building.Building;
 import org.citygml4j.model.citygml.cityfurniture.CityFurniture;
@@ -70,7 +73,9 @@ import java.io.File;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -86,10 +91,13 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
     private final Config config;
     private final EventDispatcher eventDispatcher;
     private final VisExporterManager visExporterManager;
+    private final StatementCache statementCache;
 
     private final Map<Class<? extends AbstractGML>, Integer> objectGroupCounter = new HashMap<>();
     private final Map<Class<? extends AbstractGML>, AbstractVisObject> objectGroup = new HashMap<>();
     private final Map<Class<? extends AbstractGML>, BalloonTemplateHandler> balloonTemplateHandler = new HashMap<>();
+    private final Map<Long, Integer> balloonBatch = new HashMap<>();
+    private final int featureBatchSize;
 
     private final ElevationServiceHandler elevationServiceHandler;
     private final Logger log = Logger.getInstance();
@@ -103,6 +111,8 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
                            ExportTracker tracker,
                            Query query,
                            ObjectFactory kmlFactory,
+                           ElevationProvider elevationProvider,
+                           TextureCache textureCache,
                            Config config,
                            EventDispatcher eventDispatcher) {
         this.connection = connection;
@@ -112,7 +122,9 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
         this.config = config;
         this.eventDispatcher = eventDispatcher;
 
+        featureBatchSize = config.getDatabaseConfig().getExportBatching().getFeatureBatchSize();
         textureExportAdapter = databaseAdapter.getSQLAdapter().getBlobExportAdapter(connection, BlobType.TEXTURE_IMAGE);
+        statementCache = new StatementCache(connection, config.getVisExportConfig().getResources().getFetchSize());
 
         visExporterManager = new VisExporterManager(outputFile,
                 jaxbKmlContext,
@@ -123,10 +135,14 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
                 query,
                 kmlFactory,
                 textureExportAdapter,
+                statementCache,
+                textureCache,
                 eventDispatcher,
                 config);
 
-        elevationServiceHandler = new ElevationServiceHandler(config);
+        elevationServiceHandler = new ElevationServiceHandler(elevationProvider != null ?
+                elevationProvider :
+                new GoogleElevationProvider(config), connection, databaseAdapter);
     }
 
     @Override
@@ -142,13 +158,24 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
                 firstWork = null;
             }
 
-            DBSplittingResult work;
+            List<DBSplittingResult> works = new ArrayList<>(featureBatchSize);
             while (shouldRun) {
                 try {
-                    work = workQueue.take();
-                    doWork(work);
+                    // take further work items that are already queued so that
+                    // balloon contents can be queried in batches
+                    DBSplittingResult work = workQueue.take();
+                    do {
+                        works.add(work);
+                    } while (works.size() < featureBatchSize && (work = workQueue.poll()) != null);
+
+                    setBalloonBatch(works);
+                    for (DBSplittingResult item : works) {
+                        doWork(item);
+                    }
                 } catch (InterruptedException ie) {
                     // re-check state
+                } finally {
+                    works.clear();
                 }
             }
 
@@ -170,6 +197,9 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
 
             eventDispatcher.triggerEvent(new ObjectCounterEvent(visExporterManager.getObjectCounter()));
         } finally {
+            balloonTemplateHandler.values().forEach(BalloonTemplateHandler::close);
+            statementCache.close();
+
             if (textureExportAdapter != null) {
                 try {
                     textureExportAdapter.close();
@@ -178,6 +208,12 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
                 }
             }
 
+            try {
+                elevationServiceHandler.close();
+            } catch (SQLException e) {
+                log.error("Failed to store GE_LoDn_zOffset values.", e);
+            }
+
             try {
                 connection.commit(); // for all possible GE_LoDn_zOffset values
                 connection.close();
@@ -418,16 +454,33 @@ public class VisExportWorker extends Worker<DBSplittingResult> {
         }
     }
 
+    private void setBalloonBatch(List<DBSplittingResult> works) {
+        balloonBatch.clear();
+        for (DBSplittingResult work : works) {
+            balloonBatch.put(work.getId(), work.getObjectClassId());
+        }
+
+        balloonTemplateHandler.values().forEach(handler -> handler.setBatch(balloonBatch));
+    }
+
     private BalloonTemplateHandler getBalloonTemplateHandler(Class<? extends AbstractGML> objectClass) {
         BalloonTemplateHandler currentBalloonTemplateHandler = balloonTemplateHandler.get(objectClass);
 
         if (currentBalloonTemplateHandler == null) {
             Balloon balloonSettings = getBalloonSettings(objectClass);
-            if (balloonSettings != null && balloonSettings.isIncludeDescription() &&
-                    balloonSettings.getBalloonContentMode() != BalloonContentMode.GEN_ATTRIB) {
-                String balloonTemplateFilename = balloonSettings.getBalloonContentTemplateFile();
-                if (balloonTemplateFilename != null && balloonTemplateFilename.length() > 0) {
-                    currentBalloonTemplateHandler = new BalloonTemplateHandler(new File(balloonTemplateFilename), databaseAdapter);
+            if (balloonSettings != null && balloonSettings.isIncludeDescription()) {
+                if (balloonSettings.getBalloonContentMode() != BalloonContentMode.GEN_ATTRIB) {
+                    String balloonTemplateFilename = balloonSettings.getBalloonContentTemplateFile();
+                    if (balloonTemplateFilename != null && balloonTemplateFilename.length() > 0) {
+                        currentBalloonTemplateHandler = new BalloonTemplateHandler(new File(balloonTemplateFilename), databaseAdapter);
+                    }
+                } else {
+                    // templates are read from generic attributes and compiled on first use
+                    currentBalloonTemplateHandler = new BalloonTemplateHandler((String) null, databaseAdapter);
+                }
+
+                if (currentBalloonTemplateHandler != null) {
+                    currentBalloonTemplateHandler.setBatch(balloonBatch);
                     balloonTemplateHandler.put(objectClass, currentBalloonTemplateHandler);
                 }
             }
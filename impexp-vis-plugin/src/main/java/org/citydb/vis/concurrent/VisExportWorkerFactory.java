@@ -38,7 +38,9 @@ import org.citydb.util.concurrent.WorkerPool;
 import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.log.Logger;
 import org.citydb.vis.database.DBSplittingResult;
+import org.citydb.vis.util.ElevationProvider;
 import org.citydb.vis.util.ExportTracker;
+import org.citydb.vis.util.TextureCache;
 import org.citygml4j.util.xml.SAXEventBuffer;
 
 import javax.xml.bind.JAXBContext;
@@ -56,6 +58,8 @@ public class VisExportWorkerFactory implements WorkerFactory<DBSplittingResult>
     private final Query query;
     private final ExportTracker tracker;
     private final ObjectFactory kmlFactory;
+    private final ElevationProvider elevationProvider;
+    private final TextureCache textureCache;
     private final Config config;
     private final EventDispatcher eventDispatcher;
 
@@ -66,6 +70,8 @@ public class VisExportWorkerFactory implements WorkerFactory<DBSplittingResult>
                                   ExportTracker tracker,
                                   Query query,
                                   ObjectFactory kmlFactory,
+                                  ElevationProvider elevationProvider,
+                                  TextureCache textureCache,
                                   Config config,
                                   EventDispatcher eventDispatcher) {
         this.outputFile = outputFile;
@@ -75,6 +81,8 @@ public class VisExportWorkerFactory implements WorkerFactory<DBSplittingResult>
         this.tracker = tracker;
         this.query = query;
         this.kmlFactory = kmlFactory;
+        this.elevationProvider = elevationProvider;
+        this.textureCache = textureCache;
         this.config = config;
         this.eventDispatcher = eventDispatcher;
     }
@@ -89,7 +97,7 @@ public class VisExportWorkerFactory implements WorkerFactory<DBSplittingResult>
             connection.setAutoCommit(false);
 
             visWorker = new VisExportWorker(outputFile, connection, databaseAdapter, jaxbKmlContext, jaxbColladaContext,
-                    writerPool, tracker, query, kmlFactory, config, eventDispatcher);
+                    writerPool, tracker, query, kmlFactory, elevationProvider, textureCache, config, eventDispatcher);
         } catch (SQLException e) {
             log.error("Failed to create export worker.", e);
         }
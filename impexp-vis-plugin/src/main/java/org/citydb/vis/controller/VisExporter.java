@@ -32,6 +32,7 @@ import org.citydb.config.Config;
 import org.citydb.config.geometry.BoundingBox;
 import org.citydb.config.i18n.Language;
 import org.citydb.config.project.database.DatabaseConfig;
+import org.citydb.config.project.database.DatabaseSrsType;
 import org.citydb.config.project.database.Workspace;
 import org.citydb.config.project.visExporter.*;
 import org.citydb.core.ade.ADEExtension;
@@ -67,7 +68,9 @@ import org.citydb.vis.controller.VisExportException.ErrorCode;
 import org.citydb.vis.database.*;
 import org.citydb.vis.datatype.TypeAttributeValueEnum;
 import org.citydb.vis.util.CityObject4JSON;
+import org.citydb.vis.util.DEMElevationProvider;
 import org.citydb.vis.util.ExportTracker;
+import org.citydb.vis.util.TextureCache;
 import org.citygml4j.model.citygml.CityGML;
 import org.citygml4j.model.citygml.CityGMLClass;
 import org.citygml4j.model.gml.feature.AbstractFeature;
@@ -121,6 +124,8 @@ public class VisExporter implements EventHandler {
     private File lastTempFolder = null;
     private long geometryCounter;
     private VisExportException exception;
+    private DEMElevationProvider demElevationProvider;
+    private TextureCache textureCache;
 
     public VisExporter() {
         schemaMapping = ObjectRegistry.getInstance().getSchemaMapping();
@@ -164,6 +169,17 @@ public class VisExporter implements EventHandler {
             throw new VisExportException("An unexpected error occurred.", e);
         } finally {
             eventDispatcher.removeEventHandler(this);
+
+            if (demElevationProvider != null) {
+                demElevationProvider.close();
+                demElevationProvider = null;
+            }
+
+            if (textureCache != null) {
+                log.debug("Texture cache: " + textureCache.getHits() + " hits, " + textureCache.getMisses() + " misses.");
+                textureCache.clear();
+                textureCache = null;
+            }
         }
 
         if (logTotalProcessingTime && success) {
@@ -197,13 +213,31 @@ public class VisExporter implements EventHandler {
             }
         }
 
-        // check API key when using the elevation API
-        if (config.getVisExportConfig().getElevation().getAltitudeOffsetMode() == AltitudeOffsetMode.GENERIC_ATTRIBUTE
-                && config.getVisExportConfig().getElevation().isCallGElevationService()
-                && !config.getGlobalConfig().getApiKeys().isSetGoogleElevation()) {
-            throw new VisExportException(ErrorCode.MISSING_GOOGLE_API_KEY, "The Google Elevation API cannot be used due to a missing API key.");
+        // check API key when using the elevation API or load the local DEM
+        Elevation elevation = config.getVisExportConfig().getElevation();
+        if (elevation.getAltitudeOffsetMode() == AltitudeOffsetMode.GENERIC_ATTRIBUTE
+                && elevation.isCallGElevationService()) {
+            if (elevation.getElevationSource() == ElevationSource.LOCAL_DEM) {
+                if (!elevation.isSetDemPath()) {
+                    throw new VisExportException("No DEM file or folder provided as elevation source.");
+                }
+
+                log.info("Loading DEM from " + elevation.getDemPath() + "...");
+                try {
+                    demElevationProvider = DEMElevationProvider.newInstance(Paths.get(elevation.getDemPath()),
+                            elevation.getDemTileCacheSize());
+                    log.debug("Loaded " + demElevationProvider.getNumberOfRasters() + " DEM raster(s).");
+                } catch (Exception e) {
+                    throw new VisExportException("Failed to load the DEM from " + elevation.getDemPath() + ".", e);
+                }
+            } else if (!config.getGlobalConfig().getApiKeys().isSetGoogleElevation()) {
+                throw new VisExportException(ErrorCode.MISSING_GOOGLE_API_KEY, "The Google Elevation API cannot be used due to a missing API key.");
+            }
         }
 
+        // decoded textures and texture atlases are shared by all workers
+        textureCache = new TextureCache(config.getVisExportConfig().getResources().getTextureCacheSize());
+
         // check whether spatial indexes are enabled
         log.info("Checking for spatial indexes on geometry columns of involved tables...");
         try {
@@ -249,6 +283,12 @@ public class VisExporter implements EventHandler {
             }
         }
 
+        // client-side aggregation of footprints requires planar areas
+        if (config.getVisExportConfig().isAggregateGeometriesOnClient()
+                && databaseAdapter.getConnectionMetaData().getReferenceSystem().getType() != DatabaseSrsType.PROJECTED) {
+            log.warn("Geometries can only be aggregated on the client for projected reference systems. Using the database instead.");
+        }
+
         // build query from filter settings
         Query query;
         try {
@@ -474,6 +514,8 @@ public class VisExporter implements EventHandler {
                                         tracker,
                                         query,
                                         kmlFactory,
+                                        demElevationProvider,
+                                        textureCache,
                                         config,
                                         eventDispatcher),
                                 300,
@@ -36,6 +36,7 @@ import org.citydb.config.geometry.GeometryObject;
 import org.citydb.config.geometry.GeometryType;
 import org.citydb.config.project.database.DatabaseConfig;
 import org.citydb.config.project.database.DatabaseSrs;
+import org.citydb.config.project.database.DatabaseSrsType;
 import org.citydb.config.project.global.LogLevel;
 import org.citydb.config.project.visExporter.*;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
@@ -57,6 +58,8 @@ import org.citydb.vis.datatype.TypeAttributeValueEnum;
 import org.citydb.vis.util.AffineTransformer;
 import org.citydb.vis.util.BalloonTemplateHandler;
 import org.citydb.vis.util.ElevationServiceHandler;
+import org.citydb.vis.util.FootprintAggregator;
+import org.citydb.vis.util.TextureCache;
 import org.citygml4j.geometry.Matrix;
 import org.citygml4j.geometry.Point;
 import org.citygml4j.model.citygml.CityGMLClass;
@@ -105,6 +108,8 @@ public abstract class AbstractVisObject {
     private HashMap<Object, String> texImageUris = new HashMap<Object, String>();
     // key is imageUri
     private HashMap<String, TextureImage> texImages = new HashMap<String, TextureImage>();
+    // tex_image ids of the images read from the database. key is imageUri
+    private HashMap<String, Long> texImageIds = new HashMap<String, Long>();
     // for images in unusual formats or wrapping textures. Most times it will be null.
     // key is imageUri
     private HashMap<String, Long> unsupportedTexImageIds = null;
@@ -836,6 +841,12 @@ public abstract class AbstractVisObject {
         }
     }
 
+    protected void addTexImageId(String texImageUri, long texImageId) {
+        if (texImageUri != null) {
+            texImageIds.put(texImageUri, texImageId);
+        }
+    }
+
     protected void removeTexImage(String texImageUri) {
         texImages.remove(texImageUri);
     }
@@ -986,6 +997,9 @@ public abstract class AbstractVisObject {
             String imageUri = objectToAppend.texImageUris.get(surfaceId);
             this.addTexImageUri(surfaceId, imageUri);
             this.addTexImage(imageUri, objectToAppend.getTexImage(imageUri));
+            Long texImageId = objectToAppend.texImageIds.get(imageUri);
+            if (texImageId != null)
+                this.addTexImageId(imageUri, texImageId);
             this.addUnsupportedTexImageId(imageUri, objectToAppend.getUnsupportedTexImageId(imageUri));
             this.surfaceInfos.put(surfaceId, objectToAppend.surfaceInfos.get(surfaceId));
         }
@@ -1145,11 +1159,44 @@ public abstract class AbstractVisObject {
 
         tiInfo.setTexCoordinates(tiInfoCoords);
 
-        taCreator.setUsePOTS(pots);
-        taCreator.setScaleFactor(scaleFactor);
+        // reuse the atlases of a previous feature having the same textures and texture coordinates
+        TextureCache textureCache = visExporterManager.getTextureCache();
+        Map<Object, String> atlasInputs = getTextureAtlasInputs(tiInfoCoords);
+        String atlasSignature = atlasInputs != null ?
+                getTextureAtlasSignature(atlasInputs, packingAlgorithm, scaleFactor, pots) :
+                null;
+
+        TextureCache.TextureAtlas atlas = atlasSignature != null ? textureCache.getTextureAtlas(atlasSignature) : null;
+        if (atlas != null) {
+            for (Map.Entry<Object, String> atlasInput : atlasInputs.entrySet()) {
+                String[] surface = atlas.getSurface(atlasInput.getValue());
+                texImageUris.put(atlasInput.getKey(), surface[0]);
+                tiInfoCoords.put(atlasInput.getKey(), surface[1]);
+            }
+
+            texImages.clear();
+            texImages.putAll(atlas.getImages());
+        } else {
+            taCreator.setUsePOTS(pots);
+            taCreator.setScaleFactor(scaleFactor);
+
+            // create texture atlases
+            taCreator.convert(tiInfo, packingAlgorithm);
+
+            if (atlasSignature != null) {
+                atlas = new TextureCache.TextureAtlas(texImages);
+                for (Map.Entry<Object, String> atlasInput : atlasInputs.entrySet()) {
+                    atlas.addSurface(atlasInput.getValue(),
+                            texImageUris.get(atlasInput.getKey()),
+                            tiInfoCoords.get(atlasInput.getKey()));
+                }
 
-        // create texture atlases
-        taCreator.convert(tiInfo, packingAlgorithm);
+                textureCache.putTextureAtlas(atlasSignature, atlas);
+            }
+        }
+
+        // the images are now texture atlases
+        texImageIds.clear();
 
         sgIdIterator = sgIdSet.iterator();
         while (sgIdIterator.hasNext()) {
@@ -1168,6 +1215,35 @@ public abstract class AbstractVisObject {
         }
     }
 
+    private Map<Object, String> getTextureAtlasInputs(Map<Object, String> tiInfoCoords) {
+        Map<Object, String> inputs = new HashMap<>();
+        for (Map.Entry<Object, String> entry : texImageUris.entrySet()) {
+            // cropped images and images of unknown origin cannot be shared
+            Long texImageId = texImageIds.get(entry.getValue());
+            String texCoords = tiInfoCoords.get(entry.getKey());
+            if (texImageId == null || texCoords == null)
+                return null;
+
+            inputs.put(entry.getKey(), texImageId + "|" + entry.getValue() + "|" + texCoords);
+        }
+
+        return inputs;
+    }
+
+    private String getTextureAtlasSignature(Map<Object, String> inputs, int packingAlgorithm, double scaleFactor, boolean pots) {
+        List<String> sortedInputs = new ArrayList<>(inputs.values());
+        Collections.sort(sortedInputs);
+
+        StringBuilder signature = new StringBuilder()
+                .append(packingAlgorithm).append('|')
+                .append(scaleFactor).append('|')
+                .append(pots);
+        for (String input : sortedInputs)
+            signature.append('\n').append(input);
+
+        return signature.toString();
+    }
+
     public void resizeAllImagesByFactor(double factor) throws SQLException, IOException {
         if (texImages.size() == 0) { // building has no textures at all
             return;
@@ -1303,6 +1379,15 @@ public abstract class AbstractVisObject {
     }
 
     protected List<PlacemarkType> createPlacemarksForFootprint(ResultSet rs, DBSplittingResult work) throws SQLException {
+        return createPlacemarksForFootprint(getGroundSurfaces(rs), work);
+    }
+
+    protected List<PlacemarkType> createPlacemarksForFootprint(GeometryObject aggregatedGeometry, DBSplittingResult work) throws SQLException {
+        eventDispatcher.triggerEvent(new GeometryCounterEvent(null));
+        return createPlacemarksForFootprint(Collections.singletonList(aggregatedGeometry), work);
+    }
+
+    private List<PlacemarkType> createPlacemarksForFootprint(List<GeometryObject> geometries, DBSplittingResult work) throws SQLException {
         List<PlacemarkType> placemarkList = new ArrayList<PlacemarkType>();
         PlacemarkType placemark = kmlFactory.createPlacemarkType();
         placemark.setName(work.getGmlId());
@@ -1321,48 +1406,30 @@ public abstract class AbstractVisObject {
         placemark.setAbstractGeometryGroup(kmlFactory.createMultiGeometry(multiGeometry));
 
         PolygonType polygon = null;
-        while (rs.next()) {
-            Object buildingGeometryObj = rs.getObject(1);
-
-            if (!rs.wasNull() && buildingGeometryObj != null) {
-                eventDispatcher.triggerEvent(new GeometryCounterEvent(null));
-
-                GeometryObject unconvertedGeom = geometryConverterAdapter.getGeometry(buildingGeometryObj);
-                if (unconvertedGeom == null || (unconvertedGeom.getGeometryType() != GeometryType.POLYGON && unconvertedGeom.getGeometryType() != GeometryType.MULTI_POLYGON))
-                    continue;
-
-                // for implicit geometries, we need to apply the transformation matrix first
-                rs.getLong(2);
-                if (!rs.wasNull()) {
-                    AffineTransformer transformer = getAffineTransformer(rs, 3, 4);
-                    if (transformer != null)
-                        unconvertedGeom = transformer.applyTransformation(unconvertedGeom);
-                }
-
-                GeometryObject groundSurface = convertToWGS84(unconvertedGeom);
+        for (GeometryObject unconvertedGeom : geometries) {
+            GeometryObject groundSurface = convertToWGS84(unconvertedGeom);
 
-                int dim = groundSurface.getDimension();
+            int dim = groundSurface.getDimension();
 
-                for (int i = 0; i < groundSurface.getNumElements(); i++) {
-                    LinearRingType linearRing = kmlFactory.createLinearRingType();
-                    BoundaryType boundary = kmlFactory.createBoundaryType();
-                    boundary.setLinearRing(linearRing);
+            for (int i = 0; i < groundSurface.getNumElements(); i++) {
+                LinearRingType linearRing = kmlFactory.createLinearRingType();
+                BoundaryType boundary = kmlFactory.createBoundaryType();
+                boundary.setLinearRing(linearRing);
 
-                    if (groundSurface.getElementType(i) == ElementType.EXTERIOR_LINEAR_RING) {
-                        polygon = kmlFactory.createPolygonType();
-                        polygon.setTessellate(true);
-                        polygon.setExtrude(false);
-                        polygon.setAltitudeModeGroup(kmlFactory.createAltitudeMode(AltitudeModeEnumType.CLAMP_TO_GROUND));
-                        polygon.setOuterBoundaryIs(boundary);
-                        multiGeometry.getAbstractGeometryGroup().add(kmlFactory.createPolygon(polygon));
-                    } else if (polygon != null)
-                        polygon.getInnerBoundaryIs().add(boundary);
+                if (groundSurface.getElementType(i) == ElementType.EXTERIOR_LINEAR_RING) {
+                    polygon = kmlFactory.createPolygonType();
+                    polygon.setTessellate(true);
+                    polygon.setExtrude(false);
+                    polygon.setAltitudeModeGroup(kmlFactory.createAltitudeMode(AltitudeModeEnumType.CLAMP_TO_GROUND));
+                    polygon.setOuterBoundaryIs(boundary);
+                    multiGeometry.getAbstractGeometryGroup().add(kmlFactory.createPolygon(polygon));
+                } else if (polygon != null)
+                    polygon.getInnerBoundaryIs().add(boundary);
 
-                    // order points counter-clockwise
-                    double[] ordinatesArray = groundSurface.getCoordinates(i);
-                    for (int j = ordinatesArray.length - dim; j >= 0; j = j - dim)
-                        linearRing.getCoordinates().add(String.valueOf(ordinatesArray[j] + "," + ordinatesArray[j + 1] + ",0"));
-                }
+                // order points counter-clockwise
+                double[] ordinatesArray = groundSurface.getCoordinates(i);
+                for (int j = ordinatesArray.length - dim; j >= 0; j = j - dim)
+                    linearRing.getCoordinates().add(String.valueOf(ordinatesArray[j] + "," + ordinatesArray[j + 1] + ",0"));
             }
         }
         if (polygon != null) { // if there is at least some content
@@ -1372,6 +1439,15 @@ public abstract class AbstractVisObject {
     }
 
     protected List<PlacemarkType> createPlacemarksForExtruded(ResultSet rs, DBSplittingResult work, double measuredHeight, boolean reversePointOrder) throws SQLException {
+        return createPlacemarksForExtruded(getGroundSurfaces(rs), work, measuredHeight, reversePointOrder);
+    }
+
+    protected List<PlacemarkType> createPlacemarksForExtruded(GeometryObject aggregatedGeometry, DBSplittingResult work, double measuredHeight, boolean reversePointOrder) throws SQLException {
+        eventDispatcher.triggerEvent(new GeometryCounterEvent(null));
+        return createPlacemarksForExtruded(Collections.singletonList(aggregatedGeometry), work, measuredHeight, reversePointOrder);
+    }
+
+    private List<PlacemarkType> createPlacemarksForExtruded(List<GeometryObject> geometries, DBSplittingResult work, double measuredHeight, boolean reversePointOrder) throws SQLException {
         List<PlacemarkType> placemarkList = new ArrayList<PlacemarkType>();
         PlacemarkType placemark = kmlFactory.createPlacemarkType();
         placemark.setName(work.getGmlId());
@@ -1388,6 +1464,45 @@ public abstract class AbstractVisObject {
         placemark.setAbstractGeometryGroup(kmlFactory.createMultiGeometry(multiGeometry));
 
         PolygonType polygon = null;
+        for (GeometryObject unconvertedGeom : geometries) {
+            GeometryObject groundSurface = convertToWGS84(unconvertedGeom);
+
+            int dim = groundSurface.getDimension();
+
+            for (int i = 0; i < groundSurface.getNumElements(); i++) {
+                LinearRingType linearRing = kmlFactory.createLinearRingType();
+                BoundaryType boundary = kmlFactory.createBoundaryType();
+                boundary.setLinearRing(linearRing);
+
+                if (groundSurface.getElementType(i) == ElementType.EXTERIOR_LINEAR_RING) {
+                    polygon = kmlFactory.createPolygonType();
+                    polygon.setTessellate(true);
+                    polygon.setExtrude(true);
+                    polygon.setAltitudeModeGroup(kmlFactory.createAltitudeMode(AltitudeModeEnumType.RELATIVE_TO_GROUND));
+                    polygon.setOuterBoundaryIs(boundary);
+                    multiGeometry.getAbstractGeometryGroup().add(kmlFactory.createPolygon(polygon));
+                } else
+                    polygon.getInnerBoundaryIs().add(boundary);
+
+                double[] ordinatesArray = groundSurface.getCoordinates(i);
+                if (reversePointOrder) {
+                    for (int j = 0; j < ordinatesArray.length; j = j + dim)
+                        linearRing.getCoordinates().add(String.valueOf(ordinatesArray[j] + "," + ordinatesArray[j + 1] + "," + measuredHeight));
+
+                } else if (polygon != null)
+                    // order points counter-clockwise
+                    for (int j = ordinatesArray.length - dim; j >= 0; j = j - dim)
+                        linearRing.getCoordinates().add(String.valueOf(ordinatesArray[j] + "," + ordinatesArray[j + 1] + "," + measuredHeight));
+            }
+        }
+        if (polygon != null) { // if there is at least some content
+            placemarkList.add(placemark);
+        }
+        return placemarkList;
+    }
+
+    private List<GeometryObject> getGroundSurfaces(ResultSet rs) throws SQLException {
+        List<GeometryObject> geometries = new ArrayList<>();
         while (rs.next()) {
             Object buildingGeometryObj = rs.getObject(1);
 
@@ -1406,41 +1521,89 @@ public abstract class AbstractVisObject {
                         unconvertedGeom = transformer.applyTransformation(unconvertedGeom);
                 }
 
-                GeometryObject groundSurface = convertToWGS84(unconvertedGeom);
+                geometries.add(unconvertedGeom);
+            }
+        }
 
-                int dim = groundSurface.getDimension();
+        return geometries;
+    }
 
-                for (int i = 0; i < groundSurface.getNumElements(); i++) {
-                    LinearRingType linearRing = kmlFactory.createLinearRingType();
-                    BoundaryType boundary = kmlFactory.createBoundaryType();
-                    boundary.setLinearRing(linearRing);
+    protected boolean isAggregateGeometriesOnClient() {
+        // planar areas are only meaningful for projected reference systems
+        return config.getVisExportConfig().isAggregateGeometriesOnClient()
+                && dbSrs.getType() == DatabaseSrsType.PROJECTED;
+    }
 
-                    if (groundSurface.getElementType(i) == ElementType.EXTERIOR_LINEAR_RING) {
-                        polygon = kmlFactory.createPolygonType();
-                        polygon.setTessellate(true);
-                        polygon.setExtrude(true);
-                        polygon.setAltitudeModeGroup(kmlFactory.createAltitudeMode(AltitudeModeEnumType.RELATIVE_TO_GROUND));
-                        polygon.setOuterBoundaryIs(boundary);
-                        multiGeometry.getAbstractGeometryGroup().add(kmlFactory.createPolygon(polygon));
-                    } else
-                        polygon.getInnerBoundaryIs().add(boundary);
-
-                    double[] ordinatesArray = groundSurface.getCoordinates(i);
-                    if (reversePointOrder) {
-                        for (int j = 0; j < ordinatesArray.length; j = j + dim)
-                            linearRing.getCoordinates().add(String.valueOf(ordinatesArray[j] + "," + ordinatesArray[j + 1] + "," + measuredHeight));
-
-                    } else if (polygon != null)
-                        // order points counter-clockwise
-                        for (int j = ordinatesArray.length - dim; j >= 0; j = j - dim)
-                            linearRing.getCoordinates().add(String.valueOf(ordinatesArray[j] + "," + ordinatesArray[j + 1] + "," + measuredHeight));
+    protected GeometryObject aggregateGeometries(String query, long id, double tolerance) throws SQLException {
+        try (ResultSet rs = executeQuery(query, id)) {
+            FootprintAggregator aggregator = new FootprintAggregator(tolerance);
+            while (rs.next()) {
+                Object geometryObj = rs.getObject(1);
+                if (!rs.wasNull() && geometryObj != null) {
+                    GeometryObject geometry = geometryConverterAdapter.getGeometry(geometryObj);
+                    if (geometry != null && (geometry.getGeometryType() == GeometryType.POLYGON || geometry.getGeometryType() == GeometryType.MULTI_POLYGON))
+                        aggregator.add(geometry);
                 }
             }
+
+            return aggregator.union(dbSrs.getSrid());
         }
-        if (polygon != null) { // if there is at least some content
-            placemarkList.add(placemark);
+    }
+
+    protected AggregatedFootprint aggregateFootprint(int lod, long id, int objectClassId,
+                                                     SurfaceGeometriesQuery surfaceGeometriesQuery,
+                                                     AggregateGeometriesQuery aggregateGeometriesQuery) {
+        if (isAggregateGeometriesOnClient()) {
+            try {
+                GeometryObject geometry = aggregateGeometries(surfaceGeometriesQuery.getQuery(lod, objectClassId), id, 0.001);
+                if (geometry != null)
+                    return new AggregatedFootprint(geometry, null);
+            } catch (SQLException e) {
+                log.error("SQL error while aggregating geometries in LOD " + lod + ".", e);
+                try {
+                    connection.commit();
+                } catch (SQLException sqle) {
+                }
+            }
+        } else {
+            int groupBasis = 4;
+            ResultSet rs = null;
+
+            try {
+                String query = aggregateGeometriesQuery.getQuery(0.001,
+                        databaseAdapter.getUtil().get2DSrid(dbSrs),
+                        lod,
+                        Math.pow(groupBasis, 4),
+                        Math.pow(groupBasis, 3),
+                        Math.pow(groupBasis, 2), objectClassId);
+
+                rs = executeBufferedQuery(query, id);
+                if (rs.isBeforeFirst()) {
+                    rs.next();
+                    if (rs.getObject(1) != null) {
+                        rs.beforeFirst();
+                        return new AggregatedFootprint(null, rs);
+                    }
+                }
+
+                try {
+                    rs.close();
+                } catch (SQLException sqle) {
+                }
+            } catch (SQLException e) {
+                log.error("SQL error while aggregating geometries in LOD " + lod + ".", e);
+                try {
+                    if (rs != null) rs.close();
+                } catch (SQLException sqle) {
+                }
+                try {
+                    connection.commit();
+                } catch (SQLException sqle) {
+                }
+            }
         }
-        return placemarkList;
+
+        return null;
     }
 
     protected List<PlacemarkType> createPlacemarksForGeometry(ResultSet _rs, DBSplittingResult work) throws SQLException {
@@ -1480,24 +1643,17 @@ public abstract class AbstractVisObject {
                     || Util.getCityGMLClass(surfaceTypeID) == CityGMLClass.TUNNEL_CLOSURE_SURFACE))
                 continue;
 
-            PreparedStatement geometryQuery = null;
             ResultSet rs = null;
 
             try {
                 String query = queries.getSurfaceGeometries(false, transformer != null);
-                geometryQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
-                for (int i = 1; i <= getParameterCount(query); i++)
-                    geometryQuery.setLong(i, rootId);
-
-                rs = geometryQuery.executeQuery();
+                rs = executeQuery(query, rootId);
 
                 double lowestZCoordinate = convertPointCoordinatesToWGS84(new double[]{
                         lowestPointCandidates.get(0).x,
                         lowestPointCandidates.get(0).y,
                         lowestPointCandidates.get(0).z})[2];
 
-                rs.beforeFirst(); // return cursor to beginning
-
                 while (rs.next()) {
                     // skip duplicate geometries
                     String gmlId = rs.getString("gmlid");
@@ -1651,11 +1807,6 @@ public abstract class AbstractVisObject {
                         rs.close();
                     } catch (SQLException e) {
                     }
-                if (geometryQuery != null)
-                    try {
-                        geometryQuery.close();
-                    } catch (SQLException e) {
-                    }
             }
         }
 
@@ -2093,7 +2244,6 @@ public abstract class AbstractVisObject {
                     || Util.getCityGMLClass(surfaceTypeID) == CityGMLClass.TUNNEL_CLOSURE_SURFACE))
                 continue;
 
-            PreparedStatement geometryQuery = null;
             ResultSet rs = null;
 
             try {
@@ -2102,11 +2252,7 @@ public abstract class AbstractVisObject {
                 SurfaceInfo surfaceInfo = null;
 
                 String query = queries.getSurfaceGeometries(exportAppearance, isImplicit);
-                geometryQuery = connection.prepareStatement(query);
-                for (int i = 1; i <= getParameterCount(query); i++)
-                    geometryQuery.setLong(i, rootId);
-
-                rs = geometryQuery.executeQuery();
+                rs = executeQuery(query, rootId);
 
                 while (rs.next()) {
                     surfaceId = rs.getLong("id");
@@ -2220,27 +2366,44 @@ public abstract class AbstractVisObject {
                                 texImageUri = "_" + texImageUri.substring(fileSeparatorIndex + 1); // for example: _tex4712047.jpeg
 
                                 if ((getUnsupportedTexImageId(texImageUri) == -1) && (getTexImage(texImageUri) == null)) {
-                                    byte[] imageBytes = textureExportAdapter.getInByteArray(textureImageId);
-                                    if (imageBytes != null) {
-                                        imageReader.setSupportRGB(generateTextureAtlas);
+                                    // images shared by many features are only fetched and decoded once
+                                    TextureCache textureCache = visExporterManager.getTextureCache();
+                                    TextureImage texImage = textureCache.getTextureImage(textureImageId);
+                                    boolean unsupported = texImage == null && textureCache.isUnsupported(textureImageId);
+
+                                    if (texImage == null && !unsupported) {
+                                        byte[] imageBytes = textureExportAdapter.getInByteArray(textureImageId);
+                                        if (imageBytes != null) {
+                                            imageReader.setSupportRGB(generateTextureAtlas);
+
+                                            try {
+                                                texImage = imageReader.read(new ByteArrayInputStream(imageBytes));
+                                            } catch (IOException ioe) {
+                                                // unsupported image format
+                                            }
 
-                                        try {
-                                            TextureImage texImage = imageReader.read(new ByteArrayInputStream(imageBytes));
                                             if (texImage != null)
-                                                addTexImage(texImageUri, texImage);
-                                            else
-                                                addUnsupportedTexImageId(texImageUri, textureImageId);
-                                        } catch (IOException ioe) {
-                                            // unsupported image format
+                                                textureCache.putTextureImage(textureImageId, texImage);
+                                            else {
+                                                textureCache.putUnsupported(textureImageId);
+                                                unsupported = true;
+                                            }
+                                        } else
+                                            hasTexture = false;
+                                    }
+
+                                    if (hasTexture) {
+                                        if (texImage != null) {
+                                            addTexImage(texImageUri, texImage);
+                                            addTexImageId(texImageUri, textureImageId);
+                                        } else if (unsupported)
                                             addUnsupportedTexImageId(texImageUri, textureImageId);
-                                        }
 
                                         if (++texImageCounter == 20) {
                                             eventDispatcher.triggerEvent(new CounterEvent(CounterType.TEXTURE_IMAGE, texImageCounter));
                                             texImageCounter = 0;
                                         }
-                                    } else
-                                        hasTexture = false;
+                                    }
                                 }
 
                                 if (hasTexture) {
@@ -2282,11 +2445,6 @@ public abstract class AbstractVisObject {
                         rs.close();
                     } catch (SQLException e) {
                     }
-                if (geometryQuery != null)
-                    try {
-                        geometryQuery.close();
-                    } catch (SQLException e) {
-                    }
             }
         }
 
@@ -2399,18 +2557,11 @@ public abstract class AbstractVisObject {
                     continue;
             }
 
-            PreparedStatement geometryQuery = null;
             ResultSet rs = null;
 
             try {
                 String query = queries.getSurfaceGeometries(false, transformer != null);
-                geometryQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
-                for (int i = 1; i <= getParameterCount(query); i++)
-                    geometryQuery.setLong(i, rootId);
-
-                rs = geometryQuery.executeQuery();
-
-                rs.beforeFirst(); // return cursor to beginning
+                rs = executeQuery(query, rootId);
 
                 while (rs.next()) {
                     // skip duplicate geometries
@@ -2507,11 +2658,6 @@ public abstract class AbstractVisObject {
                         rs.close();
                     } catch (SQLException e) {
                     }
-                if (geometryQuery != null)
-                    try {
-                        geometryQuery.close();
-                    } catch (SQLException e) {
-                    }
             }
         }
 
@@ -2541,7 +2687,7 @@ public abstract class AbstractVisObject {
 
         try {
             // look for the value in the DB
-            selectQuery = connection.prepareStatement(queries.getStringAttributeById());
+            selectQuery = getStatement(queries.getStringAttributeById());
             selectQuery.setLong(1, id);
             selectQuery.setString(2, genericAttribName);
             rs = selectQuery.executeQuery();
@@ -2552,7 +2698,6 @@ public abstract class AbstractVisObject {
         } finally {
             try {
                 if (rs != null) rs.close();
-                if (selectQuery != null) selectQuery.close();
             } catch (Exception e2) {
             }
         }
@@ -2580,7 +2725,6 @@ public abstract class AbstractVisObject {
                     }
                 case FILE:
                     if (getBalloonTemplateHandler() != null) {
-                        getBalloonTemplateHandler().getBalloonContent(id, currentLod, connection, schemaName);
                         placemark.setDescription(getBalloonTemplateHandler().getBalloonContent(id, currentLod, connection, schemaName));
                     }
                     break;
@@ -2648,9 +2792,15 @@ public abstract class AbstractVisObject {
                 PreparedStatement selectQuery = null;
                 ResultSet rs = null;
                 String genericAttribName = "GE_LoD" + currentLod + "_zOffset";
+                Double pendingZOffset = elevationServiceHandler.getPendingZOffset(id, genericAttribName);
+                if (pendingZOffset != null) {
+                    zOffset = pendingZOffset;
+                    break;
+                }
+
                 try {
                     // first look for the value in the DB
-                    selectQuery = connection.prepareStatement(queries.getStringAttributeById());
+                    selectQuery = getStatement(queries.getStringAttributeById());
                     selectQuery.setLong(1, id);
                     selectQuery.setString(2, genericAttribName);
                     rs = selectQuery.executeQuery();
@@ -2666,7 +2816,6 @@ public abstract class AbstractVisObject {
                 } finally {
                     try {
                         if (rs != null) rs.close();
-                        if (selectQuery != null) selectQuery.close();
                     } catch (Exception e2) {
                     }
                 }
@@ -2707,9 +2856,6 @@ public abstract class AbstractVisObject {
             } catch (Exception e) {
             }
         } else if (config.getVisExportConfig().getElevation().isCallGElevationService()) { // allowed to query
-            PreparedStatement insertQuery = null;
-            ResultSet rs = null;
-
             try {
                 // convert candidate points to WGS84
                 double[] coords = new double[candidates.size() * 3];
@@ -2727,24 +2873,14 @@ public abstract class AbstractVisObject {
                     coords = geomObj.getCoordinates(0);
                 }
 
-                log.info("Getting zOffset from Google's elevation API for " + getGmlId() + " with " + candidates.size() + " points.");
+                log.debug("Getting zOffset from " + elevationServiceHandler.getElevationProviderName() + " for " + getGmlId() + " with " + candidates.size() + " points.");
                 zOffset = elevationServiceHandler.getZOffset(coords);
 
                 // save result in DB for next time
                 String genericAttribName = "GE_LoD" + currentLod + "_zOffset";
-                insertQuery = connection.prepareStatement(queries.insertGEOffset());
-                insertQuery.setString(1, genericAttribName);
                 String strVal = "Auto|" + zOffset + "|" + dateFormatter.format(new Date(System.currentTimeMillis()));
-                insertQuery.setString(2, strVal);
-                insertQuery.setLong(3, id);
-                rs = insertQuery.executeQuery();
+                elevationServiceHandler.storeZOffset(id, genericAttribName, zOffset, strVal);
             } catch (Exception e) {
-            } finally {
-                try {
-                    if (rs != null) rs.close();
-                    if (insertQuery != null) insertQuery.close();
-                } catch (Exception e2) {
-                }
             }
         }
 
@@ -2776,18 +2912,9 @@ public abstract class AbstractVisObject {
                     || Util.getCityGMLClass(surfaceTypeID) == CityGMLClass.TUNNEL_CLOSURE_SURFACE))
                 continue;
 
-            PreparedStatement geometryQuery = null;
             String query = queries.getSurfaceGeometries(false, transformer != null);
-
-            try {
-                geometryQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
-                for (int i = 1; i <= getParameterCount(query); i++)
-                    geometryQuery.setLong(i, rootId);
-                ResultSet rs = geometryQuery.executeQuery();
+            try (ResultSet rs = executeQuery(query, rootId)) {
                 result.addAll(getLowestPointsCoordinates(rs, transformer, willCallGEService));
-            } finally {
-                if (geometryQuery != null)
-                    geometryQuery.close();
             }
         }
         return result;
@@ -2922,6 +3049,19 @@ public abstract class AbstractVisObject {
         }
     }
 
+    protected PreparedStatement getStatement(String query) throws SQLException {
+        return visExporterManager.getStatementCache().getStatement(query);
+    }
+
+    protected ResultSet executeQuery(String query, long id) throws SQLException {
+        return visExporterManager.getStatementCache().executeQuery(query, id);
+    }
+
+    protected ResultSet executeBufferedQuery(String query, long id) throws SQLException {
+        // scrollable copy of the forward-only result for callers that rewind the cursor
+        return BufferedResultSet.of(executeQuery(query, id));
+    }
+
     protected int getParameterCount(String query) {
         // due to a bug in the Oracle JDBC driver, we cannot use getParameterMetaData().getParameterCount() to
         // get the number of parameters in a prepared statement having a long query string...
@@ -2933,4 +3073,22 @@ public abstract class AbstractVisObject {
         return parameters;
     }
 
+    protected interface SurfaceGeometriesQuery {
+        String getQuery(int lod, int objectClassId);
+    }
+
+    protected interface AggregateGeometriesQuery {
+        String getQuery(double tolerance, int srid2D, int lod, double groupBy1, double groupBy2, double groupBy3, int objectClassId);
+    }
+
+    // footprint aggregated either on the client or by the database
+    protected static class AggregatedFootprint {
+        final GeometryObject geometry;
+        final ResultSet resultSet;
+
+        private AggregatedFootprint(GeometryObject geometry, ResultSet resultSet) {
+            this.geometry = geometry;
+            this.resultSet = resultSet;
+        }
+    }
 }
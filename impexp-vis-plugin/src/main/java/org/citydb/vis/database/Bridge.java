@@ -30,13 +30,13 @@ package org.citydb.vis.database;
 import net.opengis.kml._2.MultiGeometryType;
 import net.opengis.kml._2.PlacemarkType;
 import org.citydb.config.Config;
+import org.citydb.config.geometry.GeometryObject;
 import org.citydb.config.project.visExporter.Balloon;
 import org.citydb.config.project.visExporter.ColladaOptions;
 import org.citydb.config.project.visExporter.DisplayFormType;
 import org.citydb.config.project.visExporter.Styles;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.adapter.BlobExportAdapter;
-import org.citydb.core.database.connection.DatabaseConnectionPool;
 import org.citydb.core.query.Query;
 import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.log.Logger;
@@ -46,7 +46,6 @@ import org.citydb.vis.util.ElevationServiceHandler;
 import javax.vecmath.Point3d;
 import javax.xml.bind.JAXBException;
 import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -94,16 +93,11 @@ public class Bridge extends AbstractVisObject {
 
     public void read(DBSplittingResult work) {
         List<PlacemarkType> placemarks = new ArrayList<>();
-        PreparedStatement psQuery = null;
         ResultSet rs = null;
 
         try {
             String query = queries.getBridgePartsFromBridge();
-            psQuery = connection.prepareStatement(query);
-            for (int i = 1; i <= getParameterCount(query); i++)
-                psQuery.setLong(i, work.getId());
-
-            rs = psQuery.executeQuery();
+            rs = executeQuery(query, work.getId());
 
             while (rs.next()) {
                 long bridgePartId = rs.getLong(1);
@@ -119,10 +113,6 @@ public class Bridge extends AbstractVisObject {
                 if (rs != null) rs.close();
             } catch (SQLException sqle) {
             }
-            try {
-                if (psQuery != null) psQuery.close();
-            } catch (SQLException sqle) {
-            }
         }
 
         if (placemarks.size() == 0) {
@@ -163,9 +153,9 @@ public class Bridge extends AbstractVisObject {
     }
 
     private List<PlacemarkType> readBridgePart(long bridgePartId, DBSplittingResult work) {
-        PreparedStatement psQuery = null;
         ResultSet rs = null;
         boolean reversePointOrder = false;
+        GeometryObject aggregatedGeometry = null;
 
         try {
             currentLod = config.getVisExportConfig().getLodToExportFrom();
@@ -184,12 +174,8 @@ public class Bridge extends AbstractVisObject {
 
                         try {
                             String query = queries.getBridgePartQuery(currentLod, work.getDisplayForm(), true, work.getObjectClassId());
-                            psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
-                            for (int i = 1; i <= getParameterCount(query); i++)
-                                psQuery.setLong(i, bridgePartId);
-
-                            rs = psQuery.executeQuery();
-                            if (rs.isBeforeFirst())
+                            rs = executeQuery(query, bridgePartId);
+                            if (rs.next())
                                 break;
                         } catch (SQLException e) {
                             log.error("SQL error while querying the highest available LOD.", e);
@@ -202,10 +188,6 @@ public class Bridge extends AbstractVisObject {
                                 if (rs != null) rs.close();
                             } catch (SQLException sqle) {
                             }
-                            try {
-                                if (psQuery != null) psQuery.close();
-                            } catch (SQLException sqle) {
-                            }
                             rs = null;
                         }
                     }
@@ -216,17 +198,9 @@ public class Bridge extends AbstractVisObject {
                 if (currentLod > 0 && work.getDisplayForm().isAchievableFromLoD(currentLod)) {
                     try {
                         String query = queries.getBridgePartQuery(currentLod, work.getDisplayForm(), false, work.getObjectClassId());
-                        psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
-                        for (int i = 1; i <= getParameterCount(query); i++)
-                            psQuery.setLong(i, bridgePartId);
-
-                        rs = psQuery.executeQuery();
+                        rs = executeBufferedQuery(query, bridgePartId);
                     } catch (SQLException e) {
                         log.error("SQL error while querying geometries in LOD " + currentLod + ".", e);
-                        try {
-                            if (psQuery != null) psQuery.close();
-                        } catch (SQLException sqle) {
-                        }
                         try {
                             connection.commit();
                         } catch (SQLException sqle) {
@@ -248,11 +222,7 @@ public class Bridge extends AbstractVisObject {
                     try {
                         // first, check whether we have an LOD1 geometry or a GroundSurface
                         String query = queries.getBridgePartQuery(currentLod, work.getDisplayForm(), false, work.getObjectClassId());
-                        psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
-                        for (int i = 1; i <= getParameterCount(query); i++)
-                            psQuery.setLong(i, bridgePartId);
-
-                        rs = psQuery.executeQuery();
+                        rs = executeBufferedQuery(query, bridgePartId);
                         if (rs.isBeforeFirst())
                             break;
 
@@ -260,75 +230,28 @@ public class Bridge extends AbstractVisObject {
                             rs.close();
                         } catch (SQLException sqle) {
                         }
-                        try {
-                            psQuery.close();
-                        } catch (SQLException sqle) {
-                        }
+                        rs = null;
                     } catch (SQLException e) {
                         log.error("SQL error while querying geometries in LOD " + currentLod + ".", e);
                         try {
                             if (rs != null) rs.close();
                         } catch (SQLException sqle) {
                         }
-                        try {
-                            if (psQuery != null) psQuery.close();
-                        } catch (SQLException sqle) {
-                        }
                         try {
                             connection.commit();
                         } catch (SQLException sqle) {
                         }
+                        rs = null;
                     }
 
                     // second, try and generate a footprint by aggregating geometries
                     reversePointOrder = true;
-                    int groupBasis = 4;
-
-                    try {
-                        String query = queries.getBridgePartAggregateGeometries(0.001,
-                                DatabaseConnectionPool.getInstance().getActiveDatabaseAdapter().getUtil().get2DSrid(dbSrs),
-                                currentLod,
-                                Math.pow(groupBasis, 4),
-                                Math.pow(groupBasis, 3),
-                                Math.pow(groupBasis, 2), work.getObjectClassId());
-
-                        psQuery = connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
-                        for (int i = 1; i <= getParameterCount(query); i++)
-                            psQuery.setLong(i, bridgePartId);
-
-                        rs = psQuery.executeQuery();
-                        if (rs.isBeforeFirst()) {
-                            rs.next();
-                            if (rs.getObject(1) != null) {
-                                rs.beforeFirst();
-                                break;
-                            }
-                        }
-
-                        try {
-                            rs.close();
-                        } catch (SQLException sqle) {
-                        }
-                        try {
-                            psQuery.close();
-                        } catch (SQLException sqle) {
-                        }
-                        rs = null;
-                    } catch (SQLException e) {
-                        log.error("SQL error while aggregating geometries in LOD " + currentLod + ".", e);
-                        try {
-                            if (rs != null) rs.close();
-                        } catch (SQLException sqle) {
-                        }
-                        try {
-                            if (psQuery != null) psQuery.close();
-                        } catch (SQLException sqle) {
-                        }
-                        try {
-                            connection.commit();
-                        } catch (SQLException sqle) {
-                        }
-                        rs = null;
+                    AggregatedFootprint footprint = aggregateFootprint(currentLod, bridgePartId, work.getObjectClassId(),
+                            queries::getBridgePartSurfaceGeometries, queries::getBridgePartAggregateGeometries);
+                    if (footprint != null) {
+                        aggregatedGeometry = footprint.geometry;
+                        rs = footprint.resultSet;
+                        break;
                     }
 
                     currentLod--;
@@ -336,35 +259,32 @@ public class Bridge extends AbstractVisObject {
                 }
             }
 
-            if (rs != null && rs.isBeforeFirst()) { // result not empty
+            if ((rs != null && rs.isBeforeFirst()) || aggregatedGeometry != null) { // result not empty
                 switch (work.getDisplayForm().getType()) {
                     case FOOTPRINT:
+                        if (aggregatedGeometry != null)
+                            return createPlacemarksForFootprint(aggregatedGeometry, work);
+
                         return createPlacemarksForFootprint(rs, work);
 
                     case EXTRUDED:
-                        PreparedStatement psQuery2 = null;
                         ResultSet rs2 = null;
 
                         try {
                             String query = queries.getExtrusionHeight();
-                            psQuery2 = connection.prepareStatement(query);
-                            for (int i = 1; i <= getParameterCount(query); i++)
-                                psQuery2.setLong(i, bridgePartId);
-
-                            rs2 = psQuery2.executeQuery();
+                            rs2 = executeQuery(query, bridgePartId);
                             rs2.next();
 
                             double measuredHeight = rs2.getDouble("envelope_measured_height");
+                            if (aggregatedGeometry != null)
+                                return createPlacemarksForExtruded(aggregatedGeometry, work, measuredHeight, reversePointOrder);
+
                             return createPlacemarksForExtruded(rs, work, measuredHeight, reversePointOrder);
                         } finally {
                             try {
                                 if (rs2 != null) rs2.close();
                             } catch (SQLException e) {
                             }
-                            try {
-                                if (psQuery2 != null) psQuery2.close();
-                            } catch (SQLException e) {
-                            }
                         }
 
                     case GEOMETRY:
@@ -417,11 +337,6 @@ public class Bridge extends AbstractVisObject {
                     rs.close();
                 } catch (SQLException e) {
                 }
-            if (psQuery != null)
-                try {
-                    psQuery.close();
-                } catch (SQLException e) {
-                }
         }
 
         return null; // nothing found
@@ -0,0 +1,200 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compact in-memory copy of a result set that can be scanned several times.
+ * <p>
+ * The vis exporters iterate the surfaces of a feature more than once, for instance to first
+ * determine the lowest points and then to create the placemarks. Instead of keeping a scrollable
+ * cursor open on the database, the rows are read once from a forward-only cursor and buffered.
+ * The returned result set supports forward navigation including {@link ResultSet#beforeFirst()},
+ * and the getters used by the vis exporters.
+ */
+public class BufferedResultSet implements InvocationHandler {
+    private final List<Object[]> rows;
+    private final Map<String, Integer> columns;
+    private final ResultSetMetaData metaData;
+    private final int columnCount;
+    private int cursor = -1;
+    private boolean wasNull;
+    private boolean closed;
+
+    private BufferedResultSet(List<Object[]> rows, Map<String, Integer> columns, ResultSetMetaData metaData) throws SQLException {
+        this.rows = rows;
+        this.columns = columns;
+        this.metaData = metaData;
+        columnCount = metaData.getColumnCount();
+    }
+
+    public static ResultSet of(ResultSet rs) throws SQLException {
+        try {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columnCount = metaData.getColumnCount();
+
+            Map<String, Integer> columns = new HashMap<>(columnCount);
+            for (int i = columnCount; i > 0; i--) {
+                // the first column wins for duplicate labels
+                columns.put(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+            }
+
+            List<Object[]> rows = new ArrayList<>();
+            while (rs.next()) {
+                Object[] row = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+
+                rows.add(row);
+            }
+
+            BufferedResultSet buffer = new BufferedResultSet(rows, columns, metaData);
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, buffer);
+        } finally {
+            rs.close();
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "next":
+                if (cursor < rows.size()) {
+                    cursor++;
+                }
+                return cursor < rows.size();
+            case "beforeFirst":
+                cursor = -1;
+                return null;
+            case "isBeforeFirst":
+                return cursor == -1 && !rows.isEmpty();
+            case "isAfterLast":
+                return cursor >= rows.size() && !rows.isEmpty();
+            case "getRow":
+                return cursor >= 0 && cursor < rows.size() ? cursor + 1 : 0;
+            case "wasNull":
+                return wasNull;
+            case "findColumn":
+                return findColumn((String) args[0]);
+            case "getMetaData":
+                return metaData;
+            case "getType":
+                return ResultSet.TYPE_SCROLL_INSENSITIVE;
+            case "getConcurrency":
+                return ResultSet.CONCUR_READ_ONLY;
+            case "close":
+                rows.clear();
+                closed = true;
+                return null;
+            case "isClosed":
+                return closed;
+            case "getObject":
+                return getValue(args[0]);
+            case "getString":
+                Object value = getValue(args[0]);
+                return value != null ? value.toString() : null;
+            case "getLong":
+                return getNumber(args[0]).longValue();
+            case "getInt":
+                return getNumber(args[0]).intValue();
+            case "getDouble":
+                return getNumber(args[0]).doubleValue();
+            case "getFloat":
+                return getNumber(args[0]).floatValue();
+            case "getShort":
+                return getNumber(args[0]).shortValue();
+            case "getBoolean":
+                value = getValue(args[0]);
+                return value instanceof Boolean ? value : value != null && getNumber(args[0]).intValue() != 0;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return BufferedResultSet.class.getSimpleName() + "[" + rows.size() + " rows]";
+            default:
+                throw new SQLFeatureNotSupportedException("Unsupported operation " + method.getName() + " on a buffered result set.");
+        }
+    }
+
+    private Object getValue(Object column) throws SQLException {
+        if (cursor < 0 || cursor >= rows.size()) {
+            throw new SQLException("The cursor is not positioned on a row.");
+        }
+
+        int index = column instanceof String ? findColumn((String) column) : (Integer) column;
+        if (index < 1 || index > columnCount) {
+            throw new SQLException("Invalid column index " + index + ".");
+        }
+
+        Object value = rows.get(cursor)[index - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    private Number getNumber(Object column) throws SQLException {
+        Object value = getValue(column);
+        if (value == null) {
+            return 0;
+        } else if (value instanceof Number) {
+            return (Number) value;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new SQLException("Failed to convert value '" + value + "' to a number.", e);
+        }
+    }
+
+    private int findColumn(String label) throws SQLException {
+        Integer index = columns.get(label.toLowerCase(Locale.ROOT));
+        if (index == null) {
+            throw new SQLException("Unknown column '" + label + "'.");
+        }
+
+        return index;
+    }
+}
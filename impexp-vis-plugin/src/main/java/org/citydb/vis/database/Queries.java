@@ -634,6 +634,31 @@ public class Queries implements ADEVisExportQueryHelper {
         return unionADEQueries(QUERY_SURFACE_GEOMETRY, query, lodToExportFrom, objectClassId);
     }
 
+    public String getBuildingPartSurfaceGeometries(int lod, int objectClassId) {
+        StringBuilder query = new StringBuilder("SELECT sg.geometry, ")
+                .append(implicitGeometryNullColumns)
+                .append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
+                .append("WHERE sg.root_id IN (");
+
+        if (lod == 0) {
+            query.append("SELECT b.lod0_footprint_id FROM ").append(schema).append(".BUILDING b WHERE b.id = ? AND b.lod0_footprint_id IS NOT NULL ")
+                    .append("UNION ")
+                    .append("SELECT b.lod0_roofprint_id FROM ").append(schema).append(".BUILDING b WHERE b.id = ? AND b.lod0_roofprint_id IS NOT NULL");
+        } else {
+            query.append("SELECT b.lod").append(lod).append("_multi_surface_id FROM ").append(schema).append(".BUILDING b WHERE b.id = ? AND b.lod").append(lod).append("_multi_surface_id IS NOT NULL ")
+                    .append("UNION ")
+                    .append("SELECT b.lod").append(lod).append("_solid_id FROM ").append(schema).append(".BUILDING b WHERE b.id = ? AND b.lod").append(lod).append("_solid_id IS NOT NULL");
+
+            if (lod > 1) {
+                query.append(" UNION ")
+                        .append("SELECT ts.lod").append(lod).append("_multi_surface_id FROM ").append(schema).append(".THEMATIC_SURFACE ts WHERE ts.building_id = ? AND ts.lod").append(lod).append("_multi_surface_id IS NOT NULL");
+            }
+        }
+
+        query.append(") AND sg.geometry IS NOT NULL");
+        return unionADEQueries(QUERY_SURFACE_GEOMETRY, query.toString(), lod, objectClassId);
+    }
+
     @Override
     public String getBuildingPartQuery(int lodToExportFrom, Lod0FootprintMode lod0FootprintMode, DisplayForm displayForm, boolean lodCheckOnly, int objectClassId) {
         String query = null;
@@ -1060,6 +1085,25 @@ public class Queries implements ADEVisExportQueryHelper {
         return unionADEQueries(QUERY_SURFACE_GEOMETRY, query, lodToExportFrom, objectClassId);
     }
 
+    public String getBridgePartSurfaceGeometries(int lod, int objectClassId) {
+        StringBuilder query = new StringBuilder("SELECT sg.geometry, ")
+                .append(implicitGeometryNullColumns)
+                .append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
+                .append("WHERE sg.root_id IN (");
+
+        query.append("SELECT b.lod").append(lod).append("_multi_surface_id FROM ").append(schema).append(".BRIDGE b WHERE b.id = ? AND b.lod").append(lod).append("_multi_surface_id IS NOT NULL ")
+                .append("UNION ")
+                .append("SELECT b.lod").append(lod).append("_solid_id FROM ").append(schema).append(".BRIDGE b WHERE b.id = ? AND b.lod").append(lod).append("_solid_id IS NOT NULL");
+
+        if (lod > 1) {
+            query.append(" UNION ")
+                    .append("SELECT ts.lod").append(lod).append("_multi_surface_id FROM ").append(schema).append(".BRIDGE_THEMATIC_SURFACE ts WHERE ts.bridge_id = ? AND ts.lod").append(lod).append("_multi_surface_id IS NOT NULL");
+        }
+
+        query.append(") AND sg.geometry IS NOT NULL");
+        return unionADEQueries(QUERY_SURFACE_GEOMETRY, query.toString(), lod, objectClassId);
+    }
+
     @Override
     public String getBridgePartQuery(int lodToExportFrom, DisplayForm displayForm, boolean lodCheckOnly, int objectClassId) {
         String query;
@@ -1451,6 +1495,25 @@ public class Queries implements ADEVisExportQueryHelper {
         return unionADEQueries(QUERY_SURFACE_GEOMETRY, query, lodToExportFrom, objectClassId);
     }
 
+    public String getTunnelPartSurfaceGeometries(int lod, int objectClassId) {
+        StringBuilder query = new StringBuilder("SELECT sg.geometry, ")
+                .append(implicitGeometryNullColumns)
+                .append("FROM ").append(schema).append(".SURFACE_GEOMETRY sg ")
+                .append("WHERE sg.root_id IN (");
+
+        query.append("SELECT t.lod").append(lod).append("_multi_surface_id FROM ").append(schema).append(".TUNNEL t WHERE t.id = ? AND t.lod").append(lod).append("_multi_surface_id IS NOT NULL ")
+                .append("UNION ")
+                .append("SELECT t.lod").append(lod).append("_solid_id FROM ").append(schema).append(".TUNNEL t WHERE t.id = ? AND t.lod").append(lod).append("_solid_id IS NOT NULL");
+
+        if (lod > 1) {
+            query.append(" UNION ")
+                    .append("SELECT ts.lod").append(lod).append("_multi_surface_id FROM ").append(schema).append(".TUNNEL_THEMATIC_SURFACE ts WHERE ts.tunnel_id = ? AND ts.lod").append(lod).append("_multi_surface_id IS NOT NULL");
+        }
+
+        query.append(") AND sg.geometry IS NOT NULL");
+        return unionADEQueries(QUERY_SURFACE_GEOMETRY, query.toString(), lod, objectClassId);
+    }
+
     @Override
     public String getTunnelPartQuery(int lodToExportFrom, DisplayForm displayForm, boolean lodCheckOnly, int objectClassId) {
         String query;
@@ -51,15 +51,15 @@ import org.citydb.util.log.Logger;
 import org.citydb.vis.util.BalloonTemplateHandler;
 import org.citydb.vis.util.CityObject4JSON;
 import org.citydb.vis.util.ExportTracker;
+import org.citydb.vis.util.TextureCache;
 import org.citygml4j.util.xml.SAXEventBuffer;
 
-import javax.imageio.ImageIO;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
-import java.awt.image.BufferedImage;
 import java.io.*;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.*;
@@ -75,6 +75,8 @@ public class VisExporterManager implements ADEVisExportHelper {
     private final ExportTracker tracker;
     private final ObjectFactory kmlFactory;
     private final BlobExportAdapter textureExportAdapter;
+    private final StatementCache statementCache;
+    private final TextureCache textureCache;
     private final EventDispatcher eventDispatcher;
     private final Config config;
     private final ADEVisExportQueryHelper sqlQueries;
@@ -98,6 +100,8 @@ public class VisExporterManager implements ADEVisExportHelper {
                               Query query,
                               ObjectFactory kmlFactory,
                               BlobExportAdapter textureExportAdapter,
+                              StatementCache statementCache,
+                              TextureCache textureCache,
                               EventDispatcher eventDispatcher,
                               Config config) {
         this.jaxbKmlContext = jaxbKmlContext;
@@ -107,6 +111,8 @@ public class VisExporterManager implements ADEVisExportHelper {
         this.tracker = tracker;
         this.kmlFactory = kmlFactory;
         this.textureExportAdapter = textureExportAdapter;
+        this.statementCache = statementCache;
+        this.textureCache = textureCache;
         this.eventDispatcher = eventDispatcher;
         this.config = config;
 
@@ -135,6 +141,14 @@ public class VisExporterManager implements ADEVisExportHelper {
         return databaseAdapter;
     }
 
+    public StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    public TextureCache getTextureCache() {
+        return textureCache;
+    }
+
     @Override
     public ADEVisExportQueryHelper getSQLQueryHelper() {
         return sqlQueries;
@@ -539,14 +553,15 @@ public class VisExporterManager implements ADEVisExportHelper {
                 Iterator<String> iterator = keySet.iterator();
                 while (iterator.hasNext()) {
                     String imageFilename = iterator.next();
-                    BufferedImage texImage = colladaBundle.getTexImages().get(imageFilename).getBufferedImage();
                     String imageType = imageFilename.substring(imageFilename.lastIndexOf('.') + 1);
+                    byte[] imageBytes = textureCache.getEncodedImage(colladaBundle.getTexImages().get(imageFilename), imageType);
 
                     zipEntry = imageFilename.startsWith("..") ?
                             new ZipEntry(imageFilename.substring(3)) : // skip .. and File.separator
                             new ZipEntry(colladaBundle.getId() + "/" + imageFilename);
                     zipOut.putNextEntry(zipEntry);
-                    ImageIO.write(texImage, imageType, zipOut);
+                    if (imageBytes != null)
+                        zipOut.write(imageBytes);
                     zipOut.closeEntry();
                 }
             }
@@ -595,12 +610,13 @@ public class VisExporterManager implements ADEVisExportHelper {
 
             if (colladaBundle.getTexImages() != null) {
                 for (String imageFilename : colladaBundle.getTexImages().keySet()) {
-                    BufferedImage texImage = colladaBundle.getTexImages().get(imageFilename).getBufferedImage();
-                    String imageType = imageFilename.substring(imageFilename.lastIndexOf('.') + 1);
-
                     File imageFile = new File(buildingDirectory, imageFilename);
-                    if (!imageFile.exists()) // avoid overwriting and access conflicts
-                        ImageIO.write(texImage, imageType, imageFile);
+                    if (!imageFile.exists()) { // avoid overwriting and access conflicts
+                        String imageType = imageFilename.substring(imageFilename.lastIndexOf('.') + 1);
+                        byte[] imageBytes = textureCache.getEncodedImage(colladaBundle.getTexImages().get(imageFilename), imageType);
+                        if (imageBytes != null)
+                            Files.write(imageFile.toPath(), imageBytes);
+                    }
                 }
             }
 
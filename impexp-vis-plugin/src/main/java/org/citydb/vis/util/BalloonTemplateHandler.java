@@ -28,6 +28,7 @@
 package org.citydb.vis.util;
 
 import org.citydb.config.geometry.GeometryObject;
+import org.citydb.config.project.database.DatabaseType;
 import org.citydb.core.ade.ADEExtension;
 import org.citydb.core.ade.ADEExtensionManager;
 import org.citydb.core.ade.visExporter.ADEBalloonException;
@@ -65,6 +66,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.function.Function;
 
 @SuppressWarnings("serial")
 public class BalloonTemplateHandler {
@@ -1156,6 +1158,23 @@ public class BalloonTemplateHandler {
     List<BalloonStatement> statementList = null;
     List<String> htmlChunkList = null;
 
+    private static final int MAX_COMPILED_TEMPLATES = 64;
+
+    // templates stored as generic attributes are typically shared by many objects
+    private final Map<String, CompiledTemplate> compiledTemplates = new LinkedHashMap<String, CompiledTemplate>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompiledTemplate> eldest) {
+            return size() > MAX_COMPILED_TEMPLATES;
+        }
+    };
+
+    private final Map<String, PreparedStatement> statementCache = new HashMap<>();
+    private final Map<Long, Map<String, String>> resultCache = new HashMap<>();
+    private final Map<Long, Integer> batch = new HashMap<>();
+    private final Set<String> batchedQueries = new HashSet<>();
+    private Connection statementConnection;
+    private long resultCacheId = -1;
+
     public BalloonTemplateHandler(File templateFile, AbstractDatabaseAdapter databaseAdapter) {
         this.databaseAdapter = databaseAdapter;
         setTemplate(templateFile);
@@ -1220,10 +1239,18 @@ public class BalloonTemplateHandler {
         String balloonContent = "";
         List<BalloonStatement> statementListBackup = statementList;
         List<String> htmlChunkListBackup = htmlChunkList;
-        statementList = new ArrayList<BalloonStatement>();
-        htmlChunkList = new ArrayList<String>();
         try {
-            fillStatementAndHtmlChunkList(template);
+            CompiledTemplate compiledTemplate = compiledTemplates.get(template);
+            if (compiledTemplate == null) {
+                statementList = new ArrayList<BalloonStatement>();
+                htmlChunkList = new ArrayList<String>();
+                fillStatementAndHtmlChunkList(template);
+                compiledTemplate = new CompiledTemplate(statementList, htmlChunkList);
+                compiledTemplates.put(template, compiledTemplate);
+            }
+
+            statementList = compiledTemplate.statementList;
+            htmlChunkList = compiledTemplate.htmlChunkList;
             balloonContent = getBalloonContent(id, lod, connection, schemaName);
         } catch (Exception e) {
             log.warn("Following message applies to generic attribute 'Balloon_Content' for cityobject with id = " + id);
@@ -1254,7 +1281,7 @@ public class BalloonTemplateHandler {
             ResultSet rs = null;
             PreparedStatement query = null;
             try {
-                query = connection.prepareStatement(new StringBuilder("SELECT id, objectclass_id FROM ").append(schemaName).append(".CITYOBJECT WHERE gmlid = ?").toString());
+                query = getPreparedStatement(connection, new StringBuilder("SELECT id, objectclass_id FROM ").append(schemaName).append(".CITYOBJECT WHERE gmlid = ?").toString());
                 query.setString(1, gmlId);
                 rs = query.executeQuery();
 
@@ -1270,24 +1297,11 @@ public class BalloonTemplateHandler {
                         rs.close();
                     } catch (SQLException sqlEx) {
                     }
-                    rs = null;
-                }
-
-                if (query != null) {
-                    try {
-                        query.close();
-                    } catch (SQLException sqlEx) {
-                    }
-                    query = null;
                 }
             }
 
-            if (cityGMLClassForBalloonHandler != cityObjectTypeForGmlId) {
-                for (BalloonStatement statement : statementList) {
-                    statement.setConversionTried(false);
-                }
-                cityGMLClassForBalloonHandler = cityObjectTypeForGmlId;
-            }
+            cityGMLClassForBalloonHandler = cityObjectTypeForGmlId;
+            resetResultCache(id);
 
             List<String> resultList = new ArrayList<String>();
             for (BalloonStatement statement : statementList) {
@@ -1321,43 +1335,37 @@ public class BalloonTemplateHandler {
             // otherwise it avoids problems from lousy initialization of BalloonTemplateHandlers in threads
             // at the cost of performance
 
-            CityGMLClass cityObjectTypeForId = null;
+            // the object class only needs to be looked up once per object
+            if (id != resultCacheId && batch.containsKey(id)) {
+                objectClassId = batch.get(id);
+                cityGMLClassForBalloonHandler = Util.getCityGMLClass(objectClassId);
+                resetResultCache(id);
+            } else if (id != resultCacheId) {
+                CityGMLClass cityObjectTypeForId = null;
 
-            ResultSet rs = null;
-            PreparedStatement query = null;
-            try {
-                query = connection.prepareStatement(new StringBuilder("SELECT gmlid, objectclass_id FROM ").append(schemaName).append(".CITYOBJECT WHERE id = ?").toString());
-                query.setLong(1, id);
-                rs = query.executeQuery();
+                ResultSet rs = null;
+                PreparedStatement query = null;
+                try {
+                    query = getPreparedStatement(connection, new StringBuilder("SELECT gmlid, objectclass_id FROM ").append(schemaName).append(".CITYOBJECT WHERE id = ?").toString());
+                    query.setLong(1, id);
+                    rs = query.executeQuery();
 
-                if (rs.next()) {
-                    objectClassId = rs.getInt("objectclass_id");
-                    cityObjectTypeForId = Util.getCityGMLClass(objectClassId);
-                }
-            } catch (SQLException sqlEx) {
-            } finally {
-                if (rs != null) {
-                    try {
-                        rs.close();
-                    } catch (SQLException sqlEx) {
+                    if (rs.next()) {
+                        objectClassId = rs.getInt("objectclass_id");
+                        cityObjectTypeForId = Util.getCityGMLClass(objectClassId);
                     }
-                    rs = null;
-                }
-
-                if (query != null) {
-                    try {
-                        query.close();
-                    } catch (SQLException sqlEx) {
+                } catch (SQLException sqlEx) {
+                } finally {
+                    if (rs != null) {
+                        try {
+                            rs.close();
+                        } catch (SQLException sqlEx) {
+                        }
                     }
-                    query = null;
                 }
-            }
 
-            if (cityGMLClassForBalloonHandler != cityObjectTypeForId) {
-                for (BalloonStatement statement : statementList) {
-                    statement.setConversionTried(false);
-                }
                 cityGMLClassForBalloonHandler = cityObjectTypeForId;
+                resetResultCache(id);
             }
 
             List<String> resultList = new ArrayList<String>();
@@ -1382,8 +1390,6 @@ public class BalloonTemplateHandler {
         String result = "";
         String query = "";
         if (statement != null) {
-            PreparedStatement preparedStatement = null;
-            ResultSet rs = null;
             try {
                 if (statement.isForeach()) {
                     return executeForeachStatement(statement, id, lod, connection, schemaName);
@@ -1443,66 +1449,19 @@ public class BalloonTemplateHandler {
 
                     BalloonStatement dummy = new BalloonStatement(notNestedAnymore.toString());
                     query = dummy.getProperSQLStatement(lod, schemaName);
-                    preparedStatement = connection.prepareStatement(query);
                 } else { // not nested
                     if (statement.getProperSQLStatement(lod, schemaName) == null) {
                         // malformed expression between proper START_TAG and END_TAG
                         return result; // skip db call, rs and preparedStatement are currently null
                     }
                     query = statement.getProperSQLStatement(lod, schemaName);
-                    preparedStatement = connection.prepareStatement(query);
                 }
 
-                for (int i = 1; i <= getParameterCount(query); i++)
-                    preparedStatement.setLong(i, id);
-
-                rs = preparedStatement.executeQuery();
-                while (rs.next()) {
-                    if (rs.getRow() > 1) {
-                        result = result + ", ";
-                    }
-                    Object object = rs.getObject(1);
-                    if (!rs.wasNull() && object != null) {
-                        GeometryObject geomObj = databaseAdapter.getGeometryConverter().getGeometry(object);
-                        if (geomObj != null) {
-                            int dimension = geomObj.getDimension();
-
-                            result = result + "(";
-                            for (int ringNo = 0; ringNo < geomObj.getNumElements(); ringNo++) {
-                                double[] ring = geomObj.getCoordinates(ringNo);
-
-                                for (int i = 0; i < ring.length; i = i + dimension) {
-                                    for (int j = 0; j < dimension; j++) {
-                                        result = result + ring[i + j];
-                                        if (j < dimension - 1)
-                                            result = result + ",";
-                                    }
-
-                                    if (i + dimension < ring.length)
-                                        result = result + " ";
-                                }
-
-                                if (ringNo < geomObj.getNumElements() - 1)
-                                    result = result + " ";
-                            }
-                            result = result + ")";
-                        } else {
-                            String tmp = rs.getObject(1).toString();
-                            if (tmp.indexOf("oracle.sql.TIMESTAMPTZ") >= 0) {
-                                tmp = rs.getTimestamp(1).toString();
-                            }
-                            result = result + tmp.replaceAll("\"", "&quot;"); // workaround, the JAXB KML marshaler does not escape " properly;
-                        }
-                    }
-                }
+                // the same lookup may occur several times in a template or for several placemarks,
+                // and top-level statements are evaluated for all objects of the current batch at once
+                result = getResult(query, query, 1, this::joinValues, id, connection, schemaName, !statement.isNested());
             } catch (Exception e) {
                 log.warn("Exception when executing balloon statement: " + statement.rawStatement + " --> " + e.getMessage());
-            } finally {
-                try {
-                    if (rs != null) rs.close();
-                    if (preparedStatement != null) preparedStatement.close();
-                } catch (Exception e2) {
-                }
             }
         }
         return result;
@@ -1511,68 +1470,231 @@ public class BalloonTemplateHandler {
     private String executeForeachStatement(BalloonStatement statement, long id, int lod, Connection connection, String schemaName) {
         String resultBody = "";
 
-        PreparedStatement preparedStatement = null;
-        ResultSet rs = null;
         try {
             if (statement != null && statement.getProperSQLStatement(lod, schemaName) != null) {
                 String query = statement.getProperSQLStatement(lod, schemaName);
-                preparedStatement = connection.prepareStatement(query);
+                String foreachBody = statement.getForeachBody();
+                resultBody = getResult(query, query + "\n" + foreachBody, statement.getColumnAmount(),
+                        rows -> joinIterations(foreachBody, rows), id, connection, schemaName, true);
+            }
+        } catch (Exception e) {
+            log.warn(e.getMessage());
+        }
+        return resultBody;
+    }
+
+    private String getResult(String query, String cacheKey, int columns, Function<List<String[]>, String> formatter,
+                             long id, Connection connection, String schemaName, boolean reuseStatement) throws SQLException {
+        Map<String, String> results = resultCache.computeIfAbsent(id, v -> new HashMap<>());
+        String result = results.get(cacheKey);
+
+        if (result == null
+                && reuseStatement
+                && batch.size() > 1
+                && Objects.equals(batch.get(id), objectClassId)
+                && getParameterCount(query) > 0
+                && batchedQueries.add(cacheKey)) {
+            executeBatchQuery(query, cacheKey, columns, formatter, connection, schemaName);
+            result = results.get(cacheKey);
+        }
+
+        if (result == null) {
+            PreparedStatement preparedStatement = reuseStatement ?
+                    getPreparedStatement(connection, query) :
+                    connection.prepareStatement(query);
+
+            try {
                 for (int i = 1; i <= getParameterCount(query); i++)
                     preparedStatement.setLong(i, id);
 
-                rs = preparedStatement.executeQuery();
-                while (rs.next()) {
-                    String iterationBody = statement.getForeachBody();
-                    for (int n = 0; n <= statement.getColumnAmount(); n++) {
-                        String columnValue = "";
-                        if (n == 0) {
-                            columnValue = String.valueOf(rs.getRow());
-                        } else {
-                            Object object = rs.getObject(n);
-                            if (!rs.wasNull() && object != null) {
-                                GeometryObject geomObj = databaseAdapter.getGeometryConverter().getGeometry(object);
-                                if (geomObj != null) {
-                                    int dimension = geomObj.getDimension();
-
-                                    columnValue = columnValue + "(";
-                                    for (int ringNo = 0; ringNo < geomObj.getNumElements(); ringNo++) {
-                                        double[] ring = geomObj.getCoordinates(ringNo);
-
-                                        for (int i = 0; i < ring.length; i = i + dimension) {
-                                            for (int j = 0; j < dimension; j++) {
-                                                columnValue = columnValue + ring[i + j];
-                                                if (j < dimension - 1)
-                                                    columnValue = columnValue + ",";
-                                            }
-
-                                            if (i + dimension < ring.length)
-                                                columnValue = columnValue + " ";
-                                        }
-
-                                        if (ringNo < geomObj.getNumElements() - 1)
-                                            columnValue = columnValue + " ";
-                                    }
-                                    columnValue = columnValue + ")";
-                                } else {
-                                    columnValue = rs.getObject(n).toString().replaceAll("\"", "&quot;"); // workaround, the JAXB KML marshaler does not escape " properly
-                                }
-                            }
-                        }
-                        iterationBody = iterationBody.replaceAll("%" + n, columnValue);
+                List<String[]> rows = new ArrayList<>();
+                try (ResultSet rs = preparedStatement.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(getRow(rs, 1, columns));
                     }
-                    resultBody = resultBody + iterationBody;
                 }
+
+                result = formatter.apply(rows);
+                results.put(cacheKey, result);
+            } finally {
+                if (!reuseStatement) preparedStatement.close();
             }
-        } catch (Exception e) {
-            log.warn(e.getMessage());
-        } finally {
+        }
+
+        return result;
+    }
+
+    private void executeBatchQuery(String query, String cacheKey, int columns, Function<List<String[]>, String> formatter,
+                                   Connection connection, String schemaName) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : batch.entrySet()) {
+            if (entry.getValue() == objectClassId) {
+                ids.add(entry.getKey());
+            }
+        }
+
+        // pad the id list to a power of two so that only a few statements need to be prepared
+        int parameters = Integer.highestOneBit(ids.size());
+        if (parameters < ids.size()) parameters <<= 1;
+
+        PreparedStatement preparedStatement = getPreparedStatement(connection, getBatchQuery(query, parameters, schemaName));
+        for (int i = 0; i < parameters; i++)
+            preparedStatement.setLong(i + 1, ids.get(Math.min(i, ids.size() - 1)));
+
+        Map<Long, List<String[]>> rows = new HashMap<>();
+        try (ResultSet rs = preparedStatement.executeQuery()) {
+            while (rs.next()) {
+                rows.computeIfAbsent(rs.getLong(1), v -> new ArrayList<>()).add(getRow(rs, 2, columns));
+            }
+        }
+
+        for (Long id : ids) {
+            resultCache.computeIfAbsent(id, v -> new HashMap<>())
+                    .put(cacheKey, formatter.apply(rows.getOrDefault(id, Collections.emptyList())));
+        }
+    }
+
+    private String getBatchQuery(String query, int parameters, String schemaName) {
+        // the compiled statement is evaluated for each id of the batch as lateral subquery, which
+        // keeps aggregate functions, row limits and the order of rows per object intact
+        StringBuilder batchQuery = new StringBuilder("SELECT balloon_ids.id, balloon_rows.* FROM (SELECT co.id FROM ")
+                .append(schemaName).append(".CITYOBJECT co WHERE co.id IN (");
+        for (int i = 0; i < parameters; i++) {
+            batchQuery.append(i > 0 ? ", ?" : "?");
+        }
+
+        String rowNumber = databaseAdapter.getDatabaseType() == DatabaseType.ORACLE ?
+                "ROWNUM" :
+                "ROW_NUMBER() OVER()";
+
+        return batchQuery.append(")) balloon_ids, LATERAL (SELECT balloon_query.*, ").append(rowNumber)
+                .append(" AS balloon_row FROM (").append(query.replace("?", "balloon_ids.id"))
+                .append(") balloon_query) balloon_rows ORDER BY balloon_ids.id, balloon_rows.balloon_row")
+                .toString();
+    }
+
+    private String[] getRow(ResultSet rs, int offset, int columns) throws SQLException {
+        String[] row = new String[columns];
+        for (int i = 0; i < columns; i++) {
+            row[i] = getColumnValue(rs, offset + i);
+        }
+
+        return row;
+    }
+
+    private String getColumnValue(ResultSet rs, int column) throws SQLException {
+        Object object = rs.getObject(column);
+        if (rs.wasNull() || object == null) {
+            return "";
+        }
+
+        GeometryObject geomObj = databaseAdapter.getGeometryConverter().getGeometry(object);
+        if (geomObj != null) {
+            int dimension = geomObj.getDimension();
+            StringBuilder value = new StringBuilder("(");
+            for (int ringNo = 0; ringNo < geomObj.getNumElements(); ringNo++) {
+                double[] ring = geomObj.getCoordinates(ringNo);
+
+                for (int i = 0; i < ring.length; i = i + dimension) {
+                    for (int j = 0; j < dimension; j++) {
+                        value.append(ring[i + j]);
+                        if (j < dimension - 1)
+                            value.append(",");
+                    }
+
+                    if (i + dimension < ring.length)
+                        value.append(" ");
+                }
+
+                if (ringNo < geomObj.getNumElements() - 1)
+                    value.append(" ");
+            }
+
+            return value.append(")").toString();
+        } else {
+            String value = object.toString();
+            if (value.contains("oracle.sql.TIMESTAMPTZ")) {
+                value = rs.getTimestamp(column).toString();
+            }
+
+            return value.replaceAll("\"", "&quot;"); // workaround, the JAXB KML marshaler does not escape " properly
+        }
+    }
+
+    private String joinValues(List<String[]> rows) {
+        StringBuilder result = new StringBuilder();
+        for (int row = 0; row < rows.size(); row++) {
+            if (row > 0) {
+                result.append(", ");
+            }
+
+            result.append(rows.get(row)[0]);
+        }
+
+        return result.toString();
+    }
+
+    private String joinIterations(String foreachBody, List<String[]> rows) {
+        StringBuilder resultBody = new StringBuilder();
+        for (int row = 0; row < rows.size(); row++) {
+            String iterationBody = foreachBody;
+            for (int n = 0; n <= rows.get(row).length; n++) {
+                String columnValue = n == 0 ? String.valueOf(row + 1) : rows.get(row)[n - 1];
+                iterationBody = iterationBody.replaceAll("%" + n, columnValue);
+            }
+
+            resultBody.append(iterationBody);
+        }
+
+        return resultBody.toString();
+    }
+
+    private PreparedStatement getPreparedStatement(Connection connection, String query) throws SQLException {
+        if (connection != statementConnection) {
+            close();
+            statementConnection = connection;
+        }
+
+        PreparedStatement preparedStatement = statementCache.get(query);
+        if (preparedStatement == null) {
+            preparedStatement = connection.prepareStatement(query);
+            statementCache.put(query, preparedStatement);
+        }
+
+        return preparedStatement;
+    }
+
+    private void resetResultCache(long id) {
+        // results of the previous object are no longer needed
+        resultCache.remove(resultCacheId);
+        resultCacheId = id;
+    }
+
+    /**
+     * Sets the ids and object class ids of the objects that are exported next. Balloon statements are then
+     * evaluated for all objects of the batch with one query per statement.
+     */
+    public void setBatch(Map<Long, Integer> objects) {
+        batch.clear();
+        batch.putAll(objects);
+        batchedQueries.clear();
+        resultCache.clear();
+        resultCacheId = -1;
+    }
+
+    public void close() {
+        for (PreparedStatement preparedStatement : statementCache.values()) {
             try {
-                if (rs != null) rs.close();
-                if (preparedStatement != null) preparedStatement.close();
-            } catch (Exception e2) {
+                preparedStatement.close();
+            } catch (SQLException e) {
+                //
             }
         }
-        return resultBody;
+
+        statementCache.clear();
+        resultCache.clear();
+        batchedQueries.clear();
+        resultCacheId = -1;
     }
 
     private void fillStatementAndHtmlChunkList(String template) throws Exception {
@@ -1628,11 +1750,21 @@ public class BalloonTemplateHandler {
     }
 
 
+    private static class CompiledTemplate {
+        private final List<BalloonStatement> statementList;
+        private final List<String> htmlChunkList;
+
+        CompiledTemplate(List<BalloonStatement> statementList, List<String> htmlChunkList) {
+            this.statementList = statementList;
+            this.htmlChunkList = htmlChunkList;
+        }
+    }
+
     private class BalloonStatement {
         private String rawStatement;
         private boolean nested = false;
         private String properSQLStatement = null;
-        private boolean conversionTried = false;
+        private final Map<String, String> compiledStatements = new HashMap<>();
         private int columnAmount;
         private boolean foreach = false;
         private String foreachBody;
@@ -1665,15 +1797,14 @@ public class BalloonTemplateHandler {
         }
 
         private String getProperSQLStatement(int lod, String schemaName) throws Exception {
-            if (!conversionTried && properSQLStatement == null) {
+            // the SQL statement depends on the object class and LoD, so it is compiled once per combination
+            String key = schemaName + "/" + objectClassId + "/" + lod;
+            if (!compiledStatements.containsKey(key)) {
+                properSQLStatement = null;
                 this.convertStatementToProperSQL(lod, schemaName);
-                conversionTried = true;
+                compiledStatements.put(key, properSQLStatement);
             }
-            return properSQLStatement;
-        }
-
-        private void setConversionTried(boolean conversionTried) {
-            this.conversionTried = conversionTried;
+            return compiledStatements.get(key);
         }
 
         private boolean isForeach() {
@@ -0,0 +1,386 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import org.citydb.util.log.Logger;
+import org.geotools.api.metadata.spatial.PixelOrientation;
+import org.geotools.api.referencing.operation.MathTransform;
+import org.geotools.api.referencing.operation.MathTransform2D;
+import org.geotools.coverage.grid.GridCoverage2D;
+import org.geotools.coverage.grid.io.AbstractGridFormat;
+import org.geotools.coverage.grid.io.GridCoverage2DReader;
+import org.geotools.coverage.grid.io.GridFormatFinder;
+import org.geotools.coverage.grid.io.UnknownFormat;
+import org.geotools.coverage.util.CoverageUtilities;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.util.factory.Hints;
+
+import java.awt.Rectangle;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Samples terrain elevations from local DEM rasters such as GeoTIFF or ESRI ASCII grid files.
+ * <p>
+ * Each raster is read once and converted into a temporary file of fixed-size float tiles. Tiles
+ * are memory-mapped on demand and kept in a bounded cache with clock eviction, so that lookups only
+ * touch the parts of the DEM around the requested points. Instances are thread-safe and meant to be
+ * shared by all export workers.
+ */
+public class DEMElevationProvider implements ElevationProvider {
+    private static final int TILE_SIZE = 256;
+    private static final int TILE_BYTES = TILE_SIZE * TILE_SIZE * Float.BYTES;
+
+    private final Logger log = Logger.getInstance();
+    private final List<DEMRaster> rasters;
+
+    private DEMElevationProvider(List<DEMRaster> rasters) {
+        this.rasters = rasters;
+    }
+
+    public static DEMElevationProvider newInstance(Path path, int tileCacheSize) throws IOException {
+        List<Path> files;
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> stream = Files.list(path)) {
+                files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+        } else if (Files.isRegularFile(path)) {
+            files = Collections.singletonList(path);
+        } else {
+            throw new IOException("The DEM path '" + path + "' does not exist.");
+        }
+
+        List<DEMRaster> rasters = new ArrayList<>();
+        try {
+            for (Path file : files) {
+                AbstractGridFormat format = GridFormatFinder.findFormat(file.toFile());
+                if (format == null || format instanceof UnknownFormat) {
+                    continue;
+                }
+
+                rasters.add(DEMRaster.of(file, format, tileCacheSize));
+            }
+        } catch (IOException e) {
+            for (DEMRaster raster : rasters) {
+                raster.close();
+            }
+
+            throw e;
+        }
+
+        if (rasters.isEmpty()) {
+            throw new IOException("No supported DEM raster found at '" + path + "'.");
+        }
+
+        return new DEMElevationProvider(rasters);
+    }
+
+    public int getNumberOfRasters() {
+        return rasters.size();
+    }
+
+    @Override
+    public String getName() {
+        return "the local DEM";
+    }
+
+    @Override
+    public double[] getElevations(double[] coords) throws Exception {
+        int numPoints = coords.length / 3;
+        double[] lonLat = new double[numPoints * 2];
+        for (int i = 0, j = 0; i < numPoints * 3; i += 3, j += 2) {
+            lonLat[j] = coords[i];
+            lonLat[j + 1] = coords[i + 1];
+        }
+
+        double[] elevations = new double[numPoints];
+        Arrays.fill(elevations, Double.NaN);
+
+        double[] grid = new double[lonLat.length];
+        for (DEMRaster raster : rasters) {
+            raster.wgs84ToGrid.transform(lonLat, 0, grid, 0, numPoints);
+
+            boolean complete = true;
+            for (int i = 0; i < numPoints; i++) {
+                if (Double.isNaN(elevations[i])) {
+                    elevations[i] = raster.sample(grid[i * 2], grid[i * 2 + 1]);
+                    complete &= !Double.isNaN(elevations[i]);
+                }
+            }
+
+            if (complete) {
+                break;
+            }
+        }
+
+        return elevations;
+    }
+
+    @Override
+    public void close() {
+        for (DEMRaster raster : rasters) {
+            try {
+                raster.close();
+            } catch (IOException e) {
+                log.warn("Failed to delete temporary DEM tile file " + raster.tileFile + ".");
+            }
+        }
+    }
+
+    private static class DEMRaster {
+        private final Path tileFile;
+        private final FileChannel channel;
+        private final MathTransform wgs84ToGrid;
+        private final int width;
+        private final int height;
+        private final int tilesPerRow;
+        private final int tileCacheSize;
+        private final ConcurrentHashMap<Integer, CachedTile> tiles = new ConcurrentHashMap<>();
+        private final ReentrantLock evictionLock = new ReentrantLock();
+
+        private DEMRaster(Path tileFile, FileChannel channel, MathTransform wgs84ToGrid, int width, int height, int tileCacheSize) {
+            this.tileFile = tileFile;
+            this.channel = channel;
+            this.wgs84ToGrid = wgs84ToGrid;
+            this.width = width;
+            this.height = height;
+            this.tileCacheSize = tileCacheSize;
+            tilesPerRow = (width + TILE_SIZE - 1) / TILE_SIZE;
+        }
+
+        static DEMRaster of(Path file, AbstractGridFormat format, int tileCacheSize) throws IOException {
+            GridCoverage2DReader reader = format.getReader(file.toFile(), new Hints(Hints.FORCE_LONGITUDE_FIRST_AXIS_ORDER, true));
+            if (reader == null) {
+                throw new IOException("Failed to open DEM raster '" + file + "'.");
+            }
+
+            Path tileFile = null;
+            FileChannel channel = null;
+            try {
+                GridCoverage2D coverage = reader.read(null);
+                RenderedImage image = coverage.getRenderedImage();
+
+                MathTransform2D gridToCRS = coverage.getGridGeometry().getGridToCRS2D(PixelOrientation.CENTER);
+                MathTransform wgs84ToGrid = CRS.concatenate(
+                        CRS.findMathTransform(DefaultGeographicCRS.WGS84, coverage.getCoordinateReferenceSystem2D(), true),
+                        gridToCRS.inverse());
+
+                double noData = Double.NaN;
+                if (CoverageUtilities.getNoDataProperty(coverage) != null) {
+                    noData = CoverageUtilities.getNoDataProperty(coverage).getAsSingleValue();
+                }
+
+                tileFile = Files.createTempFile("dem-", ".tiles");
+                channel = FileChannel.open(tileFile, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                        StandardOpenOption.DELETE_ON_CLOSE);
+
+                writeTiles(image, noData, channel);
+                coverage.dispose(true);
+
+                return new DEMRaster(tileFile, channel, wgs84ToGrid, image.getWidth(), image.getHeight(), tileCacheSize);
+            } catch (IOException e) {
+                if (channel != null) {
+                    channel.close();
+                }
+
+                throw e;
+            } catch (Exception e) {
+                if (channel != null) {
+                    channel.close();
+                }
+
+                throw new IOException("Failed to read DEM raster '" + file + "'.", e);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        private static void writeTiles(RenderedImage image, double noData, FileChannel channel) throws IOException {
+            int width = image.getWidth();
+            int height = image.getHeight();
+            float[] samples = new float[TILE_SIZE * TILE_SIZE];
+            ByteBuffer buffer = ByteBuffer.allocateDirect(TILE_BYTES).order(ByteOrder.nativeOrder());
+
+            for (int tileY = 0; tileY < height; tileY += TILE_SIZE) {
+                for (int tileX = 0; tileX < width; tileX += TILE_SIZE) {
+                    int w = Math.min(TILE_SIZE, width - tileX);
+                    int h = Math.min(TILE_SIZE, height - tileY);
+                    Raster raster = image.getData(new Rectangle(image.getMinX() + tileX, image.getMinY() + tileY, w, h));
+                    raster.getSamples(raster.getMinX(), raster.getMinY(), w, h, 0, samples);
+
+                    // tiles always have the full size, cells beyond the raster extent are left empty
+                    buffer.clear();
+                    FloatBuffer tile = buffer.asFloatBuffer();
+                    for (int y = 0; y < TILE_SIZE; y++) {
+                        for (int x = 0; x < TILE_SIZE; x++) {
+                            float value = x < w && y < h ? samples[y * w + x] : Float.NaN;
+                            tile.put(value == noData ? Float.NaN : value);
+                        }
+                    }
+
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                }
+            }
+        }
+
+        double sample(double gridX, double gridY) {
+            // grid coordinates refer to pixel centers
+            if (Double.isNaN(gridX) || Double.isNaN(gridY)
+                    || gridX < -0.5 || gridY < -0.5 || gridX > width - 0.5 || gridY > height - 0.5) {
+                return Double.NaN;
+            }
+
+            // clamp to the outermost pixel centers before interpolating at the raster border
+            gridX = Math.min(Math.max(gridX, 0), width - 1);
+            gridY = Math.min(Math.max(gridY, 0), height - 1);
+
+            int x0 = (int) Math.floor(gridX);
+            int y0 = (int) Math.floor(gridY);
+            double fx = gridX - x0;
+            double fy = gridY - y0;
+
+            int x1 = Math.min(x0 + 1, width - 1);
+            int y1 = Math.min(y0 + 1, height - 1);
+
+            // resolve each tile only once, the four cells usually share the same tile
+            int tileX0 = x0 / TILE_SIZE;
+            int tileY0 = y0 / TILE_SIZE;
+            boolean sameColumn = x1 / TILE_SIZE == tileX0;
+            boolean sameRow = y1 / TILE_SIZE == tileY0;
+
+            FloatBuffer t00 = getTile(tileY0 * tilesPerRow + tileX0);
+            FloatBuffer t10 = sameColumn ? t00 : getTile(tileY0 * tilesPerRow + tileX0 + 1);
+            FloatBuffer t01 = sameRow ? t00 : getTile((tileY0 + 1) * tilesPerRow + tileX0);
+            FloatBuffer t11 = sameRow ? t10 : sameColumn ? t01 : getTile((tileY0 + 1) * tilesPerRow + tileX0 + 1);
+
+            double v00 = getValue(t00, x0, y0);
+            double v10 = getValue(t10, x1, y0);
+            double v01 = getValue(t01, x0, y1);
+            double v11 = getValue(t11, x1, y1);
+
+            if (Double.isNaN(v00) || Double.isNaN(v10) || Double.isNaN(v01) || Double.isNaN(v11)) {
+                // fall back to the nearest cell next to no-data values
+                return fy < 0.5 ?
+                        (fx < 0.5 ? v00 : v10) :
+                        (fx < 0.5 ? v01 : v11);
+            }
+
+            return (v00 * (1 - fx) + v10 * fx) * (1 - fy) + (v01 * (1 - fx) + v11 * fx) * fy;
+        }
+
+        private double getValue(FloatBuffer tile, int x, int y) {
+            return tile.get((y % TILE_SIZE) * TILE_SIZE + x % TILE_SIZE);
+        }
+
+        private FloatBuffer getTile(int index) {
+            CachedTile tile = tiles.get(index);
+            if (tile == null) {
+                tile = tiles.computeIfAbsent(index, this::mapTile);
+                if (tiles.size() > tileCacheSize) {
+                    evictTiles();
+                }
+            }
+
+            if (!tile.referenced) {
+                tile.referenced = true;
+            }
+
+            return tile.values;
+        }
+
+        private CachedTile mapTile(int index) {
+            try {
+                return new CachedTile(channel.map(FileChannel.MapMode.READ_ONLY, (long) index * TILE_BYTES, TILE_BYTES)
+                        .order(ByteOrder.nativeOrder())
+                        .asFloatBuffer());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void evictTiles() {
+            // only one thread evicts, all others continue sampling without waiting
+            if (evictionLock.tryLock()) {
+                try {
+                    // clock eviction: recently used tiles get a second chance, mapped tiles
+                    // are released by the garbage collector once evicted
+                    Iterator<CachedTile> iterator = tiles.values().iterator();
+                    while (tiles.size() > tileCacheSize) {
+                        if (!iterator.hasNext()) {
+                            iterator = tiles.values().iterator();
+                        }
+
+                        CachedTile tile = iterator.next();
+                        if (tile.referenced) {
+                            tile.referenced = false;
+                        } else {
+                            iterator.remove();
+                        }
+                    }
+                } finally {
+                    evictionLock.unlock();
+                }
+            }
+        }
+
+        void close() throws IOException {
+            tiles.clear();
+            channel.close();
+        }
+    }
+
+    private static class CachedTile {
+        private final FloatBuffer values;
+        private volatile boolean referenced = true;
+
+        CachedTile(FloatBuffer values) {
+            this.values = values;
+        }
+    }
+}
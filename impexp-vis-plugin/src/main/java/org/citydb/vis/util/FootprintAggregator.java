@@ -0,0 +1,151 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import org.citydb.config.geometry.ElementType;
+import org.citydb.config.geometry.GeometryObject;
+import org.locationtech.jts.geom.*;
+import org.locationtech.jts.operation.overlayng.UnaryUnionNG;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FootprintAggregator {
+    private final GeometryFactory factory = new GeometryFactory();
+    private final List<Polygon> polygons = new ArrayList<>();
+    private final PrecisionModel precisionModel;
+    private final double tolerance;
+
+    public FootprintAggregator(double tolerance) {
+        this.tolerance = tolerance;
+
+        // snap coordinates to a grid whose cell size equals the tolerance
+        precisionModel = new PrecisionModel(1 / tolerance);
+    }
+
+    public void add(GeometryObject geometry) {
+        int dimension = geometry.getDimension();
+        LinearRing shell = null;
+        List<LinearRing> holes = new ArrayList<>();
+        boolean skip = false;
+
+        for (int i = 0; i < geometry.getNumElements(); i++) {
+            boolean isShell = geometry.getElementType(i) == ElementType.EXTERIOR_LINEAR_RING;
+            if (isShell) {
+                if (!skip) {
+                    addPolygon(shell, holes);
+                }
+
+                shell = null;
+                holes.clear();
+                skip = false;
+            } else if (skip) {
+                continue;
+            }
+
+            try {
+                LinearRing ring = factory.createLinearRing(to2D(geometry.getCoordinates(i), dimension));
+                if (isShell) {
+                    shell = ring;
+                } else {
+                    holes.add(ring);
+                }
+            } catch (IllegalArgumentException e) {
+                // skip polygons with degenerated rings like the database does for invalid geometries
+                skip = true;
+            }
+        }
+
+        if (!skip) {
+            addPolygon(shell, holes);
+        }
+    }
+
+    public GeometryObject union(int srid) {
+        if (polygons.isEmpty()) {
+            return null;
+        }
+
+        Geometry union = UnaryUnionNG.union(factory.buildGeometry(polygons), precisionModel);
+        polygons.clear();
+
+        List<double[]> rings = new ArrayList<>();
+        List<Integer> exteriorRings = new ArrayList<>();
+        for (int i = 0; i < union.getNumGeometries(); i++) {
+            Geometry geometry = union.getGeometryN(i);
+            if (geometry instanceof Polygon && !geometry.isEmpty()) {
+                Polygon polygon = (Polygon) geometry;
+                exteriorRings.add(rings.size());
+                rings.add(toOrdinates(polygon.getExteriorRing()));
+                for (int j = 0; j < polygon.getNumInteriorRing(); j++) {
+                    rings.add(toOrdinates(polygon.getInteriorRingN(j)));
+                }
+            }
+        }
+
+        if (rings.isEmpty()) {
+            return null;
+        } else if (exteriorRings.size() == 1) {
+            return GeometryObject.createPolygon(rings.toArray(new double[0][]), 2, srid);
+        } else {
+            return GeometryObject.createMultiPolygon(rings.toArray(new double[0][]),
+                    exteriorRings.stream().mapToInt(Integer::intValue).toArray(), 2, srid);
+        }
+    }
+
+    private void addPolygon(LinearRing shell, List<LinearRing> holes) {
+        if (shell != null) {
+            Polygon polygon = factory.createPolygon(shell, holes.toArray(new LinearRing[0]));
+
+            // same conditions as applied by the database before aggregating geometries
+            if (polygon.isValid() && polygon.getArea() > tolerance) {
+                polygons.add(polygon);
+            }
+        }
+    }
+
+    private Coordinate[] to2D(double[] ordinates, int dimension) {
+        Coordinate[] coordinates = new Coordinate[ordinates.length / dimension];
+        for (int i = 0, j = 0; i < coordinates.length; i++, j += dimension) {
+            coordinates[i] = new Coordinate(ordinates[j], ordinates[j + 1]);
+        }
+
+        return coordinates;
+    }
+
+    private double[] toOrdinates(LineString ring) {
+        Coordinate[] coordinates = ring.getCoordinates();
+        double[] ordinates = new double[coordinates.length * 2];
+        for (int i = 0, j = 0; i < coordinates.length; i++) {
+            ordinates[j++] = coordinates[i].x;
+            ordinates[j++] = coordinates[i].y;
+        }
+
+        return ordinates;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import org.citydb.config.Config;
+import org.citydb.util.log.Logger;
+import org.citydb.util.xml.SecureXMLProcessors;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class GoogleElevationProvider implements ElevationProvider {
+    private static final ReentrantLock runLock = new ReentrantLock();
+    private final Logger log = Logger.getInstance();
+
+    private final String apiKey;
+    private final String STATUS = "status";
+    private final String ELEVATION = "elevation";
+    private final String OK = "OK";
+    private final String ERROR_MESSAGE = "error_message";
+
+    private final int POINTS_IN_A_URL = 55;
+
+    SAXParser saxParser;
+    String currentElement = "";
+    StringBuilder textBuffer;
+
+    String status = "";
+    String errorMessage;
+    List<Double> elevations;
+
+    public GoogleElevationProvider(Config config) {
+        apiKey = config.getGlobalConfig().getApiKeys().isSetGoogleElevation() ?
+                config.getGlobalConfig().getApiKeys().getGoogleElevation() : "";
+    }
+
+    @Override
+    public String getName() {
+        return "Google's elevation API";
+    }
+
+    @Override
+    public double[] getElevations(double[] candidateCoords) throws Exception {
+        status = "";
+        errorMessage = null;
+        elevations = new ArrayList<>();
+
+        if (saxParser == null) {
+            // Use the default (non-validating) parser
+            SAXParserFactory factory = SecureXMLProcessors.newSAXParserFactory();
+            try {
+                saxParser = factory.newSAXParser();
+            } catch (Throwable t) {
+                log.logStackTrace(t);
+            }
+        }
+
+        List<String> elevationStringList = new ArrayList<>();
+        int index = 0;
+        while (index < candidateCoords.length) {
+            StringBuilder builder = new StringBuilder("https://maps.googleapis.com/maps/api/elevation/xml?")
+                    .append("&key=").append(apiKey).append("&locations=");
+
+            for (int i = 0; i < POINTS_IN_A_URL; i++) { // URL length must be under 2048
+                String latitude = new BigDecimal(candidateCoords[index + 1]).toPlainString();
+                if (latitude.length() > 15) latitude = latitude.substring(0, 15);
+                String longitude = new BigDecimal(candidateCoords[index]).toPlainString();
+                if (longitude.length() > 15) longitude = longitude.substring(0, 15);
+
+                builder.append(latitude).append(",").append(longitude).append("|");
+                index = index + 3;
+                if (index >= candidateCoords.length) break;
+            }
+
+            String elevationString = builder.toString().substring(0, builder.length() - 1); // remove last pipe
+            elevationStringList.add(elevationString);
+        }
+
+        for (String elevationString : elevationStringList) {
+            waitForAccess(); // avoid "OVER_QUERY_LIMIT" from elevation service; max 10 calls/sec are allowed
+            ElevationServiceCaller elevationServiceCaller = new ElevationServiceCaller(elevationString);
+            elevationServiceCaller.run();
+        }
+
+        if (!status.equalsIgnoreCase(OK)) {
+            if (status.length() > 0) {
+                log.error("Elevation API returned " + status);
+                if (errorMessage != null)
+                    log.error(errorMessage);
+            }
+            throw new Exception("Elevation API returned " + status);
+        }
+
+        // the elevation API returns the results in the order of the requested locations
+        double[] result = new double[candidateCoords.length / 3];
+        if (elevations.size() != result.length) {
+            throw new Exception("Elevation API returned " + elevations.size() + " of " + result.length + " elevations.");
+        }
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = elevations.get(i);
+        }
+
+        return result;
+    }
+
+    private static void waitForAccess() {
+        try {
+            runLock.lock();
+            // pause interval: 100 millis should be enough, but experience says it is not!
+            Thread.sleep(200);
+        } catch (Exception ignored) {
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private class ElevationServiceCaller extends DefaultHandler implements Runnable {
+        private String elevationString;
+
+        private ElevationServiceCaller(String elevationString) {
+            this.elevationString = elevationString;
+        }
+
+        public void run() {
+            try {
+                URL elevationService = new URL(elevationString);
+                saxParser.parse(elevationService.openStream(), this);
+            } catch (Throwable t) {
+                log.error("Could not access Elevation API. Please check your network settings.");
+            }
+        }
+
+        public void startElement(String namespaceURI,
+                                 String sName, // simple name
+                                 String qName, // qualified name
+                                 Attributes attrs) throws SAXException {
+            String eName = sName; // element name
+            if ("".equals(eName)) {
+                eName = qName; // not namespace-aware
+            }
+
+            currentElement = eName;
+        }
+
+        public void endElement(String namespaceURI,
+                               String sName, // simple name
+                               String qName  // qualified name
+        ) throws SAXException {
+            String value = textBuffer != null ? textBuffer.toString().trim() : "";
+            if (!value.equals("")) {
+                if (currentElement.equalsIgnoreCase(STATUS)) {
+                    status = value;
+                } else if (currentElement.equalsIgnoreCase(ELEVATION)) {
+                    elevations.add(Double.parseDouble(value));
+                } else if (currentElement.equalsIgnoreCase(ERROR_MESSAGE)) {
+                    errorMessage = value;
+                }
+            }
+
+            textBuffer = null;
+        }
+
+        public void characters(char buf[], int offset, int len) throws SAXException {
+            String s = new String(buf, offset, len);
+            if (textBuffer == null) {
+                textBuffer = new StringBuilder(s);
+            } else {
+                textBuffer.append(s);
+            }
+        }
+    }
+}
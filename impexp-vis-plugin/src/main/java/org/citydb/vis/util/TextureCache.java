@@ -0,0 +1,281 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import org.citydb.textureAtlas.model.TextureImage;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Size-bounded LRU cache shared by all vis export workers. It holds decoded texture images
+ * keyed by their tex_image id, the encoded bytes of these images and texture atlases created
+ * for recurring texture sets. Cached images are shared between workers and must therefore
+ * not be modified.
+ */
+public class TextureCache {
+    private static final long ENTRY_OVERHEAD = 64;
+
+    private final long capacity;
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Map<TextureImage, EncodedKey> owners = new IdentityHashMap<>();
+    private long size;
+    private long hits;
+    private long misses;
+
+    public TextureCache(int capacityInMegabytes) {
+        capacity = capacityInMegabytes * 1024L * 1024L;
+    }
+
+    public synchronized TextureImage getTextureImage(long texImageId) {
+        Entry entry = lookup(texImageId);
+        return entry != null ? entry.image : null;
+    }
+
+    public synchronized boolean isUnsupported(long texImageId) {
+        Entry entry = entries.get(texImageId);
+        return entry != null && entry.image == null;
+    }
+
+    public synchronized void putTextureImage(long texImageId, TextureImage image) {
+        Entry entry = new Entry(ENTRY_OVERHEAD + getSize(image));
+        entry.image = image;
+        if (put(texImageId, entry)) {
+            owners.put(image, new EncodedKey(texImageId, ""));
+        }
+    }
+
+    public synchronized void putUnsupported(long texImageId) {
+        put(texImageId, new Entry(ENTRY_OVERHEAD));
+    }
+
+    public synchronized TextureAtlas getTextureAtlas(String signature) {
+        Entry entry = lookup(signature);
+        return entry != null ? entry.atlas : null;
+    }
+
+    public synchronized void putTextureAtlas(String signature, TextureAtlas atlas) {
+        long entrySize = ENTRY_OVERHEAD + 2L * signature.length();
+        for (Map.Entry<String, TextureImage> image : atlas.images.entrySet()) {
+            entrySize += getSize(image.getValue()) + 2L * image.getKey().length();
+        }
+
+        for (String[] surface : atlas.surfaces.values()) {
+            entrySize += 2L * (surface[0].length() + surface[1].length());
+        }
+
+        Entry entry = new Entry(entrySize);
+        entry.atlas = atlas;
+        if (put(signature, entry)) {
+            for (Map.Entry<String, TextureImage> image : atlas.images.entrySet()) {
+                owners.put(image.getValue(), new EncodedKey(signature, image.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Encodes the image in the given format. The encoded bytes of cached images are kept so
+     * that an image shared by many features is only encoded once. Returns {@code null} if
+     * no image writer is available for the format.
+     */
+    public byte[] getEncodedImage(TextureImage image, String format) throws IOException {
+        EncodedKey key;
+        synchronized (this) {
+            EncodedKey owner = owners.get(image);
+            key = owner != null ? new EncodedKey(owner.owner, owner.name + '.' + format) : null;
+            if (key != null) {
+                Entry entry = lookup(key);
+                if (entry != null) {
+                    return entry.bytes;
+                }
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image.getBufferedImage(), format, out)) {
+            return null;
+        }
+
+        byte[] bytes = out.toByteArray();
+        if (key != null) {
+            synchronized (this) {
+                Entry owner = entries.get(key.owner);
+                if (owner != null && !entries.containsKey(key)) {
+                    Entry entry = new Entry(ENTRY_OVERHEAD + bytes.length);
+                    entry.bytes = bytes;
+                    if (put(key, entry)) {
+                        owner.dependents.add(key);
+                    }
+                }
+            }
+        }
+
+        return bytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        owners.clear();
+        size = 0;
+    }
+
+    private Entry lookup(Object key) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+
+        return entry;
+    }
+
+    private boolean put(Object key, Entry entry) {
+        // do not let a single huge image flush the entire cache
+        if (entry.size > capacity / 4) {
+            return false;
+        }
+
+        remove(key);
+        entries.put(key, entry);
+        size += entry.size;
+
+        while (size > capacity) {
+            Map.Entry<Object, Entry> eldest = entries.entrySet().iterator().next();
+            if (eldest.getValue() == entry) {
+                break;
+            }
+
+            remove(eldest.getKey());
+        }
+
+        return true;
+    }
+
+    private void remove(Object key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            evicted(entry);
+        }
+    }
+
+    private void evicted(Entry entry) {
+        size -= entry.size;
+        if (entry.image != null) {
+            owners.remove(entry.image);
+        } else if (entry.atlas != null) {
+            for (TextureImage image : entry.atlas.images.values()) {
+                owners.remove(image);
+            }
+        }
+
+        // encoded bytes are useless without their source image
+        for (Object dependent : entry.dependents) {
+            Entry encoded = entries.remove(dependent);
+            if (encoded != null) {
+                size -= encoded.size;
+            }
+        }
+    }
+
+    private long getSize(TextureImage image) {
+        return 4L * image.getWidth() * image.getHeight();
+    }
+
+    private static class Entry {
+        private final long size;
+        private final List<Object> dependents = new ArrayList<>(1);
+        private TextureImage image;
+        private TextureAtlas atlas;
+        private byte[] bytes;
+
+        Entry(long size) {
+            this.size = size;
+        }
+    }
+
+    private static class EncodedKey {
+        private final Object owner;
+        private final String name;
+
+        EncodedKey(Object owner, String name) {
+            this.owner = owner;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof EncodedKey)) return false;
+            EncodedKey other = (EncodedKey) o;
+            return owner.equals(other.owner) && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(owner, name);
+        }
+    }
+
+    public static class TextureAtlas {
+        private final Map<String, String[]> surfaces = new HashMap<>();
+        private final Map<String, TextureImage> images;
+
+        public TextureAtlas(Map<String, TextureImage> images) {
+            this.images = new HashMap<>(images);
+        }
+
+        public void addSurface(String input, String texImageUri, String texCoords) {
+            surfaces.putIfAbsent(input, new String[]{texImageUri, texCoords});
+        }
+
+        public String[] getSurface(String input) {
+            return surfaces.get(input);
+        }
+
+        public Map<String, TextureImage> getImages() {
+            return images;
+        }
+    }
+}